@@ -5,17 +5,36 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.gson.JsonElement;
 
 import io.openems.common.types.ChannelAddress;
 
+/**
+ * Caches the latest Channel values of one Edge.
+ *
+ * <p>
+ * The cache data is a {@link ConcurrentHashMap} that is updated in place, so
+ * incoming data costs O(changed Channels) and readers never block - not even
+ * during a burst of incoming data. Writes are serialized; they happen only from
+ * the ingest path of the Edge.
+ */
 public class EdgeCache {
 
+	/**
+	 * {@link ChannelAddress}es are shared by all Edges; most Edges have the same
+	 * Channels, so keys are interned to avoid one instance per Edge.
+	 */
+	private static final Interner<ChannelAddress> CHANNEL_ADDRESSES = Interners.newWeakInterner();
+
 	private final Logger log = LoggerFactory.getLogger(EdgeCache.class);
 
 	/**
@@ -28,7 +47,10 @@ public class EdgeCache {
 	 */
 	private long lastAppliedTimestamp = 0L;
 
-	private final HashMap<ChannelAddress, JsonElement> cacheData = new HashMap<>();
+	/**
+	 * The cache data.
+	 */
+	private final Map<ChannelAddress, JsonElement> cacheData = new ConcurrentHashMap<>();
 
 	/**
 	 * Gets the channel value from cache.
@@ -37,9 +59,34 @@ public class EdgeCache {
 	 * @return the value; empty if it is not in cache
 	 */
 	public final Optional<JsonElement> getChannelValue(ChannelAddress address) {
-		synchronized (this) {
-			return Optional.ofNullable(this.cacheData.get(address));
+		return Optional.ofNullable(this.cacheData.get(address));
+	}
+
+	/**
+	 * Gets the values of the given channels from cache.
+	 *
+	 * @param addresses the {@link ChannelAddress}es of the channels
+	 * @return a map of {@link ChannelAddress} to value; channels that are not in
+	 *         cache are missing
+	 */
+	public final Map<ChannelAddress, JsonElement> getChannelValues(Set<ChannelAddress> addresses) {
+		var result = new HashMap<ChannelAddress, JsonElement>(addresses.size());
+		for (var address : addresses) {
+			var value = this.cacheData.get(address);
+			if (value != null) {
+				result.put(address, value);
+			}
 		}
+		return result;
+	}
+
+	/**
+	 * Gets a copy of all cached values.
+	 *
+	 * @return the unmodifiable map of {@link ChannelAddress} to value
+	 */
+	public final Map<ChannelAddress, JsonElement> getSnapshot() {
+		return Map.copyOf(this.cacheData);
 	}
 
 	/**
@@ -48,8 +95,9 @@ public class EdgeCache {
 	 * @param edgeId        the Edge-ID
 	 * @param incomingDatas the incoming data
 	 */
-	public void complementDataFromCache(String edgeId,
+	public synchronized void complementDataFromCache(String edgeId,
 			SortedMap<Long, Map<ChannelAddress, JsonElement>> incomingDatas) {
+		final var cacheData = this.cacheData;
 		for (Entry<Long, Map<ChannelAddress, JsonElement>> entry : incomingDatas.entrySet()) {
 			var incomingTimestamp = entry.getKey();
 			var incomingData = entry.getValue();
@@ -57,44 +105,40 @@ public class EdgeCache {
 			// Check if cache should be applied
 			if (incomingTimestamp < this.cacheTimestamp) {
 				// Incoming data is older than cache -> do not apply cache
+				continue;
+			}
+
+			// Incoming data is more recent than cache
+			if (incomingTimestamp > this.cacheTimestamp + 5 * 60 * 1000) {
+				// Cache is not anymore valid (elder than 5 minutes)
+				if (this.cacheTimestamp != 0L) {
+					this.log.info("Edge [" + edgeId + "]: invalidate cache. Incoming ["
+							+ Instant.ofEpochMilli(incomingTimestamp) + "]. Cache ["
+							+ Instant.ofEpochMilli(this.cacheTimestamp) + "]");
+				}
+				// Clear Cache
+				cacheData.clear();
+
+			} else if (incomingTimestamp < this.lastAppliedTimestamp + 2 * 60 * 1000) {
+				// Apply Cache only once every two minutes to throttle writes
 
 			} else {
-				// Incoming data is more recent than cache
-
-				if (incomingTimestamp > this.cacheTimestamp + 5 * 60 * 1000) {
-					// Cache is not anymore valid (elder than 5 minutes)
-					if (this.cacheTimestamp != 0L) {
-						this.log.info("Edge [" + edgeId + "]: invalidate cache. Incoming ["
-								+ Instant.ofEpochMilli(incomingTimestamp) + "]. Cache ["
-								+ Instant.ofEpochMilli(this.cacheTimestamp) + "]");
-					}
-					synchronized (this) {
-						// Clear Cache
-						this.cacheData.clear();
-					}
-
-				} else if (incomingTimestamp < this.lastAppliedTimestamp + 2 * 60 * 1000) {
-					// Apply Cache only once every two minutes to throttle writes
-
-				} else {
-					// Apply Cache
-
-					// cache is valid (not elder than 5 minutes)
-					this.lastAppliedTimestamp = incomingTimestamp;
-					synchronized (this) {
-						this.cacheData.entrySet().stream() //
-								.forEach(e -> {
-									// check if there is a current value for this timestamp + channel
-									// if not -> add cache data to write data
-									incomingData.putIfAbsent(e.getKey(), e.getValue());
-								});
-					}
+				// Apply Cache
+
+				// cache is valid (not elder than 5 minutes)
+				this.lastAppliedTimestamp = incomingTimestamp;
+				for (var e : cacheData.entrySet()) {
+					// check if there is a current value for this timestamp + channel
+					// if not -> add cache data to write data
+					incomingData.putIfAbsent(e.getKey(), e.getValue());
 				}
+			}
 
-				// update cache
-				this.cacheTimestamp = incomingTimestamp;
-				synchronized (this) {
-					this.cacheData.putAll(incomingData);
+			// update cache
+			this.cacheTimestamp = incomingTimestamp;
+			for (var e : incomingData.entrySet()) {
+				if (e.getValue() != null) {
+					cacheData.put(CHANNEL_ADDRESSES.intern(e.getKey()), e.getValue());
 				}
 			}
 		}
@@ -0,0 +1,383 @@
+package io.openems.backend.common.timedata;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.function.ThrowingBiFunction;
+import io.openems.common.function.ThrowingSupplier;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Caches the results of {@link Timedata#queryHistoricEnergy} and
+ * {@link Timedata#queryHistoricEnergyPerPeriod} for periods that are completely
+ * in the past.
+ *
+ * <p>
+ * Energy values of closed periods do not change anymore - except if an Edge
+ * sends buffered data late, which is covered by the time-to-live.
+ * {@link #queryHistoricEnergyPerPeriod} queries with at least
+ * {@link ChronoUnit#DAYS} resolution that reach into the current period are
+ * split at the last closed period: the closed periods are served from the
+ * cache, only the open slice is forwarded to the database.
+ * {@link #queryHistoricEnergy} queries that reach into the current period are
+ * not cached.
+ *
+ * <p>
+ * The cache is bounded by the total number of cached values; least recently
+ * used entries are evicted first.
+ */
+public class HistoricEnergyCache {
+
+	/**
+	 * A period is only considered closed if it ended at least this long ago. Gives
+	 * the Edges some time to send their data.
+	 */
+	private static final Duration GRACE_PERIOD = Duration.ofHours(1);
+
+	private static class Key {
+		private final String edgeId;
+		private final ZonedDateTime fromDate;
+		private final ZonedDateTime toDate;
+		private final Set<ChannelAddress> channels;
+		private final long resolutionValue;
+		private final ChronoUnit resolutionUnit;
+		private final int hashCode;
+
+		private Key(String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+				Resolution resolution) {
+			this.edgeId = edgeId;
+			this.fromDate = fromDate;
+			this.toDate = toDate;
+			this.channels = Set.copyOf(channels);
+			this.resolutionValue = resolution == null ? 0 : resolution.getValue();
+			this.resolutionUnit = resolution == null ? null : resolution.getUnit();
+			this.hashCode = Objects.hash(edgeId, fromDate, toDate, this.channels, this.resolutionValue,
+					this.resolutionUnit);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || this.getClass() != obj.getClass()) {
+				return false;
+			}
+			var other = (Key) obj;
+			return this.hashCode == other.hashCode //
+					&& this.edgeId.equals(other.edgeId) //
+					&& this.fromDate.equals(other.fromDate) //
+					&& this.toDate.equals(other.toDate) //
+					&& this.resolutionValue == other.resolutionValue //
+					&& this.resolutionUnit == other.resolutionUnit //
+					&& this.channels.equals(other.channels);
+		}
+	}
+
+	private static class Value {
+		private final Object result;
+		private final int weight;
+		private final long expiresAt;
+
+		private Value(Object result, int weight, long expiresAt) {
+			this.result = result;
+			this.weight = weight;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final long maxValues;
+	private final Duration timeToLive;
+	private final Clock clock;
+
+	/**
+	 * Cached results in access-order. Guarded by 'this'.
+	 */
+	private final LinkedHashMap<Key, Value> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long values = 0;
+	private long hits = 0;
+	private long misses = 0;
+	private long bypasses = 0;
+	private long evictions = 0;
+
+	/**
+	 * Builds a {@link HistoricEnergyCache}.
+	 *
+	 * @param maxValues  the maximum number of cached values in total; 0 disables
+	 *                   the cache
+	 * @param timeToLive the time-to-live of a cached result
+	 * @param clock      the {@link Clock}
+	 */
+	public HistoricEnergyCache(long maxValues, Duration timeToLive, Clock clock) {
+		this.maxValues = maxValues;
+		this.timeToLive = timeToLive;
+		this.clock = clock;
+	}
+
+	/**
+	 * Gets the result of a {@link Timedata#queryHistoricEnergy} query from cache
+	 * or executes it.
+	 *
+	 * <p>
+	 * If the query reaches into the current period it is forwarded to the
+	 * database. Splitting it would not give an exact result, as the energy of a
+	 * slice is the difference of its first and last value: the energy between the
+	 * last value before and the first value after the split would be lost.
+	 *
+	 * @param edgeId   the Edge-ID
+	 * @param fromDate the From-Date
+	 * @param toDate   the To-Date
+	 * @param channels the Channels
+	 * @param query    executes the actual query for the given From-Date and
+	 *                 To-Date
+	 * @return the query result; a copy that may be modified by the caller
+	 * @throws OpenemsNamedException on error
+	 */
+	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels,
+			ThrowingBiFunction<ZonedDateTime, ZonedDateTime, SortedMap<ChannelAddress, JsonElement>, OpenemsNamedException> query)
+			throws OpenemsNamedException {
+		if (!this.isClosed(toDate)) {
+			return this.bypass(() -> query.apply(fromDate, toDate));
+		}
+		var key = new Key(edgeId, fromDate, toDate, channels, null);
+		@SuppressWarnings("unchecked")
+		var result = (SortedMap<ChannelAddress, JsonElement>) this.get(key);
+		if (result == null) {
+			result = query.apply(fromDate, toDate);
+			this.put(key, new TreeMap<>(result), result.size());
+			return result;
+		}
+		return new TreeMap<>(result);
+	}
+
+	/**
+	 * Gets the result of a {@link Timedata#queryHistoricEnergyPerPeriod} query
+	 * from cache or executes it.
+	 *
+	 * @param edgeId     the Edge-ID
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the {@link Resolution}
+	 * @param query      executes the actual query for the given From-Date and
+	 *                   To-Date
+	 * @return the query result; a copy that may be modified by the caller
+	 * @throws OpenemsNamedException on error
+	 */
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(
+			String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			Resolution resolution,
+			ThrowingBiFunction<ZonedDateTime, ZonedDateTime, SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>, OpenemsNamedException> query)
+			throws OpenemsNamedException {
+		var effectiveToDate = toDate;
+		if (resolution.getUnit() == ChronoUnit.MONTHS
+				&& !toDate.equals(toDate.with(TemporalAdjusters.firstDayOfMonth()))) {
+			// the last month is always queried completely
+			effectiveToDate = toDate.with(TemporalAdjusters.lastDayOfMonth()).plusDays(1);
+		}
+		if (this.isClosed(effectiveToDate)) {
+			return this.queryHistoricEnergyPerPeriod(new Key(edgeId, fromDate, toDate, channels, resolution),
+					() -> query.apply(fromDate, toDate));
+		}
+		var splitDate = this.getSplitDate(fromDate, resolution);
+		if (splitDate == null || !splitDate.isAfter(fromDate)) {
+			return this.bypass(() -> query.apply(fromDate, toDate));
+		}
+
+		// Closed periods from cache; open slice from database. The open slice starts
+		// one period earlier, because the energy of a period is the difference to
+		// its previous period.
+		var result = this.queryHistoricEnergyPerPeriod(new Key(edgeId, fromDate, splitDate, channels, resolution),
+				() -> query.apply(fromDate, splitDate));
+		var open = this.bypass(() -> query.apply(minus(splitDate, resolution), toDate));
+		result.putAll(open.tailMap(splitDate));
+		return result;
+	}
+
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(Key key,
+			ThrowingSupplier<SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>, OpenemsNamedException> query)
+			throws OpenemsNamedException {
+		@SuppressWarnings("unchecked")
+		var result = (SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>) this.get(key);
+		if (result == null) {
+			result = query.get();
+			var weight = 0;
+			var copy = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+			for (var entry : result.entrySet()) {
+				copy.put(entry.getKey(), new TreeMap<>(entry.getValue()));
+				weight += entry.getValue().size();
+			}
+			this.put(key, copy, weight);
+			return result;
+		}
+		var copy = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		for (var entry : result.entrySet()) {
+			copy.put(entry.getKey(), new TreeMap<>(entry.getValue()));
+		}
+		return copy;
+	}
+
+	private boolean isClosed(ZonedDateTime toDate) {
+		return this.maxValues > 0 && !toDate.toInstant().isAfter(this.clock.instant().minus(GRACE_PERIOD));
+	}
+
+	private ZonedDateTime getClosedUntil(ZonedDateTime fromDate) {
+		return ZonedDateTime.ofInstant(this.clock.instant().minus(GRACE_PERIOD), fromDate.getZone());
+	}
+
+	/**
+	 * Gets the start of the first period that is not closed yet, aligned to the
+	 * periods of the query.
+	 *
+	 * @param fromDate   the From-Date of the query
+	 * @param resolution the {@link Resolution}
+	 * @return the Split-Date; null if the query cannot be split
+	 */
+	private ZonedDateTime getSplitDate(ZonedDateTime fromDate, Resolution resolution) {
+		if (this.maxValues == 0) {
+			return null;
+		}
+		var closedUntil = this.getClosedUntil(fromDate);
+		switch (resolution.getUnit()) {
+		case DAYS: {
+			var periods = ChronoUnit.DAYS.between(fromDate, closedUntil) / resolution.getValue();
+			return fromDate.plusDays(periods * resolution.getValue());
+		}
+		case MONTHS: {
+			var start = fromDate.with(TemporalAdjusters.firstDayOfMonth());
+			var periods = ChronoUnit.MONTHS.between(start, closedUntil) / resolution.getValue();
+			return start.plusMonths(periods * resolution.getValue());
+		}
+		default:
+			return null;
+		}
+	}
+
+	private static ZonedDateTime minus(ZonedDateTime date, Resolution resolution) {
+		return date.minus(resolution.getValue(), resolution.getUnit());
+	}
+
+	private <T> T bypass(ThrowingSupplier<T, OpenemsNamedException> query) throws OpenemsNamedException {
+		synchronized (this) {
+			this.bypasses++;
+		}
+		return query.get();
+	}
+
+	private synchronized Object get(Key key) {
+		var value = this.entries.get(key);
+		if (value != null && value.expiresAt - this.clock.millis() > 0) {
+			this.hits++;
+			return value.result;
+		}
+		if (value != null) {
+			// expired
+			this.entries.remove(key);
+			this.values -= value.weight;
+		}
+		this.misses++;
+		return null;
+	}
+
+	private synchronized void put(Key key, Object result, int weight) {
+		// count the entry itself as one value
+		weight += 1;
+		if (weight > this.maxValues) {
+			return;
+		}
+		var expiresAt = this.clock.millis() + this.timeToLive.toMillis();
+		var previous = this.entries.put(key, new Value(result, weight, expiresAt));
+		if (previous != null) {
+			this.values -= previous.weight;
+		}
+		this.values += weight;
+
+		// Evict least recently used entries
+		for (Iterator<Entry<Key, Value>> iter = this.entries.entrySet().iterator(); this.values > this.maxValues
+				&& iter.hasNext();) {
+			this.values -= iter.next().getValue().weight;
+			iter.remove();
+			this.evictions++;
+		}
+	}
+
+	/**
+	 * Clears the cache.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+		this.values = 0;
+	}
+
+	/**
+	 * Gets the number of cached values.
+	 *
+	 * @return the number of values
+	 */
+	public synchronized long getValues() {
+		return this.values;
+	}
+
+	/**
+	 * Gets the number of cache hits since the last monitor message.
+	 *
+	 * @return the number of hits
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets the number of cache misses since the last monitor message.
+	 *
+	 * @return the number of misses
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Gets a monitor message and resets the counters.
+	 *
+	 * @return the message
+	 */
+	public synchronized String getAndResetMonitorMessage() {
+		var requests = this.hits + this.misses;
+		var message = new StringBuilder("[monitor] HistoricEnergyCache ") //
+				.append("Entries: ").append(this.entries.size()).append(", ") //
+				.append("Values: ").append(this.values).append("/").append(this.maxValues).append(", ") //
+				.append("Hits: ").append(this.hits).append(", ") //
+				.append("Misses: ").append(this.misses).append(", ") //
+				.append("HitRate: ").append(requests == 0 ? 0 : this.hits * 100 / requests).append(" %, ") //
+				.append("OpenPeriod: ").append(this.bypasses).append(", ") //
+				.append("Evictions: ").append(this.evictions) //
+				.toString();
+		this.hits = 0;
+		this.misses = 0;
+		this.bypasses = 0;
+		this.evictions = 0;
+		return message;
+	}
+
+}
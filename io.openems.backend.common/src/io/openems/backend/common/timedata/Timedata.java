@@ -1,14 +1,20 @@
 package io.openems.backend.common.timedata;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.osgi.annotation.versioning.ProviderType;
 
 import com.google.common.collect.TreeBasedTable;
 import com.google.gson.JsonElement;
 
-import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.exceptions.OpenemsError;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesDataRequest;
 import io.openems.common.timedata.CommonTimedataService;
+import io.openems.common.timedata.TimeseriesColumns;
 import io.openems.common.types.ChannelAddress;
 
 @ProviderType
@@ -20,9 +26,35 @@ public interface Timedata extends CommonTimedataService {
 	 * @param edgeId The unique Edge-ID
 	 * @param data   Table of timestamp (epoch in milliseconds), Channel-Address and
 	 *               the Channel value as JsonElement. Sorted by timestamp.
-	 * @throws OpenemsException on error
+	 * @throws OpenemsNamedException on error;
+	 *                               {@link OpenemsError#BACKEND_TIMEDATA_BACKPRESSURE}
+	 *                               if the data was dropped because the
+	 *                               Timedata service is overloaded;
+	 *                               {@link OpenemsError#BACKEND_TIMEDATA_EDGE_BACKPRESSURE}
+	 *                               if the data was dropped because too much
+	 *                               data of this Edge is queued
 	 */
-	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) throws OpenemsException;
+	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data)
+			throws OpenemsNamedException;
+
+	/**
+	 * Queries historic data in the memory-efficient {@link TimeseriesColumns}
+	 * format.
+	 *
+	 * <p>
+	 * The default implementation converts the result of
+	 * {@link #queryHistoricData(String, QueryHistoricTimeseriesDataRequest)};
+	 * implementations should stream the query result directly into the columns.
+	 *
+	 * @param edgeId  the Edge-ID
+	 * @param request the {@link QueryHistoricTimeseriesDataRequest}
+	 * @return the query result
+	 * @throws OpenemsNamedException on error
+	 */
+	public default TimeseriesColumns queryHistoricDataColumns(String edgeId,
+			QueryHistoricTimeseriesDataRequest request) throws OpenemsNamedException {
+		return TimeseriesColumns.from(this.queryHistoricData(edgeId, request));
+	}
 
 	/**
 	 * Gets the latest value for the given ChannelAddress.
@@ -33,4 +65,21 @@ public interface Timedata extends CommonTimedataService {
 	 */
 	public Optional<JsonElement> getChannelValue(String edgeId, ChannelAddress channelAddress);
 
+	/**
+	 * Gets the latest values for the given ChannelAddresses as one consistent
+	 * snapshot.
+	 *
+	 * @param edgeId           The unique Edge-ID
+	 * @param channelAddresses The Channel-Addresses
+	 * @return a map of ChannelAddress to value; Channels without value are missing
+	 */
+	public default Map<ChannelAddress, JsonElement> getChannelValues(String edgeId,
+			Set<ChannelAddress> channelAddresses) {
+		var result = new HashMap<ChannelAddress, JsonElement>();
+		for (var channelAddress : channelAddresses) {
+			this.getChannelValue(edgeId, channelAddress).ifPresent(value -> result.put(channelAddress, value));
+		}
+		return result;
+	}
+
 }
@@ -43,4 +43,12 @@ public interface UiWebsocket {
 	 */
 	public void sendBroadcast(String edgeId, JsonrpcNotification notification) throws OpenemsNamedException;
 
+	/**
+	 * Announces that new data of an Edge arrived. Pushes the current data of the
+	 * subscribed Channels to all UI sessions of this Edge-ID.
+	 *
+	 * @param edgeId the Edge-ID
+	 */
+	public void sendSubscribedChannels(String edgeId);
+
 }
@@ -0,0 +1,61 @@
+package io.openems.backend.common.timedata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+public class EdgeCacheTest {
+
+	private static final ChannelAddress SUM_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress SUM_POWER = new ChannelAddress("_sum", "EssActivePower");
+
+	@Test
+	public void test() {
+		var sut = new EdgeCache();
+
+		var data = TreeBasedTable.<Long, ChannelAddress, JsonElement>create();
+		data.put(1_000L, SUM_SOC, new JsonPrimitive(50));
+		data.put(1_000L, SUM_POWER, new JsonPrimitive(1000));
+		sut.complementDataFromCache("edge0", data.rowMap());
+		assertEquals(50, sut.getChannelValue(SUM_SOC).get().getAsInt());
+
+		// Snapshot is a copy; not affected by later writes
+		var snapshot = sut.getSnapshot();
+		data = TreeBasedTable.create();
+		data.put(2_000L, SUM_SOC, new JsonPrimitive(51));
+		sut.complementDataFromCache("edge0", data.rowMap());
+		assertEquals(50, snapshot.get(SUM_SOC).getAsInt());
+		assertEquals(51, sut.getChannelValue(SUM_SOC).get().getAsInt());
+		assertEquals(2, sut.getChannelValues(Set.of(SUM_SOC, SUM_POWER)).size());
+
+		// Older data does not update the cache
+		data = TreeBasedTable.create();
+		data.put(1_500L, SUM_SOC, new JsonPrimitive(0));
+		sut.complementDataFromCache("edge0", data.rowMap());
+		assertEquals(51, sut.getChannelValue(SUM_SOC).get().getAsInt());
+
+		// Cache is applied to incoming data at most every two minutes
+		data = TreeBasedTable.create();
+		data.put(200_000L, SUM_SOC, new JsonPrimitive(52));
+		sut.complementDataFromCache("edge0", data.rowMap());
+		assertEquals(1000, data.get(200_000L, SUM_POWER).getAsInt());
+
+		// Cache is invalidated after five minutes
+		data = TreeBasedTable.create();
+		data.put(600_000L, SUM_SOC, new JsonPrimitive(53));
+		sut.complementDataFromCache("edge0", data.rowMap());
+		assertFalse(sut.getChannelValue(SUM_POWER).isPresent());
+		assertTrue(sut.getChannelValue(SUM_SOC).isPresent());
+	}
+
+}
@@ -0,0 +1,251 @@
+package io.openems.backend.common.timedata;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+public class HistoricEnergyCacheTest {
+
+	private static final ChannelAddress SUM_PRODUCTION = new ChannelAddress("_sum", "ProductionActiveEnergy");
+	private static final ChannelAddress SUM_CONSUMPTION = new ChannelAddress("_sum", "ConsumptionActiveEnergy");
+
+	private static class MutableClock extends Clock {
+		private Instant instant;
+
+		private MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		private void leap(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+	}
+
+	private static SortedMap<ChannelAddress, JsonElement> query(AtomicInteger counter) {
+		counter.incrementAndGet();
+		var result = new TreeMap<ChannelAddress, JsonElement>();
+		result.put(SUM_PRODUCTION, new JsonPrimitive(1000));
+		result.put(SUM_CONSUMPTION, new JsonPrimitive(2000));
+		return result;
+	}
+
+	@Test
+	public void testQueryHistoricEnergy() throws OpenemsNamedException {
+		var clock = new MutableClock(Instant.parse("2022-07-15T12:00:00Z"));
+		var sut = new HistoricEnergyCache(100, Duration.ofHours(24), clock);
+		var channels = Set.of(SUM_PRODUCTION, SUM_CONSUMPTION);
+		var counter = new AtomicInteger();
+		var yesterday = ZonedDateTime.parse("2022-07-14T00:00:00Z");
+		var today = ZonedDateTime.parse("2022-07-15T00:00:00Z");
+		var tomorrow = ZonedDateTime.parse("2022-07-16T00:00:00Z");
+
+		// Closed period is cached
+		sut.queryHistoricEnergy("edge0", yesterday, today, channels, (from, to) -> query(counter));
+		var result = sut.queryHistoricEnergy("edge0", yesterday, today, channels, (from, to) -> query(counter));
+		assertEquals(1, counter.get());
+		assertEquals(1000, result.get(SUM_PRODUCTION).getAsInt());
+		assertEquals(1, sut.getHits());
+		assertEquals(1, sut.getMisses());
+
+		// Modifying the result does not modify the cache
+		result.clear();
+		result = sut.queryHistoricEnergy("edge0", yesterday, today, channels, (from, to) -> query(counter));
+		assertEquals(2, result.size());
+
+		// Other Edge or other Channels are not cached yet
+		sut.queryHistoricEnergy("edge1", yesterday, today, channels, (from, to) -> query(counter));
+		sut.queryHistoricEnergy("edge0", yesterday, today, Set.of(SUM_PRODUCTION), (from, to) -> query(counter));
+		assertEquals(3, counter.get());
+
+		// Open period is always queried
+		sut.queryHistoricEnergy("edge0", today, tomorrow, channels, (from, to) -> query(counter));
+		sut.queryHistoricEnergy("edge0", today, tomorrow, channels, (from, to) -> query(counter));
+		assertEquals(5, counter.get());
+
+		// Time-to-live
+		clock.leap(Duration.ofHours(25));
+		sut.queryHistoricEnergy("edge0", yesterday, today, channels, (from, to) -> query(counter));
+		assertEquals(6, counter.get());
+	}
+
+	@Test
+	public void testQueryHistoricEnergyPerPeriod() throws OpenemsNamedException {
+		var clock = new MutableClock(Instant.parse("2022-07-15T12:00:00Z"));
+		var sut = new HistoricEnergyCache(100, Duration.ofHours(24), clock);
+		var channels = Set.of(SUM_PRODUCTION, SUM_CONSUMPTION);
+		var counter = new AtomicInteger();
+		var months = new Resolution(1, ChronoUnit.MONTHS);
+		var days = new Resolution(1, ChronoUnit.DAYS);
+		var fromDate = ZonedDateTime.parse("2022-01-01T00:00:00Z");
+
+		// Closed months are cached
+		var closedToDate = ZonedDateTime.parse("2022-06-30T00:00:00Z");
+		sut.queryHistoricEnergyPerPeriod("edge0", fromDate, closedToDate, channels, months,
+				(from, to) -> perPeriod(counter, fromDate, 6));
+		var result = sut.queryHistoricEnergyPerPeriod("edge0", fromDate, closedToDate, channels, months,
+				(from, to) -> perPeriod(counter, fromDate, 6));
+		assertEquals(1, counter.get());
+		assertEquals(6, result.size());
+
+		// Same dates with other resolution are not cached yet
+		sut.queryHistoricEnergyPerPeriod("edge0", fromDate, closedToDate, channels, days,
+				(from, to) -> perPeriod(counter, fromDate, 180));
+		assertEquals(2, counter.get());
+		// ...and this one does not fit into the cache: 180 * 2 values > 100
+		sut.queryHistoricEnergyPerPeriod("edge0", fromDate, closedToDate, channels, days,
+				(from, to) -> perPeriod(counter, fromDate, 180));
+		assertEquals(3, counter.get());
+		assertEquals(13, sut.getValues());
+	}
+
+	@Test
+	public void testQueryHistoricEnergyPerPeriodOpenPeriod() throws OpenemsNamedException {
+		var clock = new MutableClock(Instant.parse("2022-07-15T12:00:00Z"));
+		var sut = new HistoricEnergyCache(100, Duration.ofHours(24), clock);
+		var channels = Set.of(SUM_PRODUCTION, SUM_CONSUMPTION);
+		var queries = new ArrayList<String>();
+		var months = new Resolution(1, ChronoUnit.MONTHS);
+		var fromDate = ZonedDateTime.parse("2022-01-01T00:00:00Z");
+		var toDate = ZonedDateTime.parse("2022-07-10T00:00:00Z");
+
+		// Last month is open -> closed months are cached; open month is queried
+		// together with its previous month
+		var result = sut.queryHistoricEnergyPerPeriod("edge0", fromDate, toDate, channels, months,
+				(from, to) -> perPeriod(queries, from, to, months));
+		assertEquals(Arrays.asList(//
+				"2022-01-01T00:00Z/2022-07-01T00:00Z", //
+				"2022-06-01T00:00Z/2022-07-10T00:00Z"), queries);
+		assertEquals(7, result.size());
+		assertEquals(ZonedDateTime.parse("2022-07-01T00:00:00Z"), result.lastKey());
+
+		queries.clear();
+		result = sut.queryHistoricEnergyPerPeriod("edge0", fromDate, toDate, channels, months,
+				(from, to) -> perPeriod(queries, from, to, months));
+		assertEquals(Arrays.asList("2022-06-01T00:00Z/2022-07-10T00:00Z"), queries);
+		assertEquals(7, result.size());
+
+		// Open period with Resolution below DAYS is always queried completely
+		queries.clear();
+		var hours = new Resolution(6, ChronoUnit.HOURS);
+		var today = ZonedDateTime.parse("2022-07-15T00:00:00Z");
+		sut.queryHistoricEnergyPerPeriod("edge0", today.minusDays(1), today.plusDays(1), channels, hours,
+				(from, to) -> perPeriod(queries, from, to, hours));
+		assertEquals(Arrays.asList("2022-07-14T00:00Z/2022-07-16T00:00Z"), queries);
+	}
+
+	@Test
+	public void testQueryHistoricEnergyOpenPeriod() throws OpenemsNamedException {
+		var clock = new MutableClock(Instant.parse("2022-07-15T12:00:00Z"));
+		var sut = new HistoricEnergyCache(100, Duration.ofHours(24), clock);
+		var channels = Set.of(SUM_PRODUCTION, SUM_CONSUMPTION);
+		var queries = new ArrayList<String>();
+		var fromDate = ZonedDateTime.parse("2022-07-01T00:00:00Z");
+		var toDate = ZonedDateTime.parse("2022-07-16T00:00:00Z");
+
+		// Open period is not split and not cached
+		for (var i = 0; i < 2; i++) {
+			var result = sut.queryHistoricEnergy("edge0", fromDate, toDate, channels, (from, to) -> {
+				queries.add(from.toString() + "/" + to.toString());
+				return query(new AtomicInteger());
+			});
+			assertEquals(1000, result.get(SUM_PRODUCTION).getAsInt());
+			assertEquals(2000, result.get(SUM_CONSUMPTION).getAsInt());
+		}
+		assertEquals(Arrays.asList(//
+				"2022-07-01T00:00Z/2022-07-16T00:00Z", //
+				"2022-07-01T00:00Z/2022-07-16T00:00Z"), queries);
+		assertEquals(0, sut.getValues());
+	}
+
+	@Test
+	public void testEviction() throws OpenemsNamedException {
+		var clock = new MutableClock(Instant.parse("2022-07-15T12:00:00Z"));
+		// 3 entries with 2 values + 1 each
+		var sut = new HistoricEnergyCache(9, Duration.ofHours(24), clock);
+		var channels = Set.of(SUM_PRODUCTION, SUM_CONSUMPTION);
+		var counter = new AtomicInteger();
+		var day0 = ZonedDateTime.parse("2022-07-10T00:00:00Z");
+		var day1 = day0.plusDays(1);
+
+		for (var edgeId : new String[] { "edge0", "edge1", "edge2" }) {
+			sut.queryHistoricEnergy(edgeId, day0, day1, channels, (from, to) -> query(counter));
+		}
+		assertEquals(9, sut.getValues());
+
+		// Access edge0 -> edge1 is least recently used
+		sut.queryHistoricEnergy("edge0", day0, day1, channels, (from, to) -> query(counter));
+		sut.queryHistoricEnergy("edge3", day0, day1, channels, (from, to) -> query(counter));
+		assertEquals(4, counter.get());
+		assertEquals(9, sut.getValues());
+
+		sut.queryHistoricEnergy("edge0", day0, day1, channels, (from, to) -> query(counter));
+		assertEquals(4, counter.get());
+		sut.queryHistoricEnergy("edge1", day0, day1, channels, (from, to) -> query(counter));
+		assertEquals(5, counter.get());
+	}
+
+	private static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> perPeriod(List<String> queries,
+			ZonedDateTime fromDate, ZonedDateTime toDate, Resolution resolution) {
+		queries.add(fromDate.toString() + "/" + toDate.toString());
+		var result = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		for (var date = fromDate; date.isBefore(toDate); date = date.plus(resolution.getValue(),
+				resolution.getUnit())) {
+			var values = new TreeMap<ChannelAddress, JsonElement>();
+			values.put(SUM_PRODUCTION, new JsonPrimitive(1));
+			values.put(SUM_CONSUMPTION, new JsonPrimitive(1));
+			result.put(date, values);
+		}
+		return result;
+	}
+
+	private static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> perPeriod(AtomicInteger counter,
+			ZonedDateTime fromDate, int periods) {
+		counter.incrementAndGet();
+		var result = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		for (var i = 0; i < periods; i++) {
+			var values = new TreeMap<ChannelAddress, JsonElement>();
+			values.put(SUM_PRODUCTION, new JsonPrimitive(i));
+			values.put(SUM_CONSUMPTION, new JsonPrimitive(i));
+			result.put(fromDate.plusDays(i), values);
+		}
+		return result;
+	}
+
+}
@@ -130,7 +130,7 @@ public class EdgeRpcRequestHandler {
 			QueryHistoricTimeseriesDataRequest request) throws OpenemsNamedException {
 		var timedata = this.parent.getTimedata(edgeId);
 
-		var historicData = timedata.queryHistoricData(edgeId, request);
+		var historicData = timedata.queryHistoricDataColumns(edgeId, request);
 
 		// JSON-RPC response
 		return CompletableFuture
@@ -0,0 +1,87 @@
+package io.openems.backend.edgewebsocket;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.java_websocket.WebSocket;
+
+/**
+ * Indexes the authenticated Edge connections by Edge-ID.
+ *
+ * <p>
+ * Replaces the linear scans over all open connections for every message that
+ * is forwarded to an Edge. Lookups are lock-free; modifications only happen on
+ * open and close of a connection.
+ */
+public class ConnectionRegistry {
+
+	private final Map<String, Set<WebSocket>> byEdgeId = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds an authenticated connection.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param ws     the {@link WebSocket}
+	 */
+	public void add(String edgeId, WebSocket ws) {
+		this.byEdgeId.compute(edgeId, (e, websockets) -> {
+			if (websockets == null) {
+				websockets = ConcurrentHashMap.newKeySet();
+			}
+			websockets.add(ws);
+			return websockets;
+		});
+	}
+
+	/**
+	 * Removes a connection.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param ws     the {@link WebSocket}
+	 */
+	public void remove(String edgeId, WebSocket ws) {
+		this.byEdgeId.computeIfPresent(edgeId, (e, websockets) -> {
+			websockets.remove(ws);
+			return websockets.isEmpty() ? null : websockets;
+		});
+	}
+
+	/**
+	 * Gets the WebSocket connection for an Edge-ID. If more than one connection
+	 * exists, any one of them is returned.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the {@link WebSocket}; null if there is none
+	 */
+	public WebSocket get(String edgeId) {
+		var websockets = this.byEdgeId.get(edgeId);
+		if (websockets == null) {
+			return null;
+		}
+		for (var ws : websockets) {
+			return ws;
+		}
+		return null;
+	}
+
+	/**
+	 * Is there at least one connection for the Edge-ID?.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return true if the Edge is online
+	 */
+	public boolean isOnline(String edgeId) {
+		return this.byEdgeId.containsKey(edgeId);
+	}
+
+	/**
+	 * Gets the number of Edges with at least one connection.
+	 *
+	 * @return the number of Edges
+	 */
+	public int getNoOfEdges() {
+		return this.byEdgeId.size();
+	}
+
+}
@@ -4,6 +4,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.java_websocket.WebSocket;
 import org.osgi.service.component.annotations.Activate;
@@ -33,6 +34,7 @@ import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
+import io.openems.common.jsonrpc.notification.TimedataDroppedNotification;
 import io.openems.common.jsonrpc.request.AuthenticatedRpcRequest;
 import io.openems.common.jsonrpc.request.SubscribeSystemLogRequest;
 import io.openems.common.jsonrpc.response.AuthenticatedRpcResponse;
@@ -49,7 +51,17 @@ import io.openems.common.utils.ThreadPoolUtils;
 })
 public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implements EdgeWebsocket, EventHandler {
 
+	/**
+	 * An Edge whose data was dropped by Timedata is notified at most once within
+	 * this time.
+	 */
+	private static final long TIMEDATA_BACKPRESSURE_HOLD_OFF = TimeUnit.SECONDS.toNanos(10);
+
 	private final Logger log = LoggerFactory.getLogger(EdgeWebsocketImpl.class);
+	private final AtomicLong timedataBackpressureCount = new AtomicLong();
+	private final AtomicLong timedataEdgeBackpressureCount = new AtomicLong();
+
+	protected final ConnectionRegistry connections = new ConnectionRegistry();
 
 	private WebsocketServer server = null;
 
@@ -82,6 +94,12 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 			this.log.info(new StringBuilder("[monitor] ") //
 					.append("Edge-Connections: ")
 					.append(this.server != null ? this.server.getConnections().size() : "initializing") //
+					.append(", Online Edges: ") //
+					.append(this.connections.getNoOfEdges()) //
+					.append(", Timedata-Backpressure: ") //
+					.append(this.timedataBackpressureCount.getAndSet(0)) //
+					.append(", Timedata-Edge-Backpressure: ") //
+					.append(this.timedataEdgeBackpressureCount.getAndSet(0)) //
 					.toString());
 		}, 10, 10, TimeUnit.SECONDS);
 	}
@@ -113,6 +131,43 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 		}
 	}
 
+	/**
+	 * Called when Timedata dropped incoming data of an Edge because it is
+	 * overloaded. Connections of other Edges are not affected; only the Edge whose
+	 * data was dropped gets a {@link TimedataDroppedNotification}.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param wsData the {@link WsData} of the Edge connection
+	 */
+	protected void onTimedataBackpressure(String edgeId, WsData wsData) {
+		this.timedataBackpressureCount.incrementAndGet();
+		this.sendTimedataDroppedNotification(edgeId, wsData);
+	}
+
+	/**
+	 * Called when Timedata dropped incoming data of one Edge because too much data
+	 * of this Edge is queued. Only this Edge is affected; it gets a
+	 * {@link TimedataDroppedNotification}.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param wsData the {@link WsData} of the Edge connection
+	 */
+	protected void onTimedataEdgeBackpressure(String edgeId, WsData wsData) {
+		this.timedataEdgeBackpressureCount.incrementAndGet();
+		this.sendTimedataDroppedNotification(edgeId, wsData);
+	}
+
+	private void sendTimedataDroppedNotification(String edgeId, WsData wsData) {
+		if (!wsData.isTimedataDroppedNotificationDue(TIMEDATA_BACKPRESSURE_HOLD_OFF)) {
+			return;
+		}
+		try {
+			wsData.send(new TimedataDroppedNotification());
+		} catch (OpenemsException e) {
+			this.logWarn(this.log, edgeId, "Unable to send TimedataDroppedNotification: " + e.getMessage());
+		}
+	}
+
 	/**
 	 * Gets whether the Websocket for this Edge is connected.
 	 *
@@ -120,10 +175,7 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	 * @return true if it is online
 	 */
 	protected boolean isOnline(String edgeId) {
-		if (this.server == null) {
-			return false;
-		}
-		return this.server.isOnline(edgeId);
+		return this.connections.isOnline(edgeId);
 	}
 
 	@Override
@@ -170,23 +222,13 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 
 	/**
 	 * Gets the WebSocket connection for an Edge-ID. If more than one connection
-	 * exists, the first one is returned. Returns null if none is found.
+	 * exists, any one of them is returned. Returns null if none is found.
 	 *
 	 * @param edgeId the Edge-ID
 	 * @return the WebSocket connection
 	 */
 	private final WebSocket getWebSocketForEdgeId(String edgeId) {
-		if (this.server == null) {
-			return null;
-		}
-		for (WebSocket ws : this.server.getConnections()) {
-			WsData wsData = ws.getAttachment();
-			var wsEdgeIdOpt = wsData.getEdgeId();
-			if (wsEdgeIdOpt.isPresent() && wsEdgeIdOpt.get().equals(edgeId)) {
-				return ws;
-			}
-		}
-		return null;
+		return this.connections.get(edgeId);
 	}
 
 	@Override
@@ -24,6 +24,7 @@ public class OnClose implements io.openems.common.websocket.OnClose {
 		String edgeId;
 		if (edgeIdOpt.isPresent()) {
 			edgeId = edgeIdOpt.get();
+			this.parent.connections.remove(edgeId, ws);
 			var edgeOpt = this.parent.metadata.getEdge(edgeId);
 			// if there is no other websocket connection for this edgeId -> announce Edge as
 			// offline
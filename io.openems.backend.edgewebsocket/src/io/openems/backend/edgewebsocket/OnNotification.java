@@ -110,6 +110,25 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			this.parent.timedata.write(edgeId, message.getData());
 		} catch (IllegalArgumentException e) {
 			e.printStackTrace();
+		} catch (OpenemsNamedException e) {
+			switch (e.getError()) {
+			case BACKEND_TIMEDATA_BACKPRESSURE:
+				// Timedata is overloaded; data was dropped
+				this.parent.onTimedataBackpressure(edgeId, wsData);
+				break;
+			case BACKEND_TIMEDATA_EDGE_BACKPRESSURE:
+				// Too much data of this Edge is queued; data was dropped
+				this.parent.onTimedataEdgeBackpressure(edgeId, wsData);
+				break;
+			default:
+				throw e;
+			}
+		}
+
+		// Push current data to subscribed UI sessions
+		var uiWebsocket = this.parent.uiWebsocket;
+		if (uiWebsocket != null) {
+			uiWebsocket.sendSubscribedChannels(edgeId);
 		}
 
 		// Read some specific channels
@@ -48,6 +48,7 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 			edge.setOnline(true);
 			edge.setLastMessageTimestamp();
 			wsData.setEdgeId(edgeId);
+			this.parent.connections.add(edgeId, ws);
 
 			// TODO send notification to UI
 		} catch (OpenemsException e) {
@@ -6,7 +6,6 @@ import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -61,9 +60,7 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 	 * @return true if it is online.
 	 */
 	public boolean isOnline(String edgeId) {
-		final Optional<String> edgeIdOpt = Optional.of(edgeId);
-		return this.getConnections().parallelStream().anyMatch(
-				ws -> ws.getAttachment() != null && ((WsData) ws.getAttachment()).getEdgeId().equals(edgeIdOpt));
+		return this.parent.connections.isOnline(edgeId);
 	}
 
 	@Override
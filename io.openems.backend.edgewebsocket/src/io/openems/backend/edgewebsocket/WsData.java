@@ -10,6 +10,7 @@ import java.util.concurrent.TimeoutException;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.notification.TimedataDroppedNotification;
 import io.openems.common.utils.StringUtils;
 
 public class WsData extends io.openems.common.websocket.WsData {
@@ -24,6 +25,12 @@ public class WsData extends io.openems.common.websocket.WsData {
 
 	private final CompletableFuture<Void> isAuthenticated = new CompletableFuture<>();
 
+	/**
+	 * {@link System#nanoTime()} when the last {@link TimedataDroppedNotification}
+	 * was sent; null if none was sent yet.
+	 */
+	private Long lastTimedataDroppedNotification = null;
+
 	public WsData(WebsocketServer parent) {
 		this.parent = parent;
 	}
@@ -74,6 +81,24 @@ public class WsData extends io.openems.common.websocket.WsData {
 		return this.edgeId;
 	}
 
+	/**
+	 * Gets whether a {@link TimedataDroppedNotification} should be sent to the
+	 * Edge now, i.e. none was sent within 'holdOff'. If true, the current time is
+	 * stored as time of the last notification.
+	 *
+	 * @param holdOff the minimum time between two notifications in nanoseconds
+	 * @return true if the notification should be sent
+	 */
+	public synchronized boolean isTimedataDroppedNotificationDue(long holdOff) {
+		var now = System.nanoTime();
+		if (this.lastTimedataDroppedNotification != null
+				&& now - this.lastTimedataDroppedNotification < holdOff) {
+			return false;
+		}
+		this.lastTimedataDroppedNotification = now;
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return "EdgeWebsocket.WsData [" //
@@ -5,8 +5,8 @@ import java.sql.SQLException;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import io.openems.backend.common.metadata.Edge;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
@@ -15,6 +15,16 @@ import io.openems.backend.metadata.odoo.postgres.PgUtils;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.SemanticVersion;
 
+/**
+ * Caches all Edges and EdgeUsers.
+ *
+ * <p>
+ * Reads are lock-free: every index maps directly to the {@link MyEdge}
+ * instance, i.e. each lookup is a single {@link ConcurrentHashMap#get(Object)}.
+ * Writes are serialized; a new Edge is fully initialized before it is
+ * published and it is published via its Apikey last, so an authenticated Edge
+ * is always also found by its Edge-ID and Odoo-ID.
+ */
 public class EdgeCache {
 
 	private final OdooMetadata parent;
@@ -22,22 +32,27 @@ public class EdgeCache {
 	/**
 	 * Map Edge-ID (String) to Edge.
 	 */
-	private final Map<String, MyEdge> edgeIdToEdge = new HashMap<>();
+	private final ConcurrentHashMap<String, MyEdge> edgeIdToEdge = new ConcurrentHashMap<>();
 
 	/**
-	 * Map Odoo-ID (Integer) to Edge-ID (String).
+	 * Map Odoo-ID (Integer) to Edge.
 	 */
-	private final Map<Integer, String> odooIdToEdgeId = new HashMap<>();
+	private final ConcurrentHashMap<Integer, MyEdge> odooIdToEdge = new ConcurrentHashMap<>();
 
 	/**
-	 * Map Apikey (String) to Edge-ID (String).
+	 * Map Apikey (String) to Edge.
 	 */
-	private final Map<String, String> apikeyToEdgeId = new HashMap<>();
+	private final ConcurrentHashMap<String, MyEdge> apikeyToEdge = new ConcurrentHashMap<>();
 
 	/**
 	 * Map Odoo-ID (Integer) to EdgeUser.
 	 */
-	private final Map<Integer, MyEdgeUser> odooIdToEdgeUser = new HashMap<>();
+	private final ConcurrentHashMap<Integer, MyEdgeUser> odooIdToEdgeUser = new ConcurrentHashMap<>();
+
+	/**
+	 * Serializes writes; reads do not lock.
+	 */
+	private final Object writeLock = new Object();
 
 	public EdgeCache(OdooMetadata parent) {
 		this.parent = parent;
@@ -51,7 +66,28 @@ public class EdgeCache {
 	 * @throws SQLException     on error
 	 * @throws OpenemsException on error
 	 */
-	public synchronized MyEdge addOrUpdate(ResultSet rs) throws SQLException, OpenemsException {
+	public MyEdge addOrUpdate(ResultSet rs) throws SQLException, OpenemsException {
+		return this.addOrUpdate(rs, edge -> {
+		});
+	}
+
+	/**
+	 * Adds a Edge or Updates an existing Edge from a SQL ResultSet.
+	 *
+	 * <p>
+	 * 'initializer' is called before a new Edge is published, e.g. to add its
+	 * EdgeUsers via {@link #addOrUpdateUser(EdgeUserRole, MyEdge)}; concurrent
+	 * readers never see a partially initialized Edge. It is called while holding
+	 * the write lock, so it must not block - e.g. load EdgeUsers from the database
+	 * before calling this method.
+	 *
+	 * @param rs          the ResultSet record
+	 * @param initializer called with the new or updated Edge instance
+	 * @return the new or updated Edge instance
+	 * @throws SQLException     on error
+	 * @throws OpenemsException on error
+	 */
+	public MyEdge addOrUpdate(ResultSet rs, Consumer<MyEdge> initializer) throws SQLException, OpenemsException {
 		// simple fields
 		var edgeId = PgUtils.getAsString(rs, EdgeDevice.NAME);
 		var odooId = PgUtils.getAsInt(rs, EdgeDevice.ID);
@@ -63,21 +99,29 @@ public class EdgeCache {
 		var productType = PgUtils.getAsStringOrElse(rs, EdgeDevice.PRODUCT_TYPE, "");
 		ZonedDateTime lastMessage = PgUtils.getAsDateOrElse(rs, EdgeDevice.LAST_MESSAGE, null);
 
-		var edge = this.edgeIdToEdge.get(edgeId);
-		if (edge == null) {
-			// This is new -> create instance of Edge
-			edge = new MyEdge(this.parent, odooId, edgeId, apikey, comment, version, productType, lastMessage);
-			this.edgeIdToEdge.put(edgeId, edge);
-			this.odooIdToEdgeId.put(odooId, edgeId);
-			this.apikeyToEdgeId.put(apikey, edgeId);
-		} else {
-			// Edge exists -> update information
-			edge.setComment(comment);
-			edge.setVersion(SemanticVersion.fromStringOrZero(version), false);
-			edge.setProducttype(productType);
-		}
+		return this.addOrUpdate(odooId, edgeId, apikey, comment, version, productType, lastMessage, initializer);
+	}
 
-		return edge;
+	protected MyEdge addOrUpdate(int odooId, String edgeId, String apikey, String comment, String version,
+			String productType, ZonedDateTime lastMessage, Consumer<MyEdge> initializer) {
+		synchronized (this.writeLock) {
+			var edge = this.edgeIdToEdge.get(edgeId);
+			if (edge == null) {
+				// This is new -> create and initialize instance of Edge, then publish it
+				edge = new MyEdge(this.parent, odooId, edgeId, apikey, comment, version, productType, lastMessage);
+				initializer.accept(edge);
+				this.edgeIdToEdge.put(edgeId, edge);
+				this.odooIdToEdge.put(odooId, edge);
+				this.apikeyToEdge.put(apikey, edge);
+			} else {
+				// Edge exists -> update information
+				edge.setComment(comment);
+				edge.setVersion(SemanticVersion.fromStringOrZero(version), false);
+				edge.setProducttype(productType);
+				initializer.accept(edge);
+			}
+			return edge;
+		}
 	}
 
 	/**
@@ -88,26 +132,49 @@ public class EdgeCache {
 	 * @return the new or updated EdgeUser instance
 	 * @throws SQLException on error
 	 */
-	public synchronized MyEdgeUser addOrUpdateUser(ResultSet rs, String edgeId) throws SQLException {
-		// simple fields
-		int id = PgUtils.getAsInt(rs, EdgeDeviceUserRole.ID);
-		String userId = PgUtils.getAsStringOrElse(rs, EdgeDeviceUserRole.USER_ID, null);
-		int timeToWait = PgUtils.getAsIntegerOrElse(rs, EdgeDeviceUserRole.TIME_TO_WAIT, 0);
-		ZonedDateTime lastNotification = PgUtils.getAsDateOrElse(rs, EdgeDeviceUserRole.LAST_NOTIFICATION, null);
-
-		MyEdgeUser edgeUser = this.odooIdToEdgeUser.get(id);
-		if (edgeUser == null) {
-			// This is new -> create instance of EdgeUser
-			edgeUser = new MyEdgeUser(this.parent, id, edgeId, userId, timeToWait, lastNotification);
-			this.getEdgeFromEdgeId(edgeId).addUser(edgeUser);
-			this.odooIdToEdgeUser.put(id, edgeUser);
-		} else {
-			// EdgeUser exists -> update information
-			edgeUser.setTimeToWait(timeToWait);
-			edgeUser.setLastNotification(lastNotification);
-		}
+	public MyEdgeUser addOrUpdateUser(ResultSet rs, String edgeId) throws SQLException {
+		return this.addOrUpdateUser(rs, this.getEdgeFromEdgeId(edgeId));
+	}
+
+	/**
+	 * Adds a EdgeUser to an Edge from a SQL ResultSet.
+	 *
+	 * @param rs   the ResultSet record
+	 * @param edge the Edge to add the User to; it may not be published yet
+	 * @return the new or updated EdgeUser instance
+	 * @throws SQLException on error
+	 */
+	public MyEdgeUser addOrUpdateUser(ResultSet rs, MyEdge edge) throws SQLException {
+		return this.addOrUpdateUser(EdgeUserRole.from(rs), edge);
+	}
+
+	/**
+	 * Adds a EdgeUser to an Edge from a previously read {@link EdgeUserRole}.
+	 *
+	 * @param role the EdgeUserRole
+	 * @param edge the Edge to add the User to; it may not be published yet
+	 * @return the new or updated EdgeUser instance
+	 */
+	public MyEdgeUser addOrUpdateUser(EdgeUserRole role, MyEdge edge) {
+		return this.addOrUpdateUser(role.id, edge, role.userId, role.timeToWait, role.lastNotification);
+	}
 
-		return edgeUser;
+	protected MyEdgeUser addOrUpdateUser(int id, MyEdge edge, String userId, int timeToWait,
+			ZonedDateTime lastNotification) {
+		synchronized (this.writeLock) {
+			var edgeUser = this.odooIdToEdgeUser.get(id);
+			if (edgeUser == null) {
+				// This is new -> create instance of EdgeUser
+				edgeUser = new MyEdgeUser(this.parent, id, edge.getId(), userId, timeToWait, lastNotification);
+				edge.addUser(edgeUser);
+				this.odooIdToEdgeUser.put(id, edgeUser);
+			} else {
+				// EdgeUser exists -> update information
+				edgeUser.setTimeToWait(timeToWait);
+				edgeUser.setLastNotification(lastNotification);
+			}
+			return edgeUser;
+		}
 	}
 
 	/**
@@ -116,7 +183,7 @@ public class EdgeCache {
 	 * @param edgeId the Edge-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromEdgeId(String edgeId) {
+	public MyEdge getEdgeFromEdgeId(String edgeId) {
 		return this.edgeIdToEdge.get(edgeId);
 	}
 
@@ -126,12 +193,8 @@ public class EdgeCache {
 	 * @param odooId the Odoo-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromOdooId(int odooId) {
-		var edgeId = this.odooIdToEdgeId.get(odooId);
-		if (edgeId == null) {
-			return null;
-		}
-		return this.getEdgeFromEdgeId(edgeId);
+	public MyEdge getEdgeFromOdooId(int odooId) {
+		return this.odooIdToEdge.get(odooId);
 	}
 
 	/**
@@ -140,17 +203,16 @@ public class EdgeCache {
 	 * @param apikey the Apikey
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeForApikey(String apikey) {
-		var edgeId = this.apikeyToEdgeId.get(apikey);
-		if (edgeId == null) {
-			return null;
-		}
-		return this.getEdgeFromEdgeId(edgeId);
+	public MyEdge getEdgeForApikey(String apikey) {
+		return this.apikeyToEdge.get(apikey);
 	}
 
 	/**
 	 * Gets all Edges as an unmodifiable Collection.
 	 *
+	 * <p>
+	 * The Collection is a live view; iterating it is thread-safe.
+	 *
 	 * @return a collection of Edges
 	 */
 	public Collection<Edge> getAllEdges() {
@@ -163,8 +225,42 @@ public class EdgeCache {
 	 * @param odooId the Odoo-ID
 	 * @return the EdgeUser, or null
 	 */
-	public synchronized MyEdgeUser getEdgeUserFromOdooId(int odooId) {
+	public MyEdgeUser getEdgeUserFromOdooId(int odooId) {
 		return this.odooIdToEdgeUser.get(odooId);
 	}
 
+	/**
+	 * An EdgeUser record as read from the database, not yet applied to the cache.
+	 */
+	public static class EdgeUserRole {
+
+		/**
+		 * Reads an {@link EdgeUserRole} from a SQL ResultSet.
+		 *
+		 * @param rs the ResultSet record
+		 * @return the {@link EdgeUserRole}
+		 * @throws SQLException on error
+		 */
+		public static EdgeUserRole from(ResultSet rs) throws SQLException {
+			return new EdgeUserRole(//
+					PgUtils.getAsInt(rs, EdgeDeviceUserRole.ID), //
+					PgUtils.getAsStringOrElse(rs, EdgeDeviceUserRole.USER_ID, null), //
+					PgUtils.getAsIntegerOrElse(rs, EdgeDeviceUserRole.TIME_TO_WAIT, 0), //
+					PgUtils.getAsDateOrElse(rs, EdgeDeviceUserRole.LAST_NOTIFICATION, null));
+		}
+
+		private final int id;
+		private final String userId;
+		private final int timeToWait;
+		private final ZonedDateTime lastNotification;
+
+		public EdgeUserRole(int id, String userId, int timeToWait, ZonedDateTime lastNotification) {
+			this.id = id;
+			this.userId = userId;
+			this.timeToWait = timeToWait;
+			this.lastNotification = lastNotification;
+		}
+
+	}
+
 }
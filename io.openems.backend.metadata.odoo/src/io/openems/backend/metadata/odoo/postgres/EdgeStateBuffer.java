@@ -0,0 +1,287 @@
+package io.openems.backend.metadata.odoo.postgres;
+
+import java.util.Arrays;
+
+import io.openems.common.channel.Level;
+
+/**
+ * Buffers the latest state of each Edge until it is written to Postgres.
+ *
+ * <p>
+ * States are stored per Odoo-ID in an open-addressing hash table of primitive
+ * arrays. For every field only the last value is kept, i.e. an Edge that sends
+ * thousands of messages or toggles online/offline between two flushes results
+ * in a single row update per field.
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public class EdgeStateBuffer {
+
+	/**
+	 * The states of multiple Edges, as drained from a {@link EdgeStateBuffer}.
+	 */
+	public static class Batch {
+
+		public final int[] lastMessageIds;
+		public final int[] connectedIds;
+		public final boolean[] connectedValues;
+		public final int[] sumStateIds;
+		public final Level[] sumStateValues;
+
+		private Batch(int[] lastMessageIds, int[] connectedIds, boolean[] connectedValues, int[] sumStateIds,
+				Level[] sumStateValues) {
+			this.lastMessageIds = lastMessageIds;
+			this.connectedIds = connectedIds;
+			this.connectedValues = connectedValues;
+			this.sumStateIds = sumStateIds;
+			this.sumStateValues = sumStateValues;
+		}
+
+		/**
+		 * Gets the number of rows to be updated, i.e. the number of field values.
+		 *
+		 * @return the number of rows
+		 */
+		public int rows() {
+			return this.lastMessageIds.length + this.connectedIds.length + this.sumStateIds.length;
+		}
+
+		public boolean isEmpty() {
+			return this.rows() == 0;
+		}
+	}
+
+	private static final int INITIAL_CAPACITY = 1024; // must be a power of two
+	private static final int EMPTY = Integer.MIN_VALUE;
+
+	/*
+	 * The state of an Edge is encoded in one int:
+	 *
+	 * - bit 0: Last-Message is set
+	 *
+	 * - bits 1-2: Is-Connected; 0 = not set, 1 = false, 2 = true
+	 *
+	 * - bits 3-5: Sum-State; 0 = not set, otherwise Level ordinal + 1
+	 */
+	private static final int LAST_MESSAGE = 0b1;
+	private static final int CONNECTED_SHIFT = 1;
+	private static final int CONNECTED_MASK = 0b11 << CONNECTED_SHIFT;
+	private static final int SUM_STATE_SHIFT = 3;
+	private static final int SUM_STATE_MASK = 0b111 << SUM_STATE_SHIFT;
+
+	private static final Level[] LEVELS = Level.values();
+
+	private int[] keys = newKeys(INITIAL_CAPACITY);
+	private int[] states = new int[INITIAL_CAPACITY];
+	private int size = 0;
+	private int noOfLastMessages = 0;
+	private int noOfStateChanges = 0;
+
+	/**
+	 * Sets the Last-Message timestamp of an Edge.
+	 *
+	 * @param odooId the Odoo-ID of the Edge
+	 */
+	public synchronized void setLastMessage(int odooId) {
+		var slot = this.slot(odooId);
+		if ((this.states[slot] & LAST_MESSAGE) == 0) {
+			this.states[slot] |= LAST_MESSAGE;
+			this.noOfLastMessages++;
+		}
+	}
+
+	/**
+	 * Sets the Is-Connected state of an Edge.
+	 *
+	 * @param odooId      the Odoo-ID of the Edge
+	 * @param isConnected true if online; false if offline
+	 */
+	public synchronized void setConnected(int odooId, boolean isConnected) {
+		this.set(this.slot(odooId), CONNECTED_MASK, (isConnected ? 2 : 1) << CONNECTED_SHIFT);
+	}
+
+	/**
+	 * Sets the Sum-State of an Edge.
+	 *
+	 * @param odooId   the Odoo-ID of the Edge
+	 * @param sumState the Sum-State {@link Level}
+	 */
+	public synchronized void setSumState(int odooId, Level sumState) {
+		this.set(this.slot(odooId), SUM_STATE_MASK, (sumState.ordinal() + 1) << SUM_STATE_SHIFT);
+	}
+
+	private void set(int slot, int mask, int value) {
+		var state = this.states[slot];
+		if ((state & (CONNECTED_MASK | SUM_STATE_MASK)) == 0) {
+			this.noOfStateChanges++;
+		}
+		this.states[slot] = state & ~mask | value;
+	}
+
+	/**
+	 * Gets the number of buffered Last-Message timestamps.
+	 *
+	 * @return the number of Edges
+	 */
+	public synchronized int getNoOfLastMessages() {
+		return this.noOfLastMessages;
+	}
+
+	/**
+	 * Gets the number of Edges with a buffered change of Is-Connected or
+	 * Sum-State.
+	 *
+	 * @return the number of Edges
+	 */
+	public synchronized int getNoOfStateChanges() {
+		return this.noOfStateChanges;
+	}
+
+	/**
+	 * Moves all buffered states to a {@link Batch} and clears the buffer.
+	 *
+	 * @return the {@link Batch}
+	 */
+	public synchronized Batch drain() {
+		var lastMessageIds = new int[this.noOfLastMessages];
+		var noOfConnected = 0;
+		var noOfSumStates = 0;
+		for (var i = 0; i < this.keys.length; i++) {
+			if (this.keys[i] == EMPTY) {
+				continue;
+			}
+			if ((this.states[i] & CONNECTED_MASK) != 0) {
+				noOfConnected++;
+			}
+			if ((this.states[i] & SUM_STATE_MASK) != 0) {
+				noOfSumStates++;
+			}
+		}
+		var connectedIds = new int[noOfConnected];
+		var connectedValues = new boolean[noOfConnected];
+		var sumStateIds = new int[noOfSumStates];
+		var sumStateValues = new Level[noOfSumStates];
+
+		var l = 0;
+		var c = 0;
+		var s = 0;
+		for (var i = 0; i < this.keys.length; i++) {
+			var key = this.keys[i];
+			if (key == EMPTY) {
+				continue;
+			}
+			var state = this.states[i];
+			if ((state & LAST_MESSAGE) != 0) {
+				lastMessageIds[l++] = key;
+			}
+			var connected = (state & CONNECTED_MASK) >> CONNECTED_SHIFT;
+			if (connected != 0) {
+				connectedIds[c] = key;
+				connectedValues[c++] = connected == 2;
+			}
+			var sumState = (state & SUM_STATE_MASK) >> SUM_STATE_SHIFT;
+			if (sumState != 0) {
+				sumStateIds[s] = key;
+				sumStateValues[s++] = LEVELS[sumState - 1];
+			}
+		}
+
+		// Clear
+		Arrays.fill(this.keys, EMPTY);
+		Arrays.fill(this.states, 0);
+		this.size = 0;
+		this.noOfLastMessages = 0;
+		this.noOfStateChanges = 0;
+
+		return new Batch(lastMessageIds, connectedIds, connectedValues, sumStateIds, sumStateValues);
+	}
+
+	/**
+	 * Puts the states of a {@link Batch} that could not be written back into the
+	 * buffer. Values that were set in the meantime are not overwritten.
+	 *
+	 * @param batch the {@link Batch}
+	 */
+	public synchronized void restore(Batch batch) {
+		for (var odooId : batch.lastMessageIds) {
+			this.setLastMessage(odooId);
+		}
+		for (var i = 0; i < batch.connectedIds.length; i++) {
+			var slot = this.slot(batch.connectedIds[i]);
+			if ((this.states[slot] & CONNECTED_MASK) == 0) {
+				this.set(slot, CONNECTED_MASK, (batch.connectedValues[i] ? 2 : 1) << CONNECTED_SHIFT);
+			}
+		}
+		for (var i = 0; i < batch.sumStateIds.length; i++) {
+			var slot = this.slot(batch.sumStateIds[i]);
+			if ((this.states[slot] & SUM_STATE_MASK) == 0) {
+				this.set(slot, SUM_STATE_MASK, (batch.sumStateValues[i].ordinal() + 1) << SUM_STATE_SHIFT);
+			}
+		}
+	}
+
+	/**
+	 * Gets the slot for an Odoo-ID; adds the Odoo-ID if it does not exist yet.
+	 *
+	 * @param odooId the Odoo-ID
+	 * @return the index in {@link #keys} and {@link #states}
+	 */
+	private int slot(int odooId) {
+		if (odooId == EMPTY) {
+			throw new IllegalArgumentException("Invalid Odoo-ID [" + odooId + "]");
+		}
+		var mask = this.keys.length - 1;
+		var slot = hash(odooId) & mask;
+		while (true) {
+			var key = this.keys[slot];
+			if (key == odooId) {
+				return slot;
+			}
+			if (key == EMPTY) {
+				break;
+			}
+			slot = slot + 1 & mask;
+		}
+
+		// Add new key; keep load factor below 0.5
+		if ((this.size + 1) * 2 > this.keys.length) {
+			this.grow();
+			return this.slot(odooId);
+		}
+		this.keys[slot] = odooId;
+		this.size++;
+		return slot;
+	}
+
+	private void grow() {
+		var oldKeys = this.keys;
+		var oldStates = this.states;
+		this.keys = newKeys(oldKeys.length * 2);
+		this.states = new int[oldKeys.length * 2];
+		var mask = this.keys.length - 1;
+		for (var i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] == EMPTY) {
+				continue;
+			}
+			var slot = hash(oldKeys[i]) & mask;
+			while (this.keys[slot] != EMPTY) {
+				slot = slot + 1 & mask;
+			}
+			this.keys[slot] = oldKeys[i];
+			this.states[slot] = oldStates[i];
+		}
+	}
+
+	private static int hash(int key) {
+		var h = key * 0x9E3779B9;
+		return h ^ h >>> 16;
+	}
+
+	private static int[] newKeys(int capacity) {
+		var result = new int[capacity];
+		Arrays.fill(result, EMPTY);
+		return result;
+	}
+
+}
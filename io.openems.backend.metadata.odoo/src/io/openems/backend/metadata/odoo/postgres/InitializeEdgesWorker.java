@@ -3,6 +3,8 @@ package io.openems.backend.metadata.odoo.postgres;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
@@ -15,6 +17,8 @@ import com.zaxxer.hikari.HikariDataSource;
 import io.openems.backend.metadata.odoo.Field;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
 import io.openems.backend.metadata.odoo.Field.EdgeDeviceUserRole;
+import io.openems.backend.metadata.odoo.EdgeCache;
+import io.openems.backend.metadata.odoo.EdgeCache.EdgeUserRole;
 import io.openems.common.utils.ThreadPoolUtils;
 
 public class InitializeEdgesWorker {
@@ -78,12 +82,15 @@ public class InitializeEdgesWorker {
 							"Caching Edges from Postgres. Finished [" + String.format("%1$6s", i) + "]");
 				}
 				try {
-					var edgeId = PgUtils.getAsString(rs, EdgeDevice.NAME);
 					var odooId = PgUtils.getAsInt(rs, EdgeDevice.ID);
 
-					self.parent.edgeCache.addOrUpdate(rs);
-
-					this.loadEdgeUserRoles(odooId, edgeId);
+					// Read EdgeUsers first; Edge is then published together with them
+					var roles = self.loadEdgeUserRoles(odooId);
+					self.parent.edgeCache.addOrUpdate(rs, edge -> {
+						for (var role : roles) {
+							self.parent.edgeCache.addOrUpdateUser(role, edge);
+						}
+					});
 				} catch (Exception e) {
 					self.parent.logError(this.log,
 							"Unable to read Edge: " + e.getClass().getSimpleName() + ". " + e.getMessage());
@@ -100,14 +107,24 @@ public class InitializeEdgesWorker {
 		self.onFinished.run();
 	};
 
-	private void loadEdgeUserRoles(int edgeOdooId, String edgeId) {
+	/**
+	 * Reads all EdgeUsers of an Edge from Postgres.
+	 *
+	 * <p>
+	 * This is done without holding the {@link EdgeCache} write lock.
+	 *
+	 * @param edgeOdooId the Odoo-ID of the Edge
+	 * @return a list of {@link EdgeUserRole}s; empty on error
+	 */
+	private List<EdgeUserRole> loadEdgeUserRoles(int edgeOdooId) {
+		var result = new ArrayList<EdgeUserRole>();
 		try (var con = this.dataSource.getConnection(); //
 				var pst = this.psQueryAllEdgeUsersToEdge(con, edgeOdooId); //
 				var rs = pst.executeQuery(); //
 		) {
 			while (rs.next()) {
 				try {
-					this.parent.edgeCache.addOrUpdateUser(rs, edgeId);
+					result.add(EdgeUserRole.from(rs));
 				} catch (Exception e) {
 					this.parent.logError(this.log,
 							"Unable to read EdgeUser: " + e.getClass().getSimpleName() + ". " + e.getMessage());
@@ -119,6 +136,7 @@ public class InitializeEdgesWorker {
 					"Unable to initialize EdgeUser: " + e.getClass().getSimpleName() + ". " + e.getMessage());
 			e.printStackTrace();
 		}
+		return result;
 	}
 
 	/**
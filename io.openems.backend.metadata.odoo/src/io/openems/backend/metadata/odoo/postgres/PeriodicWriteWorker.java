@@ -1,16 +1,10 @@
 package io.openems.backend.metadata.odoo.postgres;
 
 import java.sql.SQLException;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,20 +17,36 @@ import io.openems.common.channel.Level;
 import io.openems.common.utils.ThreadPoolUtils;
 
 /**
- * This worker combines writes to lastMessage and lastUpdate fields, to avoid
- * DDOSing Odoo/Postgres by writing too often.
+ * This worker combines writes to lastMessage, isConnected and sumState fields,
+ * to avoid DDOSing Odoo/Postgres by writing too often.
+ *
+ * <p>
+ * The latest state of every Edge is buffered in an {@link EdgeStateBuffer} and
+ * written in one batch:
+ *
+ * <ul>
+ * <li>Last-Message timestamps are written every
+ * {@link #MAX_INTERVAL_IN_SECONDS}.
+ * <li>Changes of Online-State or Sum-State are written after an adaptive
+ * interval: it is doubled if a flush fails or is slow and halved otherwise,
+ * within {@link #MIN_INTERVAL_IN_SECONDS} and {@link #MAX_INTERVAL_IN_SECONDS}.
+ * </ul>
  */
 public class PeriodicWriteWorker {
 
 	/**
-	 * DEBUG_MODE activates printing of reqular statistics about queued tasks.
+	 * DEBUG_MODE activates printing of reqular statistics about flushes.
 	 */
 	private static final boolean DEBUG_MODE = true;
 
-	private static final int UPDATE_INTERVAL_IN_SECONDS = 120;
+	protected static final int MIN_INTERVAL_IN_SECONDS = 10;
+	protected static final int MAX_INTERVAL_IN_SECONDS = 120;
+	protected static final long SLOW_FLUSH_MILLIS = 5_000;
+	private static final int CHECK_INTERVAL_IN_SECONDS = 5;
 
 	private final Logger log = LoggerFactory.getLogger(PeriodicWriteWorker.class);
 	private final PostgresHandler parent;
+	private final EdgeStateBuffer buffer = new EdgeStateBuffer();
 
 	/**
 	 * Holds the scheduled task.
@@ -44,11 +54,17 @@ public class PeriodicWriteWorker {
 	private ScheduledFuture<?> future = null;
 
 	/**
-	 * Executor for subscriptions task.
+	 * Executor for the flush task.
 	 */
-	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(10,
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
 			new ThreadFactoryBuilder().setNameFormat("Metadata.Odoo.PGPeriodic-%d").build());
 
+	/*
+	 * The following fields are guarded by 'this'.
+	 */
+	private int interval = MIN_INTERVAL_IN_SECONDS;
+	private long lastFlush = System.nanoTime();
+
 	public PeriodicWriteWorker(PostgresHandler parent) {
 		this.parent = parent;
 	}
@@ -57,63 +73,34 @@ public class PeriodicWriteWorker {
 	 * Starts the {@link PeriodicWriteWorker}.
 	 */
 	public synchronized void start() {
+		this.lastFlush = System.nanoTime();
 		this.future = this.executor.scheduleWithFixedDelay(//
-				() -> this.task.accept(this.parent.edge), //
-				PeriodicWriteWorker.UPDATE_INTERVAL_IN_SECONDS, PeriodicWriteWorker.UPDATE_INTERVAL_IN_SECONDS,
-				TimeUnit.SECONDS);
+				this::flushIfDue, //
+				CHECK_INTERVAL_IN_SECONDS, CHECK_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
 	}
 
 	/**
-	 * Stops the {@link PeriodicWriteWorker}.
+	 * Stops the {@link PeriodicWriteWorker}; writes buffered states.
 	 */
-	public synchronized void stop() {
-		// unsubscribe regular task
-		if (this.future != null) {
-			this.future.cancel(true);
+	public void stop() {
+		synchronized (this) {
+			// unsubscribe regular task
+			if (this.future != null) {
+				this.future.cancel(false);
+			}
 		}
 		// Shutdown executor
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		this.flush();
 	}
 
-	private final LinkedBlockingQueue<Integer> lastMessageOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> isOnlineOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> isOfflineOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateOk = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateInfo = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateWarning = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateFault = new LinkedBlockingQueue<>();
-
-	private final Consumer<PgEdgeHandler> task = edge -> {
-		if (PeriodicWriteWorker.DEBUG_MODE) {
-			this.debugLog();
-		}
-
-		try {
-			// Last Message
-			edge.updateLastMessage(drainToSet(this.lastMessageOdooIds));
-
-			// Online/Offline
-			edge.updateOpenemsIsConnected(drainToSet(this.isOfflineOdooIds), false);
-			edge.updateOpenemsIsConnected(drainToSet(this.isOnlineOdooIds), true);
-
-			// Sum-State
-			edge.updateSumState(drainToSet(this.sumStateOk), Level.OK);
-			edge.updateSumState(drainToSet(this.sumStateInfo), Level.INFO);
-			edge.updateSumState(drainToSet(this.sumStateWarning), Level.WARNING);
-			edge.updateSumState(drainToSet(this.sumStateFault), Level.FAULT);
-
-		} catch (SQLException e) {
-			this.log.error("Unable to execute WriteWorker task: " + e.getMessage());
-		}
-	};
-
 	/**
 	 * Called on {@link Edge.Events#ON_SET_LAST_MESSAGE_TIMESTAMP} event.
 	 *
 	 * @param edge the {@link MyEdge}.
 	 */
 	public void onLastMessage(MyEdge edge) {
-		this.lastMessageOdooIds.add(edge.getOdooId());
+		this.buffer.setLastMessage(edge.getOdooId());
 	}
 
 	/**
@@ -123,12 +110,7 @@ public class PeriodicWriteWorker {
 	 * @param isOnline true if online, false if offline
 	 */
 	public void onSetOnline(MyEdge edge, boolean isOnline) {
-		var odooId = edge.getOdooId();
-		if (isOnline) {
-			this.isOnlineOdooIds.add(odooId);
-		} else {
-			this.isOfflineOdooIds.add(odooId);
-		}
+		this.buffer.setConnected(edge.getOdooId(), isOnline);
 	}
 
 	/**
@@ -138,48 +120,69 @@ public class PeriodicWriteWorker {
 	 * @param sumState Sum-State {@link Level}
 	 */
 	public void onSetSumState(MyEdge edge, Level sumState) {
-		var odooId = edge.getOdooId();
-		switch (sumState) {
-		case OK:
-			this.sumStateOk.add(odooId);
-			break;
-		case INFO:
-			this.sumStateInfo.add(odooId);
-			break;
-		case WARNING:
-			this.sumStateWarning.add(odooId);
-			break;
-		case FAULT:
-			this.sumStateFault.add(odooId);
-			break;
+		this.buffer.setSumState(edge.getOdooId(), sumState);
+	}
+
+	private synchronized void flushIfDue() {
+		var elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - this.lastFlush);
+		if (elapsed >= MAX_INTERVAL_IN_SECONDS //
+				|| elapsed >= this.interval && this.buffer.getNoOfStateChanges() > 0) {
+			this.flush();
 		}
 	}
 
 	/**
-	 * Moves all entries of a {@link LinkedBlockingQueue} to a Set and clears the
-	 * queue. This is thread-safe.
-	 * 
-	 * @param queue the {@link LinkedBlockingQueue}
-	 * @return the {@link Set}
+	 * Writes all buffered states to Postgres. On error the states are buffered
+	 * again.
 	 */
-	protected static Set<Integer> drainToSet(LinkedBlockingQueue<Integer> queue) {
-		Set<Integer> result = new HashSet<>(queue.size());
-		queue.drainTo(result);
-		return result;
-	}
+	private synchronized void flush() {
+		var sinceLastFlush = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - this.lastFlush);
+		this.lastFlush = System.nanoTime();
+		var batch = this.buffer.drain();
+		if (batch.isEmpty()) {
+			return;
+		}
 
-	/*
-	 * From here required for DEBUG_MODE
-	 */
-	private LocalDateTime lastExecute = null;
+		var start = System.nanoTime();
+		boolean success;
+		var rows = 0;
+		try {
+			rows = this.parent.edge.updateEdgeStates(batch);
+			success = true;
+
+		} catch (SQLException e) {
+			this.log.error("Unable to execute WriteWorker task: " + e.getMessage());
+			this.buffer.restore(batch);
+			success = false;
+		}
+		var latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		this.interval = nextInterval(this.interval, success, latency);
 
-	private synchronized void debugLog() {
-		var now = LocalDateTime.now();
-		if (this.lastExecute != null) {
+		if (PeriodicWriteWorker.DEBUG_MODE) {
 			this.parent.logInfo(this.log, "PeriodicWriteWorker. " //
-					+ "Time since last run: [" + ChronoUnit.SECONDS.between(this.lastExecute, now) + "s]" //
-			);
+					+ "Time since last run: [" + sinceLastFlush + "s] " //
+					+ "Rows: [" + rows + "/" + batch.rows() + "] " //
+					+ "LastMessage: [" + batch.lastMessageIds.length + "] " //
+					+ "IsConnected: [" + batch.connectedIds.length + "] " //
+					+ "SumState: [" + batch.sumStateIds.length + "] " //
+					+ "Latency: [" + latency + "ms] " //
+					+ "Next interval: [" + this.interval + "s]");
+		}
+	}
+
+	/**
+	 * Calculates the interval for the next flush of state changes.
+	 *
+	 * @param interval      the current interval in [s]
+	 * @param success       was the last flush successful?
+	 * @param latencyMillis the duration of the last flush in [ms]
+	 * @return the next interval in [s]
+	 */
+	protected static int nextInterval(int interval, boolean success, long latencyMillis) {
+		if (!success || latencyMillis > SLOW_FLUSH_MILLIS) {
+			return Math.min(MAX_INTERVAL_IN_SECONDS, interval * 2);
 		}
-		this.lastExecute = now;
+		return Math.max(MIN_INTERVAL_IN_SECONDS, interval / 2);
 	}
+
 }
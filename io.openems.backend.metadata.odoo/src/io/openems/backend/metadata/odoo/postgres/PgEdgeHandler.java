@@ -1,19 +1,17 @@
 package io.openems.backend.metadata.odoo.postgres;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.zaxxer.hikari.HikariDataSource;
 
 import io.openems.backend.metadata.odoo.Field;
 import io.openems.backend.metadata.odoo.Field.EdgeConfigUpdate;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
-import io.openems.common.channel.Level;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.EdgeConfig;
@@ -133,83 +131,86 @@ public final class PgEdgeHandler {
 	}
 
 	/**
-	 * Updates the OpenemsIsConnected field for multiple Edge-IDs.
+	 * Updates the LastMessage, OpenemsIsConnected and Sum-State fields for
+	 * multiple Edges. Every field is updated with one statement using arrays, i.e.
+	 * the number of round-trips does not depend on the number of Edges.
 	 * 
-	 * @param odooIds     the Odoo-IDs
-	 * @param isConnected true if online; false if offline
+	 * @param batch the {@link EdgeStateBuffer.Batch}
+	 * @return the number of updated rows
 	 * @throws SQLException on error
 	 */
-	public void updateOpenemsIsConnected(Set<Integer> odooIds, boolean isConnected) throws SQLException {
-		if (odooIds.isEmpty()) {
-			return;
+	public int updateEdgeStates(EdgeStateBuffer.Batch batch) throws SQLException {
+		if (batch.isEmpty()) {
+			return 0;
 		}
 
-		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.OPENEMS_IS_CONNECTED.id()).append(" = ")
-					.append(isConnected ? "TRUE" : "FALSE") //
-					.append(" WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
-		}
-	}
+		var result = 0;
+		try (var con = this.dataSource.getConnection()) {
+			// Last Message
+			if (batch.lastMessageIds.length > 0) {
+				try (var pst = con.prepareStatement(new StringBuilder() //
+						.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
+						.append(" SET ").append(Field.EdgeDevice.LAST_MESSAGE.id()).append(" = (now() at time zone 'UTC')") //
+						.append(" WHERE id = ANY(?)") //
+						.toString())) {
+					pst.setArray(1, con.createArrayOf("integer", toObjectArray(batch.lastMessageIds)));
+					result += pst.executeUpdate();
+				}
+			}
 
-	/**
-	 * Updates the LastMessage field for multiple Edge-IDs.
-	 * 
-	 * @param odooIds the Odoo-IDs
-	 * @throws OpenemsNamedException on error
-	 * @throws SQLException          on error
-	 */
-	public void updateLastMessage(Set<Integer> odooIds) throws SQLException {
-		if (odooIds.isEmpty()) {
-			return;
-		}
+			// Online/Offline
+			if (batch.connectedIds.length > 0) {
+				var values = new Boolean[batch.connectedValues.length];
+				for (var i = 0; i < values.length; i++) {
+					values[i] = batch.connectedValues[i];
+				}
+				result += updateFromArrays(con, Field.EdgeDevice.OPENEMS_IS_CONNECTED.id(), batch.connectedIds,
+						"boolean", values);
+			}
 
-		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.LAST_MESSAGE.id()).append(" = (now() at time zone 'UTC')") //
-					.append(" WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
+			// Sum-State
+			if (batch.sumStateIds.length > 0) {
+				var values = new String[batch.sumStateValues.length];
+				for (var i = 0; i < values.length; i++) {
+					values[i] = batch.sumStateValues[i].getName().toLowerCase();
+				}
+				result += updateFromArrays(con, Field.EdgeDevice.OPENEMS_SUM_STATE.id(), batch.sumStateIds, "text",
+						values);
+			}
 		}
+		return result;
 	}
 
 	/**
-	 * Updates the Sum-State field for multiple Edge-IDs.
+	 * Updates one field of multiple Edges to individual values.
 	 * 
-	 * @param odooIds the Odoo-IDs
-	 * @param level   the Sum-State {@link Level}
-	 * @throws OpenemsNamedException on error
-	 * @throws SQLException          on error
+	 * @param con       the {@link Connection}
+	 * @param field     the field name
+	 * @param odooIds   the Odoo-IDs
+	 * @param valueType the SQL type of the values
+	 * @param values    the values; same length as odooIds
+	 * @return the number of updated rows
+	 * @throws SQLException on error
 	 */
-	public void updateSumState(Set<Integer> odooIds, Level level) throws SQLException {
-		if (odooIds.isEmpty()) {
-			return;
+	private static int updateFromArrays(Connection con, String field, int[] odooIds, String valueType,
+			Object[] values) throws SQLException {
+		try (var pst = con.prepareStatement(new StringBuilder() //
+				.append("UPDATE ").append(EdgeDevice.ODOO_TABLE).append(" AS e") //
+				.append(" SET ").append(field).append(" = v.value") //
+				.append(" FROM UNNEST(?::integer[], ?::").append(valueType).append("[]) AS v(id, value)") //
+				.append(" WHERE e.id = v.id") //
+				.toString())) {
+			pst.setArray(1, con.createArrayOf("integer", toObjectArray(odooIds)));
+			pst.setArray(2, con.createArrayOf(valueType, values));
+			return pst.executeUpdate();
 		}
+	}
 
-		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.OPENEMS_SUM_STATE.id()).append(" = '")
-					.append(level.getName().toLowerCase()) //
-					.append("' WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
+	private static Integer[] toObjectArray(int[] values) {
+		var result = new Integer[values.length];
+		for (var i = 0; i < values.length; i++) {
+			result[i] = values[i];
 		}
+		return result;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package io.openems.backend.metadata.odoo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.backend.metadata.odoo.EdgeCache.EdgeUserRole;
+
+public class EdgeCacheTest {
+
+	private static MyEdge add(EdgeCache sut, int odooId) {
+		return sut.addOrUpdate(odooId, "edge" + odooId, "apikey" + odooId, "comment", "2022.1.0", "", null,
+				edge -> sut.addOrUpdateUser(odooId, edge, "user" + odooId, 0, null));
+	}
+
+	@Test
+	public void testAddOrUpdate() {
+		var sut = new EdgeCache(null);
+		var edge = add(sut, 1);
+		assertSame(edge, sut.getEdgeFromEdgeId("edge1"));
+		assertSame(edge, sut.getEdgeFromOdooId(1));
+		assertSame(edge, sut.getEdgeForApikey("apikey1"));
+		assertSame(edge.getUser().get(0), sut.getEdgeUserFromOdooId(1));
+		assertNull(sut.getEdgeForApikey("apikey2"));
+
+		var updated = sut.addOrUpdate(1, "edge1", "apikey1", "updated", "2022.2.0", "", null, e -> {
+		});
+		assertSame(edge, updated);
+		assertEquals("updated", edge.getComment());
+		assertEquals(1, edge.getUser().size());
+		assertEquals(1, sut.getAllEdges().size());
+	}
+
+	@Test
+	public void testAddOrUpdateUserRole() {
+		var sut = new EdgeCache(null);
+		var roles = Arrays.asList(//
+				new EdgeUserRole(1, "user1", 0, null), //
+				new EdgeUserRole(2, "user2", 0, null));
+		var edge = sut.addOrUpdate(1, "edge1", "apikey1", "", "", "", null, e -> {
+			for (var role : roles) {
+				sut.addOrUpdateUser(role, e);
+			}
+		});
+		assertEquals(2, edge.getUser().size());
+		assertSame(edge.getUser().get(1), sut.getEdgeUserFromOdooId(2));
+		assertEquals("user2", sut.getEdgeUserFromOdooId(2).getUserId());
+	}
+
+	@Test
+	public void testEdgeIsPublishedAfterInitialization() {
+		var sut = new EdgeCache(null);
+		sut.addOrUpdate(1, "edge1", "apikey1", "", "", "", null, edge -> {
+			assertNull(sut.getEdgeFromEdgeId("edge1"));
+			assertNull(sut.getEdgeFromOdooId(1));
+			assertNull(sut.getEdgeForApikey("apikey1"));
+		});
+		assertTrue(sut.getEdgeForApikey("apikey1") != null);
+	}
+
+	@Test
+	public void testConcurrentReadsDuringInitialization() throws InterruptedException {
+		final var noOfEdges = 5_000;
+		var sut = new EdgeCache(null);
+		var errors = new AtomicInteger();
+		var done = new CountDownLatch(1);
+
+		var readers = new ArrayList<Thread>();
+		for (var i = 0; i < 4; i++) {
+			var reader = new Thread(() -> {
+				var random = ThreadLocalRandom.current();
+				while (done.getCount() > 0) {
+					var odooId = random.nextInt(noOfEdges);
+					var edge = sut.getEdgeForApikey("apikey" + odooId);
+					if (edge == null) {
+						continue;
+					}
+					// An authenticated Edge is fully initialized and found by every index
+					if (sut.getEdgeFromEdgeId(edge.getId()) != edge || sut.getEdgeFromOdooId(odooId) != edge
+							|| edge.getUser().isEmpty()) {
+						errors.incrementAndGet();
+					}
+				}
+			});
+			reader.start();
+			readers.add(reader);
+		}
+
+		for (var i = 0; i < noOfEdges; i++) {
+			add(sut, i);
+		}
+		done.countDown();
+		for (var reader : readers) {
+			reader.join();
+		}
+
+		assertEquals(0, errors.get());
+		assertEquals(noOfEdges, sut.getAllEdges().size());
+	}
+
+}
@@ -0,0 +1,81 @@
+package io.openems.backend.metadata.odoo.postgres;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import io.openems.common.channel.Level;
+
+public class EdgeStateBufferTest {
+
+	@Test
+	public void testLastValueWins() {
+		var sut = new EdgeStateBuffer();
+		sut.setLastMessage(1);
+		sut.setLastMessage(2);
+		sut.setLastMessage(1);
+		sut.setConnected(1, false);
+		sut.setConnected(1, true);
+		sut.setSumState(3, Level.FAULT);
+		sut.setSumState(3, Level.OK);
+		assertEquals(2, sut.getNoOfLastMessages());
+		assertEquals(2, sut.getNoOfStateChanges());
+
+		var batch = sut.drain();
+		assertEquals(4, batch.rows());
+		var lastMessageIds = batch.lastMessageIds.clone();
+		Arrays.sort(lastMessageIds);
+		assertArrayEquals(new int[] { 1, 2 }, lastMessageIds);
+		assertArrayEquals(new int[] { 1 }, batch.connectedIds);
+		assertEquals(1, batch.connectedValues.length);
+		assertTrue(batch.connectedValues[0]);
+		assertArrayEquals(new int[] { 3 }, batch.sumStateIds);
+		assertArrayEquals(new Level[] { Level.OK }, batch.sumStateValues);
+
+		// Buffer is empty after drain
+		assertEquals(0, sut.getNoOfLastMessages());
+		assertEquals(0, sut.getNoOfStateChanges());
+		assertTrue(sut.drain().isEmpty());
+	}
+
+	@Test
+	public void testGrow() {
+		var sut = new EdgeStateBuffer();
+		for (var i = 1; i <= 10_000; i++) {
+			sut.setLastMessage(i);
+			sut.setSumState(i, Level.values()[i % 4]);
+		}
+		var batch = sut.drain();
+		assertEquals(10_000, batch.lastMessageIds.length);
+		assertEquals(10_000, batch.sumStateIds.length);
+		for (var i = 0; i < batch.sumStateIds.length; i++) {
+			assertEquals(Level.values()[batch.sumStateIds[i] % 4], batch.sumStateValues[i]);
+		}
+	}
+
+	@Test
+	public void testRestore() {
+		var sut = new EdgeStateBuffer();
+		sut.setLastMessage(1);
+		sut.setConnected(1, false);
+		sut.setSumState(2, Level.WARNING);
+		var batch = sut.drain();
+
+		// Newer values are not overwritten
+		sut.setConnected(1, true);
+		sut.restore(batch);
+
+		batch = sut.drain();
+		assertArrayEquals(new int[] { 1 }, batch.lastMessageIds);
+		assertArrayEquals(new int[] { 1 }, batch.connectedIds);
+		assertEquals(1, batch.connectedValues.length);
+		assertTrue(batch.connectedValues[0]);
+		assertArrayEquals(new int[] { 2 }, batch.sumStateIds);
+		assertArrayEquals(new Level[] { Level.WARNING }, batch.sumStateValues);
+	}
+
+}
@@ -1,24 +1,26 @@
 package io.openems.backend.metadata.odoo.postgres;
 
+import static io.openems.backend.metadata.odoo.postgres.PeriodicWriteWorker.MAX_INTERVAL_IN_SECONDS;
+import static io.openems.backend.metadata.odoo.postgres.PeriodicWriteWorker.MIN_INTERVAL_IN_SECONDS;
+import static io.openems.backend.metadata.odoo.postgres.PeriodicWriteWorker.SLOW_FLUSH_MILLIS;
+import static io.openems.backend.metadata.odoo.postgres.PeriodicWriteWorker.nextInterval;
 import static org.junit.Assert.assertEquals;
 
-import java.util.concurrent.LinkedBlockingQueue;
-
 import org.junit.Test;
 
 public class PeriodicWriteWorkerTest {
 
 	@Test
-	public void testDrainToSet() {
-		final LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
-		queue.add(1);
-		queue.add(2);
-		queue.add(3);
-		queue.add(2);
-		queue.add(4);
-		var set = PeriodicWriteWorker.drainToSet(queue);
-		assertEquals(4, set.size());
-		assertEquals(0, queue.size());
+	public void testNextInterval() {
+		// Back off on error or slow flush
+		assertEquals(MIN_INTERVAL_IN_SECONDS * 2, nextInterval(MIN_INTERVAL_IN_SECONDS, false, 0));
+		assertEquals(MIN_INTERVAL_IN_SECONDS * 2,
+				nextInterval(MIN_INTERVAL_IN_SECONDS, true, SLOW_FLUSH_MILLIS + 1));
+		assertEquals(MAX_INTERVAL_IN_SECONDS, nextInterval(MAX_INTERVAL_IN_SECONDS, false, 0));
+
+		// Recover on fast flush
+		assertEquals(MAX_INTERVAL_IN_SECONDS / 2, nextInterval(MAX_INTERVAL_IN_SECONDS, true, 10));
+		assertEquals(MIN_INTERVAL_IN_SECONDS, nextInterval(MIN_INTERVAL_IN_SECONDS, true, 10));
 	}
 
 }
@@ -57,6 +57,15 @@ public class TimedataDummy extends AbstractOpenemsBackendComponent implements Ti
 		return Optional.empty();
 	}
 
+	@Override
+	public Map<ChannelAddress, JsonElement> getChannelValues(String edgeId, Set<ChannelAddress> channelAddresses) {
+		var edgeCache = this.edgeCacheMap.get(edgeId);
+		if (edgeCache != null) {
+			return edgeCache.getChannelValues(channelAddresses);
+		}
+		return new HashMap<>();
+	}
+
 	@Override
 	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) throws OpenemsException {
 		// get existing or create new EdgeCache
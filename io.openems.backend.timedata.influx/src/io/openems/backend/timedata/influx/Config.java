@@ -26,6 +26,27 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Read-Only mode", description = "Activates the read-only mode. Then no data is written to InfluxDB.")
 	boolean isReadOnly() default false;
 
+	@AttributeDefinition(name = "Batch size", description = "Maximum number of points per write request")
+	int batchSize() default 1_000;
+
+	@AttributeDefinition(name = "Linger time [ms]", description = "Maximum time to wait for a batch to fill up")
+	int lingerTime() default 1_000;
+
+	@AttributeDefinition(name = "Max queued points", description = "Incoming data is dropped if more points are queued")
+	int maxQueuedPoints() default 1_000_000;
+
+	@AttributeDefinition(name = "Max queued points per Edge", description = "Incoming data of an Edge is dropped if more points of this Edge are queued")
+	int maxQueuedPointsPerEdge() default 10_000;
+
+	@AttributeDefinition(name = "Write threads", description = "Number of threads that write to InfluxDB in parallel")
+	int writeThreads() default 10;
+
+	@AttributeDefinition(name = "Energy cache size", description = "Maximum number of cached historic energy values of closed periods; 0 to disable")
+	int energyCacheMaxValues() default 500_000;
+
+	@AttributeDefinition(name = "Energy cache time-to-live [h]", description = "Cached historic energy values are queried again after this time")
+	int energyCacheTtl() default 24;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata InfluxDB";
 
 }
@@ -1,13 +1,20 @@
 package io.openems.backend.timedata.influx;
 
 import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.osgi.service.component.annotations.Activate;
@@ -28,12 +35,18 @@ import com.influxdb.exceptions.BadRequestException;
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.metadata.Metadata;
 import io.openems.backend.common.timedata.EdgeCache;
+import io.openems.backend.common.timedata.HistoricEnergyCache;
 import io.openems.backend.common.timedata.Timedata;
 import io.openems.common.OpenemsOEM;
+import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesDataRequest;
+import io.openems.common.timedata.CommonTimedataService;
 import io.openems.common.timedata.Resolution;
+import io.openems.common.timedata.TimeseriesColumns;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.shared.influxdb.InfluxConnector;
 
 @Designate(ocd = Config.class, factory = false)
@@ -49,7 +62,11 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 	private final ConcurrentHashMap<String, EdgeCache> edgeCacheMap = new ConcurrentHashMap<>();
 	private final FieldTypeConflictHandler fieldTypeConflictHandler;
 
+	private final ScheduledExecutorService debugLogExecutor = Executors.newSingleThreadScheduledExecutor();
+
 	private InfluxConnector influxConnector = null;
+	private WritePipeline writePipeline = null;
+	private HistoricEnergyCache energyCache = null;
 
 	public Influx() {
 		super("Timedata.InfluxDB");
@@ -80,18 +97,35 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 								+ ": " + throwable.getMessage());
 					}
 				});
+
+		this.writePipeline = new WritePipeline(config.batchSize(), config.lingerTime(), config.maxQueuedPoints(),
+				config.maxQueuedPointsPerEdge(), config.writeThreads(), this::serialize,
+				this.influxConnector::writeRecords);
+
+		this.energyCache = new HistoricEnergyCache(config.energyCacheMaxValues(),
+				Duration.ofHours(config.energyCacheTtl()), Clock.systemDefaultZone());
+
+		this.debugLogExecutor.scheduleWithFixedDelay(() -> {
+			this.log.info(this.writePipeline.getAndResetMonitorMessage());
+			this.log.info(this.energyCache.getAndResetMonitorMessage());
+		}, 10, 10, TimeUnit.SECONDS);
 	}
 
 	@Deactivate
 	private void deactivate() {
 		this.logInfo(this.log, "Deactivate");
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 0);
+		if (this.writePipeline != null) {
+			this.writePipeline.deactivate();
+		}
 		if (this.influxConnector != null) {
 			this.influxConnector.deactivate();
 		}
 	}
 
 	@Override
-	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) throws OpenemsException {
+	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data)
+			throws OpenemsNamedException {
 		// parse the numeric EdgeId
 		int influxEdgeId = Influx.parseNumberFromName(edgeId);
 
@@ -102,18 +136,27 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		// are transmitted
 		edgeCache.complementDataFromCache(edgeId, data.rowMap());
 
-		// Write data to default location
-		this.writeData(influxEdgeId, data);
+		// Queue data for writing; serialization happens in the WritePipeline
+		switch (this.writePipeline.offer(influxEdgeId, data)) {
+		case QUEUED:
+			break;
+		case EDGE_LIMIT:
+			throw OpenemsError.BACKEND_TIMEDATA_EDGE_BACKPRESSURE.exception(edgeId);
+		case OVERLOADED:
+			throw OpenemsError.BACKEND_TIMEDATA_BACKPRESSURE.exception(edgeId);
+		}
 	}
 
 	/**
-	 * Actually writes the data to InfluxDB.
+	 * Serializes the data to InfluxDB line protocol. Called by the
+	 * {@link WritePipeline}.
 	 *
 	 * @param influxEdgeId the unique, numeric identifier of the Edge
 	 * @param data         the data
-	 * @throws OpenemsException on error
+	 * @param records      the target list for the records
 	 */
-	private void writeData(int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+	private void serialize(int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data,
+			List<String> records) {
 		var dataEntries = data.rowMap().entrySet();
 		if (dataEntries.isEmpty()) {
 			// no data to write
@@ -137,7 +180,7 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 				this.addValue(point, channelEntry.getKey().toString(), channelEntry.getValue());
 			}
 			if (point.hasFields()) {
-				this.influxConnector.write(point);
+				records.add(point.toLineProtocol());
 			}
 		}
 	}
@@ -175,12 +218,27 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		return this.influxConnector.queryHistoricData(influxEdgeId, fromDate, toDate, channels, resolution);
 	}
 
+	@Override
+	public TimeseriesColumns queryHistoricDataColumns(String edgeId, QueryHistoricTimeseriesDataRequest request)
+			throws OpenemsNamedException {
+		// parse the numeric EdgeId
+		Optional<Integer> influxEdgeId = Optional.of(Influx.parseNumberFromName(edgeId));
+
+		// calculate resolution based on the length of the period
+		var resolution = request.getResolution() //
+				.orElse(CommonTimedataService.calculateResolution(request.getFromDate(), request.getToDate()));
+
+		return this.influxConnector.queryHistoricDataColumns(influxEdgeId, request.getFromDate(),
+				request.getToDate(), request.getChannels(), resolution);
+	}
+
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
 		// parse the numeric EdgeId
 		Optional<Integer> influxEdgeId = Optional.of(Influx.parseNumberFromName(edgeId));
-		return this.influxConnector.queryHistoricEnergy(influxEdgeId, fromDate, toDate, channels);
+		return this.energyCache.queryHistoricEnergy(edgeId, fromDate, toDate, channels,
+				(from, to) -> this.influxConnector.queryHistoricEnergy(influxEdgeId, from, to, channels));
 	}
 
 	@Override
@@ -190,7 +248,9 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		// parse the numeric EdgeId
 		Optional<Integer> influxEdgeId = Optional.of(Influx.parseNumberFromName(edgeId));
 
-		return this.influxConnector.queryHistoricEnergyPerPeriod(influxEdgeId, fromDate, toDate, channels, resolution);
+		return this.energyCache.queryHistoricEnergyPerPeriod(edgeId, fromDate, toDate, channels, resolution,
+				(from, to) -> this.influxConnector.queryHistoricEnergyPerPeriod(influxEdgeId, from, to, channels,
+						resolution));
 	}
 
 	/**
@@ -265,6 +325,15 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		return Optional.empty();
 	}
 
+	@Override
+	public Map<ChannelAddress, JsonElement> getChannelValues(String edgeId, Set<ChannelAddress> channelAddresses) {
+		var cache = this.edgeCacheMap.get(edgeId);
+		if (cache == null) {
+			return new HashMap<>();
+		}
+		return cache.getChannelValues(channelAddresses);
+	}
+
 	@Override
 	protected void logInfo(Logger log, String message) {
 		super.logInfo(log, message);
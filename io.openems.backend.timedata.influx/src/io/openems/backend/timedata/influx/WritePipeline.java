@@ -0,0 +1,450 @@
+package io.openems.backend.timedata.influx;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
+
+/**
+ * Asynchronous, batched write pipeline from incoming Edge data to InfluxDB.
+ *
+ * <ul>
+ * <li>{@link #offer(int, TreeBasedTable)} only enqueues the raw data; it never
+ * blocks and rejects data if the global or the per-Edge limit of queued points
+ * is reached (backpressure). The {@link OfferResult} tells both cases apart
+ * <li>a dispatcher thread takes the queued data round-robin per Edge, so that
+ * one Edge that flushes a big backlog does not delay all others, and collects
+ * it to batches of up to 'batchSize' points or 'lingerTime'
+ * <li>writer threads serialize a batch to line protocol and write it. The
+ * number of batches in flight is limited; if all writers are busy the
+ * dispatcher waits and the queue fills up
+ * <li>a batch that fails to be written is retried up to
+ * {@link #MAX_WRITE_ATTEMPTS} times; after that its points are counted as
+ * failed
+ * <li>on {@link #deactivate()} no more data is accepted and the queued data is
+ * flushed
+ * </ul>
+ */
+public class WritePipeline {
+
+	protected static final int MAX_WRITE_ATTEMPTS = 3;
+	private static final long RETRY_DELAY_MILLIS = 1_000;
+	private static final int DEACTIVATE_TIMEOUT_SECONDS = 10;
+
+	/**
+	 * The result of {@link WritePipeline#offer(int, TreeBasedTable)}.
+	 */
+	public static enum OfferResult {
+		/**
+		 * The data was queued.
+		 */
+		QUEUED,
+		/**
+		 * The data was dropped, because too much data of this Edge is queued.
+		 */
+		EDGE_LIMIT,
+		/**
+		 * The data was dropped, because the global queue is full or the pipeline is
+		 * stopped.
+		 */
+		OVERLOADED;
+	}
+
+	/**
+	 * Serializes the data of one Edge to InfluxDB line protocol.
+	 */
+	@FunctionalInterface
+	public static interface Serializer {
+
+		/**
+		 * Serializes the data.
+		 *
+		 * @param influxEdgeId the unique, numeric identifier of the Edge
+		 * @param data         the data
+		 * @param records      the target list for the records in line protocol
+		 */
+		public void serialize(int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data,
+				List<String> records);
+	}
+
+	/**
+	 * Writes records in line protocol to InfluxDB.
+	 */
+	@FunctionalInterface
+	public static interface Sink {
+
+		/**
+		 * Writes the records.
+		 *
+		 * @param records the records in line protocol
+		 * @return true on success; false on error
+		 */
+		public boolean write(List<String> records);
+	}
+
+	private static class Task {
+		private final int influxEdgeId;
+		private final TreeBasedTable<Long, ChannelAddress, JsonElement> data;
+		private final int points;
+		private final long enqueueNanos = System.nanoTime();
+
+		private Task(int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data, int points) {
+			this.influxEdgeId = influxEdgeId;
+			this.data = data;
+			this.points = points;
+		}
+	}
+
+	private static class EdgeQueue {
+		private final int influxEdgeId;
+		private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+		private int points = 0;
+
+		private EdgeQueue(int influxEdgeId) {
+			this.influxEdgeId = influxEdgeId;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(WritePipeline.class);
+
+	private final int batchSize;
+	private final long lingerNanos;
+	private final int maxQueuedPoints;
+	private final int maxQueuedPointsPerEdge;
+	private final Serializer serializer;
+	private final Sink sink;
+
+	/**
+	 * Queues per Edge; only Edges with queued data. Guarded by 'this'.
+	 */
+	private final HashMap<Integer, EdgeQueue> edgeQueues = new HashMap<>();
+
+	/**
+	 * Round-robin order of the Edges with queued data. Guarded by 'this'.
+	 */
+	private final ArrayDeque<EdgeQueue> readyEdges = new ArrayDeque<>();
+
+	/**
+	 * Total number of queued points. Guarded by 'this'.
+	 */
+	private int queuedPoints = 0;
+
+	/**
+	 * Set on {@link #deactivate()}. Guarded by 'this'.
+	 */
+	private boolean isStopped = false;
+
+	private final ExecutorService dispatcher;
+	private final ThreadPoolExecutor writers;
+	private final Semaphore batchesInFlight;
+
+	private final AtomicLong droppedPoints = new AtomicLong();
+	private final AtomicLong writtenPoints = new AtomicLong();
+	private final AtomicLong writtenBatches = new AtomicLong();
+	private final AtomicLong failedPoints = new AtomicLong();
+	private final AtomicLong failedBatches = new AtomicLong();
+	private final AtomicLong retriedBatches = new AtomicLong();
+	private final AtomicLong batchLatencySum = new AtomicLong();
+	private final AtomicLong batchLatencyMax = new AtomicLong();
+
+	public WritePipeline(int batchSize, int lingerTime, int maxQueuedPoints, int maxQueuedPointsPerEdge,
+			int writeThreads, Serializer serializer, Sink sink) {
+		this.batchSize = Math.max(1, batchSize);
+		this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerTime));
+		this.maxQueuedPoints = maxQueuedPoints;
+		this.maxQueuedPointsPerEdge = maxQueuedPointsPerEdge;
+		this.serializer = serializer;
+		this.sink = sink;
+
+		var threads = Math.max(1, writeThreads);
+		this.batchesInFlight = new Semaphore(threads * 2);
+		this.writers = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, //
+				new ArrayBlockingQueue<>(threads * 2), //
+				new ThreadFactoryBuilder().setNameFormat("InfluxWritePipeline-%d").build());
+		this.dispatcher = Executors.newSingleThreadExecutor(
+				new ThreadFactoryBuilder().setNameFormat("InfluxWritePipeline-Dispatcher").build());
+		this.dispatcher.execute(this::dispatch);
+	}
+
+	/**
+	 * Enqueues the data of an Edge for writing. Never blocks.
+	 *
+	 * @param influxEdgeId the unique, numeric identifier of the Edge
+	 * @param data         the data
+	 * @return the {@link OfferResult}
+	 */
+	public OfferResult offer(int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+		var points = data.rowKeySet().size();
+		if (points == 0) {
+			return OfferResult.QUEUED;
+		}
+		synchronized (this) {
+			if (this.isStopped || this.queuedPoints + points > this.maxQueuedPoints) {
+				this.droppedPoints.addAndGet(points);
+				return OfferResult.OVERLOADED;
+			}
+			var edgeQueue = this.edgeQueues.get(influxEdgeId);
+			var edgePoints = edgeQueue == null ? 0 : edgeQueue.points;
+			if (edgePoints + points > this.maxQueuedPointsPerEdge) {
+				this.droppedPoints.addAndGet(points);
+				return OfferResult.EDGE_LIMIT;
+			}
+			if (edgeQueue == null) {
+				edgeQueue = new EdgeQueue(influxEdgeId);
+				this.edgeQueues.put(influxEdgeId, edgeQueue);
+				this.readyEdges.add(edgeQueue);
+			}
+			edgeQueue.tasks.add(new Task(influxEdgeId, data, points));
+			edgeQueue.points += points;
+			this.queuedPoints += points;
+			this.notifyAll();
+		}
+		return OfferResult.QUEUED;
+	}
+
+	/**
+	 * Takes the next {@link Task} round-robin over all Edges. Must be called while
+	 * holding the lock on 'this'.
+	 *
+	 * @return the {@link Task}; null if nothing is queued
+	 */
+	private Task pollFairly() {
+		var edgeQueue = this.readyEdges.poll();
+		if (edgeQueue == null) {
+			return null;
+		}
+		var task = edgeQueue.tasks.poll();
+		edgeQueue.points -= task.points;
+		this.queuedPoints -= task.points;
+		if (edgeQueue.tasks.isEmpty()) {
+			this.edgeQueues.remove(edgeQueue.influxEdgeId);
+		} else {
+			this.readyEdges.add(edgeQueue);
+		}
+		return task;
+	}
+
+	/**
+	 * Collects {@link Task}s to batches and hands them over to the writers. Runs
+	 * in the dispatcher thread. After {@link #deactivate()} all queued data is
+	 * handed over without waiting for 'lingerTime', then the dispatcher ends.
+	 */
+	private void dispatch() {
+		var batch = new ArrayList<Task>();
+		var batchPoints = 0;
+		var batchDeadline = 0L;
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				Task task;
+				boolean isStopped;
+				synchronized (this) {
+					task = this.pollFairly();
+					while (task == null && !this.isStopped) {
+						if (batch.isEmpty()) {
+							this.wait();
+						} else {
+							var remaining = batchDeadline - System.nanoTime();
+							if (remaining <= 0) {
+								break;
+							}
+							TimeUnit.NANOSECONDS.timedWait(this, remaining);
+						}
+						task = this.pollFairly();
+					}
+					isStopped = this.isStopped;
+				}
+				if (task == null && isStopped && batch.isEmpty()) {
+					// Everything was handed over to the writers
+					return;
+				}
+				if (task != null) {
+					if (batch.isEmpty()) {
+						batchDeadline = System.nanoTime() + this.lingerNanos;
+					}
+					batch.add(task);
+					batchPoints += task.points;
+				}
+				if (!batch.isEmpty() && (batchPoints >= this.batchSize || System.nanoTime() - batchDeadline >= 0
+						|| task == null && isStopped)) {
+					this.batchesInFlight.acquire();
+					this.writers.execute(this.createWriteTask(batch));
+					batch = new ArrayList<>();
+					batchPoints = 0;
+				}
+
+			} catch (InterruptedException e) {
+				break;
+
+			} catch (Throwable e) {
+				this.log.error("Unhandled Error in 'InfluxWritePipeline-Dispatcher': " + e.getClass().getName() + ". "
+						+ e.getMessage());
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private Runnable createWriteTask(List<Task> batch) {
+		return () -> {
+			var points = 0;
+			for (var task : batch) {
+				points += task.points;
+			}
+			try {
+				var records = new ArrayList<String>();
+				var oldestEnqueueNanos = Long.MAX_VALUE;
+				for (var task : batch) {
+					this.serializer.serialize(task.influxEdgeId, task.data, records);
+					oldestEnqueueNanos = Math.min(oldestEnqueueNanos, task.enqueueNanos);
+				}
+				if (!records.isEmpty() && !this.write(records)) {
+					this.failedPoints.addAndGet(points);
+					this.failedBatches.incrementAndGet();
+					this.log.error("Unable to write batch of [" + points + "] points after [" + MAX_WRITE_ATTEMPTS
+							+ "] attempts. Data is lost.");
+					return;
+				}
+				var latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldestEnqueueNanos);
+				this.writtenPoints.addAndGet(records.size());
+				this.writtenBatches.incrementAndGet();
+				this.batchLatencySum.addAndGet(latency);
+				this.batchLatencyMax.accumulateAndGet(latency, Math::max);
+
+			} catch (Throwable e) {
+				this.failedPoints.addAndGet(points);
+				this.failedBatches.incrementAndGet();
+				this.log.error("Unable to write batch of [" + points + "] points: " + e.getClass().getName() + ". "
+						+ e.getMessage());
+
+			} finally {
+				this.batchesInFlight.release();
+			}
+		};
+	}
+
+	/**
+	 * Writes the records to the {@link Sink}; retries on error.
+	 *
+	 * @param records the records in line protocol
+	 * @return true on success; false if all attempts failed
+	 * @throws InterruptedException if interrupted while waiting for a retry
+	 */
+	private boolean write(List<String> records) throws InterruptedException {
+		for (var attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+			if (this.sink.write(records)) {
+				return true;
+			}
+			if (attempt < MAX_WRITE_ATTEMPTS) {
+				this.retriedBatches.incrementAndGet();
+				Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the number of queued points.
+	 *
+	 * @return the queue depth in points
+	 */
+	public synchronized int getQueuedPoints() {
+		return this.queuedPoints;
+	}
+
+	/**
+	 * Gets the number of Edges with queued points.
+	 *
+	 * @return the number of Edges
+	 */
+	public synchronized int getQueuedEdges() {
+		return this.edgeQueues.size();
+	}
+
+	/**
+	 * Gets the total number of points that were dropped because of backpressure.
+	 *
+	 * @return the number of dropped points
+	 */
+	public long getDroppedPoints() {
+		return this.droppedPoints.get();
+	}
+
+	/**
+	 * Gets the total number of points that could not be written, i.e. all
+	 * attempts to write their batch failed.
+	 *
+	 * @return the number of failed points
+	 */
+	public long getFailedPoints() {
+		return this.failedPoints.get();
+	}
+
+	/**
+	 * Gets the total number of written points.
+	 *
+	 * @return the number of written points
+	 */
+	public long getWrittenPoints() {
+		return this.writtenPoints.get();
+	}
+
+	/**
+	 * Builds a monitor log message and resets the batch latency statistics.
+	 *
+	 * @return the log message
+	 */
+	public String getAndResetMonitorMessage() {
+		var batches = this.writtenBatches.getAndSet(0);
+		var latencySum = this.batchLatencySum.getAndSet(0);
+		var latencyMax = this.batchLatencyMax.getAndSet(0);
+		var queuedPoints = this.getQueuedPoints();
+		return new StringBuilder("[monitor] InfluxDB WritePipeline ") //
+				.append("QueuedPoints: ").append(queuedPoints).append(", ") //
+				.append("QueuedEdges: ").append(this.getQueuedEdges()).append(", ") //
+				.append("Batches: ").append(batches).append(", ") //
+				.append("BatchLatency avg: ").append(batches == 0 ? 0 : latencySum / batches).append(" ms, ") //
+				.append("max: ").append(latencyMax).append(" ms, ") //
+				.append("WrittenPoints: ").append(this.getWrittenPoints()).append(", ") //
+				.append("DroppedPoints: ").append(this.getDroppedPoints()).append(", ") //
+				.append("RetriedBatches: ").append(this.retriedBatches.get()).append(", ") //
+				.append("FailedBatches: ").append(this.failedBatches.get()).append(", ") //
+				.append("FailedPoints: ").append(this.getFailedPoints()) //
+				.append(queuedPoints >= this.maxQueuedPoints ? " !!!POINTS BACKPRESSURE!!!" : "") //
+				.toString();
+	}
+
+	/**
+	 * Stops the pipeline. No more data is accepted; queued data is flushed.
+	 * Waits up to {@link #DEACTIVATE_TIMEOUT_SECONDS} for the dispatcher and for
+	 * the writers; data that is still queued after that is discarded.
+	 */
+	public void deactivate() {
+		synchronized (this) {
+			this.isStopped = true;
+			this.notifyAll();
+		}
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.dispatcher, DEACTIVATE_TIMEOUT_SECONDS);
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.writers, DEACTIVATE_TIMEOUT_SECONDS);
+		var discardedPoints = this.getQueuedPoints();
+		if (discardedPoints > 0) {
+			this.log.warn("Discarded [" + discardedPoints + "] queued points on deactivate");
+		}
+	}
+
+}
@@ -0,0 +1,192 @@
+package io.openems.backend.timedata.influx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.timedata.influx.WritePipeline.OfferResult;
+import io.openems.common.types.ChannelAddress;
+
+public class WritePipelineTest {
+
+	private static final ChannelAddress SUM_SOC = new ChannelAddress("_sum", "EssSoc");
+
+	private static TreeBasedTable<Long, ChannelAddress, JsonElement> data(long fromTimestamp, int points) {
+		var result = TreeBasedTable.<Long, ChannelAddress, JsonElement>create();
+		for (var i = 0; i < points; i++) {
+			result.put(fromTimestamp + i, SUM_SOC, new JsonPrimitive(i));
+		}
+		return result;
+	}
+
+	@Test
+	public void test() throws InterruptedException {
+		var isBlocked = new CountDownLatch(1);
+		var written = Collections.synchronizedList(new ArrayList<String>());
+		var sut = new WritePipeline(10, 50, 1_000, 100, 1, //
+				(influxEdgeId, data, records) -> {
+					for (var timestamp : data.rowKeySet()) {
+						records.add(influxEdgeId + "@" + timestamp);
+					}
+				}, //
+				records -> {
+					try {
+						isBlocked.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					written.addAll(records);
+					return true;
+				});
+		try {
+			// Writer is blocked -> Edge 1 reaches its limit
+			var accepted = 0;
+			for (var i = 0; i < 100; i++) {
+				var result = sut.offer(1, data(i * 10, 10));
+				if (result != OfferResult.QUEUED) {
+					// Only Edge 1 is affected
+					assertEquals(OfferResult.EDGE_LIMIT, result);
+					break;
+				}
+				accepted += 10;
+			}
+			assertTrue(accepted < 1_000);
+			assertEquals(10, sut.getDroppedPoints());
+
+			// Edge 2 is still accepted
+			assertEquals(OfferResult.QUEUED, sut.offer(2, data(0, 10)));
+			accepted += 10;
+
+			// Everything that was accepted gets written
+			isBlocked.countDown();
+			for (var i = 0; i < 100 && written.size() < accepted; i++) {
+				Thread.sleep(20);
+			}
+			assertEquals(accepted, written.size());
+			assertEquals(accepted, sut.getWrittenPoints());
+			assertEquals(0, sut.getQueuedPoints());
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testFairness() throws InterruptedException {
+		var batches = Collections.synchronizedList(new ArrayList<List<String>>());
+		var sut = new WritePipeline(2, 1_000, 1_000, 1_000, 1, //
+				(influxEdgeId, data, records) -> records.add(String.valueOf(influxEdgeId)), //
+				records -> {
+					batches.add(records);
+					try {
+						// Slow writer, so that data of both Edges gets queued
+						Thread.sleep(50);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return true;
+				});
+		try {
+			// Edge 1 flushes a backlog, Edge 2 sends live data
+			for (var i = 0; i < 10; i++) {
+				sut.offer(1, data(i, 1));
+			}
+			sut.offer(2, data(0, 1));
+			for (var i = 0; i < 100 && batches.size() < 6; i++) {
+				Thread.sleep(20);
+			}
+			// Edge 2 is written within the first batches and not after the backlog of Edge 1
+			var position = 0;
+			synchronized (batches) {
+				for (var batch : batches) {
+					if (batch.contains("2")) {
+						break;
+					}
+					position++;
+				}
+			}
+			assertTrue("Edge 2 was written in batch " + position, position <= 2);
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testOverloaded() {
+		var isBlocked = new CountDownLatch(1);
+		var sut = new WritePipeline(1, 0, 5, 1_000, 1, //
+				(influxEdgeId, data, records) -> records.add(String.valueOf(influxEdgeId)), //
+				records -> {
+					try {
+						isBlocked.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return true;
+				});
+		try {
+			// Writer is blocked -> global queue fills up with data of many Edges
+			var result = OfferResult.QUEUED;
+			for (var edge = 0; edge < 100 && result == OfferResult.QUEUED; edge++) {
+				result = sut.offer(edge, data(0, 1));
+			}
+			assertEquals(OfferResult.OVERLOADED, result);
+		} finally {
+			isBlocked.countDown();
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testRetry() throws InterruptedException {
+		var attempts = new AtomicInteger();
+		var sut = new WritePipeline(1, 0, 1_000, 1_000, 1, //
+				(influxEdgeId, data, records) -> records.add(String.valueOf(influxEdgeId)), //
+				records -> attempts.incrementAndGet() > 1);
+		try {
+			sut.offer(1, data(0, 1));
+			for (var i = 0; i < 200 && sut.getWrittenPoints() == 0; i++) {
+				Thread.sleep(20);
+			}
+			// First attempt failed, second succeeded
+			assertEquals(2, attempts.get());
+			assertEquals(1, sut.getWrittenPoints());
+			assertEquals(0, sut.getFailedPoints());
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testFlushOnDeactivate() {
+		var written = Collections.synchronizedList(new ArrayList<String>());
+		// Long 'lingerTime': nothing would be written before deactivate
+		var sut = new WritePipeline(1_000, 60_000, 1_000, 1_000, 1, //
+				(influxEdgeId, data, records) -> {
+					for (var timestamp : data.rowKeySet()) {
+						records.add(influxEdgeId + "@" + timestamp);
+					}
+				}, //
+				records -> written.addAll(records));
+		sut.offer(1, data(0, 10));
+		sut.offer(2, data(0, 5));
+		sut.deactivate();
+
+		assertEquals(15, written.size());
+		assertEquals(0, sut.getQueuedPoints());
+
+		// No more data is accepted
+		assertEquals(OfferResult.OVERLOADED, sut.offer(1, data(100, 1)));
+	}
+
+}
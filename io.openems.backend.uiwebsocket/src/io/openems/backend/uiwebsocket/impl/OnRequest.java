@@ -80,7 +80,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 			result = this.handleEdgeRpcRequest(wsData, user, EdgeRpcRequest.from(request));
 			break;
 		case AddEdgeToUserRequest.METHOD:
-			result = this.handleAddEdgeToUserRequest(user, AddEdgeToUserRequest.from(request));
+			result = this.handleAddEdgeToUserRequest(wsData, user, AddEdgeToUserRequest.from(request));
 			break;
 		case GetUserInformationRequest.METHOD:
 			result = this.handleGetUserInformationRequest(user, GetUserInformationRequest.from(request));
@@ -211,6 +211,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 
 		wsData.setUserId(user.getId());
 		wsData.setToken(user.getToken());
+		this.parent.sessionRegistry.add(wsData, user.getToken(), user.getEdgeRoles().keySet());
 		return CompletableFuture.completedFuture(new AuthenticateResponse(requestId, user.getToken(), user,
 				User.generateEdgeMetadatas(user, this.parent.metadata), user.getLanguage()));
 	}
@@ -241,6 +242,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	 */
 	private CompletableFuture<JsonrpcResponseSuccess> handleLogoutRequest(WsData wsData, User user,
 			LogoutRequest request) throws OpenemsNamedException {
+		this.parent.sessionRegistry.remove(wsData);
 		wsData.logout();
 		this.parent.metadata.logout(user);
 		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
@@ -283,6 +285,8 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 		var edgeId = edgeRpcRequest.getEdgeId();
 		var request = edgeRpcRequest.getPayload();
 		user.assertEdgeRoleIsAtLeast(EdgeRpcRequest.METHOD, edgeId, Role.GUEST);
+		// Role might have been granted after authentication
+		this.parent.sessionRegistry.addEdge(wsData, edgeId);
 
 		CompletableFuture<JsonrpcResponseSuccess> resultFuture;
 		switch (request.getMethod()) {
@@ -359,14 +363,16 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	/**
 	 * Handles an {@link AddEdgeToUserRequest}.
 	 *
+	 * @param wsData  the WebSocket attachment
 	 * @param user    the {@link User}
 	 * @param request the {@link AddEdgeToUserRequest}
 	 * @return the JSON-RPC Success Response Future
 	 * @throws OpenemsNamedException on error
 	 */
-	private CompletableFuture<AddEdgeToUserResponse> handleAddEdgeToUserRequest(User user, AddEdgeToUserRequest request)
-			throws OpenemsNamedException {
+	private CompletableFuture<AddEdgeToUserResponse> handleAddEdgeToUserRequest(WsData wsData, User user,
+			AddEdgeToUserRequest request) throws OpenemsNamedException {
 		var edge = this.parent.metadata.addEdgeToUser(user, request.getSetupPassword());
+		this.parent.sessionRegistry.addEdge(wsData, edge.getId());
 
 		return CompletableFuture.completedFuture(new AddEdgeToUserResponse(request.getId(), edge));
 	}
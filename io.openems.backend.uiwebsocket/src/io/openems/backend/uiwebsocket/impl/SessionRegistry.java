@@ -0,0 +1,163 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indexes the authenticated UI sessions by Login-Token and by Edge-ID.
+ *
+ * <p>
+ * Replaces the linear scans over all open connections in
+ * {@link UiWebsocketImpl#send(String, io.openems.common.jsonrpc.base.JsonrpcNotification)}
+ * and
+ * {@link UiWebsocketImpl#sendBroadcast(String, io.openems.common.jsonrpc.base.JsonrpcNotification)}.
+ * Lookups are lock-free; modifications only happen on authentication, logout
+ * and close of a connection and are serialized.
+ *
+ * <p>
+ * The Edge-ID index is a candidate list: it is filled with the Edges the User
+ * has access to at authentication and with Edges that are accessed later on.
+ * Callers are responsible to check the current Role of the User.
+ */
+public class SessionRegistry {
+
+	private static class Session {
+		private final String token;
+		private final Set<String> edgeIds = ConcurrentHashMap.newKeySet();
+
+		private Session(String token) {
+			this.token = token;
+		}
+	}
+
+	/**
+	 * Connections by Login-Token; multiple UI tabs may share one Login-Token.
+	 */
+	private final Map<String, Set<WsData>> byToken = new ConcurrentHashMap<>();
+	private final Map<String, Set<WsData>> byEdgeId = new ConcurrentHashMap<>();
+
+	/**
+	 * Sessions by WebSocket attachment; only modified while holding 'this'.
+	 */
+	private final Map<WsData, Session> sessions = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds an authenticated session. Replaces a previous session of the same
+	 * connection.
+	 *
+	 * @param wsData  the WebSocket attachment
+	 * @param token   the Login-Token
+	 * @param edgeIds the Edge-IDs the User has access to
+	 */
+	public synchronized void add(WsData wsData, String token, Collection<String> edgeIds) {
+		this.remove(wsData);
+		var session = new Session(token);
+		this.sessions.put(wsData, session);
+		if (token != null) {
+			this.byToken.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(wsData);
+		}
+		for (var edgeId : edgeIds) {
+			this.addEdge(wsData, session, edgeId);
+		}
+	}
+
+	/**
+	 * Adds an Edge-ID to an authenticated session, e.g. after the User was given
+	 * access to an Edge.
+	 *
+	 * @param wsData the WebSocket attachment
+	 * @param edgeId the Edge-ID
+	 */
+	public void addEdge(WsData wsData, String edgeId) {
+		var session = this.sessions.get(wsData);
+		if (session == null || session.edgeIds.contains(edgeId)) {
+			// not authenticated or already indexed; avoid locking in the fast path
+			return;
+		}
+		synchronized (this) {
+			if (this.sessions.get(wsData) == session) {
+				this.addEdge(wsData, session, edgeId);
+			}
+		}
+	}
+
+	private void addEdge(WsData wsData, Session session, String edgeId) {
+		if (session.edgeIds.add(edgeId)) {
+			this.byEdgeId.computeIfAbsent(edgeId, e -> ConcurrentHashMap.newKeySet()).add(wsData);
+		}
+	}
+
+	/**
+	 * Removes the session of a connection, e.g. on logout or close.
+	 *
+	 * @param wsData the WebSocket attachment
+	 */
+	public synchronized void remove(WsData wsData) {
+		var session = this.sessions.remove(wsData);
+		if (session == null) {
+			return;
+		}
+		if (session.token != null) {
+			this.byToken.computeIfPresent(session.token, (t, wsDatas) -> {
+				wsDatas.remove(wsData);
+				return wsDatas.isEmpty() ? null : wsDatas;
+			});
+		}
+		for (var edgeId : session.edgeIds) {
+			this.byEdgeId.computeIfPresent(edgeId, (e, wsDatas) -> {
+				wsDatas.remove(wsData);
+				return wsDatas.isEmpty() ? null : wsDatas;
+			});
+		}
+	}
+
+	/**
+	 * Gets a WebSocket attachment for a Login-Token; prefers an open connection
+	 * if multiple connections share the Login-Token.
+	 *
+	 * @param token the Login-Token
+	 * @return the {@link WsData}; or null
+	 */
+	public WsData getByToken(String token) {
+		var wsDatas = this.byToken.get(token);
+		if (wsDatas == null) {
+			return null;
+		}
+		WsData result = null;
+		for (var wsData : wsDatas) {
+			var ws = wsData.getWebsocket();
+			if (ws != null && ws.isOpen()) {
+				return wsData;
+			}
+			result = wsData;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the WebSocket attachments of all sessions that had access to an Edge.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return an unmodifiable view of the {@link WsData}s; possibly empty
+	 */
+	public Set<WsData> getByEdgeId(String edgeId) {
+		var result = this.byEdgeId.get(edgeId);
+		if (result == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	/**
+	 * Gets the number of authenticated sessions.
+	 *
+	 * @return the number of sessions
+	 */
+	public int getNoOfSessions() {
+		return this.sessions.size();
+	}
+
+}
@@ -1,36 +1,90 @@
 package io.openems.backend.uiwebsocket.impl;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
-import io.openems.common.jsonrpc.base.JsonrpcNotification;
-import io.openems.common.jsonrpc.notification.CurrentDataNotification;
-import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
+import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
+import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
 
-public class SubscribedChannelsWorker extends io.openems.common.websocket.SubscribedChannelsWorker {
+/**
+ * Holds the subscribed Channels of one UI session for one Edge.
+ *
+ * <p>
+ * The current data is not polled per session; instead the worker registers
+ * with the {@link SubscriptionMultiplexer}, which pushes the data of all
+ * sessions of an Edge whenever new data arrives.
+ */
+public class SubscribedChannelsWorker {
 
-	private final UiWebsocketImpl parent;
+	private final SubscriptionMultiplexer multiplexer;
 	private final String edgeId;
+	private final WsData wsData;
 
-	public SubscribedChannelsWorker(UiWebsocketImpl parent, String edgeId, WsData wsData) {
-		super(wsData);
-		this.parent = parent;
+	/**
+	 * Holds subscribed channels. Replaced - never modified - on every subscribe, so
+	 * it can be used as a key by the {@link SubscriptionMultiplexer}.
+	 */
+	private SortedSet<ChannelAddress> channels = Collections.emptySortedSet();
+
+	private int lastRequestCount = Integer.MIN_VALUE;
+
+	public SubscribedChannelsWorker(SubscriptionMultiplexer multiplexer, String edgeId, WsData wsData) {
+		this.multiplexer = multiplexer;
 		this.edgeId = edgeId;
+		this.wsData = wsData;
+	}
+
+	/**
+	 * Applies a SubscribeChannelsRequest.
+	 *
+	 * @param role    the Role - no specific level required
+	 * @param request the SubscribeChannelsRequest
+	 */
+	public synchronized void handleSubscribeChannelsRequest(Role role, SubscribeChannelsRequest request) {
+		if (this.lastRequestCount < request.getCount()) {
+			this.setChannels(request.getChannels());
+			this.lastRequestCount = request.getCount();
+		}
 	}
 
-	@Override
-	protected JsonElement getChannelValue(ChannelAddress channelAddress) {
-		if (this.edgeId == null) {
-			return JsonNull.INSTANCE;
+	/**
+	 * Sets the subscribed Channels.
+	 *
+	 * @param channels Set of ChannelAddresses
+	 */
+	private synchronized void setChannels(Set<ChannelAddress> channels) {
+		this.channels = Collections.unmodifiableSortedSet(new TreeSet<>(channels));
+		if (this.channels.isEmpty()) {
+			this.multiplexer.unregister(this);
+		} else {
+			this.multiplexer.register(this);
 		}
+	}
+
+	/**
+	 * Dispose and deactivate the {@link SubscribedChannelsWorker}.
+	 */
+	public void dispose() {
+		this.multiplexer.unregister(this);
+	}
+
+	public String getEdgeId() {
+		return this.edgeId;
+	}
 
-		var channelCacheValueOpt = this.parent.timeData.getChannelValue(this.edgeId, channelAddress);
-		return channelCacheValueOpt.orElse(JsonNull.INSTANCE);
+	public WsData getWsData() {
+		return this.wsData;
 	}
 
-	@Override
-	protected JsonrpcNotification getJsonRpcNotification(CurrentDataNotification currentData) {
-		return new EdgeRpcNotification(this.edgeId, currentData);
+	/**
+	 * Gets the currently subscribed Channels.
+	 *
+	 * @return an unmodifiable Set of ChannelAddresses
+	 */
+	public synchronized SortedSet<ChannelAddress> getChannels() {
+		return this.channels;
 	}
 }
@@ -0,0 +1,232 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.CurrentDataNotification;
+import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Pushes the current data of subscribed Channels to all UI sessions of an Edge.
+ *
+ * <p>
+ * A push is triggered when new data of an Edge arrives. Per push the union of
+ * all subscribed Channels of the Edge is read from Timedata in one snapshot and
+ * the {@link CurrentDataNotification} is serialized only once per distinct set
+ * of subscribed Channels, i.e. sessions that show the same view share one
+ * payload.
+ *
+ * <p>
+ * Pushes of one Edge never run concurrently, so a session never receives an
+ * older snapshot after a newer one. Data that arrives while a push is running
+ * is coalesced into one more push.
+ */
+public class SubscriptionMultiplexer {
+
+	private final Logger log = LoggerFactory.getLogger(SubscriptionMultiplexer.class);
+
+	private final UiWebsocketImpl parent;
+	private final ConcurrentHashMap<String, EdgeSubscriptions> edges = new ConcurrentHashMap<>();
+
+	private static class EdgeSubscriptions {
+
+		private final Set<SubscribedChannelsWorker> workers = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * True while a push is queued or running; only one push per Edge runs at a
+		 * time.
+		 */
+		private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+
+		/**
+		 * True if new data arrived that was not pushed yet; used to coalesce data
+		 * that arrives faster than it can be pushed.
+		 */
+		private final AtomicBoolean isDirty = new AtomicBoolean(false);
+	}
+
+	public SubscriptionMultiplexer(UiWebsocketImpl parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Registers a {@link SubscribedChannelsWorker} and pushes the current data of
+	 * its Edge.
+	 *
+	 * @param worker the {@link SubscribedChannelsWorker}
+	 */
+	public void register(SubscribedChannelsWorker worker) {
+		this.edges.compute(worker.getEdgeId(), (edgeId, subscriptions) -> {
+			if (subscriptions == null) {
+				subscriptions = new EdgeSubscriptions();
+			}
+			subscriptions.workers.add(worker);
+			return subscriptions;
+		});
+		this.push(worker.getEdgeId());
+	}
+
+	/**
+	 * Unregisters a {@link SubscribedChannelsWorker}.
+	 *
+	 * @param worker the {@link SubscribedChannelsWorker}
+	 */
+	public void unregister(SubscribedChannelsWorker worker) {
+		this.edges.computeIfPresent(worker.getEdgeId(), (edgeId, subscriptions) -> {
+			subscriptions.workers.remove(worker);
+			return subscriptions.workers.isEmpty() ? null : subscriptions;
+		});
+	}
+
+	/**
+	 * Gets the number of Edges with at least one subscription.
+	 *
+	 * @return the number of Edges
+	 */
+	public int getNumberOfEdges() {
+		return this.edges.size();
+	}
+
+	/**
+	 * Asynchronously pushes the current data to all sessions that subscribed
+	 * Channels of the given Edge. Does nothing if there is no subscription.
+	 *
+	 * @param edgeId the Edge-ID
+	 */
+	public void push(String edgeId) {
+		var subscriptions = this.edges.get(edgeId);
+		if (subscriptions == null) {
+			return;
+		}
+		subscriptions.isDirty.set(true);
+		if (!subscriptions.isScheduled.compareAndSet(false, true)) {
+			// A push is already queued or running; it picks up the new data
+			return;
+		}
+		if (!this.execute(() -> this.drain(edgeId, subscriptions))) {
+			subscriptions.isScheduled.set(false);
+		}
+	}
+
+	/**
+	 * Sends the current data as long as new data arrived during the last send.
+	 * Runs with 'isScheduled' set.
+	 *
+	 * @param edgeId        the Edge-ID
+	 * @param subscriptions the {@link EdgeSubscriptions}
+	 */
+	private void drain(String edgeId, EdgeSubscriptions subscriptions) {
+		do {
+			subscriptions.isDirty.set(false);
+			try {
+				this.send(edgeId, subscriptions.workers);
+			} finally {
+				subscriptions.isScheduled.set(false);
+			}
+			// Data might have arrived after the last send started
+		} while (subscriptions.isDirty.get() && subscriptions.isScheduled.compareAndSet(false, true));
+	}
+
+	/**
+	 * Executes a task asynchronously on the thread pool of the server.
+	 *
+	 * @param task the task
+	 * @return false if there is no server
+	 */
+	protected boolean execute(Runnable task) {
+		var server = this.parent.server;
+		if (server == null) {
+			return false;
+		}
+		server.execute(task);
+		return true;
+	}
+
+	/**
+	 * Gets the current values of the given Channels of one Edge.
+	 *
+	 * @param edgeId   the Edge-ID
+	 * @param channels the Channels
+	 * @return the values
+	 */
+	protected Map<ChannelAddress, JsonElement> getChannelValues(String edgeId, Set<ChannelAddress> channels) {
+		return this.parent.timeData.getChannelValues(edgeId, channels);
+	}
+
+	/**
+	 * Sends the current data to the given {@link SubscribedChannelsWorker}s of one
+	 * Edge.
+	 *
+	 * @param edgeId  the Edge-ID
+	 * @param workers the {@link SubscribedChannelsWorker}s
+	 */
+	private void send(String edgeId, Set<SubscribedChannelsWorker> workers) {
+		// Group sessions by their subscribed Channels
+		var groups = new HashMap<Set<ChannelAddress>, List<SubscribedChannelsWorker>>();
+		var union = new HashSet<ChannelAddress>();
+		for (var worker : workers) {
+			if (!worker.getWsData().isConnected()) {
+				// disconnected; stop worker
+				this.unregister(worker);
+				continue;
+			}
+			var channels = worker.getChannels();
+			if (channels.isEmpty()) {
+				continue;
+			}
+			groups.computeIfAbsent(channels, c -> new ArrayList<>()).add(worker);
+			union.addAll(channels);
+		}
+		if (groups.isEmpty()) {
+			return;
+		}
+
+		// Read all values in one snapshot
+		var values = this.getChannelValues(edgeId, union);
+
+		// Serialize once per group
+		for (var group : groups.entrySet()) {
+			var message = buildMessage(edgeId, group.getKey(), values);
+			for (var worker : group.getValue()) {
+				try {
+					worker.getWsData().send(message);
+				} catch (OpenemsException e) {
+					this.parent.logWarn(this.log, "Unable to send SubscribedChannels: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Builds the serialized {@link EdgeRpcNotification} with a
+	 * {@link CurrentDataNotification} payload.
+	 *
+	 * @param edgeId   the Edge-ID
+	 * @param channels the subscribed Channels
+	 * @param values   the values snapshot; missing Channels are sent as null
+	 * @return the serialized JSON-RPC Notification
+	 */
+	protected static String buildMessage(String edgeId, Set<ChannelAddress> channels,
+			Map<ChannelAddress, JsonElement> values) {
+		var currentData = new CurrentDataNotification();
+		for (var channel : channels) {
+			currentData.add(channel, values.getOrDefault(channel, JsonNull.INSTANCE));
+		}
+		return new EdgeRpcNotification(edgeId, currentData).toString();
+	}
+
+}
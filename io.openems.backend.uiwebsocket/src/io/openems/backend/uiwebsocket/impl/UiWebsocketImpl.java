@@ -46,7 +46,10 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	private final Logger log = LoggerFactory.getLogger(UiWebsocket.class);
 	private final ScheduledExecutorService debugLogExecutor = Executors.newSingleThreadScheduledExecutor();
 
-	protected WebsocketServer server = null;
+	protected final SubscriptionMultiplexer subscriptionMultiplexer = new SubscriptionMultiplexer(this);
+	protected final SessionRegistry sessionRegistry = new SessionRegistry();
+
+	protected volatile WebsocketServer server = null;
 
 	@Reference
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
@@ -73,6 +76,10 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 			this.log.info(new StringBuilder("[monitor] ") //
 					.append("UI-Connections: ") //
 					.append(this.server != null ? this.server.getConnections().size() : "initializing") //
+					.append(", Authenticated Sessions: ") //
+					.append(this.sessionRegistry.getNoOfSessions()) //
+					.append(", Subscribed Edges: ") //
+					.append(this.subscriptionMultiplexer.getNumberOfEdges()) //
 					.toString());
 		}, 10, 10, TimeUnit.SECONDS);
 	}
@@ -143,6 +150,11 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 		}
 	}
 
+	@Override
+	public void sendSubscribedChannels(String edgeId) {
+		this.subscriptionMultiplexer.push(edgeId);
+	}
+
 	/**
 	 * Gets the WebSocket connection attachment for a UI token.
 	 *
@@ -151,15 +163,11 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	 * @throws OpenemsNamedException if there is no connection with this token
 	 */
 	private WsData getWsDataForTokenOrError(String token) throws OpenemsNamedException {
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			var thisToken = wsData.getToken();
-			if (thisToken.isPresent() && thisToken.get().equals(token)) {
-				return wsData;
-			}
+		var wsData = this.sessionRegistry.getByToken(token);
+		if (wsData == null) {
+			throw OpenemsError.BACKEND_NO_UI_WITH_TOKEN.exception(token);
 		}
-		throw OpenemsError.BACKEND_NO_UI_WITH_TOKEN.exception(token);
+		return wsData;
 	}
 
 	/**
@@ -171,14 +179,12 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	 */
 	private List<WsData> getWsDatasForEdgeId(String edgeId) {
 		var result = new ArrayList<WsData>();
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
+		for (var wsData : this.sessionRegistry.getByEdgeId(edgeId)) {
 			// get attachment User-ID
 			var userIdOpt = wsData.getUserId();
 			if (userIdOpt.isPresent()) {
 				var userId = userIdOpt.get();
-				// get User for User-ID
+				// get User for User-ID; the Role might have been revoked in the meantime
 				var userOpt = this.metadata.getUser(userId);
 				if (userOpt.isPresent()) {
 					var user = userOpt.get();
@@ -80,6 +80,11 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		this.parent.logWarn(log, message);
 	}
 
+	@Override
+	protected void execute(Runnable command) {
+		super.execute(command);
+	}
+
 	@Override
 	protected ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
 			TimeUnit unit) {
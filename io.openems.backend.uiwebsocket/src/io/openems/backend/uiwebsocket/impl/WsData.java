@@ -6,10 +6,13 @@ import java.util.Optional;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+
 import io.openems.backend.common.metadata.Metadata;
 import io.openems.backend.common.metadata.User;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
 
 public class WsData extends io.openems.common.websocket.WsData {
 
@@ -116,12 +119,40 @@ public class WsData extends io.openems.common.websocket.WsData {
 	public synchronized SubscribedChannelsWorker getSubscribedChannelsWorker(String edgeId) {
 		var result = this.subscribedChannelsWorkers.get(edgeId);
 		if (result == null) {
-			result = new SubscribedChannelsWorker(this.parent.parent, edgeId, this);
+			result = new SubscribedChannelsWorker(this.parent.parent.subscriptionMultiplexer, edgeId, this);
 			this.subscribedChannelsWorkers.put(edgeId, result);
 		}
 		return result;
 	}
 
+	/**
+	 * Gets whether the WebSocket is open.
+	 *
+	 * @return true if connected
+	 */
+	public boolean isConnected() {
+		var ws = this.getWebsocket();
+		return ws != null && ws.isOpen();
+	}
+
+	/**
+	 * Sends an already serialized JSON-RPC message to the WebSocket.
+	 *
+	 * @param message the serialized JSON-RPC message
+	 * @throws OpenemsException on error
+	 */
+	public void send(String message) throws OpenemsException {
+		var ws = this.getWebsocket();
+		if (ws == null) {
+			throw new OpenemsException("There is no Websocket defined for this WsData.");
+		}
+		try {
+			ws.send(message);
+		} catch (WebsocketNotConnectedException e) {
+			throw new OpenemsException("Websocket is not connected: " + e.getMessage());
+		}
+	}
+
 	@Override
 	public String toString() {
 		String tokenString;
@@ -0,0 +1,73 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class SessionRegistryTest {
+
+	@Test
+	public void test() {
+		var sut = new SessionRegistry();
+		var wsData0 = new WsData(null);
+		var wsData1 = new WsData(null);
+
+		sut.add(wsData0, "token0", List.of("edge0", "edge1"));
+		sut.add(wsData1, "token1", List.of("edge1"));
+		assertEquals(2, sut.getNoOfSessions());
+		assertSame(wsData0, sut.getByToken("token0"));
+		assertSame(wsData1, sut.getByToken("token1"));
+		assertEquals(1, sut.getByEdgeId("edge0").size());
+		assertEquals(2, sut.getByEdgeId("edge1").size());
+		assertTrue(sut.getByEdgeId("edge2").isEmpty());
+
+		// Edge added after authentication
+		sut.addEdge(wsData1, "edge2");
+		assertTrue(sut.getByEdgeId("edge2").contains(wsData1));
+
+		// Re-authentication replaces the previous session
+		sut.add(wsData0, "token2", List.of("edge0"));
+		assertNull(sut.getByToken("token0"));
+		assertSame(wsData0, sut.getByToken("token2"));
+		assertEquals(1, sut.getByEdgeId("edge1").size());
+
+		// Logout/Close
+		sut.remove(wsData1);
+		assertNull(sut.getByToken("token1"));
+		assertTrue(sut.getByEdgeId("edge1").isEmpty());
+		assertTrue(sut.getByEdgeId("edge2").isEmpty());
+		assertEquals(1, sut.getNoOfSessions());
+
+		// Not authenticated
+		sut.addEdge(wsData1, "edge0");
+		assertEquals(1, sut.getByEdgeId("edge0").size());
+	}
+
+	@Test
+	public void testSharedToken() {
+		var sut = new SessionRegistry();
+		var tab0 = new WsData(null);
+		var tab1 = new WsData(null);
+
+		// Two UI tabs share one Login-Token
+		sut.add(tab0, "token0", List.of("edge0"));
+		sut.add(tab1, "token0", List.of("edge0"));
+		assertEquals(2, sut.getNoOfSessions());
+		assertEquals(2, sut.getByEdgeId("edge0").size());
+		assertTrue(sut.getByToken("token0") == tab0 || sut.getByToken("token0") == tab1);
+
+		// Newest tab is closed -> the other tab is still found
+		sut.remove(tab1);
+		assertSame(tab0, sut.getByToken("token0"));
+
+		sut.remove(tab0);
+		assertNull(sut.getByToken("token0"));
+		assertEquals(0, sut.getNoOfSessions());
+	}
+
+}
@@ -0,0 +1,176 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
+import io.openems.common.session.Role;
+import io.openems.common.types.ChannelAddress;
+
+public class SubscriptionMultiplexerTest {
+
+	private static final String EDGE_ID = "edge0";
+	private static final ChannelAddress CHANNEL_A = new ChannelAddress("_sum", "GridActivePower");
+	private static final ChannelAddress CHANNEL_B = new ChannelAddress("_sum", "ProductionActivePower");
+
+	private static class DummyWsData extends WsData {
+
+		private final List<String> messages = new ArrayList<>();
+		private boolean connected = true;
+
+		private DummyWsData() {
+			super(null);
+		}
+
+		@Override
+		public boolean isConnected() {
+			return this.connected;
+		}
+
+		@Override
+		public void send(String message) throws OpenemsException {
+			this.messages.add(message);
+		}
+	}
+
+	/**
+	 * Runs tasks only on {@link #runTasks()} and counts Timedata reads.
+	 */
+	private static class DummySubscriptionMultiplexer extends SubscriptionMultiplexer {
+
+		private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+		private int noOfReads = 0;
+		private Runnable onRead = () -> {
+		};
+
+		private DummySubscriptionMultiplexer() {
+			super(new UiWebsocketImpl());
+		}
+
+		@Override
+		protected boolean execute(Runnable task) {
+			this.tasks.add(task);
+			return true;
+		}
+
+		@Override
+		protected Map<ChannelAddress, JsonElement> getChannelValues(String edgeId, Set<ChannelAddress> channels) {
+			this.noOfReads++;
+			this.onRead.run();
+			var result = new HashMap<ChannelAddress, JsonElement>();
+			for (var channel : channels) {
+				result.put(channel, new JsonPrimitive(this.noOfReads));
+			}
+			return result;
+		}
+
+		private void runTasks() {
+			while (!this.tasks.isEmpty()) {
+				this.tasks.poll().run();
+			}
+		}
+	}
+
+	private static SubscribedChannelsWorker subscribe(SubscriptionMultiplexer sut, WsData wsData,
+			ChannelAddress... channels) {
+		var worker = new SubscribedChannelsWorker(sut, EDGE_ID, wsData);
+		var request = new SubscribeChannelsRequest(0);
+		for (var channel : channels) {
+			request.getChannels().add(channel);
+		}
+		worker.handleSubscribeChannelsRequest(Role.GUEST, request);
+		return worker;
+	}
+
+	@Test
+	public void testSerializeOncePerGroup() {
+		var sut = new DummySubscriptionMultiplexer();
+		var ws0 = new DummyWsData();
+		var ws1 = new DummyWsData();
+		var ws2 = new DummyWsData();
+		subscribe(sut, ws0, CHANNEL_A);
+		subscribe(sut, ws1, CHANNEL_A);
+		subscribe(sut, ws2, CHANNEL_A, CHANNEL_B);
+		assertEquals(1, sut.getNumberOfEdges());
+		sut.runTasks();
+
+		// One read for all sessions; one payload per distinct set of Channels
+		assertEquals(1, sut.noOfReads);
+		assertEquals(1, ws0.messages.size());
+		assertEquals(1, ws2.messages.size());
+		assertSame(ws0.messages.get(0), ws1.messages.get(0));
+		assertNotSame(ws0.messages.get(0), ws2.messages.get(0));
+		assertTrue(ws2.messages.get(0).contains(CHANNEL_B.toString()));
+	}
+
+	@Test
+	public void testUnregisterClosedSessions() {
+		var sut = new DummySubscriptionMultiplexer();
+		var ws0 = new DummyWsData();
+		var ws1 = new DummyWsData();
+		subscribe(sut, ws0, CHANNEL_A);
+		subscribe(sut, ws1, CHANNEL_A);
+		sut.runTasks();
+
+		ws1.connected = false;
+		sut.push(EDGE_ID);
+		sut.runTasks();
+		assertEquals(2, ws0.messages.size());
+		assertEquals(1, ws1.messages.size());
+		assertEquals(1, sut.getNumberOfEdges());
+
+		ws0.connected = false;
+		sut.push(EDGE_ID);
+		sut.runTasks();
+		assertEquals(0, sut.getNumberOfEdges());
+
+		// No subscription -> nothing to do
+		sut.push(EDGE_ID);
+		assertTrue(sut.tasks.isEmpty());
+	}
+
+	@Test
+	public void testCoalescing() {
+		var sut = new DummySubscriptionMultiplexer();
+		var ws0 = new DummyWsData();
+		subscribe(sut, ws0, CHANNEL_A);
+
+		// Data arriving before the push started is coalesced
+		sut.push(EDGE_ID);
+		sut.push(EDGE_ID);
+		assertEquals(1, sut.tasks.size());
+		sut.runTasks();
+		assertEquals(1, sut.noOfReads);
+
+		// Data arriving while a push is running is sent afterwards by the same task,
+		// never by a concurrent one
+		sut.onRead = () -> {
+			sut.push(EDGE_ID);
+			sut.push(EDGE_ID);
+			assertTrue(sut.tasks.isEmpty());
+			sut.onRead = () -> {
+			};
+		};
+		sut.push(EDGE_ID);
+		sut.runTasks();
+		assertEquals(3, sut.noOfReads);
+		assertEquals(3, ws0.messages.size());
+		assertTrue(ws0.messages.get(2).contains("\"" + CHANNEL_A + "\":3"));
+	}
+
+}
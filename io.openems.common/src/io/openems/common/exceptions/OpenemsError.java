@@ -39,6 +39,8 @@ public enum OpenemsError {
 	BACKEND_EDGE_NOT_CONNECTED(3000, "Edge [%s] is not connected"), //
 	BACKEND_UI_TOKEN_MISSING(3001, "Token for UI connection is missing"), //
 	BACKEND_NO_UI_WITH_TOKEN(3002, "No open connection with Token [%s]"), //
+	BACKEND_TIMEDATA_BACKPRESSURE(3003, "Timedata is overloaded. Dropped data of Edge [%s]"), //
+	BACKEND_TIMEDATA_EDGE_BACKPRESSURE(3004, "Too much data of Edge [%s] is queued. Dropped data"), //
 	/*
 	 * JSON-RPC Request/Response/Notification. 4000-4999
 	 */
@@ -0,0 +1,33 @@
+package io.openems.common.jsonrpc.notification;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+
+/**
+ * Represents a JSON-RPC Notification from OpenEMS Backend to OpenEMS Edge,
+ * signalling that Timedata dropped data of this Edge, because it is overloaded
+ * or too much of this Edge's data was queued for writing.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "method": "timedataDropped",
+ *   "params": {}
+ * }
+ * </pre>
+ */
+public class TimedataDroppedNotification extends JsonrpcNotification {
+
+	public static final String METHOD = "timedataDropped";
+
+	public TimedataDroppedNotification() {
+		super(TimedataDroppedNotification.METHOD);
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return new JsonObject();
+	}
+
+}
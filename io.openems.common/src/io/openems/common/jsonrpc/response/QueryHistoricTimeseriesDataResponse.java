@@ -11,6 +11,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.timedata.TimeseriesColumns;
 import io.openems.common.types.ChannelAddress;
 
 /**
@@ -36,6 +37,7 @@ import io.openems.common.types.ChannelAddress;
 public class QueryHistoricTimeseriesDataResponse extends JsonrpcResponseSuccess {
 
 	private final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table;
+	private final TimeseriesColumns columns;
 
 	public QueryHistoricTimeseriesDataResponse(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
 		this(UUID.randomUUID(), table);
@@ -45,10 +47,21 @@ public class QueryHistoricTimeseriesDataResponse extends JsonrpcResponseSuccess
 			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
 		super(id);
 		this.table = table;
+		this.columns = null;
+	}
+
+	public QueryHistoricTimeseriesDataResponse(UUID id, TimeseriesColumns columns) {
+		super(id);
+		this.table = null;
+		this.columns = columns;
 	}
 
 	@Override
 	public JsonObject getResult() {
+		if (this.columns != null) {
+			return this.columns.toJson();
+		}
+
 		var result = new JsonObject();
 
 		var timestamps = new JsonArray();
@@ -0,0 +1,281 @@
+package io.openems.common.timedata;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Historic timeseries data in a columnar format: one array of timestamps and
+ * one array of primitive values per Channel.
+ *
+ * <p>
+ * Compared to a {@code SortedMap<ZonedDateTime, SortedMap<ChannelAddress,
+ * JsonElement>>} this needs no objects per value, which keeps the memory usage
+ * of long queries at a fraction. Only numeric values are supported; missing
+ * values are stored as {@link Double#NaN} and serialized as null.
+ */
+public class TimeseriesColumns {
+
+	/**
+	 * Collects values one by one, e.g. from a streaming query, and builds
+	 * {@link TimeseriesColumns}.
+	 */
+	public static class Builder {
+
+		private static class Column {
+			private final ChannelAddress channel;
+			private long[] timestamps = new long[64];
+			private double[] values = new double[64];
+			private int size = 0;
+			private boolean isIntegral = true;
+			private boolean isSorted = true;
+
+			private Column(ChannelAddress channel) {
+				this.channel = channel;
+			}
+
+			private void add(long timestamp, double value) {
+				if (this.size == this.timestamps.length) {
+					this.timestamps = Arrays.copyOf(this.timestamps, this.size * 2);
+					this.values = Arrays.copyOf(this.values, this.size * 2);
+				}
+				if (this.size > 0 && timestamp < this.timestamps[this.size - 1]) {
+					this.isSorted = false;
+				}
+				this.timestamps[this.size] = timestamp;
+				this.values[this.size] = value;
+				this.size++;
+			}
+		}
+
+		private final int maxValues;
+		private final Map<String, Column> columnsByField = new HashMap<>();
+		private final List<Column> columns = new ArrayList<>();
+		private int noOfValues = 0;
+
+		/**
+		 * Builds a {@link Builder}.
+		 *
+		 * @param maxValues the maximum number of values in total
+		 */
+		public Builder(int maxValues) {
+			this.maxValues = maxValues;
+		}
+
+		/**
+		 * Adds a value.
+		 *
+		 * @param field     the Channel-Address as String, e.g. "_sum/EssSoc"
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @param value     the value; null or non-numeric values are stored as null
+		 * @throws OpenemsNamedException if the field is not a valid Channel-Address
+		 *                               or if there are too many values
+		 */
+		public void add(String field, long timestamp, Object value) throws OpenemsNamedException {
+			var column = this.columnsByField.get(field);
+			if (column == null) {
+				column = new Column(ChannelAddress.fromString(field));
+				this.columnsByField.put(field, column);
+				this.columns.add(column);
+			}
+			if (++this.noOfValues > this.maxValues) {
+				throw new OpenemsException("Query result exceeds the limit of " + this.maxValues + " values");
+			}
+			if (value instanceof Number) {
+				var number = (Number) value;
+				column.isIntegral &= value instanceof Long || value instanceof Integer || value instanceof Short
+						|| value instanceof Byte;
+				column.add(timestamp, number.doubleValue());
+			} else {
+				column.add(timestamp, Double.NaN);
+			}
+		}
+
+		/**
+		 * Builds the {@link TimeseriesColumns}; aligns all Channels to the union of
+		 * their timestamps.
+		 *
+		 * @return the {@link TimeseriesColumns}
+		 */
+		public TimeseriesColumns build() {
+			for (var column : this.columns) {
+				if (!column.isSorted) {
+					sort(column);
+				}
+			}
+
+			// Union of all timestamps
+			var all = new long[this.noOfValues];
+			var pos = 0;
+			for (var column : this.columns) {
+				System.arraycopy(column.timestamps, 0, all, pos, column.size);
+				pos += column.size;
+			}
+			Arrays.sort(all);
+			var noOfTimestamps = 0;
+			for (var i = 0; i < all.length; i++) {
+				if (i == 0 || all[i] != all[i - 1]) {
+					all[noOfTimestamps++] = all[i];
+				}
+			}
+			var timestamps = Arrays.copyOf(all, noOfTimestamps);
+
+			// Align values
+			var channels = new TreeMap<ChannelAddress, double[]>();
+			var integralChannels = new ArrayList<ChannelAddress>();
+			for (var column : this.columns) {
+				var values = new double[noOfTimestamps];
+				Arrays.fill(values, Double.NaN);
+				var t = 0;
+				for (var i = 0; i < column.size; i++) {
+					while (timestamps[t] != column.timestamps[i]) {
+						t++;
+					}
+					values[t] = column.values[i];
+				}
+				channels.put(column.channel, values);
+				if (column.isIntegral) {
+					integralChannels.add(column.channel);
+				}
+				// release memory early
+				column.timestamps = null;
+				column.values = null;
+			}
+			this.columns.clear();
+			this.columnsByField.clear();
+			return new TimeseriesColumns(timestamps, channels, integralChannels);
+		}
+
+		private static void sort(Column column) {
+			var indexes = new Integer[column.size];
+			for (var i = 0; i < indexes.length; i++) {
+				indexes[i] = i;
+			}
+			Arrays.sort(indexes, (a, b) -> Long.compare(column.timestamps[a], column.timestamps[b]));
+			var timestamps = new long[column.size];
+			var values = new double[column.size];
+			for (var i = 0; i < indexes.length; i++) {
+				timestamps[i] = column.timestamps[indexes[i]];
+				values[i] = column.values[indexes[i]];
+			}
+			column.timestamps = timestamps;
+			column.values = values;
+			column.isSorted = true;
+		}
+	}
+
+	/**
+	 * Converts a table of historic data to {@link TimeseriesColumns}.
+	 *
+	 * @param table the table of historic data
+	 * @return the {@link TimeseriesColumns}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static TimeseriesColumns from(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table)
+			throws OpenemsNamedException {
+		var builder = new Builder(Integer.MAX_VALUE);
+		for (var row : table.entrySet()) {
+			var timestamp = row.getKey().toInstant().toEpochMilli();
+			for (var entry : row.getValue().entrySet()) {
+				var value = entry.getValue();
+				builder.add(entry.getKey().toString(), timestamp,
+						value != null && value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()
+								? value.getAsNumber()
+								: null);
+			}
+		}
+		return builder.build();
+	}
+
+	private final long[] timestamps;
+	private final SortedMap<ChannelAddress, double[]> channels;
+	private final List<ChannelAddress> integralChannels;
+
+	private TimeseriesColumns(long[] timestamps, SortedMap<ChannelAddress, double[]> channels,
+			List<ChannelAddress> integralChannels) {
+		this.timestamps = timestamps;
+		this.channels = channels;
+		this.integralChannels = integralChannels;
+	}
+
+	/**
+	 * Gets the timestamps in epoch milliseconds, in ascending order.
+	 *
+	 * @return the timestamps
+	 */
+	public long[] getTimestamps() {
+		return this.timestamps;
+	}
+
+	/**
+	 * Gets the values per Channel; aligned to {@link #getTimestamps()}.
+	 *
+	 * @return a map of Channel-Address to values
+	 */
+	public SortedMap<ChannelAddress, double[]> getChannels() {
+		return Collections.unmodifiableSortedMap(this.channels);
+	}
+
+	/**
+	 * Serializes to the JSON format of a 'queryHistoricTimeseriesData' result.
+	 *
+	 * <pre>
+	 * {
+	 *   "timestamps": [
+	 *     '2011-12-03T10:15:30Z',...
+	 *   ],
+	 *   "data": {
+	 *     "componentId/channelId": [
+	 *       value1, value2,...
+	 *     ]
+	 *   }
+	 * }
+	 * </pre>
+	 *
+	 * @return the {@link JsonObject}
+	 */
+	public JsonObject toJson() {
+		var result = new JsonObject();
+		var timestamps = new JsonArray(this.timestamps.length);
+		for (var timestamp : this.timestamps) {
+			timestamps.add(Instant.ofEpochMilli(timestamp).toString());
+		}
+		result.add("timestamps", timestamps);
+
+		var data = new JsonObject();
+		for (var entry : this.channels.entrySet()) {
+			var isIntegral = this.integralChannels.contains(entry.getKey());
+			var values = new JsonArray(this.timestamps.length);
+			for (var value : entry.getValue()) {
+				if (Double.isNaN(value)) {
+					values.add(JsonNull.INSTANCE);
+				} else if (isIntegral) {
+					values.add(new JsonPrimitive((long) value));
+				} else {
+					values.add(new JsonPrimitive(value));
+				}
+			}
+			data.add(entry.getKey().toString(), values);
+		}
+		result.add("data", data);
+		return result;
+	}
+
+}
@@ -0,0 +1,80 @@
+package io.openems.common.timedata;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.response.QueryHistoricTimeseriesDataResponse;
+import io.openems.common.types.ChannelAddress;
+
+public class TimeseriesColumnsTest {
+
+	private static final ChannelAddress SUM_ESS_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress SUM_GRID_ACTIVE_POWER = new ChannelAddress("_sum", "GridActivePower");
+
+	@Test
+	public void testBuilder() throws OpenemsNamedException {
+		var sut = new TimeseriesColumns.Builder(100);
+		// Influx streams one table per field
+		sut.add("_sum/GridActivePower", 1000, 10.5);
+		sut.add("_sum/GridActivePower", 2000, null);
+		sut.add("_sum/GridActivePower", 3000, 30.5);
+		sut.add("_sum/EssSoc", 2000, 50L);
+		sut.add("_sum/EssSoc", 1000, 40L);
+		var columns = sut.build();
+
+		assertArrayEquals(new long[] { 1000, 2000, 3000 }, columns.getTimestamps());
+		assertArrayEquals(new double[] { 40, 50, Double.NaN }, columns.getChannels().get(SUM_ESS_SOC), 0);
+
+		var json = columns.toJson();
+		assertEquals(json, new QueryHistoricTimeseriesDataResponse(null, columns).getResult());
+		assertEquals("1970-01-01T00:00:01Z", json.getAsJsonArray("timestamps").get(0).getAsString());
+		var soc = json.getAsJsonObject("data").getAsJsonArray("_sum/EssSoc");
+		assertEquals("40", soc.get(0).toString());
+		assertTrue(soc.get(2).isJsonNull());
+		var grid = json.getAsJsonObject("data").getAsJsonArray("_sum/GridActivePower");
+		assertEquals("10.5", grid.get(0).toString());
+		assertTrue(grid.get(1).isJsonNull());
+	}
+
+	@Test(expected = OpenemsException.class)
+	public void testMaxValues() throws OpenemsNamedException {
+		var sut = new TimeseriesColumns.Builder(2);
+		sut.add("_sum/EssSoc", 1000, 1);
+		sut.add("_sum/EssSoc", 2000, 2);
+		sut.add("_sum/EssSoc", 3000, 3);
+	}
+
+	@Test
+	public void testFromTable() throws OpenemsNamedException {
+		var t0 = ZonedDateTime.parse("2022-07-15T00:00:00Z");
+		var t1 = t0.plusMinutes(5);
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+		var row0 = new TreeMap<ChannelAddress, JsonElement>();
+		row0.put(SUM_ESS_SOC, new JsonPrimitive(40));
+		row0.put(SUM_GRID_ACTIVE_POWER, new JsonPrimitive(100.5));
+		table.put(t0, row0);
+		var row1 = new TreeMap<ChannelAddress, JsonElement>();
+		row1.put(SUM_ESS_SOC, JsonNull.INSTANCE);
+		row1.put(SUM_GRID_ACTIVE_POWER, new JsonPrimitive(200.5));
+		table.put(t1, row1);
+
+		// Same JSON as the previous implementation
+		var expected = new QueryHistoricTimeseriesDataResponse(null, table).getResult();
+		var actual = TimeseriesColumns.from(table).toJson();
+		assertEquals(expected, actual);
+	}
+
+}
@@ -12,9 +12,14 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.ghgande.j2mod.modbus.ModbusException;
 import com.ghgande.j2mod.modbus.io.ModbusTCPTransaction;
 import com.ghgande.j2mod.modbus.io.ModbusTransaction;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
 import com.ghgande.j2mod.modbus.net.TCPMasterConnection;
 
 import io.openems.common.exceptions.OpenemsException;
@@ -44,12 +49,21 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 	@Reference
 	private Cycle cycle;
 
+	private final Logger log = LoggerFactory.getLogger(BridgeModbusTcpImpl.class);
+	private final Object serialLock = new Object();
+
 	/**
 	 * The configured IP address.
 	 */
 	private InetAddress ipAddress = null;
 	private int port;
 
+	/**
+	 * Pipelining; null if disabled.
+	 */
+	private volatile ModbusTcpPipeline pipeline = null;
+	private int pipelineWindow = 1;
+
 	public BridgeModbusTcpImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -64,12 +78,23 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 				config.invalidateElementsAfterReadErrors());
 		this.setIpAddress(InetAddress.getByName(config.ip()));
 		this.port = config.port();
+		if (config.pipelineWindow() > 1) {
+			this.pipelineWindow = config.pipelineWindow();
+			this.pipeline = new ModbusTcpPipeline("Modbus-Pipeline-" + config.id(), this.getIpAddress(), this.port,
+					AbstractModbusBridge.DEFAULT_TIMEOUT, reason -> {
+						this.logWarn(this.log, "Device does not support pipelining. Falling back to serial mode: "
+								+ reason);
+					});
+		}
 	}
 
 	@Override
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		if (this.pipeline != null) {
+			this.pipeline.close();
+		}
 	}
 
 	@Override
@@ -85,6 +110,28 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		}
 	}
 
+	@Override
+	public ModbusResponse executeTransaction(ModbusRequest request) throws OpenemsException, ModbusException {
+		var pipeline = this.pipeline;
+		if (pipeline != null && !pipeline.isMisbehaving()) {
+			return pipeline.execute(request);
+		}
+		// Pipelined Tasks that are still in flight after a fallback share the
+		// serial connection
+		synchronized (this.serialLock) {
+			return super.executeTransaction(request);
+		}
+	}
+
+	@Override
+	public int getPipelineWindow() {
+		var pipeline = this.pipeline;
+		if (pipeline != null && !pipeline.isMisbehaving()) {
+			return this.pipelineWindow;
+		}
+		return 1;
+	}
+
 	@Override
 	public ModbusTransaction getNewModbusTransaction() throws OpenemsException {
 		var connection = this.getModbusConnection();
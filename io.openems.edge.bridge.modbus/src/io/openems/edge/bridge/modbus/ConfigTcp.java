@@ -33,5 +33,8 @@ import io.openems.edge.bridge.modbus.api.LogVerbosity;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Pipeline window", description = "Max. number of outstanding Modbus requests. Values greater than 1 enable pipelining of read requests; falls back to serial mode if the device does not support it.")
+	int pipelineWindow() default 1;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/TCP [{id}]";
 }
\ No newline at end of file
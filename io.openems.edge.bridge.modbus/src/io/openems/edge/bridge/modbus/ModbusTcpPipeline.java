@@ -0,0 +1,362 @@
+package io.openems.edge.bridge.modbus;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.ModbusIOException;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.msg.ExceptionResponse;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
+
+/**
+ * A Modbus/TCP connection that allows multiple outstanding Requests.
+ *
+ * <p>
+ * Requests are sent immediately with a unique Transaction-ID; a reader thread
+ * matches the Responses by Transaction-ID, so they may arrive in any order. The
+ * connection is re-opened on the next Request after an IO error or a timeout
+ * without any Response.
+ *
+ * <p>
+ * If the device misbehaves - i.e. it answers with an unknown Transaction-ID or
+ * a wrong Function-Code or it drops a Request, i.e. a Request that was sent
+ * later is answered while an earlier Request timed out - the
+ * connection is closed, all outstanding Requests fail and the callback is
+ * called once. From then on {@link #isMisbehaving()} is true and the caller is
+ * expected to fall back to serial transactions.
+ *
+ * <p>
+ * A slow device that answers in order is not misbehaving: if a Request times
+ * out while only earlier Requests were answered, the connection is kept and a
+ * late Response is still accepted.
+ */
+public class ModbusTcpPipeline {
+
+	private static final int HEADER_LENGTH = 6;
+	private static final int MAX_PDU_LENGTH = 254; // Unit-ID + Function-Code + 252 bytes of data
+
+	private static class Pending {
+		private final long sequence;
+		private final long noOfResponsesAtSend;
+		private final int functionCode;
+		private final Socket socket;
+		private final CompletableFuture<ModbusResponse> future = new CompletableFuture<>();
+		private volatile boolean isTimedOut = false;
+
+		private Pending(long sequence, long noOfResponsesAtSend, int functionCode, Socket socket) {
+			this.sequence = sequence;
+			this.noOfResponsesAtSend = noOfResponsesAtSend;
+			this.functionCode = functionCode;
+			this.socket = socket;
+		}
+	}
+
+	private final String name;
+	private final InetAddress ipAddress;
+	private final int port;
+	private final int timeout;
+	private final Consumer<String> onMisbehaviour;
+
+	/**
+	 * Outstanding Requests by Transaction-ID. Requests that timed out stay here
+	 * until their late Response arrives or the connection is closed.
+	 */
+	private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of received Responses; written only by the reader thread.
+	 */
+	private volatile long noOfResponses = 0;
+
+	/**
+	 * Highest send sequence number of an answered Request; written only by the
+	 * reader thread.
+	 */
+	private volatile long highestAnsweredSequence = -1;
+	private volatile boolean misbehaving = false;
+
+	/*
+	 * The following fields are guarded by 'this'.
+	 */
+	private Socket socket = null;
+	private OutputStream out = null;
+	private int nextTransactionId = 0;
+	private long nextSequence = 0;
+
+	/**
+	 * Creates a {@link ModbusTcpPipeline}. The connection is opened on the first
+	 * Request.
+	 *
+	 * @param name           a name for the reader thread
+	 * @param ipAddress      the IP address of the device
+	 * @param port           the port of the device
+	 * @param timeout        the Response timeout in [ms]
+	 * @param onMisbehaviour called once with a reason if the device misbehaves
+	 */
+	public ModbusTcpPipeline(String name, InetAddress ipAddress, int port, int timeout,
+			Consumer<String> onMisbehaviour) {
+		this.name = name;
+		this.ipAddress = ipAddress;
+		this.port = port;
+		this.timeout = timeout;
+		this.onMisbehaviour = onMisbehaviour;
+	}
+
+	/**
+	 * Sends a Request and waits for its Response. This method is thread-safe;
+	 * concurrent calls are pipelined.
+	 *
+	 * @param request the {@link ModbusRequest} with Unit-ID
+	 * @return the {@link ModbusResponse}
+	 * @throws ModbusException on error or on an Exception-Response
+	 */
+	public ModbusResponse execute(ModbusRequest request) throws ModbusException {
+		int transactionId;
+		Pending pending;
+		synchronized (this) {
+			if (this.misbehaving) {
+				throw new ModbusIOException("Pipelining is disabled");
+			}
+			var socket = this.connect();
+			transactionId = this.nextTransactionId;
+			this.nextTransactionId = this.nextTransactionId + 1 & 0xFFFF;
+			request.setTransactionID(transactionId);
+			pending = new Pending(this.nextSequence++, this.noOfResponses, request.getFunctionCode(), socket);
+			this.pending.put(transactionId, pending);
+			try {
+				this.out.write(toFrame(request));
+				this.out.flush();
+			} catch (IOException e) {
+				this.close(socket, "Write failed: " + e.getMessage());
+				throw new ModbusIOException("Write failed: " + e.getMessage());
+			}
+		}
+
+		try {
+			var response = pending.future.get(this.timeout, TimeUnit.MILLISECONDS);
+			if (response instanceof ExceptionResponse) {
+				throw new ModbusSlaveException(((ExceptionResponse) response).getExceptionCode());
+			}
+			return response;
+
+		} catch (TimeoutException e) {
+			pending.isTimedOut = true;
+			if (this.highestAnsweredSequence > pending.sequence) {
+				// Device answered a later Request
+				this.misbehave("Request [" + transactionId + "] was dropped; later Requests were answered");
+			} else if (this.noOfResponses == pending.noOfResponsesAtSend) {
+				// Device is silent -> reconnect
+				this.close(pending.socket, "Timeout");
+			}
+			// else: Device is still busy with earlier Requests; a late Response is
+			// accepted
+			throw new ModbusIOException("Timeout for Transaction-ID [" + transactionId + "]");
+
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ModbusException) {
+				throw (ModbusException) e.getCause();
+			}
+			throw new ModbusIOException(e.getCause().getMessage());
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ModbusIOException("Interrupted");
+		}
+	}
+
+	/**
+	 * Is pipelining disabled because the device misbehaved?.
+	 *
+	 * @return true if the device misbehaved
+	 */
+	public boolean isMisbehaving() {
+		return this.misbehaving;
+	}
+
+	/**
+	 * Closes the connection. Outstanding Requests fail; the next Request opens a
+	 * new connection.
+	 */
+	public synchronized void close() {
+		if (this.socket != null) {
+			this.close(this.socket, "Connection closed");
+		}
+	}
+
+	private Socket connect() throws ModbusIOException {
+		if (this.socket != null) {
+			return this.socket;
+		}
+		var socket = new Socket();
+		try {
+			socket.setTcpNoDelay(true);
+			socket.connect(new InetSocketAddress(this.ipAddress, this.port), this.timeout);
+			this.out = socket.getOutputStream();
+		} catch (IOException e) {
+			closeQuietly(socket);
+			throw new ModbusIOException(
+					"Connection to [" + this.ipAddress.getHostAddress() + "] failed: " + e.getMessage());
+		}
+		this.socket = socket;
+		var reader = new Thread(() -> this.read(socket), this.name + "-Reader");
+		reader.setDaemon(true);
+		reader.start();
+		return socket;
+	}
+
+	/**
+	 * Reads Responses from the socket till it is closed.
+	 *
+	 * @param socket the {@link Socket}
+	 */
+	private void read(Socket socket) {
+		var reason = "Connection closed by device";
+		try {
+			var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			var header = new byte[HEADER_LENGTH];
+			while (true) {
+				in.readFully(header);
+				var transactionId = (header[0] & 0xff) << 8 | header[1] & 0xff;
+				var protocolId = (header[2] & 0xff) << 8 | header[3] & 0xff;
+				var length = (header[4] & 0xff) << 8 | header[5] & 0xff;
+				if (protocolId != 0 || length < 3 || length > MAX_PDU_LENGTH) {
+					this.misbehave("Invalid header. Protocol-ID [" + protocolId + "] Length [" + length + "]");
+					return;
+				}
+				var frame = Arrays.copyOf(header, HEADER_LENGTH + length);
+				in.readFully(frame, HEADER_LENGTH, length);
+
+				var pending = this.pending.remove(transactionId);
+				if (pending == null) {
+					this.misbehave("Unexpected Transaction-ID [" + transactionId + "]");
+					return;
+				}
+				var functionCode = frame[HEADER_LENGTH + 1] & 0xff;
+				if ((functionCode & 0x7f) != pending.functionCode) {
+					this.misbehave("Unexpected Function-Code [" + functionCode + "] for Transaction-ID ["
+							+ transactionId + "]; expected [" + pending.functionCode + "]");
+					return;
+				}
+				var response = ModbusResponse.createModbusResponse(functionCode);
+				response.readFrom(new DataInputStream(new ByteArrayInputStream(frame)));
+				this.noOfResponses++;
+				if (pending.sequence > this.highestAnsweredSequence) {
+					this.highestAnsweredSequence = pending.sequence;
+				}
+				var dropped = this.getTimedOutBefore(pending);
+				if (dropped != null) {
+					this.misbehave("Request [" + dropped + "] was dropped; later Requests were answered");
+					return;
+				}
+				pending.future.complete(response);
+			}
+		} catch (IOException e) {
+			reason = "Connection closed: " + e.getMessage();
+		} finally {
+			synchronized (this) {
+				this.close(socket, reason);
+			}
+		}
+	}
+
+	/**
+	 * Gets a Request that was sent before the given one on the same connection
+	 * and timed out.
+	 *
+	 * @param answered the answered {@link Pending}
+	 * @return the Transaction-ID of the timed out Request; null if there is none
+	 */
+	private Integer getTimedOutBefore(Pending answered) {
+		for (var entry : this.pending.entrySet()) {
+			var pending = entry.getValue();
+			if (pending.isTimedOut && pending.sequence < answered.sequence && pending.socket == answered.socket) {
+				return entry.getKey();
+			}
+		}
+		return null;
+	}
+
+	private void misbehave(String reason) {
+		synchronized (this) {
+			if (this.misbehaving) {
+				return;
+			}
+			this.misbehaving = true;
+			if (this.socket != null) {
+				this.close(this.socket, "Device misbehaved: " + reason);
+			}
+		}
+		this.onMisbehaviour.accept(reason);
+	}
+
+	/**
+	 * Closes the given socket and fails all Requests that were sent on it.
+	 *
+	 * @param socket the {@link Socket}
+	 * @param reason the reason for the failed Requests
+	 */
+	private synchronized void close(Socket socket, String reason) {
+		if (this.socket == socket) {
+			this.socket = null;
+			this.out = null;
+		}
+		closeQuietly(socket);
+		var iterator = this.pending.values().iterator();
+		while (iterator.hasNext()) {
+			var pending = iterator.next();
+			if (pending.socket == socket) {
+				iterator.remove();
+				pending.future.completeExceptionally(new ModbusIOException(reason));
+			}
+		}
+	}
+
+	/**
+	 * Serializes a Request to a Modbus/TCP frame, i.e. MBAP header and PDU.
+	 *
+	 * @param request the {@link ModbusRequest}
+	 * @return the frame
+	 */
+	private static byte[] toFrame(ModbusRequest request) {
+		var data = request.getMessage();
+		var dataLength = data == null ? 0 : data.length;
+		var frame = new byte[HEADER_LENGTH + 2 + dataLength];
+		var transactionId = request.getTransactionID();
+		frame[0] = (byte) (transactionId >> 8);
+		frame[1] = (byte) transactionId;
+		// Protocol-ID is always 0
+		frame[4] = (byte) (dataLength + 2 >> 8);
+		frame[5] = (byte) (dataLength + 2);
+		frame[6] = (byte) request.getUnitID();
+		frame[7] = (byte) request.getFunctionCode();
+		if (dataLength > 0) {
+			System.arraycopy(data, 0, frame, HEADER_LENGTH + 2, dataLength);
+		}
+		return frame;
+	}
+
+	private static void closeQuietly(Socket socket) {
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+}
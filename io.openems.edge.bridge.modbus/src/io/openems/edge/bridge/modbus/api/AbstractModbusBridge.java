@@ -5,7 +5,10 @@ import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 
+import com.ghgande.j2mod.modbus.ModbusException;
 import com.ghgande.j2mod.modbus.io.ModbusTransaction;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
@@ -108,6 +111,31 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	 */
 	public abstract ModbusTransaction getNewModbusTransaction() throws OpenemsException;
 
+	/**
+	 * Executes a Modbus Request on an open Modbus connection.
+	 *
+	 * @param request the {@link ModbusRequest} with Unit-ID
+	 * @return the {@link ModbusResponse}
+	 * @throws OpenemsException on error
+	 * @throws ModbusException  on error
+	 */
+	public ModbusResponse executeTransaction(ModbusRequest request) throws OpenemsException, ModbusException {
+		var transaction = this.getNewModbusTransaction();
+		transaction.setRequest(request);
+		transaction.execute();
+		return transaction.getResponse();
+	}
+
+	/**
+	 * Gets the maximum number of Modbus Requests that may be outstanding at the
+	 * same time, i.e. the pipelining window. Defaults to 1 for serial execution.
+	 *
+	 * @return the number of Requests
+	 */
+	public int getPipelineWindow() {
+		return 1;
+	}
+
 	/**
 	 * Closes the Modbus connection.
 	 */
@@ -1,5 +1,7 @@
 package io.openems.edge.bridge.modbus.api;
 
+import java.util.function.Function;
+
 import io.openems.common.exceptions.InvalidValueException;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.bridge.modbus.sunspec.SunSpecPoint;
@@ -28,8 +30,8 @@ public class ElementToChannelScaleFactorConverter extends ElementToChannelConver
 						return null;
 					}
 					try {
-						return apply(value,
-								((IntegerReadChannel) component.channel(scaleFactorChannel)).value().getOrError() * -1);
+						return apply(value, Math.pow(10,
+								((IntegerReadChannel) component.channel(scaleFactorChannel)).value().getOrError()));
 					} catch (InvalidValueException | IllegalArgumentException e) {
 						return null;
 					}
@@ -38,8 +40,8 @@ public class ElementToChannelScaleFactorConverter extends ElementToChannelConver
 				// channel -> element
 				value -> {
 					try {
-						return apply(value,
-								((IntegerReadChannel) component.channel(scaleFactorChannel)).value().getOrError());
+						return apply(value, Math.pow(10,
+								((IntegerReadChannel) component.channel(scaleFactorChannel)).value().getOrError() * -1));
 					} catch (InvalidValueException | IllegalArgumentException e) {
 						return null;
 					}
@@ -49,14 +51,23 @@ public class ElementToChannelScaleFactorConverter extends ElementToChannelConver
 	public ElementToChannelScaleFactorConverter(int scaleFactor) {
 		super(//
 				// element -> channel
-				value -> apply(value, scaleFactor * -1), //
+				multiplyBy(Math.pow(10, scaleFactor)), //
 
 				// channel -> element
-				value -> apply(value, scaleFactor));
+				multiplyBy(Math.pow(10, scaleFactor * -1)));
+	}
+
+	/**
+	 * Creates a converter function with a precomputed factor.
+	 *
+	 * @param factor the factor
+	 * @return the function
+	 */
+	private static Function<Object, Object> multiplyBy(double factor) {
+		return value -> apply(value, factor);
 	}
 
-	private static Object apply(Object value, int scaleFactor) {
-		var factor = Math.pow(10, scaleFactor * -1);
+	private static Object apply(Object value, double factor) {
 		if (value == null) {
 			return null;
 		}
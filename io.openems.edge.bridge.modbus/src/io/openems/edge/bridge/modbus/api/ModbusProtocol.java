@@ -1,10 +1,18 @@
 package io.openems.edge.bridge.modbus.api;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.bridge.modbus.api.element.ModbusElement;
 import io.openems.edge.bridge.modbus.api.task.ReadTask;
 import io.openems.edge.bridge.modbus.api.task.Task;
 import io.openems.edge.bridge.modbus.api.task.WriteTask;
+import io.openems.edge.common.taskmanager.Priority;
 import io.openems.edge.common.taskmanager.TasksManager;
 
 public class ModbusProtocol {
@@ -24,6 +32,23 @@ public class ModbusProtocol {
 	 */
 	private final TasksManager<WriteTask> writeTaskManager = new TasksManager<>();
 
+	/**
+	 * The ReadTasks as defined by the parent; only used with a
+	 * {@link ReadTaskPlanner}.
+	 */
+	private final List<ReadTask> declaredReadTasks = new ArrayList<>();
+
+	/**
+	 * The declared Priority ONCE ReadTasks that were already read; only used with
+	 * a {@link ReadTaskPlanner}.
+	 */
+	private final Set<ReadTask> executedOnceTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * Optional planner for ReadTasks.
+	 */
+	private ReadTaskPlanner readTaskPlanner = null;
+
 	/**
 	 * Creates a new {@link ModbusProtocol}.
 	 *
@@ -71,7 +96,12 @@ public class ModbusProtocol {
 		 * fill readTaskManager
 		 */
 		if (task instanceof ReadTask) {
-			this.readTaskManager.addTask((ReadTask) task);
+			this.declaredReadTasks.add((ReadTask) task);
+			if (this.readTaskPlanner == null) {
+				this.readTaskManager.addTask((ReadTask) task);
+			} else {
+				this.planReadTasks();
+			}
 		}
 	}
 
@@ -82,13 +112,93 @@ public class ModbusProtocol {
 	 */
 	public synchronized void removeTask(Task task) {
 		if (task instanceof ReadTask) {
-			this.readTaskManager.removeTask((ReadTask) task);
+			this.declaredReadTasks.remove(task);
+			this.executedOnceTasks.remove(task);
+			if (this.readTaskPlanner == null) {
+				this.readTaskManager.removeTask((ReadTask) task);
+			} else {
+				this.planReadTasks();
+			}
 		}
 		if (task instanceof WriteTask) {
 			this.writeTaskManager.removeTask((WriteTask) task);
 		}
 	}
 
+	/**
+	 * Sets a {@link ReadTaskPlanner}. The ReadTasks are then replaced by the
+	 * Requests planned by the {@link ReadTaskPlanner}.
+	 *
+	 * @param readTaskPlanner the {@link ReadTaskPlanner}; null to execute the
+	 *                        ReadTasks as they are
+	 */
+	public synchronized void setReadTaskPlanner(ReadTaskPlanner readTaskPlanner) {
+		this.readTaskPlanner = readTaskPlanner;
+		if (readTaskPlanner == null) {
+			this.readTaskManager.replaceTasks(this.declaredReadTasks);
+		} else {
+			this.planReadTasks();
+		}
+	}
+
+	/**
+	 * Replaces the ReadTasks with the Requests planned by the
+	 * {@link ReadTaskPlanner}. This is called again whenever the planner learned
+	 * about a hole - i.e. also from the ModbusWorker thread.
+	 *
+	 * <p>
+	 * The ReadTasks are swapped atomically, so the ModbusWorker never sees an
+	 * empty or partial plan. Priority ONCE Tasks that were already read are not
+	 * planned again.
+	 */
+	private synchronized void planReadTasks() {
+		var planner = this.readTaskPlanner;
+		if (planner == null) {
+			return;
+		}
+		this.executedOnceTasks.addAll(//
+				getExecutedOnceTasks(this.declaredReadTasks, this.readTaskManager.getAllTasks(Priority.ONCE)));
+		var declaredReadTasks = new ArrayList<ReadTask>(this.declaredReadTasks.size());
+		for (ReadTask task : this.declaredReadTasks) {
+			if (!this.executedOnceTasks.contains(task)) {
+				declaredReadTasks.add(task);
+			}
+		}
+		var tasks = planner.plan(declaredReadTasks, this::planReadTasks);
+		for (ReadTask task : tasks) {
+			task.setParent(this.parent);
+		}
+		this.readTaskManager.replaceTasks(tasks);
+	}
+
+	/**
+	 * Gets the declared Priority ONCE Tasks whose Elements were all read by the
+	 * currently planned Tasks.
+	 *
+	 * @param declaredTasks the declared {@link ReadTask}s
+	 * @param onceTasks     the currently planned Priority ONCE {@link ReadTask}s
+	 * @return the declared {@link ReadTask}s that were already read
+	 */
+	protected static List<ReadTask> getExecutedOnceTasks(List<ReadTask> declaredTasks, List<ReadTask> onceTasks) {
+		var executedElements = Collections.newSetFromMap(new IdentityHashMap<ModbusElement<?>, Boolean>());
+		for (ReadTask task : onceTasks) {
+			if (task.hasBeenExecuted()) {
+				executedElements.addAll(Arrays.asList(task.getElements()));
+			}
+		}
+		var result = new ArrayList<ReadTask>();
+		if (executedElements.isEmpty()) {
+			return result;
+		}
+		for (ReadTask task : declaredTasks) {
+			if (task.getPriority() == Priority.ONCE
+					&& executedElements.containsAll(Arrays.asList(task.getElements()))) {
+				result.add(task);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Gets the Read-Tasks Manager.
 	 *
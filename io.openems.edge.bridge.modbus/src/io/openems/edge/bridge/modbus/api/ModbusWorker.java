@@ -5,6 +5,8 @@ import java.util.Collection;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
@@ -13,6 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.worker.AbstractImmediateWorker;
@@ -33,6 +36,12 @@ import io.openems.edge.common.taskmanager.Priority;
  * TOPIC_CYCLE_EXECUTE_WRITE event) and all Read-Tasks as late as possible to
  * have correct values available exactly when they are needed (i.e. at the
  * TOPIC_CYCLE_BEFORE_PROCESS_IMAGE event).
+ *
+ * <p>
+ * If the Bridge supports pipelining (see
+ * {@link AbstractModbusBridge#getPipelineWindow()}), Read-Tasks are executed
+ * concurrently. Write-Tasks and Wait-Tasks wait for all Read-Tasks in flight
+ * and are executed one after the other, i.e. writes keep their order.
  */
 public class ModbusWorker extends AbstractImmediateWorker {
 
@@ -48,6 +57,11 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	// The measured duration between BeforeProcessImage event and ExecuteWrite event
 	private long durationBetweenBeforeProcessImageTillExecuteWrite = 0;
 
+	// Pipelining: the number of Read-Tasks in flight and their executor
+	private final Object inFlightLock = new Object();
+	private int inFlight = 0;
+	private ExecutorService pipelineExecutor = null;
+
 	protected ModbusWorker(AbstractModbusBridge parent) {
 		this.parent = parent;
 	}
@@ -76,6 +90,11 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		for (ReadTask task : nextReadTasks) {
 			readTasksDuration += task.getExecuteDuration();
 		}
+		var pipelineWindow = this.parent.getPipelineWindow();
+		if (pipelineWindow > 1 && !nextReadTasks.isEmpty()) {
+			// Read-Tasks overlap; their durations are dominated by round trip time
+			readTasksDuration = ceilDiv(readTasksDuration, Math.min(pipelineWindow, nextReadTasks.size()));
+		}
 
 		// collect the next write-tasks
 		var writeTasksDuration = 0L;
@@ -152,6 +171,17 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		}
 	}
 
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		synchronized (this.inFlightLock) {
+			if (this.pipelineExecutor != null) {
+				this.pipelineExecutor.shutdownNow();
+				this.pipelineExecutor = null;
+			}
+		}
+	}
+
 	@Override
 	protected void forever() throws InterruptedException {
 		var task = this.tasksQueue.takeLast();
@@ -162,6 +192,60 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			return;
 		}
 
+		var pipelineWindow = this.parent.getPipelineWindow();
+		if (pipelineWindow > 1 && task instanceof ReadTask) {
+			// Pipelining: execute Read-Tasks concurrently, up to 'pipelineWindow'
+			this.awaitInFlight(pipelineWindow - 1);
+			this.getPipelineExecutor().execute(() -> {
+				try {
+					this.execute(task);
+				} finally {
+					synchronized (this.inFlightLock) {
+						this.inFlight--;
+						this.inFlightLock.notifyAll();
+					}
+				}
+			});
+
+		} else {
+			// Write-Tasks are executed serially and in order; Wait-Tasks start after all
+			// Read-Tasks finished
+			this.awaitInFlight(0);
+			this.execute(task);
+		}
+	}
+
+	/**
+	 * Waits till at most 'max' Tasks are in flight. If 'max' is greater than zero,
+	 * a slot for one more Task is reserved.
+	 *
+	 * @param max the maximum number of Tasks in flight
+	 * @throws InterruptedException on interrupt
+	 */
+	private void awaitInFlight(int max) throws InterruptedException {
+		synchronized (this.inFlightLock) {
+			while (this.inFlight > max) {
+				this.inFlightLock.wait();
+			}
+			if (max > 0) {
+				this.inFlight++;
+			}
+		}
+	}
+
+	private ExecutorService getPipelineExecutor() {
+		synchronized (this.inFlightLock) {
+			if (this.pipelineExecutor == null) {
+				this.pipelineExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder() //
+						.setNameFormat("Modbus-Pipeline-" + this.parent.id() + "-%d") //
+						.setDaemon(true) //
+						.build());
+			}
+			return this.pipelineExecutor;
+		}
+	}
+
+	private void execute(Task task) {
 		var modbusComponent = task.getParent();
 		try {
 			// execute the task
@@ -0,0 +1,407 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ghgande.j2mod.modbus.Modbus;
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.element.AbstractModbusElement;
+import io.openems.edge.bridge.modbus.api.element.DummyElement;
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.bridge.modbus.api.element.ModbusRegisterElement;
+import io.openems.edge.bridge.modbus.api.task.AbstractTask;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC4ReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Plans the Read-Requests of a {@link ModbusProtocol}.
+ *
+ * <p>
+ * The declared {@link FC3ReadRegistersTask}s and
+ * {@link FC4ReadInputRegistersTask}s are replaced by the minimal number of
+ * Requests per Function-Code and {@link Priority}: Elements of different Tasks
+ * are merged into one Request if the gap between them is at most 'maxGap'
+ * registers, does not touch a known hole and the Request stays within
+ * 'maxLength' registers; Tasks that are longer than 'maxLength' are split.
+ * Gaps are padded with {@link DummyRegisterElement}s. All other Tasks are kept
+ * as they are.
+ *
+ * <p>
+ * If a merged Request fails with an Illegal-Data-Address exception, the
+ * largest gap it bridges is remembered as a hole and the callback is called to
+ * plan again; i.e. every failure splits the Request in two.
+ *
+ * <p>
+ * Usage in {@link AbstractOpenemsModbusComponent#defineModbusProtocol()}:
+ *
+ * <pre>
+ * var protocol = new ModbusProtocol(this, ...);
+ * protocol.setReadTaskPlanner(new ReadTaskPlanner() //
+ * 		.addHole(Modbus.READ_MULTIPLE_REGISTERS, 40_100, 40_119));
+ * return protocol;
+ * </pre>
+ */
+public class ReadTaskPlanner {
+
+	/**
+	 * Maximum number of registers of a Read-Request as defined by the Modbus
+	 * specification.
+	 */
+	public static final int DEFAULT_MAX_LENGTH = 125;
+
+	/**
+	 * Reading 16 unused registers takes about as long as the overhead of an
+	 * additional Request on a serial line.
+	 */
+	public static final int DEFAULT_MAX_GAP = 16;
+
+	private final int maxLength;
+	private final int maxGap;
+
+	/**
+	 * Holes by Function-Code; guarded by 'this'.
+	 */
+	private final Map<Integer, RangeSet<Integer>> holes = new LinkedHashMap<>();
+
+	public ReadTaskPlanner() {
+		this(DEFAULT_MAX_LENGTH, DEFAULT_MAX_GAP);
+	}
+
+	/**
+	 * Creates a {@link ReadTaskPlanner}.
+	 *
+	 * @param maxLength the maximum number of registers per Request
+	 * @param maxGap    the maximum number of unused registers between two
+	 *                  Elements of one Request
+	 */
+	public ReadTaskPlanner(int maxLength, int maxGap) {
+		if (maxLength < 1 || maxLength > DEFAULT_MAX_LENGTH) {
+			throw new IllegalArgumentException("Max-Length [" + maxLength + "] must be within [1;"
+					+ DEFAULT_MAX_LENGTH + "]");
+		}
+		if (maxGap < 0) {
+			throw new IllegalArgumentException("Max-Gap [" + maxGap + "] must not be negative");
+		}
+		this.maxLength = maxLength;
+		this.maxGap = maxGap;
+	}
+
+	/**
+	 * Adds registers that must not be read, e.g. because the device answers with
+	 * an Illegal-Data-Address exception.
+	 *
+	 * @param functionCode the Function-Code, i.e.
+	 *                     {@link Modbus#READ_MULTIPLE_REGISTERS} or
+	 *                     {@link Modbus#READ_INPUT_REGISTERS}
+	 * @param fromAddress  the first register of the hole
+	 * @param toAddress    the last register of the hole
+	 * @return myself
+	 */
+	public synchronized ReadTaskPlanner addHole(int functionCode, int fromAddress, int toAddress) {
+		this.holes.computeIfAbsent(functionCode, fc -> TreeRangeSet.create()) //
+				.add(Range.closed(fromAddress, toAddress));
+		return this;
+	}
+
+	/**
+	 * Is any of the given registers a known hole?.
+	 *
+	 * @param functionCode the Function-Code
+	 * @param fromAddress  the first register
+	 * @param toAddress    the last register
+	 * @return true if the registers touch a hole
+	 */
+	public synchronized boolean isHole(int functionCode, int fromAddress, int toAddress) {
+		var holes = this.holes.get(functionCode);
+		return holes != null && holes.intersects(Range.closed(fromAddress, toAddress));
+	}
+
+	/**
+	 * Plans the Requests for the given Tasks.
+	 *
+	 * @param tasks   the declared {@link ReadTask}s
+	 * @param onSplit called when a hole was learned, i.e. the Tasks need to be
+	 *                planned again
+	 * @return the planned {@link ReadTask}s; without parent
+	 */
+	public synchronized List<ReadTask> plan(List<ReadTask> tasks, Runnable onSplit) {
+		var result = new ArrayList<ReadTask>();
+		var groups = new LinkedHashMap<String, Group>();
+		for (ReadTask task : tasks) {
+			var functionCode = getFunctionCode(task);
+			if (functionCode < 0) {
+				result.add(task);
+				continue;
+			}
+			groups.computeIfAbsent(functionCode + "/" + task.getPriority(),
+					key -> new Group(functionCode, task.getPriority())) //
+					.add(task);
+		}
+		for (Group group : groups.values()) {
+			this.plan(group, onSplit, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the Function-Code of a Task that can be planned.
+	 *
+	 * @param task the {@link ReadTask}
+	 * @return the Function-Code; -1 if the Task is kept as it is
+	 */
+	private static int getFunctionCode(ReadTask task) {
+		int functionCode;
+		if (task instanceof FC3ReadRegistersTask) {
+			functionCode = Modbus.READ_MULTIPLE_REGISTERS;
+		} else if (task instanceof FC4ReadInputRegistersTask) {
+			functionCode = Modbus.READ_INPUT_REGISTERS;
+		} else {
+			return -1;
+		}
+		for (ModbusElement<?> element : task.getElements()) {
+			if (!(element instanceof ModbusRegisterElement) || !(element instanceof AbstractModbusElement)) {
+				return -1;
+			}
+		}
+		return functionCode;
+	}
+
+	private void plan(Group group, Runnable onSplit, List<ReadTask> result) {
+		group.items.sort(Comparator.comparingInt(Item::getStartAddress));
+		var request = new ArrayList<Item>();
+		for (Item item : group.items) {
+			if (!request.isEmpty() && !this.canAppend(group, request, item)) {
+				result.add(this.createTask(group, request, onSplit));
+				request = new ArrayList<>();
+			}
+			request.add(item);
+		}
+		if (!request.isEmpty()) {
+			result.add(this.createTask(group, request, onSplit));
+		}
+	}
+
+	private boolean canAppend(Group group, List<Item> request, Item item) {
+		var first = request.get(0);
+		var last = request.get(request.size() - 1);
+		var gapStart = last.getEndAddress() + 1;
+		var gap = item.getStartAddress() - gapStart;
+		if (gap < 0) {
+			// Overlapping Elements
+			return false;
+		}
+		if (item.getEndAddress() - first.getStartAddress() + 1 > this.maxLength) {
+			return false;
+		}
+		if (gap == 0) {
+			return true;
+		}
+		if (gap > this.maxGap && !last.isFollowedBy(item)) {
+			return false;
+		}
+		return !this.isHole(group.functionCode, gapStart, item.getStartAddress() - 1);
+	}
+
+	private ReadTask createTask(Group group, List<Item> request, Runnable onSplit) {
+		var startAddress = request.get(0).getStartAddress();
+		var elements = new ArrayList<AbstractModbusElement<?>>();
+		var gaps = new ArrayList<Range<Integer>>();
+		var isDebug = false;
+		var address = startAddress;
+		Item previous = null;
+		for (Item item : request) {
+			if (item.getStartAddress() > address) {
+				elements.add(new DummyRegisterElement(address, item.getStartAddress() - 1));
+				if (!previous.isFollowedBy(item)) {
+					// Only gaps between declared Tasks might be holes
+					gaps.add(Range.closed(address, item.getStartAddress() - 1));
+				}
+			}
+			elements.add(item.element);
+			isDebug |= item.task instanceof AbstractTask && ((AbstractTask) item.task).isDebug();
+			address = item.getEndAddress() + 1;
+			previous = item;
+		}
+
+		var splitter = new Splitter(this, group.functionCode, gaps, onSplit);
+		var elementsArray = elements.toArray(new AbstractModbusElement<?>[elements.size()]);
+		AbstractTask task;
+		if (group.functionCode == Modbus.READ_MULTIPLE_REGISTERS) {
+			task = new PlannedFC3ReadRegistersTask(startAddress, group.priority, splitter, elementsArray);
+		} else {
+			task = new PlannedFC4ReadInputRegistersTask(startAddress, group.priority, splitter, elementsArray);
+		}
+		if (isDebug) {
+			task.debug();
+		}
+		return (ReadTask) task;
+	}
+
+	/**
+	 * Remembers the largest gap as a hole.
+	 *
+	 * @param functionCode the Function-Code
+	 * @param gaps         the gaps of the failed Request
+	 * @return true if a new hole was learned
+	 */
+	private synchronized boolean learn(int functionCode, List<Range<Integer>> gaps) {
+		Range<Integer> largest = null;
+		for (Range<Integer> gap : gaps) {
+			if (this.isHole(functionCode, gap.lowerEndpoint(), gap.upperEndpoint())) {
+				// Request was already split
+				return false;
+			}
+			if (largest == null || length(gap) > length(largest)) {
+				largest = gap;
+			}
+		}
+		if (largest == null) {
+			return false;
+		}
+		this.addHole(functionCode, largest.lowerEndpoint(), largest.upperEndpoint());
+		return true;
+	}
+
+	private static int length(Range<Integer> range) {
+		return range.upperEndpoint() - range.lowerEndpoint() + 1;
+	}
+
+	/**
+	 * The Tasks with the same Function-Code and {@link Priority}.
+	 */
+	private static class Group {
+		private final int functionCode;
+		private final Priority priority;
+		private final List<Item> items = new ArrayList<>();
+
+		private Group(int functionCode, Priority priority) {
+			this.functionCode = functionCode;
+			this.priority = priority;
+		}
+
+		private void add(ReadTask task) {
+			Item previous = null;
+			for (ModbusElement<?> element : task.getElements()) {
+				if (element instanceof DummyElement) {
+					continue;
+				}
+				var item = new Item(task, (AbstractModbusElement<?>) element, previous);
+				this.items.add(item);
+				previous = item;
+			}
+		}
+	}
+
+	/**
+	 * A declared Element.
+	 */
+	private static class Item {
+		private final ReadTask task;
+		private final AbstractModbusElement<?> element;
+		private final Item previous;
+
+		private Item(ReadTask task, AbstractModbusElement<?> element, Item previous) {
+			this.task = task;
+			this.element = element;
+			this.previous = previous;
+		}
+
+		private int getStartAddress() {
+			return this.element.getStartAddress();
+		}
+
+		private int getEndAddress() {
+			return this.element.getStartAddress() + this.element.getLength() - 1;
+		}
+
+		/**
+		 * Is the given Item the next Element of the same declared Task? The gap
+		 * between them is then known to be readable.
+		 *
+		 * @param item the other Item
+		 * @return true if it follows this Item
+		 */
+		private boolean isFollowedBy(Item item) {
+			return item.previous == this;
+		}
+	}
+
+	/**
+	 * Splits a planned Request on an Illegal-Data-Address exception.
+	 */
+	private static class Splitter {
+		private final ReadTaskPlanner planner;
+		private final int functionCode;
+		private final List<Range<Integer>> gaps;
+		private final Runnable onSplit;
+
+		private Splitter(ReadTaskPlanner planner, int functionCode, List<Range<Integer>> gaps, Runnable onSplit) {
+			this.planner = planner;
+			this.functionCode = functionCode;
+			this.gaps = gaps;
+			this.onSplit = onSplit;
+		}
+
+		private void onException(ModbusException e) {
+			if (e instanceof ModbusSlaveException
+					&& ((ModbusSlaveException) e).getType() == Modbus.ILLEGAL_ADDRESS_EXCEPTION
+					&& this.planner.learn(this.functionCode, this.gaps)) {
+				this.onSplit.run();
+			}
+		}
+	}
+
+	private static class PlannedFC3ReadRegistersTask extends FC3ReadRegistersTask {
+		private final Splitter splitter;
+
+		private PlannedFC3ReadRegistersTask(int startAddress, Priority priority, Splitter splitter,
+				AbstractModbusElement<?>... elements) {
+			super(startAddress, priority, elements);
+			this.splitter = splitter;
+		}
+
+		@Override
+		protected InputRegister[] readElements(AbstractModbusBridge bridge) throws OpenemsException, ModbusException {
+			try {
+				return super.readElements(bridge);
+			} catch (ModbusException e) {
+				this.splitter.onException(e);
+				throw e;
+			}
+		}
+	}
+
+	private static class PlannedFC4ReadInputRegistersTask extends FC4ReadInputRegistersTask {
+		private final Splitter splitter;
+
+		private PlannedFC4ReadInputRegistersTask(int startAddress, Priority priority, Splitter splitter,
+				AbstractModbusElement<?>... elements) {
+			super(startAddress, priority, elements);
+			this.splitter = splitter;
+		}
+
+		@Override
+		protected InputRegister[] readElements(AbstractModbusBridge bridge) throws OpenemsException, ModbusException {
+			try {
+				return super.readElements(bridge);
+			} catch (ModbusException e) {
+				this.splitter.onException(e);
+				throw e;
+			}
+		}
+	}
+
+}
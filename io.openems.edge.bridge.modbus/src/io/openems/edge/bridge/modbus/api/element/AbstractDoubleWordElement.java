@@ -41,17 +41,9 @@ public abstract class AbstractDoubleWordElement<E, T> extends AbstractModbusRegi
 	}
 
 	@Override
-	protected final void _setInputRegisters(InputRegister... registers) {
+	protected final void _setInputRegisters(InputRegister[] registers, int offset) {
 		// fill buffer
-		var buff = ByteBuffer.allocate(4).order(this.getByteOrder());
-		if (this.wordOrder == WordOrder.MSWLSW) {
-			buff.put(registers[0].toBytes());
-			buff.put(registers[1].toBytes());
-		} else {
-			buff.put(registers[1].toBytes());
-			buff.put(registers[0].toBytes());
-		}
-		buff.rewind();
+		var buff = this.fillReadBuffer(registers, offset, this.wordOrder);
 		// convert registers to Long
 		var value = this.fromByteBuffer(buff);
 		// set value
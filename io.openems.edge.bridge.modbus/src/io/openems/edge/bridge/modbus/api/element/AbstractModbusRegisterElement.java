@@ -1,5 +1,6 @@
 package io.openems.edge.bridge.modbus.api.element;
 
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Optional;
 
@@ -25,6 +26,11 @@ public abstract class AbstractModbusRegisterElement<E, T> extends AbstractModbus
 
 	private Optional<Register[]> nextWriteValue = Optional.empty();
 
+	/**
+	 * Buffer for decoding input registers; reused on every read.
+	 */
+	private ByteBuffer readBuffer = null;
+
 	public AbstractModbusRegisterElement(OpenemsType type, int startAddress) {
 		super(type, startAddress);
 	}
@@ -72,24 +78,67 @@ public abstract class AbstractModbusRegisterElement<E, T> extends AbstractModbus
 
 	@Override
 	public void setInputRegisters(InputRegister... registers) throws OpenemsException {
+		if (registers.length != this.getLength()) {
+			throw new OpenemsException("Modbus Element [" + this + "]: registers length [" + registers.length
+					+ "] does not match required size of [" + this.getLength() + "]");
+		}
+		this.setInputRegisters(registers, 0);
+	}
+
+	@Override
+	public void setInputRegisters(InputRegister[] registers, int offset) throws OpenemsException {
+		var length = this.getLength();
 		if (this.isDebug()) {
 			var b = new StringBuilder("Element [" + this + "] set input registers to [");
-			for (var i = 0; i < registers.length; i++) {
+			for (var i = offset; i < offset + length && i < registers.length; i++) {
 				b.append(registers[i].getValue());
-				if (i < registers.length - 1) {
+				if (i < offset + length - 1) {
 					b.append(",");
 				}
 			}
 			b.append("].");
 			this.log.info(b.toString());
 		}
-		if (registers.length != this.getLength()) {
+		if (offset < 0 || offset + length > registers.length) {
 			throw new OpenemsException("Modbus Element [" + this + "]: registers length [" + registers.length
-					+ "] does not match required size of [" + this.getLength() + "]");
+					+ "] is too short for offset [" + offset + "] and required size of [" + length + "]");
 		}
-		this._setInputRegisters(registers);
+		this._setInputRegisters(registers, offset);
 	}
 
-	protected abstract void _setInputRegisters(InputRegister... registers);
+	/**
+	 * Sets the value of this Element from the InputRegisters of a Response.
+	 *
+	 * @param registers the InputRegisters; length is already checked
+	 * @param offset    the index of the first register of this Element
+	 */
+	protected abstract void _setInputRegisters(InputRegister[] registers, int offset);
+
+	/**
+	 * Copies the bytes of the InputRegisters of this Element to a
+	 * {@link ByteBuffer} with the configured Byte-Order. The buffer is reused on
+	 * every call, i.e. it must not be kept.
+	 *
+	 * @param registers the InputRegisters of the Response
+	 * @param offset    the index of the first register of this Element
+	 * @param wordOrder the {@link WordOrder}
+	 * @return the {@link ByteBuffer} at position 0
+	 */
+	protected final ByteBuffer fillReadBuffer(InputRegister[] registers, int offset, WordOrder wordOrder) {
+		var length = this.getLength();
+		var buff = this.readBuffer;
+		if (buff == null || buff.capacity() != length * 2) {
+			buff = ByteBuffer.allocate(length * 2);
+			this.readBuffer = buff;
+		}
+		buff.clear();
+		buff.order(this.byteOrder);
+		for (var i = 0; i < length; i++) {
+			var value = registers[offset + (wordOrder == WordOrder.MSWLSW ? i : length - 1 - i)].getValue();
+			buff.put(i * 2, (byte) (value >> 8));
+			buff.put(i * 2 + 1, (byte) value);
+		}
+		return buff;
+	}
 
 }
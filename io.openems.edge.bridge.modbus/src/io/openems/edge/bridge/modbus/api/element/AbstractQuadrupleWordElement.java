@@ -33,21 +33,9 @@ public abstract class AbstractQuadrupleWordElement<E, T> extends AbstractModbusR
 	}
 
 	@Override
-	protected final void _setInputRegisters(InputRegister... registers) {
+	protected final void _setInputRegisters(InputRegister[] registers, int offset) {
 		// fill buffer
-		var buff = ByteBuffer.allocate(8).order(this.getByteOrder());
-		if (this.wordOrder == WordOrder.MSWLSW) {
-			buff.put(registers[0].toBytes());
-			buff.put(registers[1].toBytes());
-			buff.put(registers[2].toBytes());
-			buff.put(registers[3].toBytes());
-		} else {
-			buff.put(registers[3].toBytes());
-			buff.put(registers[2].toBytes());
-			buff.put(registers[1].toBytes());
-			buff.put(registers[0].toBytes());
-		}
-		buff.rewind();
+		var buff = this.fillReadBuffer(registers, offset, this.wordOrder);
 		// convert registers to Long
 		var value = this.fromByteBuffer(buff);
 		// set value
@@ -33,10 +33,9 @@ public abstract class AbstractWordElement<E, T> extends AbstractModbusRegisterEl
 	}
 
 	@Override
-	protected void _setInputRegisters(InputRegister... registers) {
+	protected void _setInputRegisters(InputRegister[] registers, int offset) {
 		// convert registers
-		var buff = ByteBuffer.allocate(2).order(this.getByteOrder());
-		buff.put(registers[0].toBytes());
+		var buff = this.fillReadBuffer(registers, offset, WordOrder.MSWLSW);
 		var value = this.fromByteBuffer(buff);
 		// set value
 		super.setValue(value);
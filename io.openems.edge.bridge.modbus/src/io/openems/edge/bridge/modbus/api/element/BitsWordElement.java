@@ -103,17 +103,12 @@ public class BitsWordElement extends UnsignedWordElement {
 	 * Sets the individual BooleanChannel-Values from an InputRegister.
 	 *
 	 * @param registers the InputRegisters
+	 * @param offset    the index of the InputRegister of this Element
 	 */
 	@Override
-	protected void _setInputRegisters(InputRegister... registers) {
-		if (registers.length != 1) {
-			throw new IllegalArgumentException("Expected only one Register instead of [" + registers.length
-					+ "] for Component [" + this.component.id() + "] on address [" + this.getStartAddress() + "]");
-		}
-
+	protected void _setInputRegisters(InputRegister[] registers, int offset) {
 		// convert Register to int
-		var buff = ByteBuffer.allocate(2).order(this.getByteOrder());
-		buff.put(registers[0].toBytes());
+		var buff = this.fillReadBuffer(registers, offset, WordOrder.MSWLSW);
 		var value = Short.toUnsignedInt(buff.getShort(0));
 
 		for (var bitIndex = 0; bitIndex < 16; bitIndex++) {
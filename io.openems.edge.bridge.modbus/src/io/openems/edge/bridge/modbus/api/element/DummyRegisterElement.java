@@ -37,6 +37,13 @@ public class DummyRegisterElement extends AbstractModbusElement<Void>
 	public void setInputRegisters(InputRegister... registers) {
 	}
 
+	/**
+	 * We are not setting a value for a DummyElement.
+	 */
+	@Override
+	public void setInputRegisters(InputRegister[] registers, int offset) {
+	}
+
 	@Override
 	@Deprecated
 	public void _setNextWriteValue(Optional<Void> valueOpt) {
@@ -1,5 +1,6 @@
 package io.openems.edge.bridge.modbus.api.element;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import com.ghgande.j2mod.modbus.procimg.InputRegister;
@@ -21,6 +22,20 @@ public interface ModbusRegisterElement<T> extends ModbusElement<T> {
 	 */
 	public void setInputRegisters(InputRegister... registers) throws OpenemsException;
 
+	/**
+	 * Sets the value of this Element from the InputRegisters of a Response,
+	 * starting at the given offset. Unlike
+	 * {@link #setInputRegisters(InputRegister...)} this does not require a copy
+	 * of the registers.
+	 *
+	 * @param registers the InputRegisters of the Response
+	 * @param offset    the index of the first register of this Element
+	 * @throws OpenemsException on error
+	 */
+	public default void setInputRegisters(InputRegister[] registers, int offset) throws OpenemsException {
+		this.setInputRegisters(Arrays.copyOfRange(registers, offset, offset + this.getLength()));
+	}
+
 	/**
 	 * Sets a value that should be written to the Modbus device.
 	 *
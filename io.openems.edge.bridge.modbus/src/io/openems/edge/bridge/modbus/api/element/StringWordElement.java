@@ -38,17 +38,14 @@ public class StringWordElement extends AbstractModbusRegisterElement<StringWordE
 	}
 
 	@Override
-	protected final void _setInputRegisters(InputRegister... registers) {
+	protected final void _setInputRegisters(InputRegister[] registers, int offset) {
 		// convert registers
-		var buff = ByteBuffer.allocate(this.length * 2).order(this.getByteOrder());
-		for (InputRegister r : registers) {
-			var bs = r.toBytes();
-			for (var i = 0; i < bs.length; i++) {
-				if (bs[i] == 0) {
-					bs[i] = 32; // replace '0' with ASCII space
-				}
+		var buff = this.fillReadBuffer(registers, offset, WordOrder.MSWLSW);
+		var bs = buff.array();
+		for (var i = 0; i < bs.length; i++) {
+			if (bs[i] == 0) {
+				bs[i] = 32; // replace '0' with ASCII space
 			}
-			buff.put(bs);
 		}
 
 		var value = this.fromByteBuffer(buff);
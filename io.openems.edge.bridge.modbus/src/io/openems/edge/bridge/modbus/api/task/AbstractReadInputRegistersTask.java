@@ -1,7 +1,5 @@
 package io.openems.edge.bridge.modbus.api.task;
 
-import java.util.Arrays;
-
 import com.ghgande.j2mod.modbus.procimg.InputRegister;
 
 import io.openems.common.exceptions.OpenemsException;
@@ -24,8 +22,7 @@ public abstract class AbstractReadInputRegistersTask extends AbstractReadTask<In
 	@Override
 	protected void doElementSetInput(ModbusElement<?> modbusElement, int position, InputRegister[] response)
 			throws OpenemsException {
-		((ModbusRegisterElement<?>) modbusElement)
-				.setInputRegisters(Arrays.copyOfRange(response, position, position + modbusElement.getLength()));
+		((ModbusRegisterElement<?>) modbusElement).setInputRegisters(response, position);
 	}
 
 	@Override
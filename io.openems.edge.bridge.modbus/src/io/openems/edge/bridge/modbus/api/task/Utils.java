@@ -38,8 +38,7 @@ public class Utils {
 	public static Boolean[] toBooleanArray(byte[] bytes) {
 		var bools = new Boolean[bytes.length * 8];
 		for (var i = 0; i < bytes.length * 8; i++) {
-			var byteIndex = i / 8;
-			bools[i] = (bytes[byteIndex] & (byte) (128 / Math.pow(2, i % 8))) != 0;
+			bools[i] = (bytes[i / 8] & 0x80 >> i % 8) != 0;
 		}
 		return bools;
 	}
@@ -55,10 +54,7 @@ public class Utils {
 	public static ModbusResponse getResponse(ModbusRequest request, int unitId, AbstractModbusBridge bridge)
 			throws OpenemsException, ModbusException {
 		request.setUnitID(unitId);
-		var transaction = bridge.getNewModbusTransaction();
-		transaction.setRequest(request);
-		transaction.execute();
-		return transaction.getResponse();
+		return bridge.executeTransaction(request);
 	}
 
 	/**
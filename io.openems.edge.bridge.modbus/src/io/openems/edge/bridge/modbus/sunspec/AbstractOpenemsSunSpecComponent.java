@@ -1,5 +1,6 @@
 package io.openems.edge.bridge.modbus.sunspec;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +24,7 @@ import io.openems.edge.bridge.modbus.api.ModbusProtocol;
 import io.openems.edge.bridge.modbus.api.ModbusUtils;
 import io.openems.edge.bridge.modbus.api.element.AbstractModbusElement;
 import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.StringWordElement;
 import io.openems.edge.bridge.modbus.api.element.UnsignedDoublewordElement;
 import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
 import io.openems.edge.bridge.modbus.api.task.FC16WriteRegistersTask;
@@ -47,6 +49,12 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 
 	private boolean isSunSpecInitializationCompleted = false;
 
+	// Persisted result of the SunSpec block discovery
+	private SunSpecBlockCache blockCache = null;
+	private final List<SunSpecBlockCache.Block> discoveredBlocks = new ArrayList<>();
+	private Integer discoveredCommonBlockAddress = null;
+	private boolean isEndOfMap = false;
+
 	/**
 	 * Constructs a AbstractOpenemsSunSpecComponent.
 	 *
@@ -77,6 +85,7 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 			ConfigurationAdmin cm, String modbusReference, String modbusId, int readFromCommonBlockNo)
 			throws OpenemsException {
 		this.readFromCommonBlockNo = readFromCommonBlockNo;
+		this.blockCache = SunSpecBlockCache.of(modbusId, unitId, readFromCommonBlockNo);
 
 		var expectedBlocks = this.activeModels.keySet().stream() //
 				.map(SunSpecModel::getBlockId) //
@@ -89,21 +98,171 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 			}
 
 			try {
-				this.readNextBlock(40_002, expectedBlocks).thenRun(() -> {
-					this.isSunSpecInitializationCompleted = true;
-					this.onSunSpecInitializationCompleted();
-				});
+				var cached = this.readBlockCache(expectedBlocks);
+				if (cached == null) {
+					this.discoverBlocks(expectedBlocks);
+
+				} else {
+					// Validate the cached blocks against the identity of the device
+					this.readIdentity(cached.commonBlockAddress).thenAccept(identity -> {
+						if (identity == null) {
+							this.logInfo(this.log, "Unable to read SunSpec identity at [" + cached.commonBlockAddress
+									+ "]. Discovering SunSpec-Models.");
+
+						} else if (identity.equals(cached.identity)) {
+							this.addCachedBlocks(cached);
+							this.completeSunSpecInitialization();
+							return;
+
+						} else {
+							this.logInfo(this.log, "SunSpec device changed from [" + cached.identity + "] to ["
+									+ identity + "]. Discovering SunSpec-Models.");
+						}
+						this.deleteBlockCache();
+						try {
+							this.discoverBlocks(expectedBlocks);
+						} catch (OpenemsException e) {
+							this.handleDiscoveryError(e);
+						}
+					});
+				}
 
 			} catch (OpenemsException e) {
-				this.logWarn(this.log, "Error while reading SunSpec identifier block: " + e.getMessage());
-				e.printStackTrace();
-				this.isSunSpecInitializationCompleted = true;
-				this.onSunSpecInitializationCompleted();
+				this.handleDiscoveryError(e);
 			}
 		});
 		return super.activate(context, id, alias, enabled, unitId, cm, modbusReference, modbusId);
 	}
 
+	private void discoverBlocks(Set<Integer> expectedBlocks) throws OpenemsException {
+		this.readNextBlock(40_002, expectedBlocks).thenRun(() -> {
+			this.writeBlockCache();
+			this.completeSunSpecInitialization();
+		});
+	}
+
+	private void handleDiscoveryError(OpenemsException e) {
+		this.logWarn(this.log, "Error while reading SunSpec identifier block: " + e.getMessage());
+		e.printStackTrace();
+		this.completeSunSpecInitialization();
+	}
+
+	private void completeSunSpecInitialization() {
+		this.isSunSpecInitializationCompleted = true;
+		this.onSunSpecInitializationCompleted();
+	}
+
+	/**
+	 * Reads the cached SunSpec blocks.
+	 *
+	 * <p>
+	 * The cache is only used if it contains all expected blocks or if it was
+	 * recorded till the END_OF_MAP register.
+	 *
+	 * @param expectedBlocks the expected blocks
+	 * @return the cached blocks; or null
+	 */
+	private SunSpecBlockCache.Entry readBlockCache(Set<Integer> expectedBlocks) {
+		try {
+			var cached = this.blockCache.read();
+			if (cached == null) {
+				return null;
+			}
+			if (!cached.isEndOfMap && !cached.blocks.stream() //
+					.map(block -> block.blockId) //
+					.collect(Collectors.toSet()) //
+					.containsAll(expectedBlocks)) {
+				return null;
+			}
+			return cached;
+
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to read SunSpec cache: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the identity of the device and writes the discovered blocks to the
+	 * cache.
+	 */
+	private void writeBlockCache() {
+		final var commonBlockAddress = this.discoveredCommonBlockAddress;
+		if (commonBlockAddress == null) {
+			return;
+		}
+		final var blocks = new ArrayList<>(this.discoveredBlocks);
+		final var isEndOfMap = this.isEndOfMap;
+		try {
+			this.readIdentity(commonBlockAddress).thenAccept(identity -> {
+				if (identity == null) {
+					this.logWarn(this.log, "Unable to read SunSpec identity. Not writing SunSpec cache.");
+					return;
+				}
+				try {
+					this.blockCache
+							.write(new SunSpecBlockCache.Entry(commonBlockAddress, identity, blocks, isEndOfMap));
+				} catch (IOException e) {
+					this.logWarn(this.log, "Unable to write SunSpec cache: " + e.getMessage());
+				}
+			});
+		} catch (OpenemsException e) {
+			this.logWarn(this.log, "Unable to read SunSpec identity: " + e.getMessage());
+		}
+	}
+
+	private void deleteBlockCache() {
+		try {
+			this.blockCache.delete();
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to delete SunSpec cache: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Adds the cached blocks of all active Models.
+	 *
+	 * @param cached the cached blocks
+	 */
+	private void addCachedBlocks(SunSpecBlockCache.Entry cached) {
+		for (var block : cached.blocks) {
+			var activeEntry = this.getActiveModelForId(block.blockId);
+			if (activeEntry == null) {
+				continue;
+			}
+			try {
+				this.addBlock(block.startAddress, activeEntry.getKey(), activeEntry.getValue());
+			} catch (OpenemsException e) {
+				this.logWarn(this.log, "Error while adding SunSpec-Model [" + block.blockId + "] starting at ["
+						+ block.startAddress + "]: " + e.getMessage());
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Reads the identity of the device from the SunSpec Common block, i.e.
+	 * manufacturer, model, options, version and serial number.
+	 *
+	 * <p>
+	 * The registers are read only once, so that a cache that points to a wrong
+	 * address cannot block the initialization.
+	 *
+	 * @param commonBlockAddress the start address of the Common block
+	 * @return a future identity; completes with null if reading failed
+	 * @throws OpenemsException on error
+	 */
+	private CompletableFuture<String> readIdentity(int commonBlockAddress) throws OpenemsException {
+		var address = commonBlockAddress + 2;
+		return this.readElementsOnceTyped(false, //
+				new StringWordElement(address, 16), // Mn
+				new StringWordElement(address + 16, 16), // Md
+				new StringWordElement(address + 32, 8), // Opt
+				new StringWordElement(address + 40, 8), // Vr
+				new StringWordElement(address + 48, 16)) // SN
+				.thenApply(values -> values.contains(null) ? null : String.join("|", values));
+	}
+
 	@Override
 	protected final ModbusProtocol defineModbusProtocol() {
 		return this.modbusProtocol;
@@ -162,6 +321,7 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 
 					// END_OF_MAP
 					if (blockId == 0xFFFF) {
+						this.isEndOfMap = true;
 						finished.complete(null);
 						return;
 					}
@@ -177,6 +337,11 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 						// ignore all SunSpec blocks before 'startFromCommonBlockNo' was passed
 
 					} else {
+						// Remember the Block for the SunSpecBlockCache
+						if (blockId == 1 /* SunSpecModel.S_1 */) {
+							this.discoveredCommonBlockAddress = startAddress;
+						}
+						this.discoveredBlocks.add(new SunSpecBlockCache.Block(blockId, startAddress, length));
 
 						// Should this Block be considered?
 						var activeEntry = this.getActiveModelForId(blockId);
@@ -357,6 +522,23 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 	@SafeVarargs
 	private final <T> CompletableFuture<List<T>> readElementsOnceTyped(AbstractModbusElement<T>... elements)
 			throws OpenemsException {
+		return this.readElementsOnceTyped(true, elements);
+	}
+
+	/**
+	 * Reads given Elements once from Modbus.
+	 *
+	 * @param <T>             the Type of the elements
+	 * @param tryAgainOnError if true, tries to read till it receives all values;
+	 *                        if false, stops after first try and possibly returns
+	 *                        null values
+	 * @param elements        the elements
+	 * @return a future list with the values, e.g. a list of integers
+	 * @throws OpenemsException on error
+	 */
+	@SafeVarargs
+	private final <T> CompletableFuture<List<T>> readElementsOnceTyped(boolean tryAgainOnError,
+			AbstractModbusElement<T>... elements) throws OpenemsException {
 		// Register listeners for elements
 		@SuppressWarnings("unchecked")
 		final var subResults = (CompletableFuture<T>[]) new CompletableFuture<?>[elements.length];
@@ -366,7 +548,7 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 
 			var element = elements[i];
 			element.onUpdateCallback(value -> {
-				if (value == null) {
+				if (value == null && tryAgainOnError) {
 					// try again
 					return;
 				}
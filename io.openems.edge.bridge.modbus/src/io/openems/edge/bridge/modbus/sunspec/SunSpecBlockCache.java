@@ -0,0 +1,158 @@
+package io.openems.edge.bridge.modbus.sunspec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Persists the SunSpec blocks that were discovered on a device.
+ *
+ * <p>
+ * The cache file is stored per Modbus-Bridge and Unit-ID. Its content is only
+ * valid for the device with the stored identity, i.e. the manufacturer, model,
+ * options, version and serial number from the SunSpec Common block.
+ */
+public class SunSpecBlockCache {
+
+	private static final String CACHE_PATH = "sunspec";
+	private static final int FILE_VERSION = 1;
+
+	/**
+	 * A SunSpec block.
+	 */
+	public static class Block {
+
+		public final int blockId;
+		public final int startAddress;
+		public final int length;
+
+		public Block(int blockId, int startAddress, int length) {
+			this.blockId = blockId;
+			this.startAddress = startAddress;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * The blocks of a device.
+	 */
+	public static class Entry {
+
+		public final int commonBlockAddress;
+		public final String identity;
+		public final List<Block> blocks;
+		/**
+		 * True if the blocks were read till the END_OF_MAP register.
+		 */
+		public final boolean isEndOfMap;
+
+		public Entry(int commonBlockAddress, String identity, List<Block> blocks, boolean isEndOfMap) {
+			this.commonBlockAddress = commonBlockAddress;
+			this.identity = identity;
+			this.blocks = Collections.unmodifiableList(new ArrayList<>(blocks));
+			this.isEndOfMap = isEndOfMap;
+		}
+	}
+
+	private final Path file;
+
+	public SunSpecBlockCache(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Creates a {@link SunSpecBlockCache} in the OpenEMS Data Directory.
+	 *
+	 * @param modbusId              the Component-ID of the Modbus-Bridge
+	 * @param unitId                the Unit-ID of the device
+	 * @param readFromCommonBlockNo the number of the Common block
+	 * @return the {@link SunSpecBlockCache}
+	 */
+	public static SunSpecBlockCache of(String modbusId, int unitId, int readFromCommonBlockNo) {
+		return new SunSpecBlockCache(Paths.get(//
+				OpenemsConstants.getOpenemsDataDir(), //
+				CACHE_PATH, //
+				modbusId, //
+				unitId + "-" + readFromCommonBlockNo + ".json"));
+	}
+
+	/**
+	 * Reads the cached blocks.
+	 *
+	 * @return the {@link Entry}; null if there is no cache file
+	 * @throws IOException on error
+	 */
+	public Entry read() throws IOException {
+		if (!Files.exists(this.file)) {
+			return null;
+		}
+		try {
+			var json = JsonUtils.getAsJsonObject(JsonUtils.parse(Files.readString(this.file, StandardCharsets.UTF_8)));
+			if (JsonUtils.getAsInt(json, "version") != FILE_VERSION) {
+				return null;
+			}
+			var blocks = new ArrayList<Block>();
+			for (JsonElement block : JsonUtils.getAsJsonArray(json, "blocks")) {
+				var values = JsonUtils.getAsJsonArray(block);
+				blocks.add(new Block(JsonUtils.getAsInt(values.get(0)), JsonUtils.getAsInt(values.get(1)),
+						JsonUtils.getAsInt(values.get(2))));
+			}
+			return new Entry(JsonUtils.getAsInt(json, "commonBlockAddress"), JsonUtils.getAsString(json, "identity"),
+					blocks, JsonUtils.getAsBoolean(json, "endOfMap"));
+
+		} catch (OpenemsNamedException | RuntimeException e) {
+			throw new IOException("Invalid cache file [" + this.file + "]: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the blocks to the cache file.
+	 *
+	 * @param entry the {@link Entry}
+	 * @throws IOException on error
+	 */
+	public void write(Entry entry) throws IOException {
+		var blocks = JsonUtils.buildJsonArray();
+		for (Block block : entry.blocks) {
+			blocks.add(JsonUtils.buildJsonArray() //
+					.add(block.blockId) //
+					.add(block.startAddress) //
+					.add(block.length) //
+					.build());
+		}
+		var json = JsonUtils.buildJsonObject() //
+				.addProperty("version", FILE_VERSION) //
+				.addProperty("commonBlockAddress", entry.commonBlockAddress) //
+				.addProperty("identity", entry.identity) //
+				.addProperty("endOfMap", entry.isEndOfMap) //
+				.add("blocks", blocks.build()) //
+				.build();
+
+		Files.createDirectories(this.file.getParent());
+		var tmpFile = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+		Files.writeString(tmpFile, json.toString(), StandardCharsets.UTF_8);
+		Files.move(tmpFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Deletes the cache file.
+	 *
+	 * @throws IOException on error
+	 */
+	public void delete() throws IOException {
+		Files.deleteIfExists(this.file);
+	}
+
+}
@@ -1,5 +1,7 @@
 package io.openems.edge.bridge.modbus;
 
+import static org.junit.Assert.assertEquals;
+
 import org.junit.Test;
 
 import com.ghgande.j2mod.modbus.procimg.Register;
@@ -15,6 +17,7 @@ import io.openems.common.types.OpenemsType;
 import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
 import io.openems.edge.bridge.modbus.api.LogVerbosity;
 import io.openems.edge.bridge.modbus.api.ModbusProtocol;
+import io.openems.edge.bridge.modbus.api.ReadTaskPlanner;
 import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
 import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
 import io.openems.edge.common.channel.Doc;
@@ -37,6 +40,15 @@ public class BridgeModbusTcpImplTest {
 
 	@Test
 	public void test() throws Exception {
+		test(1);
+	}
+
+	@Test
+	public void testPipelined() throws Exception {
+		test(4);
+	}
+
+	private static void test(int pipelineWindow) throws Exception {
 		final ThrowingRunnable<Exception> sleep = () -> Thread.sleep(CYCLE_TIME);
 
 		var port = TestUtils.findRandomOpenPortOnAllLocalInterfaces();
@@ -66,6 +78,7 @@ public class BridgeModbusTcpImplTest {
 							.setPort(port) //
 							.setInvalidateElementsAfterReadErrors(1) //
 							.setLogVerbosity(LogVerbosity.NONE) //
+							.setPipelineWindow(pipelineWindow) //
 							.build());
 
 			/*
@@ -111,6 +124,70 @@ public class BridgeModbusTcpImplTest {
 		}
 	}
 
+	@Test
+	public void testReadTaskPlanner() throws Exception {
+		final ThrowingRunnable<Exception> sleep = () -> Thread.sleep(CYCLE_TIME);
+
+		var port = TestUtils.findRandomOpenPortOnAllLocalInterfaces();
+		ModbusSlave slave = null;
+		try {
+			/*
+			 * Open Modbus/TCP Slave; registers 111 to 114 do not exist
+			 */
+			slave = ModbusSlaveFactory.createTCPSlave(port, 1);
+			var processImage = new SimpleProcessImage(UNIT_ID);
+			for (var i = 100; i <= 120; i++) {
+				if (i < 111 || i > 114) {
+					processImage.addRegister(i, new SimpleRegister(i));
+				}
+			}
+			slave.addProcessImage(UNIT_ID, processImage);
+			slave.open();
+
+			/*
+			 * Instantiate Modbus-Bridge; the three Read-Tasks are merged
+			 */
+			var sut = new BridgeModbusTcpImpl();
+			var device = new MyPlannedModbusComponent(DEVICE_ID, sut, UNIT_ID);
+			var tasksManager = device.getModbusProtocol().getReadTasksManager();
+			assertEquals(1, tasksManager.getAllTasks().size());
+			var test = new ComponentTest(sut) //
+					.addComponent(device) //
+					.addReference("cycle", new DummyCycle(CYCLE_TIME)) //
+					.activate(MyConfigTcp.create() //
+							.setId(MODBUS_ID) //
+							.setIp("127.0.0.1") //
+							.setPort(port) //
+							.setInvalidateElementsAfterReadErrors(1) //
+							.setLogVerbosity(LogVerbosity.NONE) //
+							.build());
+
+			/*
+			 * Merged Request fails; it is split at the largest gap, i.e. 101 to 114
+			 */
+			for (var i = 0; i < 3; i++) {
+				test.next(new TestCase() //
+						.onAfterProcessImage(sleep));
+			}
+			test.next(new TestCase() //
+					.onAfterProcessImage(sleep) //
+					.output(MyPlannedModbusComponent.REGISTER_100, 100) //
+					.output(MyPlannedModbusComponent.REGISTER_115, 115) //
+					.output(MyPlannedModbusComponent.REGISTER_120, 120));
+
+			var tasks = tasksManager.getAllTasks();
+			assertEquals(2, tasks.size());
+			assertEquals(100, tasks.get(0).getStartAddress());
+			assertEquals(1, tasks.get(0).getLength());
+			assertEquals(115, tasks.get(1).getStartAddress());
+			assertEquals(6, tasks.get(1).getLength());
+		} finally {
+			if (slave != null) {
+				slave.close();
+			}
+		}
+	}
+
 	private static class MyModbusComponent extends DummyModbusComponent {
 
 		public MyModbusComponent(String id, AbstractModbusBridge bridge, int unitId) throws OpenemsException {
@@ -141,4 +218,51 @@ public class BridgeModbusTcpImplTest {
 		}
 
 	}
+
+	private static class MyPlannedModbusComponent extends DummyModbusComponent {
+
+		private static final ChannelAddress REGISTER_100 = new ChannelAddress(DEVICE_ID, "Register100");
+		private static final ChannelAddress REGISTER_115 = new ChannelAddress(DEVICE_ID, "Register115");
+		private static final ChannelAddress REGISTER_120 = new ChannelAddress(DEVICE_ID, "Register120");
+
+		public MyPlannedModbusComponent(String id, AbstractModbusBridge bridge, int unitId) throws OpenemsException {
+			super(id, bridge, unitId, ChannelId.values());
+		}
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			REGISTER_100(Doc.of(OpenemsType.INTEGER)), //
+			REGISTER_115(Doc.of(OpenemsType.INTEGER)), //
+			REGISTER_120(Doc.of(OpenemsType.INTEGER)); //
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		@Override
+		protected ModbusProtocol getModbusProtocol() throws OpenemsException {
+			return super.getModbusProtocol();
+		}
+
+		@Override
+		protected ModbusProtocol defineModbusProtocol() throws OpenemsException {
+			var protocol = new ModbusProtocol(this, //
+					new FC3ReadRegistersTask(100, Priority.HIGH, //
+							m(ChannelId.REGISTER_100, new UnsignedWordElement(100))), //
+					new FC3ReadRegistersTask(115, Priority.HIGH, //
+							m(ChannelId.REGISTER_115, new UnsignedWordElement(115))), //
+					new FC3ReadRegistersTask(120, Priority.HIGH, //
+							m(ChannelId.REGISTER_120, new UnsignedWordElement(120))));
+			protocol.setReadTaskPlanner(new ReadTaskPlanner());
+			return protocol;
+		}
+
+	}
 }
@@ -0,0 +1,142 @@
+package io.openems.edge.bridge.modbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersRequest;
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersResponse;
+
+public class ModbusTcpPipelineTest {
+
+	private static ModbusTcpPipeline createPipeline(ModbusTcpSimulator simulator, int timeout,
+			AtomicInteger misbehaviours) {
+		return new ModbusTcpPipeline("test", InetAddress.getLoopbackAddress(), simulator.getPort(), timeout,
+				reason -> misbehaviours.incrementAndGet());
+	}
+
+	private static int read(ModbusTcpPipeline pipeline, int address) throws ModbusException {
+		var request = new ReadMultipleRegistersRequest(address, 1);
+		request.setUnitID(ModbusTcpSimulator.UNIT_ID);
+		var response = (ReadMultipleRegistersResponse) pipeline.execute(request);
+		return response.getRegisterValue(0);
+	}
+
+	/**
+	 * Reads the given addresses concurrently.
+	 *
+	 * @return the Futures of the values, in the order of the addresses
+	 */
+	private static ArrayList<Future<Integer>> readConcurrently(ModbusTcpPipeline pipeline, int threads,
+			int... addresses) throws InterruptedException {
+		var executor = Executors.newFixedThreadPool(threads);
+		var tasks = new ArrayList<Callable<Integer>>();
+		for (var address : addresses) {
+			tasks.add(() -> read(pipeline, address));
+		}
+		var result = new ArrayList<>(executor.invokeAll(tasks));
+		executor.shutdown();
+		return result;
+	}
+
+	@Test
+	public void testPipelining() throws Exception {
+		var misbehaviours = new AtomicInteger();
+		try (var simulator = new ModbusTcpSimulator(100, 50, false)) {
+			var sut = createPipeline(simulator, 1000, misbehaviours);
+			var futures = readConcurrently(sut, 8, 10, 11, 12, 13, 14, 15, 16, 17);
+			for (var i = 0; i < futures.size(); i++) {
+				assertEquals(10 + i, (int) futures.get(i).get());
+			}
+			assertTrue(simulator.getMaxOutstanding() > 1);
+			assertFalse(sut.isMisbehaving());
+			assertEquals(0, misbehaviours.get());
+			sut.close();
+		}
+	}
+
+	@Test
+	public void testExceptionResponse() throws Exception {
+		var misbehaviours = new AtomicInteger();
+		try (var simulator = new ModbusTcpSimulator(100, 0, false)) {
+			var sut = createPipeline(simulator, 1000, misbehaviours);
+			try {
+				read(sut, 1000);
+				fail();
+			} catch (ModbusSlaveException e) {
+				// expected
+			}
+			// Connection is still usable
+			assertEquals(5, read(sut, 5));
+			assertFalse(sut.isMisbehaving());
+			sut.close();
+		}
+	}
+
+	@Test
+	public void testFallbackIfRequestsAreDropped() throws Exception {
+		var misbehaviours = new AtomicInteger();
+		try (var simulator = new ModbusTcpSimulator(100, 20, true)) {
+			var sut = createPipeline(simulator, 300, misbehaviours);
+			var failed = 0;
+			for (var future : readConcurrently(sut, 4, 1, 2, 3, 4)) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					failed++;
+				}
+			}
+			assertTrue(failed > 0);
+
+			// The next Request is answered, while earlier Requests are still missing
+			try {
+				read(sut, 5);
+			} catch (ModbusException e) {
+				// connection was closed
+			}
+			assertTrue(sut.isMisbehaving());
+			assertEquals(1, misbehaviours.get());
+			sut.close();
+		}
+	}
+
+	@Test
+	public void testSlowDeviceAnsweringInOrder() throws Exception {
+		var misbehaviours = new AtomicInteger();
+		// Each Request takes 200 ms; the third Request is answered after 600 ms
+		try (var simulator = new ModbusTcpSimulator(100, 0, false, 200)) {
+			var sut = createPipeline(simulator, 300, misbehaviours);
+			var futures = readConcurrently(sut, 3, 1, 2, 3);
+			var failed = 0;
+			for (var future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					failed++;
+				}
+			}
+			assertTrue(failed > 0);
+
+			// Wait for the late Responses; connection is still usable
+			Thread.sleep(500);
+			assertEquals(7, read(sut, 7));
+			assertFalse(sut.isMisbehaving());
+			assertEquals(0, misbehaviours.get());
+			sut.close();
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+package io.openems.edge.bridge.modbus;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ghgande.j2mod.modbus.procimg.SimpleProcessImage;
+import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
+import com.ghgande.j2mod.modbus.slave.ModbusSlave;
+import com.ghgande.j2mod.modbus.slave.ModbusSlaveFactory;
+
+import io.openems.edge.common.test.TestUtils;
+
+/**
+ * A local Modbus/TCP device for tests and benchmarks.
+ *
+ * <p>
+ * A j2mod slave provides holding registers 0 to 'noOfRegisters - 1'; each
+ * register holds its own address as value. The slave is reached via a proxy
+ * that delays every frame by 'latency' in each direction. With
+ * 'dropPipelinedRequests' the proxy drops Requests that arrive while another
+ * Request is outstanding, like a device that does not support pipelining.
+ * With 'processingTime' the Requests are handled one after the other, each
+ * taking the given time, like a slow device that answers in order.
+ */
+public class ModbusTcpSimulator implements AutoCloseable {
+
+	public static final int UNIT_ID = 1;
+
+	private final ModbusSlave slave;
+	private final int slavePort;
+	private final ServerSocket proxy;
+	private final int latency;
+	private final boolean dropPipelinedRequests;
+	private final int processingTime;
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private final AtomicInteger maxOutstanding = new AtomicInteger();
+
+	private long nextFreeAt = 0;
+
+	public ModbusTcpSimulator(int noOfRegisters, int latency, boolean dropPipelinedRequests) throws Exception {
+		this(noOfRegisters, latency, dropPipelinedRequests, 0);
+	}
+
+	public ModbusTcpSimulator(int noOfRegisters, int latency, boolean dropPipelinedRequests, int processingTime)
+			throws Exception {
+		this.latency = latency;
+		this.dropPipelinedRequests = dropPipelinedRequests;
+		this.processingTime = processingTime;
+
+		var image = new SimpleProcessImage(UNIT_ID);
+		for (var i = 0; i < noOfRegisters; i++) {
+			image.addRegister(i, new SimpleRegister(i));
+		}
+		this.slavePort = TestUtils.findRandomOpenPortOnAllLocalInterfaces();
+		this.slave = ModbusSlaveFactory.createTCPSlave(this.slavePort, 5);
+		this.slave.addProcessImage(UNIT_ID, image);
+		this.slave.open();
+
+		this.proxy = new ServerSocket(0);
+		var acceptor = new Thread(this::accept, "ModbusTcpSimulator-Acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/**
+	 * Gets the port of the device.
+	 *
+	 * @return the port
+	 */
+	public int getPort() {
+		return this.proxy.getLocalPort();
+	}
+
+	/**
+	 * Gets the maximum number of Requests that were outstanding at the same time.
+	 *
+	 * @return the number of Requests
+	 */
+	public int getMaxOutstanding() {
+		return this.maxOutstanding.get();
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.proxy.close();
+		this.scheduler.shutdownNow();
+		this.slave.close();
+	}
+
+	private void accept() {
+		while (true) {
+			try {
+				var client = this.proxy.accept();
+				var device = new Socket(InetAddress.getLoopbackAddress(), this.slavePort);
+				this.forward(client, device, true);
+				this.forward(device, client, false);
+			} catch (IOException e) {
+				return;
+			}
+		}
+	}
+
+	private void forward(Socket from, Socket to, boolean isRequest) {
+		var thread = new Thread(() -> {
+			try (from; to) {
+				var in = new DataInputStream(from.getInputStream());
+				var out = to.getOutputStream();
+				var header = new byte[6];
+				while (true) {
+					in.readFully(header);
+					var frame = Arrays.copyOf(header, 6 + ((header[4] & 0xff) << 8 | header[5] & 0xff));
+					in.readFully(frame, 6, frame.length - 6);
+					if (isRequest) {
+						if (this.dropPipelinedRequests && this.outstanding.get() > 0) {
+							continue;
+						}
+						this.maxOutstanding.accumulateAndGet(this.outstanding.incrementAndGet(), Math::max);
+					} else {
+						this.outstanding.decrementAndGet();
+					}
+					var delay = (long) this.latency;
+					if (isRequest && this.processingTime > 0) {
+						delay = this.getProcessingDelay();
+					}
+					this.scheduler.schedule(() -> write(out, frame), delay, TimeUnit.MILLISECONDS);
+				}
+			} catch (IOException e) {
+				// connection closed
+			}
+		}, "ModbusTcpSimulator-" + (isRequest ? "Request" : "Response"));
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Gets the delay till a Request is handled, if Requests are handled one after
+	 * the other.
+	 *
+	 * @return the delay in [ms]
+	 */
+	private synchronized long getProcessingDelay() {
+		var now = System.currentTimeMillis();
+		this.nextFreeAt = Math.max(now + this.latency, this.nextFreeAt) + this.processingTime;
+		return this.nextFreeAt - now;
+	}
+
+	private static void write(OutputStream out, byte[] frame) {
+		try {
+			out.write(frame);
+			out.flush();
+		} catch (IOException e) {
+			// connection closed
+		}
+	}
+
+}
@@ -6,12 +6,13 @@ import io.openems.edge.bridge.modbus.api.LogVerbosity;
 @SuppressWarnings("all")
 public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 
-	protected static class Builder {
+	public static class Builder {
 		private String id = null;
 		public String ip;
 		public int port;
 		public LogVerbosity logVerbosity;
 		public int invalidateElementsAfterReadErrors;
+		public int pipelineWindow = 1;
 
 		private Builder() {
 		}
@@ -41,6 +42,11 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 			return this;
 		}
 
+		public Builder setPipelineWindow(int pipelineWindow) {
+			this.pipelineWindow = pipelineWindow;
+			return this;
+		}
+
 		public MyConfigTcp build() {
 			return new MyConfigTcp(this);
 		}
@@ -82,4 +88,9 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		return this.builder.invalidateElementsAfterReadErrors;
 	}
 
-}
\ No newline at end of file
+	@Override
+	public int pipelineWindow() {
+		return this.builder.pipelineWindow;
+	}
+
+}
@@ -0,0 +1,99 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.element.CoilElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.FC1ReadCoilsTask;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ModbusProtocolTest {
+
+	private static class MyCoilsTask extends FC1ReadCoilsTask {
+
+		private boolean hasBeenExecuted = false;
+
+		public MyCoilsTask(int startAddress, Priority priority, CoilElement element) {
+			super(startAddress, priority, element);
+		}
+
+		@Override
+		public boolean hasBeenExecuted() {
+			return this.hasBeenExecuted;
+		}
+
+	}
+
+	@Test
+	public void testReplanReadTasks() throws OpenemsException {
+		var coils = new MyCoilsTask(0, Priority.ONCE, new CoilElement(0));
+		var sut = new ModbusProtocol(null, //
+				coils, //
+				new FC3ReadRegistersTask(100, Priority.ONCE, new UnsignedWordElement(100)), //
+				new FC3ReadRegistersTask(101, Priority.ONCE, new UnsignedWordElement(101)), //
+				new FC3ReadRegistersTask(0, Priority.HIGH, new UnsignedWordElement(0)));
+		var planner = new ReadTaskPlanner();
+		sut.setReadTaskPlanner(planner);
+		var onceTasks = sut.getReadTasksManager().getAllTasks(Priority.ONCE);
+		assertEquals(2, onceTasks.size());
+
+		// Re-planning keeps already executed ONCE Tasks out of the new plan
+		coils.hasBeenExecuted = true;
+		sut.setReadTaskPlanner(planner);
+		var replanned = sut.getReadTasksManager().getAllTasks(Priority.ONCE);
+		assertEquals(1, replanned.size());
+		assertTask(replanned.get(0), 100, 2);
+		assertEquals(1, sut.getReadTasksManager().getAllTasks(Priority.HIGH).size());
+
+		// ...also on further re-planning
+		sut.setReadTaskPlanner(planner);
+		assertEquals(1, sut.getReadTasksManager().getAllTasks(Priority.ONCE).size());
+
+		// Previously returned lists are not modified
+		assertEquals(2, onceTasks.size());
+		assertSame(coils, onceTasks.get(0));
+
+		// Without planner all declared Tasks are executed again
+		sut.setReadTaskPlanner(null);
+		assertEquals(3, sut.getReadTasksManager().getAllTasks(Priority.ONCE).size());
+	}
+
+	@Test
+	public void testGetExecutedOnceTasks() {
+		var element100 = new UnsignedWordElement(100);
+		var element101 = new UnsignedWordElement(101);
+		var task100 = new FC3ReadRegistersTask(100, Priority.ONCE, element100);
+		var task101 = new FC3ReadRegistersTask(101, Priority.ONCE, element101);
+		var high = new FC3ReadRegistersTask(100, Priority.HIGH, new UnsignedWordElement(100));
+		List<ReadTask> declared = Arrays.asList(task100, task101, high);
+
+		// Planned Task that read only one of the declared Tasks
+		var executed = new FC3ReadRegistersTask(100, Priority.ONCE, element100) {
+			@Override
+			public boolean hasBeenExecuted() {
+				return true;
+			}
+		};
+		var notExecuted = new FC3ReadRegistersTask(101, Priority.ONCE, element101);
+
+		assertEquals(Arrays.asList(task100),
+				ModbusProtocol.getExecutedOnceTasks(declared, Arrays.asList(executed, notExecuted)));
+		assertTrue(ModbusProtocol.getExecutedOnceTasks(declared, Arrays.asList(notExecuted)).isEmpty());
+	}
+
+	private static void assertTask(ReadTask task, int startAddress, int length) {
+		assertEquals(startAddress, task.getStartAddress());
+		assertEquals(length, task.getLength());
+	}
+
+}
@@ -0,0 +1,105 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.Modbus;
+
+import io.openems.edge.bridge.modbus.api.element.CoilElement;
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.FC1ReadCoilsTask;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC4ReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ReadTaskPlannerTest {
+
+	private static final Runnable NO_SPLIT = () -> {
+	};
+
+	private static List<ReadTask> plan(ReadTaskPlanner sut, ReadTask... tasks) {
+		return sut.plan(Arrays.asList(tasks), NO_SPLIT);
+	}
+
+	private static void assertTask(ReadTask task, int startAddress, int length) {
+		assertEquals(startAddress, task.getStartAddress());
+		assertEquals(length, task.getLength());
+	}
+
+	@Test
+	public void testMerge() {
+		var sut = new ReadTaskPlanner();
+		var tasks = plan(sut, //
+				new FC3ReadRegistersTask(110, Priority.HIGH, //
+						new UnsignedWordElement(110)), //
+				new FC3ReadRegistersTask(100, Priority.HIGH, //
+						new UnsignedDoublewordElement(100), //
+						new DummyRegisterElement(102, 104), //
+						new UnsignedWordElement(105)));
+
+		assertEquals(1, tasks.size());
+		var task = tasks.get(0);
+		assertTrue(task instanceof FC3ReadRegistersTask);
+		assertTask(task, 100, 11);
+		var elements = task.getElements();
+		assertEquals(5, elements.length);
+		assertEquals(102, elements[1].getStartAddress());
+		assertEquals(3, elements[1].getLength());
+		assertTrue(elements[3] instanceof DummyRegisterElement);
+		assertEquals(106, elements[3].getStartAddress());
+		assertEquals(4, elements[3].getLength());
+	}
+
+	@Test
+	public void testMaxLengthAndMaxGap() {
+		var sut = new ReadTaskPlanner(10, 2);
+		var tasks = plan(sut, //
+				new FC3ReadRegistersTask(0, Priority.HIGH, //
+						new UnsignedWordElement(0), //
+						new DummyRegisterElement(1, 8), //
+						new UnsignedWordElement(9), //
+						new UnsignedWordElement(10)), //
+				new FC3ReadRegistersTask(13, Priority.HIGH, //
+						new UnsignedWordElement(13)), //
+				new FC3ReadRegistersTask(17, Priority.HIGH, //
+						new UnsignedWordElement(17)));
+
+		// Declared Task is split; gap of 3 registers is not bridged
+		assertEquals(3, tasks.size());
+		assertTask(tasks.get(0), 0, 10);
+		assertTask(tasks.get(1), 10, 4);
+		assertTask(tasks.get(2), 17, 1);
+	}
+
+	@Test
+	public void testKeepOtherTasks() {
+		var sut = new ReadTaskPlanner() //
+				.addHole(Modbus.READ_INPUT_REGISTERS, 2, 2);
+		var coils = new FC1ReadCoilsTask(0, Priority.HIGH, new CoilElement(0));
+		var tasks = plan(sut, //
+				coils, //
+				new FC3ReadRegistersTask(0, Priority.HIGH, new UnsignedWordElement(0)), //
+				new FC4ReadInputRegistersTask(1, Priority.HIGH, new UnsignedWordElement(1)), //
+				new FC4ReadInputRegistersTask(3, Priority.HIGH, new UnsignedWordElement(3)), //
+				new FC3ReadRegistersTask(1, Priority.LOW, new UnsignedWordElement(1)));
+
+		assertEquals(5, tasks.size());
+		assertSame(coils, tasks.get(0));
+		assertTrue(tasks.get(1) instanceof FC3ReadRegistersTask);
+		assertTask(tasks.get(1), 0, 1);
+		assertTrue(tasks.get(2) instanceof FC4ReadInputRegistersTask);
+		assertTask(tasks.get(2), 1, 1);
+		assertTask(tasks.get(3), 3, 1);
+		assertEquals(Priority.LOW, tasks.get(4).getPriority());
+	}
+
+}
@@ -0,0 +1,86 @@
+package io.openems.edge.bridge.modbus.api.element;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
+
+import io.openems.common.exceptions.OpenemsException;
+
+public class ModbusRegisterElementTest {
+
+	private static InputRegister[] registers(int... values) {
+		var result = new InputRegister[values.length];
+		for (var i = 0; i < values.length; i++) {
+			result[i] = new SimpleRegister(values[i]);
+		}
+		return result;
+	}
+
+	private static Object decode(AbstractModbusRegisterElement<?, ?> element, int offset, int... values)
+			throws OpenemsException {
+		var result = new AtomicReference<Object>();
+		element.onUpdateCallback(result::set);
+		element.setInputRegisters(registers(values), offset);
+		return result.get();
+	}
+
+	@Test
+	public void testWordElements() throws OpenemsException {
+		assertEquals(65534, decode(new UnsignedWordElement(0), 1, 0x1234, 0xFFFE));
+		assertEquals((short) -2, decode(new SignedWordElement(0), 1, 0x1234, 0xFFFE));
+		assertEquals(0x0201, decode(new UnsignedWordElement(0).byteOrder(ByteOrder.LITTLE_ENDIAN), 0, 0x0102));
+	}
+
+	@Test
+	public void testDoubleWordElements() throws OpenemsException {
+		assertEquals(0x00010002L, decode(new UnsignedDoublewordElement(0), 1, 0xAAAA, 0x0001, 0x0002));
+		assertEquals(0x00020001L, decode(new UnsignedDoublewordElement(0).wordOrder(WordOrder.LSWMSW), 1, //
+				0xAAAA, 0x0001, 0x0002));
+		assertEquals(-2L, decode(new SignedDoublewordElement(0), 0, 0xFFFF, 0xFFFE));
+		assertEquals(1.5F, decode(new FloatDoublewordElement(0), 0, 0x3FC0, 0x0000));
+	}
+
+	@Test
+	public void testQuadrupleWordElements() throws OpenemsException {
+		assertEquals(-2L, decode(new SignedQuadruplewordElement(0), 1, 0x1234, 0xFFFF, 0xFFFF, 0xFFFF, 0xFFFE));
+		assertEquals(1.5, decode(new FloatQuadruplewordElement(0), 0, 0x3FF8, 0x0000, 0x0000, 0x0000));
+		assertEquals(0x0004000300020001L, decode(new UnsignedQuadruplewordElement(0).wordOrder(WordOrder.LSWMSW), 0, //
+				0x0001, 0x0002, 0x0003, 0x0004));
+	}
+
+	@Test
+	public void testStringWordElement() throws OpenemsException {
+		assertEquals("AB", decode(new StringWordElement(0, 2), 0, 0x4142, 0x0000));
+	}
+
+	@Test
+	public void testReuseBuffer() throws OpenemsException {
+		var element = new SignedDoublewordElement(0);
+		assertEquals(-2L, decode(element, 0, 0xFFFF, 0xFFFE));
+		assertEquals(3L, decode(element, 2, 0xFFFF, 0xFFFE, 0x0000, 0x0003));
+	}
+
+	@Test
+	public void testRegistersTooShort() {
+		try {
+			new UnsignedDoublewordElement(0).setInputRegisters(registers(1, 2, 3), 2);
+			fail();
+		} catch (OpenemsException e) {
+			// expected
+		}
+		try {
+			new UnsignedDoublewordElement(0).setInputRegisters(registers(1));
+			fail();
+		} catch (OpenemsException e) {
+			// expected
+		}
+	}
+
+}
@@ -0,0 +1,205 @@
+package io.openems.edge.bridge.modbus.sunspec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgi.framework.Constants;
+
+import com.ghgande.j2mod.modbus.procimg.SimpleProcessImage;
+import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
+import com.ghgande.j2mod.modbus.slave.ModbusSlave;
+import com.ghgande.j2mod.modbus.slave.ModbusSlaveFactory;
+import com.google.common.collect.ImmutableMap;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.utils.ConfigUtils;
+import io.openems.edge.bridge.modbus.BridgeModbusTcpImpl;
+import io.openems.edge.bridge.modbus.MyConfigTcp;
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
+import io.openems.edge.bridge.modbus.api.LogVerbosity;
+import io.openems.edge.bridge.modbus.api.ModbusComponent;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.taskmanager.Priority;
+import io.openems.edge.common.test.AbstractComponentTest.TestCase;
+import io.openems.edge.common.test.ComponentTest;
+import io.openems.edge.common.test.DummyComponentContext;
+import io.openems.edge.common.test.DummyConfigurationAdmin;
+import io.openems.edge.common.test.DummyConfigurationAdmin.DummyConfiguration;
+import io.openems.edge.common.test.DummyCycle;
+import io.openems.edge.common.test.TestUtils;
+
+public class AbstractOpenemsSunSpecComponentTest {
+
+	private static final String MODBUS_ID = "modbus0";
+	private static final String DEVICE_ID = "device0";
+	private static final int UNIT_ID = 1;
+	private static final int CYCLE_TIME = 20;
+	private static final int COMMON_BLOCK_ADDRESS = 40_002;
+	private static final int END_OF_MAP_ADDRESS = COMMON_BLOCK_ADDRESS + 2 + 66;
+	private static final String DATA_DIR_PROPERTY = "openems.data.dir";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String previousDataDir;
+	private int port;
+	private ModbusSlave slave;
+	private SimpleProcessImage processImage;
+
+	@Before
+	public void before() throws Exception {
+		this.previousDataDir = System.getProperty(DATA_DIR_PROPERTY);
+		System.setProperty(DATA_DIR_PROPERTY, this.folder.getRoot().getAbsolutePath());
+
+		/*
+		 * Open Modbus/TCP Slave with 'SunS' identifier, a Common block and END_OF_MAP
+		 */
+		this.port = TestUtils.findRandomOpenPortOnAllLocalInterfaces();
+		this.slave = ModbusSlaveFactory.createTCPSlave(this.port, 1);
+		this.processImage = new SimpleProcessImage(UNIT_ID);
+		this.processImage.addRegister(40_000, new SimpleRegister(0x5375));
+		this.processImage.addRegister(40_001, new SimpleRegister(0x6e53));
+		this.processImage.addRegister(COMMON_BLOCK_ADDRESS, new SimpleRegister(1));
+		this.processImage.addRegister(COMMON_BLOCK_ADDRESS + 1, new SimpleRegister(66));
+		for (var i = COMMON_BLOCK_ADDRESS + 2; i < END_OF_MAP_ADDRESS; i++) {
+			this.processImage.addRegister(i, new SimpleRegister(0));
+		}
+		this.setString(COMMON_BLOCK_ADDRESS + 2, "OpenEMS"); // Mn
+		this.setString(COMMON_BLOCK_ADDRESS + 18, "Simulator"); // Md
+		this.setString(COMMON_BLOCK_ADDRESS + 50, "SN-1"); // SN
+		this.processImage.addRegister(END_OF_MAP_ADDRESS, new SimpleRegister(0xFFFF));
+		this.processImage.addRegister(END_OF_MAP_ADDRESS + 1, new SimpleRegister(0));
+		this.slave.addProcessImage(UNIT_ID, this.processImage);
+		this.slave.open();
+	}
+
+	@After
+	public void after() {
+		if (this.slave != null) {
+			this.slave.close();
+		}
+		if (this.previousDataDir == null) {
+			System.clearProperty(DATA_DIR_PROPERTY);
+		} else {
+			System.setProperty(DATA_DIR_PROPERTY, this.previousDataDir);
+		}
+	}
+
+	@Test
+	public void testCacheHit() throws Exception {
+		// Discover blocks and write cache
+		this.runSunSpecInitialization();
+		var cached = this.getBlockCache().read();
+		assertEquals(COMMON_BLOCK_ADDRESS, cached.commonBlockAddress);
+		assertEquals(Arrays.asList(1), cached.blocks.stream() //
+				.map(block -> block.blockId) //
+				.collect(Collectors.toList()));
+
+		// Without END_OF_MAP a discovery would never finish; the cache is used
+		this.processImage.removeRegister(this.processImage.getRegister(END_OF_MAP_ADDRESS));
+		this.runSunSpecInitialization();
+	}
+
+	@Test
+	public void testIdentityMismatch() throws Exception {
+		this.getBlockCache().write(new SunSpecBlockCache.Entry(COMMON_BLOCK_ADDRESS, "Other|Device||||SN-2",
+				Arrays.asList(new SunSpecBlockCache.Block(1, COMMON_BLOCK_ADDRESS, 66)), true));
+
+		this.runSunSpecInitialization();
+
+		// Blocks were discovered again and the cache was updated
+		var cached = this.getBlockCache().read();
+		assertTrue(cached.identity.startsWith("OpenEMS|Simulator|"));
+		assertTrue(cached.identity.endsWith("|SN-1"));
+	}
+
+	@Test
+	public void testFailedValidation() throws Exception {
+		// Cache points to an address that does not exist
+		this.getBlockCache().write(new SunSpecBlockCache.Entry(50_002, "OpenEMS|Simulator||||SN-1",
+				Arrays.asList(new SunSpecBlockCache.Block(1, 50_002, 66)), true));
+
+		this.runSunSpecInitialization();
+
+		// Blocks were discovered again and the cache was updated
+		assertEquals(COMMON_BLOCK_ADDRESS, this.getBlockCache().read().commonBlockAddress);
+	}
+
+	private SunSpecBlockCache getBlockCache() {
+		return SunSpecBlockCache.of(MODBUS_ID, UNIT_ID, 1);
+	}
+
+	private void setString(int address, String string) {
+		var bytes = Arrays.copyOf(string.getBytes(StandardCharsets.US_ASCII), (string.length() + 1) / 2 * 2);
+		for (var i = 0; i < bytes.length; i += 2) {
+			var value = (bytes[i] & 0xFF) << 8 | bytes[i + 1] & 0xFF;
+			this.processImage.getRegister(address + i / 2).setValue(value);
+		}
+	}
+
+	/**
+	 * Activates a Modbus-Bridge and a SunSpec device and runs Cycles till the
+	 * SunSpec initialization is completed and the cache is written.
+	 *
+	 * @throws Exception on error
+	 */
+	private void runSunSpecInitialization() throws Exception {
+		var bridge = new BridgeModbusTcpImpl();
+		var device = new MySunSpecComponent(DEVICE_ID, bridge, UNIT_ID);
+		var test = new ComponentTest(bridge) //
+				.addComponent(device) //
+				.addReference("cycle", new DummyCycle(CYCLE_TIME)) //
+				.activate(MyConfigTcp.create() //
+						.setId(MODBUS_ID) //
+						.setIp("127.0.0.1") //
+						.setPort(this.port) //
+						.setInvalidateElementsAfterReadErrors(1) //
+						.setLogVerbosity(LogVerbosity.NONE) //
+						.build());
+		for (var i = 0; i < 100
+				&& (!device.isSunSpecInitializationCompleted() || this.getBlockCache().read() == null); i++) {
+			test.next(new TestCase() //
+					.onAfterProcessImage(() -> Thread.sleep(CYCLE_TIME)));
+		}
+		assertTrue("SunSpec initialization did not complete", device.isSunSpecInitializationCompleted());
+	}
+
+	private static class MySunSpecComponent extends AbstractOpenemsSunSpecComponent implements ModbusComponent {
+
+		public MySunSpecComponent(String id, AbstractModbusBridge bridge, int unitId) throws OpenemsException {
+			super(ImmutableMap.of(DefaultSunSpecModel.S_1, Priority.LOW), //
+					OpenemsComponent.ChannelId.values(), //
+					ModbusComponent.ChannelId.values() //
+			);
+			for (Channel<?> channel : this.channels()) {
+				channel.nextProcessImage();
+			}
+			this.setModbus(bridge);
+			var context = new DummyComponentContext();
+			context.addProperty(Constants.SERVICE_PID, Constants.SERVICE_PID);
+			var cm = new DummyConfigurationAdmin();
+			var dummyConfiguration = new DummyConfiguration();
+			dummyConfiguration.addProperty("Modbus.target",
+					ConfigUtils.generateReferenceTargetFilter(Constants.SERVICE_PID, MODBUS_ID));
+			cm.addConfiguration(Constants.SERVICE_PID, dummyConfiguration);
+			super.activate(context, id, "", true, unitId, cm, "Modbus", MODBUS_ID, 1);
+		}
+
+		@Override
+		protected void onSunSpecInitializationCompleted() {
+			// nothing to map
+		}
+
+	}
+
+}
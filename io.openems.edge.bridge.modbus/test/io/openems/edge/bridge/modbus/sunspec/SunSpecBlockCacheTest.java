@@ -0,0 +1,65 @@
+package io.openems.edge.bridge.modbus.sunspec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SunSpecBlockCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		var file = this.folder.getRoot().toPath().resolve("modbus0").resolve("1-1.json");
+		var sut = new SunSpecBlockCache(file);
+		assertNull(sut.read());
+
+		sut.write(new SunSpecBlockCache.Entry(40_002, "Fronius|Symo", Arrays.asList(//
+				new SunSpecBlockCache.Block(1, 40_002, 66), //
+				new SunSpecBlockCache.Block(103, 40_070, 50)), true));
+		assertTrue(Files.exists(file));
+
+		var entry = sut.read();
+		assertEquals(40_002, entry.commonBlockAddress);
+		assertEquals("Fronius|Symo", entry.identity);
+		assertTrue(entry.isEndOfMap);
+		assertEquals(2, entry.blocks.size());
+		var block = entry.blocks.get(1);
+		assertEquals(103, block.blockId);
+		assertEquals(40_070, block.startAddress);
+		assertEquals(50, block.length);
+
+		sut.delete();
+		assertFalse(Files.exists(file));
+		assertNull(sut.read());
+	}
+
+	@Test
+	public void testInvalidFile() throws IOException {
+		var file = this.folder.newFile("cache.json").toPath();
+		Files.writeString(file, "{\"version\":1,\"blocks\":", StandardCharsets.UTF_8);
+		try {
+			new SunSpecBlockCache(file).read();
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+
+		// Unknown version
+		Files.writeString(file, "{\"version\":0}", StandardCharsets.UTF_8);
+		assertNull(new SunSpecBlockCache(file).read());
+	}
+
+}
@@ -1,15 +1,14 @@
 package io.openems.edge.common.channel;
 
-import java.time.LocalDateTime;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.internal.AbstractReadChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
-import io.openems.edge.common.type.CircularTreeMap;
 import io.openems.edge.common.type.TypeUtils;
 
 /**
@@ -167,10 +166,10 @@ public interface Channel<T> {
 	/**
 	 * Gets the past values for this Channel.
 	 *
-	 * @return a map of recording time and historic value at that time
+	 * @return the {@link PastValues}, ordered by recording time
 	 */
 	// TODO this should be a ZonedDateTime
-	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues();
+	public PastValues<T> getPastValues();
 
 	/**
 	 * Add an onUpdate callback. It is called, after the active value was updated by
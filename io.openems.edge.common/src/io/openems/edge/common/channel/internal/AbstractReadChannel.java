@@ -1,6 +1,5 @@
 package io.openems.edge.common.channel.internal;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -17,9 +16,9 @@ import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.ChannelId;
 import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
-import io.openems.edge.common.type.CircularTreeMap;
 
 public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implements Channel<T> {
 
@@ -33,7 +32,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final CircularTreeMap<LocalDateTime, Value<T>> pastValues = new CircularTreeMap<>(NO_OF_PAST_VALUES);
+	private final PastValues<T> pastValues;
 
 	private volatile Value<T> nextValue = null;
 	private volatile Value<T> activeValue = null;
@@ -43,6 +42,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
+		this.pastValues = PastValues.of(type, NO_OF_PAST_VALUES);
 		this.nextValue = new Value<>(this, null);
 		this.activeValue = new Value<>(this, null);
 
@@ -113,7 +113,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		if (valueHasChanged) {
 			this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, this.activeValue));
 		}
-		this.pastValues.put(this.activeValue.getTimestamp(), this.activeValue);
+		this.pastValues.add(this.activeValue.getTimestamp(), this.activeValue.get());
 	}
 
 	@Override
@@ -254,10 +254,10 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	/**
 	 * Gets the past values for this Channel.
 	 *
-	 * @return a map of recording time and historic value at that time
+	 * @return the {@link PastValues}
 	 */
 	@Override
-	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues() {
+	public PastValues<T> getPastValues() {
 		return this.pastValues;
 	}
 
@@ -0,0 +1,455 @@
+package io.openems.edge.common.channel.value;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+import io.openems.common.types.OpenemsType;
+
+/**
+ * Holds the past values of a Channel in a fixed-size ring buffer of primitive
+ * timestamps and primitive values.
+ *
+ * <p>
+ * Timestamps are stored as milliseconds of the local date-time, i.e.
+ * comparisons behave exactly like comparisons of the {@link LocalDateTime}
+ * timestamps of {@link Value}. Adding a value with the same timestamp as the
+ * latest entry replaces that entry; this happens when a Channel did not receive
+ * a new value during a Cycle. Timestamps are expected to be added in ascending
+ * order.
+ *
+ * <p>
+ * Use {@link #since(LocalDateTime, boolean)} to get a {@link Range} of values
+ * and {@link Range#doubleStream()} to aggregate them without boxing.
+ *
+ * @param <T> the type of the value
+ */
+public abstract class PastValues<T> {
+
+	/**
+	 * Creates a {@link PastValues} buffer for the given {@link OpenemsType}.
+	 *
+	 * @param <T>      the type of the value
+	 * @param type     the {@link OpenemsType}
+	 * @param capacity the maximum number of values
+	 * @return a new {@link PastValues} buffer
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PastValues<T> of(OpenemsType type, int capacity) {
+		switch (type) {
+		case BOOLEAN:
+			return (PastValues<T>) new BooleanPastValues(capacity);
+		case SHORT:
+			return (PastValues<T>) new ShortPastValues(capacity);
+		case INTEGER:
+			return (PastValues<T>) new IntegerPastValues(capacity);
+		case LONG:
+			return (PastValues<T>) new LongPastValues(capacity);
+		case FLOAT:
+			return (PastValues<T>) new FloatPastValues(capacity);
+		case DOUBLE:
+			return (PastValues<T>) new DoublePastValues(capacity);
+		case STRING:
+			return (PastValues<T>) new StringPastValues(capacity);
+		}
+		throw new IllegalArgumentException("Type [" + type + "] is not supported.");
+	}
+
+	private final long[] timestamps;
+	private final boolean[] defined;
+
+	/**
+	 * Total number of added entries; used as sequence number for {@link Range}s.
+	 */
+	private long count = 0;
+	private int size = 0;
+	private int head = 0;
+
+	protected PastValues(int capacity) {
+		this.timestamps = new long[capacity];
+		this.defined = new boolean[capacity];
+	}
+
+	/**
+	 * Adds a value.
+	 *
+	 * @param timestamp the timestamp of the value
+	 * @param value     the value; null for UNDEFINED
+	 */
+	public synchronized void add(LocalDateTime timestamp, T value) {
+		var millis = toMillis(timestamp);
+		final int index;
+		if (this.size > 0 && this.timestamps[this.toIndex(this.size - 1)] == millis) {
+			// Replace latest entry
+			index = this.toIndex(this.size - 1);
+		} else if (this.size < this.timestamps.length) {
+			index = this.toIndex(this.size);
+			this.size++;
+			this.count++;
+		} else {
+			// Overwrite eldest entry
+			index = this.head;
+			this.head = (this.head + 1) % this.timestamps.length;
+			this.count++;
+		}
+		this.timestamps[index] = millis;
+		this.defined[index] = value != null;
+		if (value != null) {
+			this.set(index, value);
+		}
+	}
+
+	/**
+	 * Gets the number of values.
+	 *
+	 * @return the size
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets a {@link Range} of all values.
+	 *
+	 * @return the {@link Range}
+	 */
+	public synchronized Range<T> all() {
+		return new Range<>(this, this.count - this.size, this.count);
+	}
+
+	/**
+	 * Gets a {@link Range} of all values since the given timestamp.
+	 *
+	 * @param timestamp the timestamp
+	 * @param inclusive true to include a value exactly at the timestamp
+	 * @return the {@link Range}
+	 */
+	public synchronized Range<T> since(LocalDateTime timestamp, boolean inclusive) {
+		var millis = toMillis(timestamp);
+		// Binary search for the first position that matches
+		var low = 0;
+		var high = this.size;
+		while (low < high) {
+			var mid = (low + high) >>> 1;
+			var t = this.timestamps[this.toIndex(mid)];
+			if (t < millis || !inclusive && t == millis) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return new Range<>(this, this.count - this.size + low, this.count);
+	}
+
+	/**
+	 * A view on a range of values of a {@link PastValues} buffer.
+	 *
+	 * <p>
+	 * Values that get overwritten in the ring buffer before they are read are
+	 * silently skipped.
+	 *
+	 * @param <T> the type of the value
+	 */
+	public static class Range<T> {
+
+		private final PastValues<T> parent;
+		private final long fromSequence;
+		private final long toSequence;
+
+		private Range(PastValues<T> parent, long fromSequence, long toSequence) {
+			this.parent = parent;
+			this.fromSequence = fromSequence;
+			this.toSequence = toSequence;
+		}
+
+		/**
+		 * Gets the number of values in this Range, including UNDEFINED values.
+		 *
+		 * @return the size
+		 */
+		public int size() {
+			return (int) (this.toSequence - this.fromSequence);
+		}
+
+		/**
+		 * Is this Range empty?.
+		 *
+		 * @return true if there are no values, not even UNDEFINED ones
+		 */
+		public boolean isEmpty() {
+			return this.size() == 0;
+		}
+
+		/**
+		 * Gets a {@link DoubleStream} of the defined values. Boolean values are mapped
+		 * to 1 and 0; String values are not supported and mapped to NaN.
+		 *
+		 * @return the {@link DoubleStream}
+		 */
+		public DoubleStream doubleStream() {
+			synchronized (this.parent) {
+				var position = this.firstPosition();
+				var end = this.endPosition();
+				var result = new double[Math.max(0, end - position)];
+				var length = 0;
+				for (; position < end; position++) {
+					var index = this.parent.toIndex(position);
+					if (this.parent.defined[index]) {
+						result[length++] = this.parent.getAsDouble(index);
+					}
+				}
+				return DoubleStream.of(result).limit(length);
+			}
+		}
+
+		/**
+		 * Gets a {@link Stream} of the defined values.
+		 *
+		 * @return the {@link Stream}
+		 */
+		public Stream<T> stream() {
+			synchronized (this.parent) {
+				var position = this.firstPosition();
+				var end = this.endPosition();
+				var result = new ArrayList<T>(Math.max(0, end - position));
+				for (; position < end; position++) {
+					var index = this.parent.toIndex(position);
+					if (this.parent.defined[index]) {
+						result.add(this.parent.get(index));
+					}
+				}
+				return result.stream();
+			}
+		}
+
+		/**
+		 * Gets the first position in the parent buffer that is part of this Range.
+		 * Must be called while holding the lock on the parent.
+		 *
+		 * @return the position
+		 */
+		private int firstPosition() {
+			return this.toPosition(this.fromSequence);
+		}
+
+		/**
+		 * Gets the position after the last position in the parent buffer that is part
+		 * of this Range. Must be called while holding the lock on the parent.
+		 *
+		 * @return the position
+		 */
+		private int endPosition() {
+			return this.toPosition(this.toSequence);
+		}
+
+		private int toPosition(long sequence) {
+			var eldestSequence = this.parent.count - this.parent.size;
+			var position = (int) (Math.max(sequence, eldestSequence) - eldestSequence);
+			return Math.min(position, this.parent.size);
+		}
+	}
+
+	/**
+	 * Converts a position (0 = eldest) to an array index.
+	 *
+	 * @param position the position
+	 * @return the index
+	 */
+	private int toIndex(int position) {
+		return (this.head + position) % this.timestamps.length;
+	}
+
+	/**
+	 * Converts a {@link LocalDateTime} to milliseconds; saturates for values like
+	 * {@link LocalDateTime#MIN}.
+	 *
+	 * @param timestamp the {@link LocalDateTime}
+	 * @return the milliseconds
+	 */
+	protected static long toMillis(LocalDateTime timestamp) {
+		var seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+		if (seconds <= Long.MIN_VALUE / 1000) {
+			return Long.MIN_VALUE;
+		}
+		if (seconds >= Long.MAX_VALUE / 1000) {
+			return Long.MAX_VALUE;
+		}
+		return seconds * 1000 + timestamp.getNano() / 1_000_000;
+	}
+
+	protected abstract void set(int index, T value);
+
+	protected abstract T get(int index);
+
+	protected abstract double getAsDouble(int index);
+
+	private static class BooleanPastValues extends PastValues<Boolean> {
+		private final boolean[] values;
+
+		private BooleanPastValues(int capacity) {
+			super(capacity);
+			this.values = new boolean[capacity];
+		}
+
+		@Override
+		protected void set(int index, Boolean value) {
+			this.values[index] = value;
+		}
+
+		@Override
+		protected Boolean get(int index) {
+			return this.values[index];
+		}
+
+		@Override
+		protected double getAsDouble(int index) {
+			return this.values[index] ? 1d : 0d;
+		}
+	}
+
+	private static class ShortPastValues extends PastValues<Short> {
+		private final short[] values;
+
+		private ShortPastValues(int capacity) {
+			super(capacity);
+			this.values = new short[capacity];
+		}
+
+		@Override
+		protected void set(int index, Short value) {
+			this.values[index] = value;
+		}
+
+		@Override
+		protected Short get(int index) {
+			return this.values[index];
+		}
+
+		@Override
+		protected double getAsDouble(int index) {
+			return this.values[index];
+		}
+	}
+
+	private static class IntegerPastValues extends PastValues<Integer> {
+		private final int[] values;
+
+		private IntegerPastValues(int capacity) {
+			super(capacity);
+			this.values = new int[capacity];
+		}
+
+		@Override
+		protected void set(int index, Integer value) {
+			this.values[index] = value;
+		}
+
+		@Override
+		protected Integer get(int index) {
+			return this.values[index];
+		}
+
+		@Override
+		protected double getAsDouble(int index) {
+			return this.values[index];
+		}
+	}
+
+	private static class LongPastValues extends PastValues<Long> {
+		private final long[] values;
+
+		private LongPastValues(int capacity) {
+			super(capacity);
+			this.values = new long[capacity];
+		}
+
+		@Override
+		protected void set(int index, Long value) {
+			this.values[index] = value;
+		}
+
+		@Override
+		protected Long get(int index) {
+			return this.values[index];
+		}
+
+		@Override
+		protected double getAsDouble(int index) {
+			return this.values[index];
+		}
+	}
+
+	private static class FloatPastValues extends PastValues<Float> {
+		private final float[] values;
+
+		private FloatPastValues(int capacity) {
+			super(capacity);
+			this.values = new float[capacity];
+		}
+
+		@Override
+		protected void set(int index, Float value) {
+			this.values[index] = value;
+		}
+
+		@Override
+		protected Float get(int index) {
+			return this.values[index];
+		}
+
+		@Override
+		protected double getAsDouble(int index) {
+			return this.values[index];
+		}
+	}
+
+	private static class DoublePastValues extends PastValues<Double> {
+		private final double[] values;
+
+		private DoublePastValues(int capacity) {
+			super(capacity);
+			this.values = new double[capacity];
+		}
+
+		@Override
+		protected void set(int index, Double value) {
+			this.values[index] = value;
+		}
+
+		@Override
+		protected Double get(int index) {
+			return this.values[index];
+		}
+
+		@Override
+		protected double getAsDouble(int index) {
+			return this.values[index];
+		}
+	}
+
+	private static class StringPastValues extends PastValues<String> {
+		private final String[] values;
+
+		private StringPastValues(int capacity) {
+			super(capacity);
+			this.values = new String[capacity];
+		}
+
+		@Override
+		protected void set(int index, String value) {
+			this.values[index] = value;
+		}
+
+		@Override
+		protected String get(int index) {
+			return this.values[index];
+		}
+
+		@Override
+		protected double getAsDouble(int index) {
+			return Double.NaN;
+		}
+	}
+}
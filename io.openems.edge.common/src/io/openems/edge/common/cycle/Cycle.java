@@ -27,6 +27,39 @@ public interface Cycle extends OpenemsComponent {
 		 */
 		MEASURED_CYCLE_TIME(Doc.of(OpenemsType.LONG) //
 				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of the Process Image phase in [ms], i.e. from
+		 * BEFORE_PROCESS_IMAGE till AFTER_PROCESS_IMAGE event.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		PROCESS_IMAGE_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of the Controllers phase in [ms], i.e. from BEFORE_CONTROLLERS
+		 * till AFTER_CONTROLLERS event.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		CONTROLLERS_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of the Write phase in [ms], i.e. from BEFORE_WRITE till
+		 * AFTER_WRITE event.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		WRITE_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
 		/**
 		 * A configured Controller is not executed because it is disabled.
 		 *
@@ -88,6 +121,93 @@ public interface Cycle extends OpenemsComponent {
 		this.getMeasuredCycleTimeChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#PROCESS_IMAGE_DURATION}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getProcessImageDurationChannel() {
+		return this.channel(ChannelId.PROCESS_IMAGE_DURATION);
+	}
+
+	/**
+	 * Gets the duration of the Process Image phase in [ms]. See
+	 * {@link ChannelId#PROCESS_IMAGE_DURATION}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getProcessImageDuration() {
+		return this.getProcessImageDurationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#PROCESS_IMAGE_DURATION} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setProcessImageDuration(long value) {
+		this.getProcessImageDurationChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#CONTROLLERS_DURATION}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getControllersDurationChannel() {
+		return this.channel(ChannelId.CONTROLLERS_DURATION);
+	}
+
+	/**
+	 * Gets the duration of the Controllers phase in [ms]. See
+	 * {@link ChannelId#CONTROLLERS_DURATION}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getControllersDuration() {
+		return this.getControllersDurationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#CONTROLLERS_DURATION} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setControllersDuration(long value) {
+		this.getControllersDurationChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#WRITE_DURATION}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getWriteDurationChannel() {
+		return this.channel(ChannelId.WRITE_DURATION);
+	}
+
+	/**
+	 * Gets the duration of the Write phase in [ms]. See
+	 * {@link ChannelId#WRITE_DURATION}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getWriteDuration() {
+		return this.getWriteDurationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#WRITE_DURATION}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setWriteDuration(long value) {
+		this.getWriteDurationChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the Channel for {@link ChannelId#IGNORE_DISABLED_CONTROLLER}.
 	 *
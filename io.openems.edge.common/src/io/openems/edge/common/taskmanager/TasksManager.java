@@ -19,11 +19,14 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class TasksManager<T extends ManagedTask> {
 
-	private final List<T> allTasks = new CopyOnWriteArrayList<>();
+	/*
+	 * The lists are replaced as a whole by replaceTasks(); guarded by 'this'.
+	 */
+	private List<T> allTasks = new CopyOnWriteArrayList<>();
 
-	private final List<T> prioHighTasks = new CopyOnWriteArrayList<>();
-	private final List<T> prioLowTasks = new CopyOnWriteArrayList<>();
-	private final List<T> prioOnceTasks = new CopyOnWriteArrayList<>();
+	private List<T> prioHighTasks = new CopyOnWriteArrayList<>();
+	private List<T> prioLowTasks = new CopyOnWriteArrayList<>();
+	private List<T> prioOnceTasks = new CopyOnWriteArrayList<>();
 
 	private final Queue<T> nextLowTasks = new LinkedList<>();
 	private final Queue<T> nextOnceTasks = new LinkedList<>();
@@ -103,6 +106,26 @@ public class TasksManager<T extends ManagedTask> {
 		}
 	}
 
+	/**
+	 * Replaces all Tasks atomically.
+	 *
+	 * <p>
+	 * Lists returned by {@link #getAllTasks()} and {@link #getAllTasks(Priority)}
+	 * are not modified; a concurrent reader sees either the previous or the new
+	 * Tasks, but never an empty or partially filled list.
+	 *
+	 * @param tasks the new Tasks
+	 */
+	public synchronized void replaceTasks(List<T> tasks) {
+		this.allTasks = new CopyOnWriteArrayList<>();
+		this.prioHighTasks = new CopyOnWriteArrayList<>();
+		this.prioLowTasks = new CopyOnWriteArrayList<>();
+		this.prioOnceTasks = new CopyOnWriteArrayList<>();
+		this.nextLowTasks.clear();
+		this.nextOnceTasks.clear();
+		this.addTasks(tasks);
+	}
+
 	/**
 	 * Clears all Tasks lists.
 	 */
@@ -0,0 +1,73 @@
+package io.openems.edge.common.channel.value;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+
+public class PastValuesTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+	@Test
+	public void testCircular() {
+		PastValues<Integer> p = PastValues.of(OpenemsType.INTEGER, 3);
+		p.add(START.plusSeconds(1), 1);
+		p.add(START.plusSeconds(2), 2);
+		p.add(START.plusSeconds(3), 3);
+		p.add(START.plusSeconds(4), 4);
+
+		assertEquals(3, p.size());
+		assertArrayEquals(new double[] { 2, 3, 4 }, p.all().doubleStream().toArray(), 0.001);
+	}
+
+	@Test
+	public void testSameTimestamp() {
+		PastValues<Integer> p = PastValues.of(OpenemsType.INTEGER, 3);
+		p.add(START.plusSeconds(1), 1);
+		p.add(START.plusSeconds(1), 1);
+		p.add(START.plusSeconds(2), 2);
+
+		assertEquals(2, p.size());
+	}
+
+	@Test
+	public void testSince() {
+		PastValues<Integer> p = PastValues.of(OpenemsType.INTEGER, 10);
+		for (var i = 0; i < 15; i++) {
+			p.add(START.plusSeconds(i), i % 3 == 0 ? null : i);
+		}
+
+		var inclusive = p.since(START.plusSeconds(10), true);
+		assertEquals(5, inclusive.size());
+		assertArrayEquals(new double[] { 10, 11, 13, 14 }, inclusive.doubleStream().toArray(), 0.001);
+
+		var exclusive = p.since(START.plusSeconds(10), false);
+		assertEquals(4, exclusive.size());
+		assertEquals("11,13,14", exclusive.stream().map(String::valueOf).collect(Collectors.joining(",")));
+
+		assertEquals(10, p.since(LocalDateTime.MIN, false).size());
+		assertTrue(p.since(START.plusSeconds(20), true).isEmpty());
+	}
+
+	@Test
+	public void testRangeAfterOverwrite() {
+		PastValues<Boolean> p = PastValues.of(OpenemsType.BOOLEAN, 3);
+		p.add(START.plusSeconds(1), true);
+		p.add(START.plusSeconds(2), false);
+		var range = p.all();
+		p.add(START.plusSeconds(3), true);
+		p.add(START.plusSeconds(4), true);
+
+		// first value was overwritten; newer values are not part of the range
+		assertEquals(2, range.size());
+		assertArrayEquals(new double[] { 0 }, range.doubleStream().toArray(), 0.001);
+	}
+
+}
@@ -3,6 +3,8 @@ package io.openems.edge.common.taskmanager;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 public class TasksManagerTest {
@@ -82,4 +84,29 @@ public class TasksManagerTest {
 		assertEquals(o1, m.getOneTask());
 	}
 
+	@Test
+	public void testReplaceTasks() {
+		ManagedTask o1 = new Task(Priority.ONCE);
+		ManagedTask o2 = new Task(Priority.ONCE);
+		ManagedTask h1 = new Task(Priority.HIGH);
+		ManagedTask h2 = new Task(Priority.HIGH);
+
+		var m = new TasksManager<>(o1, h1);
+		var all = m.getAllTasks();
+		var high = m.getAllTasks(Priority.HIGH);
+		assertEquals(2, m.getNextTasks().size());
+
+		m.replaceTasks(Arrays.asList(o2, h1, h2));
+
+		// Previously returned lists are not modified
+		assertEquals(Arrays.asList(o1, h1), all);
+		assertEquals(Arrays.asList(h1), high);
+
+		assertEquals(Arrays.asList(o2, h1, h2), m.getAllTasks());
+		var t1 = m.getNextTasks();
+		assertEquals(3, t1.size());
+		assertTrue(t1.contains(o2));
+		assertEquals(2, m.getNextTasks().size());
+	}
+
 }
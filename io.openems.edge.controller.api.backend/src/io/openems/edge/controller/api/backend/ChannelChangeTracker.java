@@ -0,0 +1,192 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Tracks changes of Channel values via {@link Channel#onChange(BiConsumer)}
+ * callbacks.
+ *
+ * <p>
+ * Every tracked Channel gets a stable index; changes only set a bit in a
+ * {@link BitSet}. {@link #collect(boolean)} then reads only the values of the
+ * changed Channels, instead of converting the values of all Channels to JSON
+ * in every Cycle.
+ */
+public class ChannelChangeTracker {
+
+	private static class TrackedComponent {
+		private final int noOfChannels;
+		private final List<Integer> indexes = new ArrayList<>();
+		private final List<BiConsumer<?, ?>> callbacks = new ArrayList<>();
+		private final List<Channel<?>> channels = new ArrayList<>();
+		private long generation;
+
+		private TrackedComponent(int noOfChannels) {
+			this.noOfChannels = noOfChannels;
+		}
+	}
+
+	private final Predicate<Channel<?>> filter;
+
+	private final Map<OpenemsComponent, TrackedComponent> components = new IdentityHashMap<>();
+
+	/**
+	 * The tracked Channels by index; null for unused indexes.
+	 */
+	private final List<Channel<?>> channels = new ArrayList<>();
+
+	/**
+	 * Indexes of removed Channels that can be reused.
+	 */
+	private final BitSet freeIndexes = new BitSet();
+
+	/**
+	 * Indexes of changed Channels.
+	 */
+	private final BitSet changed = new BitSet();
+
+	private long generation = 0;
+
+	/**
+	 * Builds a {@link ChannelChangeTracker}.
+	 *
+	 * @param filter only Channels that match the filter are tracked
+	 */
+	public ChannelChangeTracker(Predicate<Channel<?>> filter) {
+		this.filter = filter;
+	}
+
+	/**
+	 * Updates the tracked Channels. Starts tracking of new Components and Channels
+	 * - those are initially marked as changed - and stops tracking of Components
+	 * that are not enabled anymore.
+	 *
+	 * <p>
+	 * This is cheap if nothing changed: it only compares the number of Channels
+	 * per Component.
+	 *
+	 * @param enabledComponents the enabled Components
+	 */
+	public synchronized void update(List<OpenemsComponent> enabledComponents) {
+		var generation = ++this.generation;
+		for (var component : enabledComponents) {
+			var tracked = this.components.get(component);
+			var noOfChannels = component.channels().size();
+			if (tracked == null || tracked.noOfChannels != noOfChannels) {
+				// Channels might have been added or removed dynamically
+				if (tracked != null) {
+					this.untrack(tracked);
+				}
+				tracked = this.track(component, noOfChannels);
+				this.components.put(component, tracked);
+			}
+			tracked.generation = generation;
+		}
+
+		// Remove Components that are not enabled anymore
+		for (Iterator<TrackedComponent> iter = this.components.values().iterator(); iter.hasNext();) {
+			var tracked = iter.next();
+			if (tracked.generation != generation) {
+				this.untrack(tracked);
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Collects the values of the changed Channels and resets the change marks.
+	 *
+	 * @param all true to collect the values of all tracked Channels
+	 * @return a map of {@link ChannelAddress} to value
+	 */
+	public synchronized Map<ChannelAddress, JsonElement> collect(boolean all) {
+		if (all) {
+			this.changed.set(0, this.channels.size());
+		}
+		var result = new HashMap<ChannelAddress, JsonElement>(this.changed.cardinality() * 4 / 3 + 1);
+		for (var i = this.changed.nextSetBit(0); i >= 0; i = this.changed.nextSetBit(i + 1)) {
+			var channel = this.channels.get(i);
+			if (channel != null) {
+				result.put(channel.address(), channel.value().asJson());
+			}
+		}
+		this.changed.clear();
+		return result;
+	}
+
+	/**
+	 * Gets the number of tracked Channels.
+	 *
+	 * @return the number of Channels
+	 */
+	public synchronized int getNoOfChannels() {
+		return this.channels.size() - this.freeIndexes.cardinality();
+	}
+
+	/**
+	 * Stops tracking of all Channels.
+	 */
+	public synchronized void clear() {
+		this.components.values().forEach(this::untrack);
+		this.components.clear();
+		this.channels.clear();
+		this.freeIndexes.clear();
+		this.changed.clear();
+	}
+
+	private TrackedComponent track(OpenemsComponent component, int noOfChannels) {
+		var tracked = new TrackedComponent(noOfChannels);
+		for (var channel : component.channels()) {
+			if (!this.filter.test(channel)) {
+				continue;
+			}
+			var index = this.freeIndexes.nextSetBit(0);
+			if (index < 0) {
+				index = this.channels.size();
+				this.channels.add(channel);
+			} else {
+				this.freeIndexes.clear(index);
+				this.channels.set(index, channel);
+			}
+			tracked.indexes.add(index);
+			tracked.channels.add(channel);
+			tracked.callbacks.add(this.addOnChangeCallback(channel, index));
+			this.changed.set(index);
+		}
+		return tracked;
+	}
+
+	private <T> BiConsumer<Value<T>, Value<T>> addOnChangeCallback(Channel<T> channel, int index) {
+		return channel.onChange((oldValue, newValue) -> this.markChanged(index));
+	}
+
+	private synchronized void markChanged(int index) {
+		this.changed.set(index);
+	}
+
+	private void untrack(TrackedComponent tracked) {
+		for (var i = 0; i < tracked.channels.size(); i++) {
+			tracked.channels.get(i).removeOnChangeCallback(tracked.callbacks.get(i));
+			int index = tracked.indexes.get(i);
+			this.channels.set(index, null);
+			this.changed.clear(index);
+			this.freeIndexes.set(index);
+		}
+	}
+
+}
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.notification.TimedataDroppedNotification;
 
 public class OnNotification implements io.openems.common.websocket.OnNotification {
 
@@ -18,7 +19,24 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 
 	@Override
 	public void run(WebSocket ws, JsonrpcNotification notification) throws OpenemsException {
+		switch (notification.getMethod()) {
+		case TimedataDroppedNotification.METHOD:
+			this.handleTimedataDroppedNotification();
+			return;
+		}
+
 		this.parent.logWarn(this.log, "Unhandled Notification: " + notification);
 	}
 
+	/**
+	 * Handles a {@link TimedataDroppedNotification}, i.e. Backend dropped data of
+	 * this Edge because it is overloaded or too much of this Edge's data was queued
+	 * for writing. Sending is paused for a while; all Channel values are sent
+	 * afterwards.
+	 */
+	private void handleTimedataDroppedNotification() {
+		this.parent.logWarn(this.log, "Backend Timedata dropped data of this Edge. Pausing to send data.");
+		this.parent.sendChannelValuesWorker.backOffAfterTimedataDropped();
+	}
+
 }
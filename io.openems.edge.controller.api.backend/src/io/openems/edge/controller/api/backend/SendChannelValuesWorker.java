@@ -2,6 +2,8 @@ package io.openems.edge.controller.api.backend;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +26,7 @@ import io.openems.common.channel.AccessMode;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.OpenemsComponent;
 
 /**
@@ -34,11 +37,44 @@ import io.openems.edge.common.component.OpenemsComponent;
  * <p>
  * The logic tries to send changed values once per Cycle and all values once
  * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}.
+ *
+ * <p>
+ * With 'Change-Tracking' enabled, changed Channels are detected via
+ * {@link ChannelChangeTracker} instead of comparing the values of all Channels
+ * in every Cycle. The changes of each Cycle are queued; if sending is slower
+ * than the Cycle, the queued Cycles are sent together in one notification.
+ *
+ * <p>
+ * If the Backend dropped data of this Edge, sending is paused for
+ * {@link #TIMEDATA_DROPPED_BACK_OFF} and the values of all Channels are sent
+ * afterwards, so the Backend gets a complete state again.
  */
 public class SendChannelValuesWorker {
 
 	private static final int SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS = 300; /* 5 minutes */
 
+	/**
+	 * Maximum number of Cycles that are kept in the queue with
+	 * 'Change-Tracking'. If the queue is full, the oldest Cycle is merged into the
+	 * next one, i.e. only its intermediate values get lost.
+	 */
+	private static final int MAX_QUEUED_CYCLES = 60;
+
+	/**
+	 * Sending is paused for this time after the Backend dropped data of this Edge.
+	 */
+	private static final Duration TIMEDATA_DROPPED_BACK_OFF = Duration.ofSeconds(10);
+
+	private static class CycleValues {
+		private final long timestamp;
+		private final Map<ChannelAddress, JsonElement> values;
+
+		private CycleValues(long timestamp, Map<ChannelAddress, JsonElement> values) {
+			this.timestamp = timestamp;
+			this.values = values;
+		}
+	}
+
 	private final Logger log = LoggerFactory.getLogger(SendChannelValuesWorker.class);
 
 	private final BackendApiImpl parent;
@@ -57,13 +93,37 @@ public class SendChannelValuesWorker {
 	 */
 	private Instant lastSendValuesOfAllChannels = Instant.MIN;
 
+	/**
+	 * Sending is paused till this timestamp.
+	 */
+	private volatile Instant pausedUntil = Instant.MIN;
+
 	/**
 	 * Keeps the values of last successful send.
 	 */
 	private Table<String, String, JsonElement> lastAllValues = ImmutableTable.of();
 
+	/**
+	 * Tracks changed Channels if 'Change-Tracking' is enabled.
+	 */
+	private final ChannelChangeTracker changeTracker;
+
+	/**
+	 * Queued changes per Cycle if 'Change-Tracking' is enabled. Guarded by
+	 * itself.
+	 */
+	private final ArrayDeque<CycleValues> queuedCycles = new ArrayDeque<>();
+
 	protected SendChannelValuesWorker(BackendApiImpl parent) {
 		this.parent = parent;
+		this.changeTracker = new ChannelChangeTracker(this::isChannelToBeSent);
+	}
+
+	private boolean isChannelToBeSent(Channel<?> channel) {
+		// Ignore WRITE_ONLY Channels
+		return channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
+				// Ignore Low-Priority Channels
+				&& channel.channelDoc().getPersistencePriority().isAtLeast(this.parent.config.persistencePriority());
 	}
 
 	/**
@@ -73,12 +133,33 @@ public class SendChannelValuesWorker {
 		this.sendValuesOfAllChannels.set(true);
 	}
 
+	/**
+	 * Pauses sending for {@link #TIMEDATA_DROPPED_BACK_OFF}, because the Backend
+	 * dropped data of this Edge. The values of all Channels are sent afterwards.
+	 *
+	 * <p>
+	 * With 'Change-Tracking' the Cycles are queued in the meantime and sent
+	 * together; without, only the latest values are sent.
+	 */
+	public synchronized void backOffAfterTimedataDropped() {
+		this.pausedUntil = Instant.now(this.parent.componentManager.getClock()).plus(TIMEDATA_DROPPED_BACK_OFF);
+		this.sendValuesOfAllChannels.set(true);
+	}
+
+	private boolean isPaused() {
+		return Instant.now(this.parent.componentManager.getClock()).isBefore(this.pausedUntil);
+	}
+
 	/**
 	 * Stops the {@link SendChannelValuesWorker}.
 	 */
 	public void deactivate() {
 		// Shutdown executor
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		this.changeTracker.clear();
+		synchronized (this.queuedCycles) {
+			this.queuedCycles.clear();
+		}
 	}
 
 	/**
@@ -90,6 +171,10 @@ public class SendChannelValuesWorker {
 
 		// Update the values of all channels
 		final var enabledComponents = this.parent.componentManager.getEnabledComponents();
+		if (this.parent.config.changeTracking()) {
+			this.collectChangedData(now, enabledComponents);
+			return;
+		}
 		final var allValues = this.collectData(enabledComponents);
 
 		// Add to send Queue
@@ -106,11 +191,7 @@ public class SendChannelValuesWorker {
 		try {
 			return enabledComponents.parallelStream() //
 					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
-					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-							// Ignore Low-Priority Channels
-							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
+					.filter(this::isChannelToBeSent) //
 					.collect(//
 							ImmutableTable.toImmutableTable(//
 									c -> c.address().getComponentId(), //
@@ -130,10 +211,112 @@ public class SendChannelValuesWorker {
 		}
 	}
 
+	/**
+	 * Collects the values of the changed Channels and queues them.
+	 *
+	 * @param now               the current timestamp
+	 * @param enabledComponents the enabled components
+	 */
+	private void collectChangedData(Instant now, List<OpenemsComponent> enabledComponents) {
+		// Send values of all Channels if explicitly asked for or once in a while
+		final var sendAll = this.sendValuesOfAllChannels.getAndSet(false) //
+				|| Duration.between(this.lastSendValuesOfAllChannels, now)
+						.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS;
+		if (sendAll) {
+			this.lastSendValuesOfAllChannels = now;
+		}
+
+		this.changeTracker.update(enabledComponents);
+		final var values = this.changeTracker.collect(sendAll);
+
+		// Round timestamp to Global Cycle-Time
+		final var cycleTime = this.parent.cycle.getCycleTime();
+		final var timestampMillis = now.toEpochMilli() / cycleTime * cycleTime;
+
+		synchronized (this.queuedCycles) {
+			this.queuedCycles.add(new CycleValues(timestampMillis, values));
+			this.limitQueuedCycles();
+		}
+
+		// Trigger sending; a running task sends all queued Cycles at once
+		this.executor.execute(new SendQueuedTask(this));
+	}
+
+	/**
+	 * Merges the oldest queued Cycles into the next ones if the queue is full.
+	 * Must be called while holding the lock on 'queuedCycles'.
+	 */
+	private void limitQueuedCycles() {
+		while (this.queuedCycles.size() > MAX_QUEUED_CYCLES) {
+			var oldest = this.queuedCycles.poll();
+			var next = this.queuedCycles.peek();
+			// Keep the values that did not change again afterwards
+			oldest.values.forEach(next.values::putIfAbsent);
+		}
+	}
+
 	/*
 	 * From here things run asynchronously.
 	 */
 
+	private static class SendQueuedTask implements Runnable {
+
+		private final SendChannelValuesWorker parent;
+
+		public SendQueuedTask(SendChannelValuesWorker parent) {
+			this.parent = parent;
+		}
+
+		@Override
+		public void run() {
+			if (this.parent.isPaused()) {
+				// Keep queued Cycles till the Backend recovered
+				return;
+			}
+
+			final List<CycleValues> cycles;
+			synchronized (this.parent.queuedCycles) {
+				if (this.parent.queuedCycles.isEmpty()) {
+					// Already sent by a previous task
+					return;
+				}
+				cycles = new ArrayList<>(this.parent.queuedCycles);
+				this.parent.queuedCycles.clear();
+			}
+
+			// Create JSON-RPC notification with the changes of all queued Cycles
+			var message = new TimestampedDataNotification();
+			var noOfValues = 0;
+			for (var cycle : cycles) {
+				message.add(cycle.timestamp, cycle.values);
+				noOfValues += cycle.values.size();
+			}
+
+			// Debug-Log
+			if (this.parent.parent.config.debugMode()) {
+				this.parent.parent.logInfo(this.parent.log,
+						"Sending [" + noOfValues + " values of " + cycles.size() + " Cycles]");
+			}
+
+			// Try to send
+			var wasSent = this.parent.parent.websocket.sendMessage(message);
+
+			// Set the UNABLE_TO_SEND channel
+			this.parent.parent.getUnableToSendChannel().setNextValue(!wasSent);
+
+			if (!wasSent) {
+				// Keep changes for next try
+				synchronized (this.parent.queuedCycles) {
+					for (var i = cycles.size() - 1; i >= 0; i--) {
+						this.parent.queuedCycles.addFirst(cycles.get(i));
+					}
+					this.parent.limitQueuedCycles();
+				}
+			}
+		}
+
+	}
+
 	private static class SendTask implements Runnable {
 
 		private final SendChannelValuesWorker parent;
@@ -149,6 +332,11 @@ public class SendChannelValuesWorker {
 
 		@Override
 		public void run() {
+			if (this.parent.isPaused()) {
+				// Skip values till the Backend recovered
+				return;
+			}
+
 			// Holds the data of the last successful send. If the table is empty, it is also
 			// used as a marker to send all data.
 			final Table<String, String, JsonElement> lastAllValues;
@@ -0,0 +1,61 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+
+public class ChannelChangeTrackerTest {
+
+	private static final ChannelAddress SUM_GRID_ACTIVE_POWER = new ChannelAddress(Sum.SINGLETON_COMPONENT_ID,
+			Sum.ChannelId.GRID_ACTIVE_POWER.id());
+
+	@Test
+	public void test() {
+		var sum = new DummySum();
+		List<OpenemsComponent> components = List.of(sum);
+		var sut = new ChannelChangeTracker(channel -> true);
+
+		// All Channels initially
+		sut.update(components);
+		var noOfChannels = sum.channels().size();
+		assertEquals(noOfChannels, sut.getNoOfChannels());
+		assertEquals(noOfChannels, sut.collect(false).size());
+
+		// Nothing changed
+		sut.update(components);
+		assertTrue(sut.collect(false).isEmpty());
+
+		// Only changed value
+		var channel = sum.channel(Sum.ChannelId.GRID_ACTIVE_POWER);
+		channel.setNextValue(1000);
+		channel.nextProcessImage();
+		sut.update(components);
+		var values = sut.collect(false);
+		assertEquals(1, values.size());
+		assertEquals(1000, values.get(SUM_GRID_ACTIVE_POWER).getAsInt());
+
+		// Same value is not a change
+		channel.setNextValue(1000);
+		channel.nextProcessImage();
+		assertTrue(sut.collect(false).isEmpty());
+
+		// All values on request
+		assertEquals(noOfChannels, sut.collect(true).size());
+
+		// Component disabled
+		sut.update(List.of());
+		assertEquals(0, sut.getNoOfChannels());
+		channel.setNextValue(2000);
+		channel.nextProcessImage();
+		assertTrue(sut.collect(false).isEmpty());
+	}
+
+}
@@ -17,6 +17,7 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		public Type proxyType;
 		public int apiTimeout;
 		public PersistencePriority persistencePriority;
+		public boolean changeTracking;
 		public boolean debugMode;
 
 		private Builder() {
@@ -62,6 +63,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setChangeTracking(boolean changeTracking) {
+			this.changeTracking = changeTracking;
+			return this;
+		}
+
 		public Builder setDebugMode(boolean debugMode) {
 			this.debugMode = debugMode;
 			return this;
@@ -123,6 +129,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.persistencePriority;
 	}
 
+	@Override
+	public boolean changeTracking() {
+		return this.builder.changeTracking;
+	}
+
 	@Override
 	public boolean debugMode() {
 		return this.builder.debugMode;
@@ -7,6 +7,8 @@ import java.util.concurrent.CompletableFuture;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +25,7 @@ import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.meta.Meta;
 import io.openems.edge.common.modbusslave.ModbusRecord;
@@ -42,7 +45,7 @@ import io.openems.edge.controller.api.modbus.jsonrpc.GetModbusProtocolRequest;
 import io.openems.edge.controller.api.modbus.jsonrpc.GetModbusProtocolResponse;
 
 public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
-		implements ModbusTcpApi, Controller, OpenemsComponent, JsonApi {
+		implements ModbusTcpApi, Controller, OpenemsComponent, JsonApi, EventHandler {
 
 	public static final int UNIT_ID = 1;
 	public static final int DEFAULT_PORT = 502;
@@ -51,7 +54,12 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 	protected final ApiWorker apiWorker = new ApiWorker(this);
 
 	private final Logger log = LoggerFactory.getLogger(AbstractModbusTcpApi.class);
-	private final MyProcessImage processImage;
+	private MyProcessImage processImage;
+
+	/**
+	 * The {@link SnapshotProcessImage} in snapshot mode; otherwise null.
+	 */
+	private SnapshotProcessImage snapshotProcessImage = null;
 	private final String implementationName;
 
 	/**
@@ -85,6 +93,13 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 	protected void activate(ComponentContext context, String id, String alias, boolean enabled, ConfigurationAdmin cm,
 			Meta metaComponent, String[] componentIds, int apiTimeout, int port, int maxConcurrentConnections)
 			throws OpenemsException {
+		this.activate(context, id, alias, enabled, cm, metaComponent, componentIds, apiTimeout, port,
+				maxConcurrentConnections, false);
+	}
+
+	protected void activate(ComponentContext context, String id, String alias, boolean enabled, ConfigurationAdmin cm,
+			Meta metaComponent, String[] componentIds, int apiTimeout, int port, int maxConcurrentConnections,
+			boolean snapshotMode) throws OpenemsException {
 		super.activate(context, id, alias, enabled);
 
 		// configuration settings
@@ -109,6 +124,12 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 		// Initialize Modbus Records
 		this.initializeModbusRecords(metaComponent, componentIds);
 
+		// Serve requests from a snapshot that is rendered once per Cycle
+		if (snapshotMode) {
+			this.snapshotProcessImage = new SnapshotProcessImage(this, this.records);
+			this.processImage = this.snapshotProcessImage;
+		}
+
 		// Start Modbus-Server
 		this.startApiWorker.activate(id);
 	}
@@ -294,6 +315,23 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 		this.apiWorker.run();
 	}
 
+	@Override
+	public void handleEvent(Event event) {
+		var snapshotProcessImage = this.snapshotProcessImage;
+		if (!this.isEnabled() || snapshotProcessImage == null) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			snapshotProcessImage.updateSnapshot();
+			break;
+
+		case EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS:
+			snapshotProcessImage.applyWrites();
+			break;
+		}
+	}
+
 	@Override
 	protected void logDebug(Logger log, String message) {
 		super.logDebug(log, message);
@@ -0,0 +1,207 @@
+package io.openems.edge.controller.api.modbus;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.ghgande.j2mod.modbus.procimg.Register;
+
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.modbusslave.ModbusRecord;
+
+/**
+ * This implementation answers Modbus-TCP Slave requests from a snapshot of all
+ * registers.
+ *
+ * <ul>
+ * <li>The snapshot is rendered once per Cycle via {@link #updateSnapshot()} and
+ * published via a volatile field; read requests are served without locking and
+ * without calling {@link ModbusRecord#getValue(OpenemsComponent)}.
+ * <li>Write requests are queued and forwarded to the {@link ModbusRecord}s via
+ * {@link #applyWrites()} on the Cycle thread.
+ * </ul>
+ */
+public class SnapshotProcessImage extends MyProcessImage {
+
+	private static class Entry {
+		private final ModbusRecord record;
+		private final OpenemsComponent component;
+		private final int address;
+		private final int words;
+		private final Consumer<MyRegister> onWrite;
+
+		private Entry(ModbusRecord record, OpenemsComponent component, int address,
+				Queue<PendingWrite> pendingWrites) {
+			this.record = record;
+			this.component = component;
+			this.address = address;
+			this.words = record.getType().getWords();
+			this.onWrite = register -> pendingWrites
+					.add(new PendingWrite(this, register.getIndex(), register.getByte1(), register.getByte2()));
+		}
+	}
+
+	private static class PendingWrite {
+		private final Entry entry;
+		private final int index;
+		private final byte byte1;
+		private final byte byte2;
+
+		private PendingWrite(Entry entry, int index, byte byte1, byte byte2) {
+			this.entry = entry;
+			this.index = index;
+			this.byte1 = byte1;
+			this.byte2 = byte2;
+		}
+	}
+
+	private static class Snapshot {
+		private final short[] values;
+		/**
+		 * Start addresses of Records that could not be rendered; null if all Records
+		 * are available.
+		 */
+		private final BitSet faults;
+
+		private Snapshot(short[] values, BitSet faults) {
+			this.values = values;
+			this.faults = faults;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(SnapshotProcessImage.class);
+
+	/**
+	 * Entries by start address; null for undefined addresses and for addresses
+	 * within a Record.
+	 */
+	private final Entry[] entriesByAddress;
+	private final List<Entry> entries;
+	private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+
+	private volatile Snapshot snapshot = null;
+
+	protected SnapshotProcessImage(AbstractModbusTcpApi parent, Map<Integer, ModbusRecord> records) {
+		super(parent);
+		var size = 0;
+		this.entries = new ArrayList<>(records.size());
+		for (var record : records.entrySet()) {
+			var component = parent.getComponent(record.getValue().getComponentId());
+			var entry = new Entry(record.getValue(), component, record.getKey(), this.pendingWrites);
+			this.entries.add(entry);
+			size = Math.max(size, entry.address + entry.words);
+		}
+		this.entriesByAddress = new Entry[size];
+		for (var entry : this.entries) {
+			this.entriesByAddress[entry.address] = entry;
+		}
+	}
+
+	/**
+	 * Renders all Records into a new snapshot. Called once per Cycle after the
+	 * process image was switched.
+	 *
+	 * <p>
+	 * A Record that fails is logged only when it starts failing and when it
+	 * recovers, not in every Cycle.
+	 */
+	protected void updateSnapshot() {
+		var previousSnapshot = this.snapshot;
+		var previousFaults = previousSnapshot == null ? null : previousSnapshot.faults;
+		var values = new short[this.entriesByAddress.length];
+		BitSet faults = null;
+		for (var entry : this.entries) {
+			var wasFailing = previousFaults != null && previousFaults.get(entry.address);
+			try {
+				var value = entry.record.getValue(entry.component);
+				for (var j = 0; j < entry.words && j * 2 + 1 < value.length; j++) {
+					values[entry.address + j] = (short) ((value[j * 2] & 0xff) << 8 | value[j * 2 + 1] & 0xff);
+				}
+				if (wasFailing) {
+					this.parent.logInfo(this.log, "Record for Modbus address [" + entry.address + "] is readable again");
+				}
+			} catch (RuntimeException e) {
+				if (faults == null) {
+					faults = new BitSet(values.length);
+				}
+				faults.set(entry.address);
+				if (!wasFailing) {
+					this.parent.logWarn(this.log, "Unable to read Record for Modbus address [" + entry.address + "]: "
+							+ e.getClass().getSimpleName() + ": " + e.getMessage());
+				}
+			}
+		}
+		this.snapshot = new Snapshot(values, faults);
+	}
+
+	/**
+	 * Forwards queued writes to the Records. Called once per Cycle before the
+	 * Controllers are executed.
+	 */
+	protected void applyWrites() {
+		PendingWrite write;
+		while ((write = this.pendingWrites.poll()) != null) {
+			write.entry.record.writeValue(write.entry.component, write.index, write.byte1, write.byte2);
+		}
+	}
+
+	@Override
+	public InputRegister[] getInputRegisterRange(int offset, int count) throws MyIllegalAddressException {
+		return this.getRegisterRange(offset, count);
+	}
+
+	@Override
+	public Register[] getRegisterRange(int offset, int count) throws MyIllegalAddressException {
+		var snapshot = this.snapshot;
+		if (snapshot == null) {
+			this.parent._setProcessImageFault(true);
+			throw new MyIllegalAddressException(this, "Process image is not yet available.");
+		}
+
+		var result = new Register[count];
+		for (var i = 0; i < count;) {
+			// Get record for modbus address
+			var ref = i + offset;
+			var entry = ref >= 0 && ref < this.entriesByAddress.length ? this.entriesByAddress[ref] : null;
+			if (entry == null) {
+				this.parent._setProcessImageFault(true);
+				throw new MyIllegalAddressException(this, "Record for Modbus address [" + ref + "] is undefined.");
+			}
+
+			// make sure this Record fits and is available
+			if (result.length < i + entry.words) {
+				this.parent._setProcessImageFault(true);
+				throw new MyIllegalAddressException(this,
+						"Record for Modbus address [" + ref + "] does not fit in Result.");
+			}
+			if (snapshot.faults != null && snapshot.faults.get(ref)) {
+				this.parent._setProcessImageFault(true);
+				throw new MyIllegalAddressException(this, "Record for Modbus address [" + ref + "] is not available.");
+			}
+
+			for (var j = 0; j < entry.words; j++) {
+				var value = snapshot.values[ref + j];
+				result[i + j] = new MyRegister(j, (byte) (value >> 8), (byte) value, entry.onWrite);
+			}
+
+			// increase i by word length
+			i += entry.words;
+		}
+		this.parent._setProcessImageFault(false);
+		return result;
+	}
+
+	@Override
+	public Register getRegister(int ref) throws MyIllegalAddressException {
+		return this.getRegisterRange(ref, 1)[0];
+	}
+
+}
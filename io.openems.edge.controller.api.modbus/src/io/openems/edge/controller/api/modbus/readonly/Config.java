@@ -28,6 +28,9 @@ import io.openems.edge.controller.api.modbus.AbstractModbusTcpApi;
 	@AttributeDefinition(name = "Max concurrent connections", description = "Sets the maximum number of concurrent connections via Modbus.")
 	int maxConcurrentConnections() default AbstractModbusTcpApi.DEFAULT_MAX_CONCURRENT_CONNECTIONS;
 
+	@AttributeDefinition(name = "Snapshot mode?", description = "Serve requests from a snapshot of all registers that is updated once per Cycle. Writes are applied before the Controllers are executed.")
+	boolean snapshotMode() default false;
+
 	@AttributeDefinition(name = "Components target filter", description = "This is auto-generated by 'Component-IDs'.")
 	String Component_target() default "(enabled=true)";
 
@@ -10,6 +10,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 
 import com.ghgande.j2mod.modbus.ModbusException;
@@ -17,6 +19,7 @@ import com.ghgande.j2mod.modbus.ModbusException;
 import io.openems.common.channel.AccessMode;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.meta.Meta;
 import io.openems.edge.common.modbusslave.ModbusSlave;
@@ -29,8 +32,12 @@ import io.openems.edge.controller.api.modbus.ModbusTcpApi;
 		name = "Controller.Api.ModbusTcp.ReadOnly", //
 		immediate = true, //
 		configurationPolicy = ConfigurationPolicy.REQUIRE)
+@EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, //
+		EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS //
+})
 public class ModbusTcpApiReadOnlyImpl extends AbstractModbusTcpApi
-		implements ModbusTcpApiReadOnly, ModbusTcpApi, Controller, OpenemsComponent, JsonApi {
+		implements ModbusTcpApiReadOnly, ModbusTcpApi, Controller, OpenemsComponent, JsonApi, EventHandler {
 
 	@Reference(policy = ReferencePolicy.STATIC, policyOption = ReferencePolicyOption.GREEDY, cardinality = ReferenceCardinality.MANDATORY)
 	protected Meta metaComponent = null;
@@ -56,7 +63,8 @@ public class ModbusTcpApiReadOnlyImpl extends AbstractModbusTcpApi
 	@Activate
 	void activate(ComponentContext context, Config config) throws ModbusException, OpenemsException {
 		super.activate(context, config.id(), config.alias(), config.enabled(), this.cm, this.metaComponent,
-				config.component_ids(), 0 /* no timeout */, config.port(), config.maxConcurrentConnections());
+				config.component_ids(), 0 /* no timeout */, config.port(), config.maxConcurrentConnections(),
+				config.snapshotMode());
 	}
 
 	@Override
@@ -0,0 +1,127 @@
+package io.openems.edge.controller.api.modbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.modbusslave.ModbusRecord;
+import io.openems.edge.common.modbusslave.ModbusRecordChannel;
+import io.openems.edge.common.modbusslave.ModbusRecordUint16Hash;
+import io.openems.edge.common.modbusslave.ModbusSlave;
+import io.openems.edge.common.modbusslave.ModbusSlaveTable;
+import io.openems.edge.common.modbusslave.ModbusType;
+import io.openems.edge.controller.api.modbus.readwrite.ModbusTcpApiReadWriteImpl;
+
+public class SnapshotProcessImageTest {
+
+	private static final String COMPONENT_ID = "component0";
+
+	private static class DummyModbusSlave extends AbstractOpenemsComponent implements ModbusSlave {
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			VALUE(Doc.of(OpenemsType.INTEGER) //
+					.accessMode(AccessMode.READ_WRITE));
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		private DummyModbusSlave() {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					ChannelId.values() //
+			);
+			super.activate(null, COMPONENT_ID, "", true);
+		}
+
+		private void setValue(Integer value) {
+			var channel = this.channel(ChannelId.VALUE);
+			channel.setNextValue(value);
+			channel.nextProcessImage();
+		}
+
+		@Override
+		public ModbusSlaveTable getModbusSlaveTable(AccessMode accessMode) {
+			return new ModbusSlaveTable();
+		}
+	}
+
+	private static void assertIllegalAddress(SnapshotProcessImage sut, int offset, int count) {
+		try {
+			sut.getRegisterRange(offset, count);
+			fail("Expected MyIllegalAddressException");
+		} catch (MyIllegalAddressException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void test() throws Exception {
+		var parent = new ModbusTcpApiReadWriteImpl();
+		var component = new DummyModbusSlave();
+		((AbstractModbusTcpApi) parent).addComponent(component);
+
+		var written = new AtomicReference<Object>();
+		var channelRecord = new ModbusRecordChannel(0, ModbusType.UINT32, DummyModbusSlave.ChannelId.VALUE,
+				AccessMode.READ_WRITE);
+		channelRecord.onWriteValue(written::set);
+		var records = new TreeMap<Integer, ModbusRecord>();
+		records.put(0, new ModbusRecordUint16Hash(0, "OpenEMS"));
+		records.put(1, channelRecord);
+		for (var record : records.values()) {
+			record.setComponentId(COMPONENT_ID);
+		}
+
+		var sut = new SnapshotProcessImage(parent, records);
+
+		// No snapshot yet
+		assertIllegalAddress(sut, 0, 1);
+
+		component.setValue(123456);
+		sut.updateSnapshot();
+		var registers = sut.getRegisterRange(0, 3);
+		assertEquals("OpenEMS".hashCode() & 0xffff, registers[0].getValue());
+		assertEquals(123456 >> 16, registers[1].getValue());
+		assertEquals(123456 & 0xffff, registers[2].getValue());
+
+		// Reads are served from the snapshot
+		component.setValue(7);
+		assertEquals(123456 & 0xffff, sut.getRegisterRange(1, 2)[1].getValue());
+		sut.updateSnapshot();
+		assertEquals(7, sut.getRegisterRange(1, 2)[1].getValue());
+		assertEquals("OpenEMS".hashCode() & 0xffff, sut.getRegister(0).getValue());
+
+		// Invalid ranges
+		assertIllegalAddress(sut, 0, 2); // Record does not fit
+		assertIllegalAddress(sut, 2, 1); // within a Record
+		assertIllegalAddress(sut, 3, 1); // undefined
+		assertIllegalAddress(sut, -1, 1); // undefined
+
+		// Writes are applied on the Cycle thread
+		registers = sut.getRegisterRange(1, 2);
+		registers[0].setValue(0);
+		registers[1].setValue(42);
+		assertNull(written.get());
+		sut.applyWrites();
+		assertEquals(42, written.get());
+	}
+
+}
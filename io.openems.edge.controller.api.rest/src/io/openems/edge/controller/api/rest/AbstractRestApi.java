@@ -1,12 +1,15 @@
 package io.openems.edge.controller.api.rest;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jetty.server.AcceptRateLimit;
 import org.eclipse.jetty.server.ConnectionLimit;
 import org.eclipse.jetty.server.Server;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +19,7 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.user.UserService;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.controller.api.common.ApiWorker;
@@ -23,12 +27,17 @@ import io.openems.edge.controller.api.rest.readonly.RestApiReadOnlyImpl;
 import io.openems.edge.timedata.api.Timedata;
 
 public abstract class AbstractRestApi extends AbstractOpenemsComponent
-		implements RestApi, Controller, OpenemsComponent {
+		implements RestApi, Controller, OpenemsComponent, EventHandler {
 
 	public static final boolean DEFAULT_DEBUG_MODE = true;
 
 	protected final ApiWorker apiWorker = new ApiWorker(this);
 
+	/**
+	 * Counts the Cycles; Channel values change only once per Cycle.
+	 */
+	private final AtomicLong cycleCount = new AtomicLong();
+
 	private final Logger log = LoggerFactory.getLogger(RestApiReadOnlyImpl.class);
 	private final String implementationName;
 
@@ -103,6 +112,29 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 		this.apiWorker.run();
 	}
 
+	@Override
+	public void handleEvent(Event event) {
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			// Channels switched to the next Process Image. Incrementing only afterwards
+			// makes sure that an ETag is never combined with older Channel values.
+			this.cycleCount.incrementAndGet();
+			break;
+		}
+	}
+
+	/**
+	 * Gets the number of Cycles since activation.
+	 *
+	 * <p>
+	 * Channel values do not change while the Cycle-Count stays the same.
+	 *
+	 * @return the Cycle-Count
+	 */
+	protected long getCycleCount() {
+		return this.cycleCount.get();
+	}
+
 	@Override
 	protected void logInfo(Logger log, String message) {
 		super.logInfo(log, message);
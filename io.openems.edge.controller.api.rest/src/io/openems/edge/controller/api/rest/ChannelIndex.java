@@ -0,0 +1,257 @@
+package io.openems.edge.controller.api.rest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Resolves {@link ChannelAddress}es - that may contain regular expressions -
+ * to {@link Channel}s.
+ *
+ * <p>
+ * Compiled patterns are cached and Components are held in an index sorted by
+ * Component-ID, so that only Components starting with the literal prefix of a
+ * regular expression have to be matched. Results are sorted by
+ * Component-ID/Channel-ID.
+ */
+public class ChannelIndex {
+
+	private static final int MAX_CACHED_PATTERNS = 256;
+	private static final String REGEX_CHARACTERS = "\\[](){}.*+?^$|";
+
+	private static final Comparator<Channel<?>> CHANNEL_ID_COMPARATOR = Comparator
+			.comparing(channel -> channel.channelId().id());
+
+	private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+	private volatile Snapshot snapshot = new Snapshot(new ArrayList<>());
+
+	/**
+	 * The indexed Components.
+	 */
+	private static class Snapshot {
+
+		private final List<OpenemsComponent> components;
+		private final NavigableMap<String, IndexedComponent> index = new TreeMap<>();
+
+		private Snapshot(List<OpenemsComponent> components) {
+			this.components = components;
+			for (OpenemsComponent component : components) {
+				this.index.put(component.id(), new IndexedComponent(component));
+			}
+		}
+
+		private boolean isSnapshotOf(List<OpenemsComponent> components) {
+			if (this.components.size() != components.size()) {
+				return false;
+			}
+			for (var i = 0; i < components.size(); i++) {
+				if (this.components.get(i) != components.get(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * A Component with its Channels sorted by Channel-ID.
+	 */
+	private static class IndexedComponent {
+
+		private final OpenemsComponent component;
+		private volatile Channel<?>[] channels = new Channel<?>[0];
+
+		private IndexedComponent(OpenemsComponent component) {
+			this.component = component;
+		}
+
+		private Channel<?>[] getChannels() {
+			var channels = this.channels;
+			var actual = this.component.channels();
+			if (channels.length != actual.size()) {
+				// Channels were added or removed since the last call
+				channels = actual.toArray(new Channel<?>[actual.size()]);
+				Arrays.sort(channels, CHANNEL_ID_COMPARATOR);
+				this.channels = channels;
+			}
+			return channels;
+		}
+	}
+
+	/**
+	 * Gets all Channels that match the given {@link ChannelAddress}.
+	 *
+	 * @param components     the enabled Components
+	 * @param channelAddress the {@link ChannelAddress}; Component-ID and
+	 *                       Channel-ID may be regular expressions
+	 * @return the matching Channels, sorted by address
+	 * @throws OpenemsException on syntax error in a regular expression
+	 */
+	public List<Channel<?>> query(List<OpenemsComponent> components, ChannelAddress channelAddress)
+			throws OpenemsException {
+		var result = new ArrayList<Channel<?>>();
+		this.query(this.getSnapshot(components), channelAddress, result);
+		return result;
+	}
+
+	/**
+	 * Gets all Channels that match any of the given {@link ChannelAddress}es.
+	 *
+	 * @param components       the enabled Components
+	 * @param channelAddresses the {@link ChannelAddress}es; Component-ID and
+	 *                         Channel-ID may be regular expressions
+	 * @return the matching Channels without duplicates, in the order of the
+	 *         addresses
+	 * @throws OpenemsException on syntax error in a regular expression
+	 */
+	public Set<Channel<?>> query(List<OpenemsComponent> components, Collection<ChannelAddress> channelAddresses)
+			throws OpenemsException {
+		var snapshot = this.getSnapshot(components);
+		var result = new LinkedHashSet<Channel<?>>();
+		for (ChannelAddress channelAddress : channelAddresses) {
+			this.query(snapshot, channelAddress, result);
+		}
+		return result;
+	}
+
+	@SuppressWarnings("deprecation") // avoids an exception for every missing Channel
+	private void query(Snapshot snapshot, ChannelAddress channelAddress, Collection<Channel<?>> result)
+			throws OpenemsException {
+		var componentId = channelAddress.getComponentId();
+		var channelId = channelAddress.getChannelId();
+
+		final Collection<IndexedComponent> candidates;
+		final Pattern componentPattern;
+		if (isLiteral(componentId)) {
+			var component = snapshot.index.get(componentId);
+			if (component == null) {
+				return;
+			}
+			candidates = List.of(component);
+			componentPattern = null;
+		} else {
+			var prefix = getLiteralPrefix(componentId);
+			candidates = prefix.isEmpty() //
+					? snapshot.index.values() //
+					: snapshot.index.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values();
+			componentPattern = this.getPattern(componentId);
+		}
+
+		final var channelPattern = isLiteral(channelId) ? null : this.getPattern(channelId);
+		for (IndexedComponent candidate : candidates) {
+			if (componentPattern != null && !componentPattern.matcher(candidate.component.id()).matches()) {
+				continue;
+			}
+			if (channelPattern == null) {
+				var channel = candidate.component._channel(channelId);
+				if (channel != null) {
+					result.add(channel);
+				}
+				continue;
+			}
+			for (Channel<?> channel : candidate.getChannels()) {
+				if (channelPattern.matcher(channel.channelId().id()).matches()) {
+					result.add(channel);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the {@link Snapshot} for the given Components; builds a new one if the
+	 * Components changed.
+	 *
+	 * @param components the Components
+	 * @return the {@link Snapshot}
+	 */
+	private Snapshot getSnapshot(List<OpenemsComponent> components) {
+		var snapshot = this.snapshot;
+		if (!snapshot.isSnapshotOf(components)) {
+			snapshot = new Snapshot(new ArrayList<>(components));
+			this.snapshot = snapshot;
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Gets the compiled {@link Pattern} for the given regular expression.
+	 *
+	 * @param regex the regular expression
+	 * @return the {@link Pattern}
+	 * @throws OpenemsException on syntax error
+	 */
+	private Pattern getPattern(String regex) throws OpenemsException {
+		var pattern = this.patterns.get(regex);
+		if (pattern != null) {
+			return pattern;
+		}
+		try {
+			pattern = Pattern.compile(regex);
+		} catch (PatternSyntaxException e) {
+			throw new OpenemsException("Syntax error in regular expression [" + regex + "]");
+		}
+		if (this.patterns.size() >= MAX_CACHED_PATTERNS) {
+			this.patterns.clear();
+		}
+		this.patterns.put(regex, pattern);
+		return pattern;
+	}
+
+	/**
+	 * Is the given String free of regular expression special characters?.
+	 *
+	 * @param value the String
+	 * @return true if it is a literal
+	 */
+	protected static boolean isLiteral(String value) {
+		for (var i = 0; i < value.length(); i++) {
+			if (REGEX_CHARACTERS.indexOf(value.charAt(i)) != -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the literal prefix that every match of the given regular expression
+	 * starts with, e.g. "meter" for "meter.*".
+	 *
+	 * @param regex the regular expression
+	 * @return the prefix; empty if there is none
+	 */
+	protected static String getLiteralPrefix(String regex) {
+		if (regex.indexOf('|') != -1) {
+			// Alternatives may start with anything
+			return "";
+		}
+		for (var i = 0; i < regex.length(); i++) {
+			var c = regex.charAt(i);
+			if (REGEX_CHARACTERS.indexOf(c) == -1) {
+				continue;
+			}
+			if ((c == '?' || c == '*' || c == '{') && i > 0) {
+				// Quantifier applies to the previous character
+				return regex.substring(0, i - 1);
+			}
+			return regex.substring(0, i);
+		}
+		return regex;
+	}
+
+}
@@ -7,14 +7,13 @@ import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 import javax.servlet.ServletException;
@@ -56,7 +55,6 @@ import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.UuidUtils;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.ComponentManager;
-import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.user.User;
 
@@ -65,6 +63,9 @@ public class RestHandler extends AbstractHandler {
 	private final Logger log = LoggerFactory.getLogger(RestHandler.class);
 
 	private final AbstractRestApi parent;
+	private final ChannelIndex channelIndex = new ChannelIndex();
+	// Distinguishes ETags of different instances, e.g. after a restart
+	private final String etagPrefix = Long.toHexString(System.currentTimeMillis());
 
 	public RestHandler(AbstractRestApi parent) {
 		this.parent = parent;
@@ -169,6 +170,9 @@ public class RestHandler extends AbstractHandler {
 		case "channel":
 			return this.handleChannel(user, remainingTargets, baseRequest, request, response);
 
+		case "channels":
+			return this.handleChannels(user, remainingTargets, baseRequest, request, response);
+
 		default:
 			throw new OpenemsException("Unhandled REST target [" + thisTarget + "]");
 		}
@@ -218,27 +222,19 @@ public class RestHandler extends AbstractHandler {
 			HttpServletResponse response) throws OpenemsNamedException {
 		user.assertRoleIsAtLeast("HTTP GET", Role.GUEST);
 
-		List<Channel<?>> channellist = new ArrayList<>();
-
 		if (this.parent.isDebugModeEnabled()) {
 			this.parent.logInfo(this.log,
 					"REST call by User [" + user.getName() + "]: GET Channel [" + channelAddress.toString() + "]");
 		}
 
-		// Build list of all channels where components are enabled
-		var componentList = this.parent.getComponentManager().getEnabledComponents();
-		for (OpenemsComponent component : componentList) {
-			// Loop over enabled ComponentIds, look for exact or RegExp match
-			if (this.matchesSafely(component.id(), channelAddress.getComponentId())) {
-				for (Channel<?> channel : component.channels()) {
-					// Loop over attached channels, look for exact or RegExp match
-					if (this.matchesSafely(channelAddress.getChannelId(), channel.channelId().id())) {
-						channellist.add(channel);
-					}
-				}
-			}
+		if (this.isNotModified(baseRequest, request, response)) {
+			return true;
 		}
 
+		// Find all matching channels of enabled components
+		var channellist = this.channelIndex.query(this.parent.getComponentManager().getEnabledComponents(),
+				channelAddress);
+
 		// Return with error when no matching channel was found
 		if (channellist.size() == 0) {
 			this.parent.logWarn(this.log, "REST call by User [" + user.getName() + "]: GET Channel ["
@@ -248,23 +244,7 @@ public class RestHandler extends AbstractHandler {
 		}
 
 		// Creating JSON response for all matched channels
-		var channeljson = new JsonArray();
-		for (Channel<?> channel : channellist) {
-			var j = new JsonObject();
-			// name
-			j.addProperty("address", channel.address().toString());
-			// type
-			j.addProperty("type", channel.getType().name());
-			// accessMode
-			j.addProperty("accessMode", channel.channelDoc().getAccessMode().getAbbreviation());
-			// text
-			j.addProperty("text", channel.channelDoc().getText());
-			// unit
-			j.addProperty("unit", channel.channelDoc().getUnit().getSymbol());
-			// value
-			j.add("value", channel.value().asJson());
-			channeljson.add(j);
-		}
+		var channeljson = RestHandler.toJson(channellist);
 
 		// if this a request for a single channel only return a single JsonObject, not
 		// an array (for compatibility to previous versions)
@@ -279,19 +259,120 @@ public class RestHandler extends AbstractHandler {
 	}
 
 	/**
-	 * Safely matches a regular expression against a string.
+	 * Handles a request for multiple Channels at once.
 	 *
-	 * @param str   the string
-	 * @param regex the regular expression
-	 * @return true on match
-	 * @throws OpenemsException on error
+	 * <p>
+	 * The Channel-Addresses (may include RegExp) are given either as 'address'
+	 * query parameters of a HTTP GET request (e.g.
+	 * '/rest/channels?address=_sum/EssSoc&amp;address=meter.*&#47;ActivePower') or
+	 * as 'addresses' JSON array in the body of a HTTP POST request. The response
+	 * is always a JSON array of all matching Channels.
+	 *
+	 * @param user        the {@link User}
+	 * @param targets     the remaining targets; must be empty
+	 * @param baseRequest the HTTP base-request
+	 * @param request     the HTTP request
+	 * @param response    the result to be returned
+	 * @return false if ok response was not sent
+	 * @throws OpenemsNamedException on error
 	 */
-	private boolean matchesSafely(String str, String regex) throws OpenemsException {
-		try {
-			return Pattern.matches(str, regex);
-		} catch (PatternSyntaxException e) {
-			throw new OpenemsException("Syntax error in regular expression [" + regex + "]");
+	private boolean handleChannels(User user, List<String> targets, Request baseRequest, HttpServletRequest request,
+			HttpServletResponse response) throws OpenemsNamedException {
+		if (!targets.isEmpty()) {
+			throw new OpenemsException("Unexpected arguments to handle Channels");
+		}
+		user.assertRoleIsAtLeast("HTTP " + request.getMethod(), Role.GUEST);
+
+		// get request attributes
+		List<String> addresses = new ArrayList<>();
+		switch (request.getMethod()) {
+		case "GET":
+			var parameters = request.getParameterValues("address");
+			if (parameters != null) {
+				addresses.addAll(Arrays.asList(parameters));
+			}
+			break;
+
+		case "POST":
+			// Only reads Channels; allowed in every API Access-Mode
+			for (JsonElement address : JsonUtils.getAsJsonArray(RestHandler.parseJson(baseRequest), "addresses")) {
+				addresses.add(JsonUtils.getAsString(address));
+			}
+			break;
+
+		default:
+			throw new OpenemsException("Unhandled REST Channels request method [" + request.getMethod() + "]");
+		}
+
+		if (this.parent.isDebugModeEnabled()) {
+			this.parent.logInfo(this.log,
+					"REST call by User [" + user.getName() + "]: " + request.getMethod() + " Channels " + addresses);
+		}
+
+		if (request.getMethod().equals("GET") && this.isNotModified(baseRequest, request, response)) {
+			return true;
+		}
+
+		var channelAddresses = new ArrayList<ChannelAddress>(addresses.size());
+		for (String address : addresses) {
+			channelAddresses.add(ChannelAddress.fromString(address));
+		}
+		var channels = this.channelIndex.query(this.parent.getComponentManager().getEnabledComponents(),
+				channelAddresses);
+
+		return this.sendOkResponse(baseRequest, response, RestHandler.toJson(channels));
+	}
+
+	/**
+	 * Sets the ETag of a HTTP GET response and checks the 'If-None-Match' header.
+	 *
+	 * <p>
+	 * Channel values change only once per Cycle, so the ETag is derived from the
+	 * Cycle-Count. If the client already has the current values, a '304 Not
+	 * Modified' response is sent.
+	 *
+	 * @param baseRequest the HTTP base-request
+	 * @param request     the HTTP request
+	 * @param response    the result to be returned
+	 * @return true if the '304 Not Modified' response was sent
+	 */
+	private boolean isNotModified(Request baseRequest, HttpServletRequest request, HttpServletResponse response) {
+		var etag = "\"" + this.etagPrefix + "-" + this.parent.getCycleCount() + "\"";
+		response.setHeader("ETag", etag);
+		var ifNoneMatch = request.getHeader("If-None-Match");
+		if (ifNoneMatch == null || !ifNoneMatch.contains(etag)) {
+			return false;
+		}
+		response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+		baseRequest.setHandled(true);
+		return true;
+	}
+
+	/**
+	 * Converts Channels to a JSON array.
+	 *
+	 * @param channels the Channels
+	 * @return the {@link JsonArray}
+	 */
+	private static JsonArray toJson(Collection<Channel<?>> channels) {
+		var result = new JsonArray();
+		for (Channel<?> channel : channels) {
+			var j = new JsonObject();
+			// name
+			j.addProperty("address", channel.address().toString());
+			// type
+			j.addProperty("type", channel.getType().name());
+			// accessMode
+			j.addProperty("accessMode", channel.channelDoc().getAccessMode().getAbbreviation());
+			// text
+			j.addProperty("text", channel.channelDoc().getText());
+			// unit
+			j.addProperty("unit", channel.channelDoc().getUnit().getSymbol());
+			// value
+			j.add("value", channel.value().asJson());
+			result.add(j);
 		}
+		return result;
 	}
 
 	private void sendErrorResponse(Request baseRequest, HttpServletResponse response, UUID jsonrpcId, Throwable ex) {
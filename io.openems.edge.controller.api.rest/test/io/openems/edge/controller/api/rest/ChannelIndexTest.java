@@ -0,0 +1,119 @@
+package io.openems.edge.controller.api.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+public class ChannelIndexTest {
+
+	private static List<String> addresses(Collection<Channel<?>> channels) {
+		return channels.stream() //
+				.map(channel -> channel.address().toString()) //
+				.collect(Collectors.toList());
+	}
+
+	private static List<OpenemsComponent> components(String... ids) {
+		var result = new ArrayList<OpenemsComponent>();
+		for (String id : ids) {
+			result.add(new DummyComponent(id));
+		}
+		return result;
+	}
+
+	@Test
+	public void testQuery() throws OpenemsException {
+		var sut = new ChannelIndex();
+		var components = components("meter1", "ess0", "meter0", "pvInverter0");
+
+		assertEquals(Arrays.asList("meter0/ActivePower", "meter1/ActivePower"), //
+				addresses(sut.query(components, new ChannelAddress("meter.*", "ActivePower"))));
+		assertEquals(Arrays.asList("ess0/ActivePower", "ess0/ReactivePower"), //
+				addresses(sut.query(components, new ChannelAddress("ess0", ".*Power"))));
+		assertEquals(Arrays.asList("ess0/ActivePower"), //
+				addresses(sut.query(components, new ChannelAddress("ess0", "ActivePower"))));
+		assertTrue(sut.query(components, new ChannelAddress("ess1", "ActivePower")).isEmpty());
+		assertTrue(sut.query(components, new ChannelAddress("ess0", "Foo")).isEmpty());
+
+		// Components changed
+		components.add(new DummyComponent("meter2"));
+		assertEquals(3, sut.query(components, new ChannelAddress("meter.*", "ActivePower")).size());
+	}
+
+	@Test
+	public void testBulkQuery() throws OpenemsException {
+		var sut = new ChannelIndex();
+		var components = components("meter0", "ess0");
+
+		assertEquals(Arrays.asList("ess0/ActivePower", "meter0/ActivePower", "meter0/ReactivePower"), //
+				addresses(sut.query(components, Arrays.asList(//
+						new ChannelAddress("ess0", "ActivePower"), //
+						new ChannelAddress("meter0", ".*Power"), //
+						new ChannelAddress(".*", "ActivePower")))));
+	}
+
+	@Test
+	public void testInvalidRegex() {
+		try {
+			new ChannelIndex().query(components("meter0"), new ChannelAddress("meter(", "ActivePower"));
+			fail();
+		} catch (OpenemsException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testLiteralPrefix() {
+		assertTrue(ChannelIndex.isLiteral("meter0"));
+		assertFalse(ChannelIndex.isLiteral("meter."));
+		assertEquals("meter", ChannelIndex.getLiteralPrefix("meter.*"));
+		assertEquals("meter", ChannelIndex.getLiteralPrefix("meterx?"));
+		assertEquals("meterx", ChannelIndex.getLiteralPrefix("meterx+"));
+		assertEquals("", ChannelIndex.getLiteralPrefix("meter0|ess0"));
+		assertEquals("", ChannelIndex.getLiteralPrefix("(?i)meter0"));
+	}
+
+	private static class DummyComponent extends AbstractOpenemsComponent implements OpenemsComponent {
+
+		private static enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			ACTIVE_POWER(Doc.of(OpenemsType.INTEGER)), //
+			REACTIVE_POWER(Doc.of(OpenemsType.INTEGER)); //
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		public DummyComponent(String id) {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					DummyComponent.ChannelId.values() //
+			);
+			super.activate(null, id, "", true);
+		}
+	}
+
+}
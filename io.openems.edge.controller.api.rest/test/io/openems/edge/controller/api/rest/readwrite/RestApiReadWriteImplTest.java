@@ -1,6 +1,8 @@
 package io.openems.edge.controller.api.rest.readwrite;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedReader;
@@ -85,6 +87,42 @@ public class RestApiReadWriteImplTest {
 				.addProperty("value", 1234) //
 				.build(), channelGet);
 
+		/*
+		 * /rest/channels
+		 */
+		// GET multiple Channels; duplicates are removed
+		var channelsGet = sendGetRequest(port, GUEST,
+				"/rest/channels?address=dummy0/ReadChannel&address=dummy.*/Read.*");
+		assertEquals(JsonUtils.buildJsonArray() //
+				.add(channelGet) //
+				.build(), channelsGet);
+
+		// POST is allowed as GUEST
+		var channelsPost = sendPostRequest(port, GUEST, "/rest/channels", JsonUtils.buildJsonObject() //
+				.add("addresses", JsonUtils.buildJsonArray() //
+						.add("dummy0/ReadChannel") //
+						.build()) //
+				.build());
+		assertEquals(channelsGet, channelsPost);
+
+		/*
+		 * ETag
+		 */
+		var con = sendGetRequestIfNoneMatch(port, GUEST, "/rest/channel/dummy0/ReadChannel", null);
+		assertEquals(HttpURLConnection.HTTP_OK, con.getResponseCode());
+		var etag = con.getHeaderField("ETag");
+		assertNotNull(etag);
+
+		// Same Cycle -> Not Modified
+		con = sendGetRequestIfNoneMatch(port, GUEST, "/rest/channel/dummy0/ReadChannel", etag);
+		assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, con.getResponseCode());
+
+		// Next Cycle -> new ETag
+		test.next(new TestCase());
+		con = sendGetRequestIfNoneMatch(port, GUEST, "/rest/channel/dummy0/ReadChannel", etag);
+		assertEquals(HttpURLConnection.HTTP_OK, con.getResponseCode());
+		assertNotEquals(etag, con.getHeaderField("ETag"));
+
 		// POST successful as OWNER
 		var channelPost = sendPostRequest(port, OWNER, "/rest/channel/dummy0/WriteChannel", JsonUtils.buildJsonObject() //
 				.addProperty("value", 4321) //
@@ -129,6 +167,21 @@ public class RestApiReadWriteImplTest {
 		return sendRequest(port, "GET", password, endpoint, null);
 	}
 
+	private static HttpURLConnection sendGetRequestIfNoneMatch(int port, String password, String endpoint,
+			String ifNoneMatch) throws IOException {
+		var url = new URL("http://127.0.0.1:" + port + endpoint);
+		var con = (HttpURLConnection) url.openConnection();
+		con.setRequestProperty("Authorization",
+				"Basic " + new String(Base64.getEncoder().encode(("x:" + password).getBytes())));
+		if (ifNoneMatch != null) {
+			con.setRequestProperty("If-None-Match", ifNoneMatch);
+		}
+		con.setRequestMethod("GET");
+		con.setConnectTimeout(5000);
+		con.setReadTimeout(50000);
+		return con;
+	}
+
 	private static JsonElement sendPostRequest(int port, String password, String endpoint, JsonObject request)
 			throws OpenemsNamedException {
 		return sendRequest(port, "POST", password, endpoint, request);
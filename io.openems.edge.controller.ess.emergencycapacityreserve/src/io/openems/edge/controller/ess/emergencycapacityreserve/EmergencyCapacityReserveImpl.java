@@ -15,7 +15,6 @@ import org.slf4j.LoggerFactory;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.edge.common.channel.IntegerReadChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -187,10 +186,9 @@ public class EmergencyCapacityReserveImpl extends AbstractOpenemsComponent
 	 */
 	private OptionalInt getLastValidSoc(IntegerReadChannel channel) {
 		// get first defined value
-		return channel.getPastValues().values() //
+		return channel.getPastValues().all() //
 				.stream() //
-				.filter(Value::isDefined) //
-				.mapToInt(Value::get) //
+				.mapToInt(Integer::intValue) //
 				.findFirst();
 	}
 
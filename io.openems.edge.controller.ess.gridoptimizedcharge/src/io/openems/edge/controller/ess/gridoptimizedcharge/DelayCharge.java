@@ -13,7 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.stream.DoubleStream;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
@@ -21,7 +21,6 @@ import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.StateChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.ess.power.api.Phase;
 import io.openems.edge.ess.power.api.Pwr;
@@ -305,10 +304,9 @@ public class DelayCharge {
 		var minimumPowerFactor = MINIMUM_POWER_FACTOR;
 
 		boolean delayChargeMinimumReached = this.parent.getDelayChargeStateChannel().getPastValues()
-				.tailMap(LocalDateTime.now(this.parent.componentManager.getClock()).with(ChronoField.MINUTE_OF_DAY, 5),
+				.since(LocalDateTime.now(this.parent.componentManager.getClock()).with(ChronoField.MINUTE_OF_DAY, 5),
 						true)
-				.values().stream().filter(Value::isDefined)
-				.filter(channel -> channel.asEnum() == DelayChargeState.ACTIVE_LIMIT).findAny().isPresent();
+				.doubleStream().anyMatch(value -> value == DelayChargeState.ACTIVE_LIMIT.getValue());
 
 		minimumPowerFactor = delayChargeMinimumReached ? minimumPowerFactor * 0.5F : minimumPowerFactor;
 		var minimumPower = Math.round(capacity * minimumPowerFactor);
@@ -354,13 +352,13 @@ public class DelayCharge {
 		this.parent._setRawDelayChargeLimit(calculatedPower);
 
 		var pastLimits = delayChargeLimitRawChannel.getPastValues()
-				.tailMap(LocalDateTime.now(this.parent.componentManager.getClock()).minusSeconds(900), true) //
-				.values().stream().filter(Value::isDefined).mapToInt(Value::get);
+				.since(LocalDateTime.now(this.parent.componentManager.getClock()).minusSeconds(900), true) //
+				.doubleStream();
 
-		var currentLimit = IntStream.of(calculatedPower);
+		var currentLimit = DoubleStream.of(calculatedPower);
 
 		// Concat the limit values of the last 900 seconds with the current limit
-		var limits = IntStream.concat(pastLimits, currentLimit); //
+		var limits = DoubleStream.concat(pastLimits, currentLimit); //
 
 		// Get the average of the past values including the current
 		var limitValueOpt = limits.average();
@@ -4,7 +4,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoField;
-import java.util.ArrayList;
 import java.util.OptionalDouble;
 
 import org.osgi.service.cm.ConfigurationAdmin;
@@ -25,7 +24,6 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.channel.IntegerReadChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.ComponentManagerProvider;
@@ -372,18 +370,15 @@ public class GridOptimizedChargeImpl extends AbstractOpenemsComponent
 
 		// Get the past channel values
 		var pastValues = channel.getPastValues()
-				.tailMap(LocalDateTime.now(this.componentManager.getClock()).minusSeconds(consideredSeconds), true)
-				.values();
+				.since(LocalDateTime.now(this.componentManager.getClock()).minusSeconds(consideredSeconds), true);
 
 		// Make sure we have at least one value
 		if (pastValues.isEmpty()) {
-			pastValues = new ArrayList<>();
-			pastValues.add(channel.value());
+			var value = channel.value();
+			return value.isDefined() ? OptionalDouble.of(value.get()) : OptionalDouble.empty();
 		}
 
-		return pastValues.stream().filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.average();
+		return pastValues.doubleStream().average();
 	}
 
 	/**
@@ -0,0 +1,490 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.gson.JsonElement;
+
+import io.github.meiskalt7.jsonlogic.JsonLogic;
+import io.github.meiskalt7.jsonlogic.JsonLogicException;
+import io.github.meiskalt7.jsonlogic.ast.JsonLogicArray;
+import io.github.meiskalt7.jsonlogic.ast.JsonLogicNode;
+import io.github.meiskalt7.jsonlogic.ast.JsonLogicNumber;
+import io.github.meiskalt7.jsonlogic.ast.JsonLogicOperation;
+import io.github.meiskalt7.jsonlogic.ast.JsonLogicParser;
+import io.github.meiskalt7.jsonlogic.ast.JsonLogicPrimitive;
+import io.github.meiskalt7.jsonlogic.ast.JsonLogicString;
+import io.github.meiskalt7.jsonlogic.ast.JsonLogicVariable;
+import io.github.meiskalt7.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.ConcatenateExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.EqualityExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.InExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.LogExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.MathExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.MergeExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.NotExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.NumericComparisonExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.StrictEqualityExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.SubstringExpression;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.component.ComponentManager;
+
+/**
+ * A JsonLogic rule that is parsed once and compiled to a tree of typed
+ * {@link Node}s.
+ *
+ * <p>
+ * Variables are bound to their {@link Channel}s by {@link #bind()}, so
+ * evaluating the rule requires neither parsing, nor a data map, nor a lookup
+ * of Channels. The operators are evaluated by the implementations of the
+ * JsonLogic library, i.e. the results are the same as with
+ * {@link JsonLogic#apply(String, Object)}.
+ *
+ * <p>
+ * Operators that access the data themselves (like 'map', 'filter', 'reduce',
+ * 'all', 'some', 'none' and 'missing') are not compiled; rules that use them
+ * are evaluated by {@link JsonLogic} - still with pre-bound Channels.
+ */
+public class CompiledRule {
+
+	private static final Map<String, PreEvaluatedArgumentsExpression> OPERATIONS = new HashMap<>();
+
+	static {
+		for (var expression : new PreEvaluatedArgumentsExpression[] { //
+				MathExpression.ADD, MathExpression.SUBTRACT, MathExpression.MULTIPLY, MathExpression.DIVIDE,
+				MathExpression.MODULO, MathExpression.MIN, MathExpression.MAX, //
+				NumericComparisonExpression.GT, NumericComparisonExpression.GTE, NumericComparisonExpression.LT,
+				NumericComparisonExpression.LTE, //
+				EqualityExpression.INSTANCE, StrictEqualityExpression.INSTANCE, //
+				NotExpression.SINGLE, NotExpression.DOUBLE, //
+				LogExpression.STDOUT, MergeExpression.INSTANCE, InExpression.INSTANCE, ConcatenateExpression.INSTANCE,
+				SubstringExpression.INSTANCE //
+		}) {
+			OPERATIONS.put(expression.key(), expression);
+		}
+	}
+
+	/**
+	 * A node of the compiled expression tree.
+	 */
+	private static interface Node {
+		Object evaluate() throws JsonLogicEvaluationException;
+	}
+
+	private static class Constant implements Node {
+		private final Object value;
+
+		private Constant(Object value) {
+			this.value = value;
+		}
+
+		@Override
+		public Object evaluate() {
+			return this.value;
+		}
+	}
+
+	private static class ArrayNode implements Node {
+		private final Node[] elements;
+
+		private ArrayNode(Node[] elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			return evaluateAll(this.elements);
+		}
+	}
+
+	private static class Variable implements Node {
+		private final Binding binding;
+		private final Node defaultValue;
+
+		private Variable(Binding binding, Node defaultValue) {
+			this.binding = binding;
+			this.defaultValue = defaultValue;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			var value = this.binding.get();
+			if (value == null) {
+				return this.defaultValue.evaluate();
+			}
+			return value;
+		}
+	}
+
+	private static class If implements Node {
+		private final Node[] arguments;
+
+		private If(Node[] arguments) {
+			this.arguments = arguments;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			var args = this.arguments;
+			if (args.length == 0) {
+				return null;
+			}
+			if (args.length == 1) {
+				return args[0].evaluate();
+			}
+			var i = 0;
+			for (; i < args.length - 1; i += 2) {
+				if (JsonLogic.truthy(args[i].evaluate())) {
+					return args[i + 1].evaluate();
+				}
+			}
+			// 'else' branch
+			return i < args.length ? args[i].evaluate() : null;
+		}
+	}
+
+	private static class Logic implements Node {
+		private final boolean isAnd;
+		private final Node[] arguments;
+
+		private Logic(boolean isAnd, Node[] arguments) {
+			this.isAnd = isAnd;
+			this.arguments = arguments;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			Object result = null;
+			for (var argument : this.arguments) {
+				result = argument.evaluate();
+				if (JsonLogic.truthy(result) != this.isAnd) {
+					return result;
+				}
+			}
+			return result;
+		}
+	}
+
+	private static class Operation implements Node {
+		private final PreEvaluatedArgumentsExpression expression;
+		private final boolean negate;
+		private final Node[] arguments;
+
+		private Operation(PreEvaluatedArgumentsExpression expression, boolean negate, Node[] arguments) {
+			this.expression = expression;
+			this.negate = negate;
+			this.arguments = arguments;
+		}
+
+		@Override
+		public Object evaluate() throws JsonLogicEvaluationException {
+			var result = this.expression.evaluate(evaluateAll(this.arguments), null);
+			if (this.negate) {
+				return !(Boolean) result;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Holds the {@link Channel} for a 'var'.
+	 */
+	private static class Binding {
+		private final ChannelAddress address;
+		private Channel<?> channel = null;
+
+		private Binding(ChannelAddress address) {
+			this.address = address;
+		}
+
+		private Object get() {
+			var value = this.channel.value().get();
+			if (value instanceof Integer) {
+				// like JsonLogicEvaluator
+				return ((Integer) value).doubleValue();
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Compiles a JsonLogic rule.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 * @param rule             the rule as JSON string
+	 * @return the {@link CompiledRule}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static CompiledRule compile(ComponentManager componentManager, String rule) throws OpenemsNamedException {
+		var result = new CompiledRule(componentManager, rule);
+		result.recursivelyParseVars(JsonUtils.parse(rule));
+		JsonLogicNode node;
+		try {
+			node = JsonLogicParser.parse(rule);
+		} catch (JsonLogicException e) {
+			throw new OpenemsException("JsonLogicException: " + e.getMessage());
+		}
+		result.root = result.compile(node);
+		return result;
+	}
+
+	private final ComponentManager componentManager;
+	private final String rule;
+	private final Map<String, Binding> bindings = new LinkedHashMap<>();
+	private final Map<String, WriteChannel<?>> writeChannels = new HashMap<>();
+	private final Map<String, Object> data = new HashMap<>();
+
+	/**
+	 * The root of the expression tree; null if the rule can not be compiled.
+	 */
+	private Node root = null;
+	private JsonLogic jsonLogic = null;
+
+	private volatile boolean isBound = false;
+
+	private CompiledRule(ComponentManager componentManager, String rule) {
+		this.componentManager = componentManager;
+		this.rule = rule;
+	}
+
+	/**
+	 * Parse the JsonLogic rule and try to find "var" entries and Set-Channel
+	 * requests.
+	 *
+	 * @param json the JsonLogic rule
+	 * @throws OpenemsNamedException on error
+	 */
+	private void recursivelyParseVars(JsonElement json) throws OpenemsNamedException {
+		if (json.isJsonObject()) {
+			// Found a JsonObject
+			for (Entry<String, JsonElement> entry : json.getAsJsonObject().entrySet()) {
+				// Is there any key "var"
+				if (entry.getKey().equals("var") && entry.getValue().isJsonPrimitive()) {
+					var var = entry.getValue().getAsJsonPrimitive();
+					if (var.isString()) {
+						// Parse as ChannelAddress and add to list
+						var address = ChannelAddress.fromString(var.getAsString());
+						this.bindings.put(var.getAsString(), new Binding(address));
+					}
+				}
+				// Recursive call
+				this.recursivelyParseVars(entry.getValue());
+			}
+		} else if (json.isJsonArray()) {
+			// Found a JsonArray
+			var array = json.getAsJsonArray();
+			if (array.size() == 2 && array.get(0).isJsonPrimitive() && array.get(0).getAsJsonPrimitive().isString()
+					&& array.get(0).getAsString().contains("/")) {
+				// Possibly a Set-Channel request
+				this.writeChannels.put(array.get(0).getAsString(), null);
+			}
+			for (JsonElement entry : array) {
+				// Recursive call
+				this.recursivelyParseVars(entry);
+			}
+		}
+	}
+
+	/**
+	 * Compiles a node of the JsonLogic syntax tree.
+	 *
+	 * @param node the {@link JsonLogicNode}
+	 * @return the {@link Node}; or null if the node is not supported
+	 */
+	private Node compile(JsonLogicNode node) {
+		switch (node.getType()) {
+		case PRIMITIVE:
+			if (node instanceof JsonLogicNumber) {
+				// like JsonLogicEvaluator
+				return new Constant(((JsonLogicNumber) node).getValue().doubleValue());
+			}
+			return new Constant(((JsonLogicPrimitive<?>) node).getValue());
+
+		case VARIABLE: {
+			var variable = (JsonLogicVariable) node;
+			if (!(variable.getKey() instanceof JsonLogicString)) {
+				return null;
+			}
+			var defaultValue = this.compile(variable.getDefaultValue());
+			if (defaultValue == null) {
+				return null;
+			}
+			var binding = this.bindings.get(((JsonLogicString) variable.getKey()).getValue());
+			if (binding == null) {
+				return defaultValue;
+			}
+			return new Variable(binding, defaultValue);
+		}
+
+		case ARRAY: {
+			var elements = this.compileAll((JsonLogicArray) node);
+			if (elements == null) {
+				return null;
+			}
+			for (var element : elements) {
+				if (!(element instanceof Constant)) {
+					return new ArrayNode(elements);
+				}
+			}
+			// Constant array, e.g. a Set-Channel request
+			var values = new ArrayList<Object>(elements.length);
+			for (var element : elements) {
+				values.add(((Constant) element).value);
+			}
+			return new Constant(Collections.unmodifiableList(values));
+		}
+
+		case OPERATION: {
+			var operation = (JsonLogicOperation) node;
+			var arguments = this.compileAll(operation.getArguments());
+			if (arguments == null) {
+				return null;
+			}
+			switch (operation.getOperator()) {
+			case "if":
+			case "?:":
+				return new If(arguments);
+			case "and":
+				return arguments.length == 0 ? null : new Logic(true, arguments);
+			case "or":
+				return arguments.length == 0 ? null : new Logic(false, arguments);
+			case "!=":
+				return new Operation(EqualityExpression.INSTANCE, true, arguments);
+			case "!==":
+				return new Operation(StrictEqualityExpression.INSTANCE, true, arguments);
+			default:
+				var expression = OPERATIONS.get(operation.getOperator());
+				if (expression == null) {
+					return null;
+				}
+				return new Operation(expression, false, arguments);
+			}
+		}
+		}
+		return null;
+	}
+
+	private Node[] compileAll(JsonLogicArray array) {
+		var result = new Node[array.size()];
+		for (var i = 0; i < result.length; i++) {
+			result[i] = this.compile(array.get(i));
+			if (result[i] == null) {
+				return null;
+			}
+		}
+		return result;
+	}
+
+	private static List<Object> evaluateAll(Node[] nodes) throws JsonLogicEvaluationException {
+		var result = new ArrayList<Object>(nodes.length);
+		for (var node : nodes) {
+			result.add(node.evaluate());
+		}
+		return result;
+	}
+
+	/**
+	 * Is the rule compiled to an expression tree?.
+	 *
+	 * @return false if the rule is evaluated by {@link JsonLogic}
+	 */
+	public boolean isCompiled() {
+		return this.root != null;
+	}
+
+	/**
+	 * Marks the Channel bindings as outdated, e.g. because a Component was added
+	 * or removed. They are renewed on the next call of {@link #apply()}.
+	 */
+	public void invalidate() {
+		this.isBound = false;
+	}
+
+	/**
+	 * Binds all 'var' entries and Set-Channel requests to their {@link Channel}s.
+	 *
+	 * @throws OpenemsNamedException if a Channel of a 'var' does not exist
+	 */
+	private void bind() throws OpenemsNamedException {
+		// Set before binding, so that an invalidation during binding is not lost
+		this.isBound = true;
+		try {
+			for (var binding : this.bindings.values()) {
+				binding.channel = this.componentManager.getChannel(binding.address);
+			}
+		} catch (OpenemsNamedException | RuntimeException e) {
+			this.isBound = false;
+			throw e;
+		}
+		for (var entry : this.writeChannels.entrySet()) {
+			// A Set-Channel request is only validated when it is applied
+			WriteChannel<?> channel = null;
+			try {
+				var c = this.componentManager.getChannel(ChannelAddress.fromString(entry.getKey()));
+				if (c instanceof WriteChannel<?>) {
+					channel = (WriteChannel<?>) c;
+				}
+			} catch (OpenemsNamedException | RuntimeException e) {
+				// ignore
+			}
+			entry.setValue(channel);
+		}
+	}
+
+	/**
+	 * Evaluates the rule with the current values of the Channels.
+	 *
+	 * @return the result of the rule
+	 * @throws OpenemsNamedException on error
+	 */
+	public Object apply() throws OpenemsNamedException {
+		if (!this.isBound) {
+			this.bind();
+		}
+		try {
+			if (this.root != null) {
+				return this.root.evaluate();
+			}
+
+			// Fallback
+			if (this.jsonLogic == null) {
+				this.jsonLogic = new JsonLogic();
+			}
+			for (var entry : this.bindings.entrySet()) {
+				this.data.put(entry.getKey(), entry.getValue().channel.value().get());
+			}
+			return this.jsonLogic.apply(this.rule, this.data);
+
+		} catch (JsonLogicException e) {
+			throw new OpenemsException("JsonLogicException: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Gets the {@link WriteChannel} of a Set-Channel request.
+	 *
+	 * @param channelAddress the Channel-Address as String
+	 * @return the {@link WriteChannel}
+	 * @throws OpenemsNamedException on error
+	 */
+	public WriteChannel<?> getWriteChannel(String channelAddress) throws OpenemsNamedException {
+		var channel = this.writeChannels.get(channelAddress);
+		if (channel != null) {
+			return channel;
+		}
+		// Not bound, e.g. because the Channel-Address is the result of an operation
+		return this.componentManager.getChannel(ChannelAddress.fromString(channelAddress));
+	}
+
+}
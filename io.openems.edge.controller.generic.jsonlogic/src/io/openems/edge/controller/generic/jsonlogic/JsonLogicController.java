@@ -1,10 +1,6 @@
 package io.openems.edge.controller.generic.jsonlogic;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -12,16 +8,13 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.osgi.service.metatype.annotations.Designate;
 
-import com.google.gson.JsonElement;
-
-import io.github.meiskalt7.jsonlogic.JsonLogic;
-import io.github.meiskalt7.jsonlogic.JsonLogicException;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
-import io.openems.common.types.ChannelAddress;
-import io.openems.common.utils.JsonUtils;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
@@ -37,10 +30,7 @@ import io.openems.edge.controller.api.Controller;
 )
 public class JsonLogicController extends AbstractOpenemsComponent implements Controller, OpenemsComponent {
 
-	private final JsonLogic jsonLogic = new JsonLogic();
-	private final List<ChannelAddress> channelAddresses = new ArrayList<>();
-
-	private Config config = null;
+	private volatile CompiledRule rule = null;
 
 	@Reference
 	private ComponentManager componentManager;
@@ -71,9 +61,7 @@ public class JsonLogicController extends AbstractOpenemsComponent implements Con
 	@Activate
 	protected void activate(ComponentContext context, Config config) throws OpenemsNamedException {
 		super.activate(context, config.id(), config.alias(), config.enabled());
-		this.config = config;
-
-		this.recursivelyParseVars(JsonUtils.parse(config.rule()));
+		this.rule = CompiledRule.compile(this.componentManager, config.rule());
 	}
 
 	@Override
@@ -83,50 +71,36 @@ public class JsonLogicController extends AbstractOpenemsComponent implements Con
 	}
 
 	/**
-	 * Parse the JsonLogic rule and try to find "var" entries.
+	 * Invalidates the Channel bindings of the rule on any change of enabled
+	 * Components.
 	 *
-	 * @param json the JsonLogic rule
-	 * @throws OpenemsNamedException on error
+	 * @param component the added {@link OpenemsComponent}
 	 */
-	private void recursivelyParseVars(JsonElement json) throws OpenemsNamedException {
-		if (json.isJsonObject()) {
-			// Found a JsonObject
-			for (Entry<String, JsonElement> entry : json.getAsJsonObject().entrySet()) {
-				// Is there any key "var"
-				if (entry.getKey().equals("var") && entry.getValue().isJsonPrimitive()) {
-					var var = entry.getValue().getAsJsonPrimitive();
-					if (var.isString()) {
-						// Parse as ChannelAddress and add to list
-						this.channelAddresses.add(ChannelAddress.fromString(var.getAsString()));
-					}
-				}
-				// Recursive call
-				this.recursivelyParseVars(entry.getValue());
-			}
-		} else if (json.isJsonArray()) {
-			// Found a JsonArray
-			for (JsonElement entry : json.getAsJsonArray()) {
-				// Recursive call
-				this.recursivelyParseVars(entry);
-			}
+	@Reference(policy = ReferencePolicy.DYNAMIC, //
+			policyOption = ReferencePolicyOption.GREEDY, //
+			cardinality = ReferenceCardinality.MULTIPLE, //
+			target = "(enabled=true)")
+	protected void addComponent(OpenemsComponent component) {
+		this.invalidateRule();
+	}
+
+	protected void removeComponent(OpenemsComponent component) {
+		this.invalidateRule();
+	}
+
+	private void invalidateRule() {
+		var rule = this.rule;
+		if (rule != null) {
+			rule.invalidate();
 		}
 	}
 
 	@Override
 	public void run() throws OpenemsNamedException {
-		// Read JsonLogic data from Channels
-		Map<String, Object> data = new HashMap<>();
-		for (ChannelAddress channelAddress : this.channelAddresses) {
-			Object value = this.componentManager.getChannel(channelAddress).value().get();
-			data.put(channelAddress.toString(), value);
-		}
-
 		// Apply JsonLogic rule
 		List<?> result;
 		try {
-			result = (List<?>) this.jsonLogic.apply(this.config.rule(), data);
-		} catch (JsonLogicException e) {
-			throw new OpenemsException("JsonLogicException: " + e.getMessage());
+			result = (List<?>) this.rule.apply();
 		} catch (ClassCastException e) {
 			throw new OpenemsException("Result is not a JsonArray: " + e.getMessage());
 		}
@@ -134,8 +108,7 @@ public class JsonLogicController extends AbstractOpenemsComponent implements Con
 		// Get Set-Channel requests
 		for (Object entry : result) {
 			List<?> request = (List<?>) entry;
-			var channelAddress = ChannelAddress.fromString((String) request.get(0));
-			WriteChannel<?> channel = this.componentManager.getChannel(channelAddress);
+			WriteChannel<?> channel = this.rule.getWriteChannel((String) request.get(0));
 			Object value = request.get(1);
 			channel.setNextWriteValueFromObject(value);
 		}
@@ -0,0 +1,174 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import io.github.meiskalt7.jsonlogic.JsonLogic;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+public class CompiledRuleTest {
+
+	private static final String ESS_ID = "ess0";
+	private static final String SOC = "{\"var\": \"_sum/EssSoc\"}";
+	private static final String GRID = "{\"var\": \"_sum/GridActivePower\"}";
+
+	private static final String[] RULES = { //
+			"{\"<\": [" + SOC + ", 50]}", //
+			"{\"<=\": [10, " + SOC + ", 50]}", //
+			"{\">=\": [" + SOC + ", \"40\"]}", //
+			"{\"+\": [" + SOC + ", " + GRID + "]}", //
+			"{\"-\": [" + GRID + "]}", //
+			"{\"/\": [" + GRID + ", 3]}", //
+			"{\"max\": [" + SOC + ", " + GRID + ", 7]}", //
+			"{\"==\": [" + SOC + ", \"40\"]}", //
+			"{\"!=\": [" + SOC + ", 40]}", //
+			"{\"===\": [" + SOC + ", 40]}", //
+			"{\"!==\": [" + SOC + ", 40]}", //
+			"{\"and\": [" + SOC + ", " + GRID + "]}", //
+			"{\"or\": [" + SOC + ", " + GRID + "]}", //
+			"{\"!\": [" + SOC + "]}", //
+			"{\"!!\": [" + SOC + "]}", //
+			"{\"cat\": [\"SoC: \", " + SOC + "]}", //
+			"{\"in\": [" + SOC + ", [10, 40, 60]]}", //
+			"{\"merge\": [[" + SOC + "], [1, 2]]}", //
+			"{\"?:\": [" + SOC + ", \"a\", \"b\"]}", //
+			"{\"var\": [\"_sum/EssSoc\", 99]}", //
+			"{\"var\": [\"_sum/Unknown\", 99]}", //
+			"{\"if\": [{\"<\": [" + SOC + ", 30]}, [[\"ess0/SetActivePowerEquals\", 1]], " //
+					+ "{\"<\": [" + SOC + ", 50]}, [[\"ess0/SetActivePowerEquals\", " + GRID + "]], " //
+					+ "[]]}", //
+			"{\"if\": [{\"<\": [" + SOC + ", 30]}, [[\"ess0/SetActivePowerEquals\", 1]]]}", //
+			"{\"some\": [[1, 2], {\"<\": [" + SOC + ", 50]}]}", //
+			"{\"missing\": [\"_sum/EssSoc\"]}", //
+	};
+
+	private static class Setup {
+		private final DummySum sum = new DummySum();
+		private final DummyManagedSymmetricEss ess = new DummyManagedSymmetricEss(ESS_ID);
+		private final DummyComponentManager componentManager = new DummyComponentManager() //
+				.addComponent(this.sum) //
+				.addComponent(this.ess);
+
+		private void set(Integer soc, Integer grid) {
+			this.sum._setEssSoc(soc);
+			this.sum.getEssSocChannel().nextProcessImage();
+			this.sum._setGridActivePower(grid);
+			this.sum.getGridActivePowerChannel().nextProcessImage();
+		}
+
+		/**
+		 * Evaluates like the previous implementation of the Controller.
+		 */
+		private Object applyJsonLogic(JsonLogic jsonLogic, String rule, List<ChannelAddress> channelAddresses)
+				throws Exception {
+			Map<String, Object> data = new HashMap<>();
+			for (ChannelAddress channelAddress : channelAddresses) {
+				Object value = this.componentManager.getChannel(channelAddress).value().get();
+				data.put(channelAddress.toString(), value);
+			}
+			return jsonLogic.apply(rule, data);
+		}
+	}
+
+	private static final List<ChannelAddress> CHANNELS = List.of(
+			new ChannelAddress(Sum.SINGLETON_COMPONENT_ID, Sum.ChannelId.ESS_SOC.id()),
+			new ChannelAddress(Sum.SINGLETON_COMPONENT_ID, Sum.ChannelId.GRID_ACTIVE_POWER.id()));
+
+	private static Object resultOrException(Callable<Object> callable) {
+		try {
+			return callable.call();
+		} catch (Exception e) {
+			// JsonLogicException is wrapped in OpenemsException by CompiledRule
+			return e instanceof RuntimeException ? e.getClass() : Exception.class;
+		}
+	}
+
+	@Test
+	public void testSameResultAsJsonLogic() throws Exception {
+		var setup = new Setup();
+		var jsonLogic = new JsonLogic();
+		for (var rule : RULES) {
+			var sut = CompiledRule.compile(setup.componentManager, rule);
+			assertEquals(rule, !rule.contains("some") && !rule.contains("missing"), sut.isCompiled());
+
+			// Data for 'var' entries with a plain Channel-Address
+			var channels = new ArrayList<ChannelAddress>();
+			for (var channel : CHANNELS) {
+				if (rule.contains("{\"var\": \"" + channel + "\"}")) {
+					channels.add(channel);
+				}
+			}
+
+			for (var values : new Integer[][] { { 40, 1000 }, { 20, -500 }, { 0, 0 }, { null, 1000 },
+					{ null, null } }) {
+				setup.set(values[0], values[1]);
+				var expected = resultOrException(() -> setup.applyJsonLogic(jsonLogic, rule, channels));
+				var actual = resultOrException(() -> sut.apply());
+				assertEquals(rule + " " + values[0] + "/" + values[1], expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testWriteChannel() throws OpenemsNamedException {
+		var setup = new Setup();
+		var sut = CompiledRule.compile(setup.componentManager, RULES[21]);
+		setup.set(20, 1000);
+		assertEquals(List.of(List.of("ess0/SetActivePowerEquals", 1.)), sut.apply());
+		assertSame(setup.ess.getSetActivePowerEqualsChannel(), sut.getWriteChannel("ess0/SetActivePowerEquals"));
+	}
+
+	@Test
+	public void testRebind() throws OpenemsNamedException {
+		var sum = new DummySum();
+		var componentManager = new DummyComponentManager();
+		var sut = CompiledRule.compile(componentManager, RULES[0]);
+
+		// Component is missing
+		try {
+			sut.apply();
+			fail();
+		} catch (OpenemsNamedException e) {
+			// expected
+		}
+
+		// Binding is retried
+		componentManager.addComponent(sum);
+		sum._setEssSoc(40);
+		sum.getEssSocChannel().nextProcessImage();
+		assertEquals(true, sut.apply());
+
+		sut.invalidate();
+		assertEquals(true, sut.apply());
+	}
+
+	@Test
+	public void testUnsupportedOperation() throws OpenemsNamedException {
+		var setup = new Setup();
+		var sut = CompiledRule.compile(setup.componentManager, "{\"foo\": [1]}");
+		assertFalse(sut.isCompiled());
+		try {
+			sut.apply();
+			fail();
+		} catch (OpenemsNamedException e) {
+			assertTrue(e.getMessage().contains("foo"));
+		}
+	}
+
+}
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.OptionalDouble;
 import java.util.Set;
 
 import org.osgi.service.component.ComponentContext;
@@ -23,7 +24,6 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.WriteChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -148,19 +148,18 @@ public class ChannelSingleThresholdImpl extends AbstractOpenemsComponent
 
 		// Get average input value of the last 'minimumSwitchingTime' seconds
 		IntegerReadChannel inputChannel = this.componentManager.getChannel(inputChannelAddress);
-		var values = inputChannel.getPastValues().tailMap(
+		var values = inputChannel.getPastValues().since(
 				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(this.config.minimumSwitchingTime()),
-				true).values();
+				true);
 
-		// make sure we have at least one value
+		final OptionalDouble inputValueOpt;
 		if (values.isEmpty()) {
-			values = new ArrayList<>();
-			values.add(inputChannel.value());
+			// make sure we have at least one value
+			var value = inputChannel.value();
+			inputValueOpt = value.isDefined() ? OptionalDouble.of(value.get()) : OptionalDouble.empty();
+		} else {
+			inputValueOpt = values.doubleStream().average();
 		}
-
-		var inputValueOpt = values.stream().filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.average();
 		int inputValue;
 		if (inputValueOpt.isPresent()) {
 			inputValue = (int) Math.round(inputValueOpt.getAsDouble());
@@ -68,6 +68,7 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	private final List<ComponentManagerWorker> workers = new ArrayList<>();
 	private final EdgeConfigWorker edgeConfigWorker;
+	private final ComponentRegistry registry = new ComponentRegistry();
 
 	protected BundleContext bundleContext;
 
@@ -101,6 +102,13 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	void activate(ComponentContext componentContext, BundleContext bundleContext) throws OpenemsException {
 		super.activate(componentContext, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.bundleContext = bundleContext;
+		if (bundleContext != null) {
+			try {
+				this.registry.activate(bundleContext);
+			} catch (InvalidSyntaxException e) {
+				throw new OpenemsException("Unable to activate Component-Registry: " + e.getMessage());
+			}
+		}
 
 		if (OpenemsComponent.validateSingleton(this.cm, SINGLETON_SERVICE_PID, SINGLETON_COMPONENT_ID)) {
 			return;
@@ -115,6 +123,7 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		this.registry.deactivate();
 
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.deactivate();
@@ -123,16 +132,25 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	@Override
 	public List<OpenemsComponent> getEnabledComponents() {
+		if (this.registry.isActive()) {
+			return this.registry.getEnabledComponents();
+		}
 		return this.getComponentsViaService("(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))");
 	}
 
 	@Override
 	public <T extends OpenemsComponent> List<T> getEnabledComponentsOfType(Class<T> clazz) {
+		if (this.registry.isActive()) {
+			return this.registry.getEnabledComponentsOfType(clazz);
+		}
 		return this.getComponentsViaService(clazz, "(enabled=true)");
 	}
 
 	@Override
 	public List<OpenemsComponent> getAllComponents() {
+		if (this.registry.isActive()) {
+			return this.registry.getAllComponents();
+		}
 		return this.getComponentsViaService("(!(service.factoryPid=" + ComponentManager.SINGLETON_SERVICE_PID + "))");
 	}
 
@@ -220,6 +238,9 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	 */
 	@SuppressWarnings("unchecked")
 	private <T extends OpenemsComponent> T getComponentViaService(String componentId, boolean hasToBeEnabled) {
+		if (this.registry.isActive()) {
+			return (T) this.registry.getComponent(componentId, hasToBeEnabled);
+		}
 		var filter = "(id=" + componentId + ")";
 		if (hasToBeEnabled) {
 			filter = "(&(enabled=true)" + filter + ")";
@@ -0,0 +1,359 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Event-driven registry of all {@link OpenemsComponent} services.
+ *
+ * <p>
+ * The registry listens to OSGi {@link ServiceEvent}s and publishes an
+ * immutable {@link Snapshot} on every change (copy-on-write). Lookups by
+ * Component-ID and by type are then simple map lookups without evaluating LDAP
+ * filters against the OSGi service registry.
+ *
+ * <p>
+ * Only services that are registered as {@link OpenemsComponent} are known to
+ * the registry; service objects are fetched on first access and released when
+ * the service is unregistered. Service objects are fetched without holding the
+ * registry monitor, because
+ * {@link BundleContext#getService(ServiceReference)} may activate the
+ * Component and thereby fire further {@link ServiceEvent}s.
+ */
+public class ComponentRegistry implements ServiceListener {
+
+	private static final String FILTER = "(" + Constants.OBJECTCLASS + "=" + OpenemsComponent.class.getName() + ")";
+
+	/**
+	 * Holds the service object of one registered service; shared by all
+	 * {@link Entry}s of the same 'service.id'.
+	 */
+	private static class Service {
+		private final ServiceReference<OpenemsComponent> reference;
+		private final AtomicReference<OpenemsComponent> component = new AtomicReference<>();
+		private volatile boolean isReleased = false;
+
+		private Service(ServiceReference<OpenemsComponent> reference) {
+			this.reference = reference;
+		}
+
+		/**
+		 * Gets the service object; gets it from the OSGi service registry on first
+		 * access. Must not be called while holding the registry monitor.
+		 *
+		 * @param bundleContext the {@link BundleContext}; possibly null
+		 * @return the {@link OpenemsComponent}; null if it is not available anymore
+		 */
+		private OpenemsComponent get(BundleContext bundleContext) {
+			var component = this.component.get();
+			if (component != null || this.isReleased || bundleContext == null) {
+				return component;
+			}
+			component = bundleContext.getService(this.reference);
+			if (component == null) {
+				return null;
+			}
+			if (!this.component.compareAndSet(null, component)) {
+				// another thread was faster or the service was released meanwhile
+				bundleContext.ungetService(this.reference);
+				return this.component.get();
+			}
+			if (this.isReleased && this.component.compareAndSet(component, null)) {
+				// released while fetching the service object
+				bundleContext.ungetService(this.reference);
+				return null;
+			}
+			return component;
+		}
+
+		/**
+		 * Releases the service object, if it was fetched.
+		 *
+		 * @param bundleContext the {@link BundleContext}
+		 */
+		private void release(BundleContext bundleContext) {
+			this.isReleased = true;
+			if (this.component.getAndSet(null) != null) {
+				bundleContext.ungetService(this.reference);
+			}
+		}
+	}
+
+	private static class Entry {
+		private final Service service;
+		private final String id;
+		private final boolean isEnabled;
+		private final boolean isComponentManager;
+		private final String[] objectClasses;
+
+		private Entry(Service service) {
+			this.service = service;
+			var reference = service.reference;
+			var id = reference.getProperty("id");
+			this.id = id == null ? null : id.toString();
+			this.isEnabled = isTrue(reference.getProperty("enabled"));
+			this.isComponentManager = ComponentManager.SINGLETON_SERVICE_PID
+					.equals(reference.getProperty("service.factoryPid"));
+			var objectClasses = reference.getProperty(Constants.OBJECTCLASS);
+			this.objectClasses = objectClasses instanceof String[] ? (String[]) objectClasses : new String[0];
+		}
+
+		private boolean isRegisteredAs(Class<?> clazz) {
+			for (var objectClass : this.objectClasses) {
+				if (objectClass.equals(clazz.getName())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static boolean isTrue(Object value) {
+			if (value instanceof Boolean) {
+				return (Boolean) value;
+			}
+			if (value instanceof String) {
+				return Boolean.parseBoolean(((String) value).trim());
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Immutable point-in-time view of the registry.
+	 */
+	private static class Snapshot {
+		private final List<Entry> entries;
+		private final List<Entry> all;
+		private final List<Entry> enabled;
+		private final Map<String, Entry> allById;
+		private final Map<String, Entry> enabledById;
+
+		/**
+		 * Enabled Components by type; built lazily on first request.
+		 */
+		private final Map<Class<?>, List<Entry>> enabledByType = new ConcurrentHashMap<>();
+
+		private Snapshot(List<Entry> entries) {
+			this.entries = entries;
+			var all = new ArrayList<Entry>(entries.size());
+			var enabled = new ArrayList<Entry>(entries.size());
+			var allById = new HashMap<String, Entry>();
+			var enabledById = new HashMap<String, Entry>();
+			for (var entry : entries) {
+				if (entry.id != null) {
+					if (entry.isEnabled) {
+						// prefer the enabled Component if Component-ID is not unique
+						enabledById.putIfAbsent(entry.id, entry);
+						allById.put(entry.id, enabledById.get(entry.id));
+					} else {
+						allById.putIfAbsent(entry.id, entry);
+					}
+				}
+				if (entry.isComponentManager) {
+					continue;
+				}
+				all.add(entry);
+				if (entry.isEnabled) {
+					enabled.add(entry);
+				}
+			}
+			this.all = all;
+			this.enabled = enabled;
+			this.allById = allById;
+			this.enabledById = enabledById;
+		}
+
+		private List<Entry> getEnabledOfType(Class<?> clazz) {
+			return this.enabledByType.computeIfAbsent(clazz, c -> {
+				var result = new ArrayList<Entry>();
+				// the ComponentManager is not excluded from typed lookups
+				for (var entry : this.entries) {
+					if (entry.isEnabled && entry.isRegisteredAs(c)) {
+						result.add(entry);
+					}
+				}
+				return result;
+			});
+		}
+	}
+
+	private static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+	/**
+	 * All registered services by 'service.id'. Guarded by 'this'.
+	 */
+	private final TreeMap<Long, Entry> entries = new TreeMap<>();
+
+	private volatile BundleContext bundleContext = null;
+	private volatile Snapshot snapshot = EMPTY;
+
+	/**
+	 * Starts listening to service events and reads the currently registered
+	 * services.
+	 *
+	 * @param bundleContext the {@link BundleContext}
+	 * @throws InvalidSyntaxException on filter error
+	 */
+	public synchronized void activate(BundleContext bundleContext) throws InvalidSyntaxException {
+		this.bundleContext = bundleContext;
+		bundleContext.addServiceListener(this, FILTER);
+		for (var reference : bundleContext.getServiceReferences(OpenemsComponent.class, null)) {
+			this.add(reference);
+		}
+		this.publish();
+	}
+
+	/**
+	 * Stops listening to service events and releases all services.
+	 */
+	public synchronized void deactivate() {
+		var bundleContext = this.bundleContext;
+		if (bundleContext == null) {
+			return;
+		}
+		bundleContext.removeServiceListener(this);
+		for (var entry : this.entries.values()) {
+			entry.service.release(bundleContext);
+		}
+		this.entries.clear();
+		this.snapshot = EMPTY;
+		this.bundleContext = null;
+	}
+
+	/**
+	 * Is the registry active?.
+	 *
+	 * @return true if {@link #activate(BundleContext)} was called
+	 */
+	public boolean isActive() {
+		return this.bundleContext != null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized void serviceChanged(ServiceEvent event) {
+		if (this.bundleContext == null) {
+			return;
+		}
+		var reference = (ServiceReference<OpenemsComponent>) event.getServiceReference();
+		switch (event.getType()) {
+		case ServiceEvent.REGISTERED:
+		case ServiceEvent.MODIFIED:
+			this.add(reference);
+			break;
+		case ServiceEvent.UNREGISTERING:
+		case ServiceEvent.MODIFIED_ENDMATCH:
+			this.remove(reference);
+			break;
+		}
+		this.publish();
+	}
+
+	private void add(ServiceReference<OpenemsComponent> reference) {
+		var serviceId = getServiceId(reference);
+		var previous = this.entries.get(serviceId);
+		// properties were modified; keep the service object
+		var service = previous != null ? previous.service : new Service(reference);
+		this.entries.put(serviceId, new Entry(service));
+	}
+
+	private void remove(ServiceReference<OpenemsComponent> reference) {
+		var entry = this.entries.remove(getServiceId(reference));
+		if (entry != null) {
+			entry.service.release(this.bundleContext);
+		}
+	}
+
+	private void publish() {
+		this.snapshot = new Snapshot(new ArrayList<>(this.entries.values()));
+	}
+
+	private static Long getServiceId(ServiceReference<?> reference) {
+		return (Long) reference.getProperty(Constants.SERVICE_ID);
+	}
+
+	/**
+	 * Gets the service object of an {@link Entry}; gets it from the OSGi service
+	 * registry on first access.
+	 *
+	 * @param entry the {@link Entry}
+	 * @return the {@link OpenemsComponent}; null if it is not available anymore
+	 */
+	private OpenemsComponent getComponent(Entry entry) {
+		return entry.service.get(this.bundleContext);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> List<T> getComponents(List<Entry> entries) {
+		var result = new ArrayList<T>(entries.size());
+		for (var entry : entries) {
+			var component = this.getComponent(entry);
+			if (component != null) {
+				result.add((T) component);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets all enabled Components, excluding the ComponentManager.
+	 *
+	 * @return a new list of Components
+	 */
+	public List<OpenemsComponent> getEnabledComponents() {
+		return this.getComponents(this.snapshot.enabled);
+	}
+
+	/**
+	 * Gets all Components, excluding the ComponentManager.
+	 *
+	 * @return a new list of Components
+	 */
+	public List<OpenemsComponent> getAllComponents() {
+		return this.getComponents(this.snapshot.all);
+	}
+
+	/**
+	 * Gets all enabled Components that are registered as the given type.
+	 *
+	 * @param <T>   the type
+	 * @param clazz the class of the type
+	 * @return a new list of Components
+	 */
+	public <T extends OpenemsComponent> List<T> getEnabledComponentsOfType(Class<T> clazz) {
+		return this.getComponents(this.snapshot.getEnabledOfType(clazz));
+	}
+
+	/**
+	 * Gets the Component with the given Component-ID.
+	 *
+	 * @param componentId    the Component-ID
+	 * @param hasToBeEnabled if the Component has to be enabled
+	 * @return the Component; or null if there is none
+	 */
+	public OpenemsComponent getComponent(String componentId, boolean hasToBeEnabled) {
+		var snapshot = this.snapshot;
+		var entry = hasToBeEnabled ? snapshot.enabledById.get(componentId) : snapshot.allById.get(componentId);
+		if (entry == null) {
+			return null;
+		}
+		return this.getComponent(entry);
+	}
+
+}
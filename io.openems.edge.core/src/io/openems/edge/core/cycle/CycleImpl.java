@@ -2,6 +2,7 @@ package io.openems.edge.core.cycle;
 
 import java.util.Comparator;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
@@ -18,13 +19,21 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 
+import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.session.Role;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
+import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.user.User;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfileRequest;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfileResponse;
 import io.openems.edge.scheduler.api.Scheduler;
 
 @Designate(ocd = Config.class, factory = false)
@@ -35,7 +44,9 @@ import io.openems.edge.scheduler.api.Scheduler;
 		property = { //
 				"enabled=true" //
 		})
-public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle {
+public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle, JsonApi {
+
+	protected final CycleProfile profile = new CycleProfile(this);
 
 	private final CycleWorker worker = new CycleWorker(this);
 
@@ -79,7 +90,8 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	public CycleImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
-				Cycle.ChannelId.values() //
+				Cycle.ChannelId.values(), //
+				CycleProfile.ChannelId.values() //
 		);
 	}
 
@@ -133,4 +145,33 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		return Cycle.DEFAULT_CYCLE_TIME;
 	}
 
+	@Override
+	public CompletableFuture<? extends JsonrpcResponseSuccess> handleJsonrpcRequest(User user, JsonrpcRequest request)
+			throws OpenemsNamedException {
+		user.assertRoleIsAtLeast("handleJsonrpcRequest", Role.ADMIN);
+
+		switch (request.getMethod()) {
+
+		case GetCycleProfileRequest.METHOD:
+			return CompletableFuture.completedFuture(
+					new GetCycleProfileResponse(GetCycleProfileRequest.from(request).getId(), this.profile.toJson()));
+
+		default:
+			throw OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod());
+		}
+	}
+
+	/**
+	 * Switch the process image of the Components in parallel?.
+	 *
+	 * @return true for parallel mode
+	 */
+	protected boolean isParallelProcessImage() {
+		var config = this.config;
+		if (config != null) {
+			return config.parallelProcessImage();
+		}
+		return false;
+	}
+
 }
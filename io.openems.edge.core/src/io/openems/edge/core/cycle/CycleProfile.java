@@ -0,0 +1,277 @@
+package io.openems.edge.core.cycle;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.event.EdgeEventConstants;
+
+/**
+ * Records the durations of the Cycle, of each Cycle Event dispatch and of each
+ * Controller run over a sliding window of {@link #WINDOW_SIZE} Cycles.
+ */
+public class CycleProfile {
+
+	/**
+	 * Size of the sliding window in number of Cycles.
+	 */
+	public static final int WINDOW_SIZE = 300;
+
+	/**
+	 * The percentile Channels are updated every {@link #CHANNEL_UPDATE_INTERVAL}
+	 * Cycles.
+	 */
+	public static final int CHANNEL_UPDATE_INTERVAL = 10;
+
+	/**
+	 * Percentiles of the sliding window; updated every
+	 * {@link #CHANNEL_UPDATE_INTERVAL} Cycles.
+	 */
+	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+		/**
+		 * Median of the Cycle-Time in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		CYCLE_TIME_P50(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the Cycle-Time in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		CYCLE_TIME_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Maximum Cycle-Time in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		CYCLE_TIME_MAX(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the BEFORE_PROCESS_IMAGE event dispatch in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		BEFORE_PROCESS_IMAGE_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the AFTER_PROCESS_IMAGE event dispatch in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		AFTER_PROCESS_IMAGE_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the BEFORE_CONTROLLERS event dispatch in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		BEFORE_CONTROLLERS_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the AFTER_CONTROLLERS event dispatch in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		AFTER_CONTROLLERS_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the BEFORE_WRITE event dispatch in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		BEFORE_WRITE_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the EXECUTE_WRITE event dispatch in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		EXECUTE_WRITE_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the AFTER_WRITE event dispatch in [ms] within the sliding window.
+		 *
+		 * <ul>
+		 * <li>Interface: CycleProfile
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		AFTER_WRITE_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)); //
+
+		private final Doc doc;
+
+		private ChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private static final String[] TOPICS = { //
+			EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, //
+			EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, //
+			EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS, //
+			EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS, //
+			EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, //
+			EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE, //
+			EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE //
+	};
+
+	private static final ChannelId[] TOPIC_CHANNELS = { //
+			ChannelId.BEFORE_PROCESS_IMAGE_P99, //
+			ChannelId.AFTER_PROCESS_IMAGE_P99, //
+			ChannelId.BEFORE_CONTROLLERS_P99, //
+			ChannelId.AFTER_CONTROLLERS_P99, //
+			ChannelId.BEFORE_WRITE_P99, //
+			ChannelId.EXECUTE_WRITE_P99, //
+			ChannelId.AFTER_WRITE_P99 //
+	};
+
+	private final CycleImpl parent;
+	private final DurationWindow cycle = new DurationWindow(WINDOW_SIZE);
+	private final Map<String, DurationWindow> topics = new LinkedHashMap<>();
+	private final Map<String, DurationWindow> controllers = new TreeMap<>();
+
+	private long cycleCount = 0;
+
+	public CycleProfile(CycleImpl parent) {
+		this.parent = parent;
+		for (var topic : TOPICS) {
+			this.topics.put(topic, new DurationWindow(WINDOW_SIZE));
+		}
+	}
+
+	/**
+	 * Adds the duration of an Event dispatch.
+	 *
+	 * @param topic the Event topic
+	 * @param nanos the duration in [ns]
+	 */
+	public void addTopic(String topic, long nanos) {
+		var window = this.topics.get(topic);
+		if (window != null) {
+			window.add(nanos, this.cycleCount);
+		}
+	}
+
+	/**
+	 * Adds the duration of a Controller run.
+	 *
+	 * @param controllerId the Controller-ID
+	 * @param nanos        the duration in [ns]
+	 */
+	public void addController(String controllerId, long nanos) {
+		DurationWindow window;
+		synchronized (this.controllers) {
+			window = this.controllers.computeIfAbsent(controllerId, id -> new DurationWindow(WINDOW_SIZE));
+		}
+		window.add(nanos, this.cycleCount);
+	}
+
+	/**
+	 * Adds the duration of a whole Cycle and removes Controllers that were not
+	 * executed within the window.
+	 *
+	 * <p>
+	 * Every {@link #CHANNEL_UPDATE_INTERVAL} Cycles the percentiles are calculated
+	 * and the Channels are updated, so sorting the windows does not happen in
+	 * every Cycle.
+	 *
+	 * @param nanos the duration in [ns]
+	 */
+	public void addCycle(long nanos) {
+		this.cycle.add(nanos, this.cycleCount);
+
+		synchronized (this.controllers) {
+			this.controllers.values()
+					.removeIf(window -> this.cycleCount - window.getLastUpdateCycle() > WINDOW_SIZE);
+		}
+		this.cycleCount++;
+
+		if (this.cycleCount % CHANNEL_UPDATE_INTERVAL == 0) {
+			this.updateChannels();
+		}
+	}
+
+	private void updateChannels() {
+		var cycle = this.cycle.getStatistics();
+		this.setChannel(ChannelId.CYCLE_TIME_P50, cycle.getPercentile(0.5));
+		this.setChannel(ChannelId.CYCLE_TIME_P99, cycle.getPercentile(0.99));
+		this.setChannel(ChannelId.CYCLE_TIME_MAX, cycle.getMax());
+		for (var i = 0; i < TOPICS.length; i++) {
+			this.setChannel(TOPIC_CHANNELS[i], this.topics.get(TOPICS[i]).getStatistics().getPercentile(0.99));
+		}
+	}
+
+	private void setChannel(ChannelId channelId, long nanos) {
+		this.parent.channel(channelId).setNextValue(nanos / 1_000_000);
+	}
+
+	/**
+	 * Calculates the percentiles and serializes the profile with durations in
+	 * [µs].
+	 *
+	 * @return the {@link JsonObject}
+	 */
+	public JsonObject toJson() {
+		var cycle = this.cycle.getStatistics();
+		var topics = JsonUtils.buildJsonObject();
+		for (var topic : TOPICS) {
+			topics.add(topic.substring(EdgeEventConstants.TOPIC_CYCLE.length()),
+					this.topics.get(topic).getStatistics().toJson());
+		}
+		var controllers = JsonUtils.buildJsonObject();
+		synchronized (this.controllers) {
+			for (var entry : this.controllers.entrySet()) {
+				controllers.add(entry.getKey(), entry.getValue().getStatistics().toJson());
+			}
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("windowSize", WINDOW_SIZE) //
+				.add("cycle", cycle.toJson()) //
+				.add("topics", topics.build()) //
+				.add("controllers", controllers.build()) //
+				.build();
+	}
+
+}
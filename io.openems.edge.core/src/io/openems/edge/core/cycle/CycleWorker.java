@@ -1,5 +1,6 @@
 package io.openems.edge.core.cycle;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -12,7 +13,6 @@ import io.openems.common.event.EventBuilder;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractWorker;
 import io.openems.edge.common.event.EdgeEventConstants;
-import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.scheduler.api.Scheduler;
 
@@ -20,11 +20,27 @@ public class CycleWorker extends AbstractWorker {
 
 	private final Logger log = LoggerFactory.getLogger(CycleWorker.class);
 	private final CycleImpl parent;
+	private final ProcessImage processImage = new ProcessImage();
+
+	/**
+	 * The {@link ForkJoinPool} for parallel process image switch; created on
+	 * demand.
+	 */
+	private ForkJoinPool pool = null;
 
 	public CycleWorker(CycleImpl parent) {
 		this.parent = parent;
 	}
 
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		var pool = this.pool;
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
 	@Override
 	protected int getCycleTime() {
 		return this.parent.getCycleTime();
@@ -47,18 +63,20 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Trigger BEFORE_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
 
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
-					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
-					});
+			this.processImage.update(this.parent.componentManager.getEnabledComponents());
+			if (this.parent.isParallelProcessImage()) {
+				if (this.pool == null) {
+					this.pool = new ForkJoinPool();
+				}
+				this.processImage.switchParallel(this.pool);
+			} else {
+				this.processImage.switchSequential();
+			}
 			this.parent.channels().forEach(channel -> {
 				channel.nextProcessImage();
 			});
@@ -74,12 +92,13 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Trigger AFTER_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+			var processImageDone = stopwatch.elapsed(TimeUnit.MILLISECONDS);
 
 			/*
 			 * Trigger BEFORE_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
 
 			var hasDisabledController = false;
 
@@ -109,6 +128,7 @@ public class CycleWorker extends AbstractWorker {
 							continue;
 						}
 
+						var controllerStart = System.nanoTime();
 						try {
 							// Execute Controller logic
 							controller.run();
@@ -133,6 +153,7 @@ public class CycleWorker extends AbstractWorker {
 							// announce running failed
 							controller._setRunFailed(true);
 						}
+						this.parent.profile.addController(controller.id(), System.nanoTime() - controllerStart);
 					}
 
 					// announce Scheduler Controller is missing
@@ -146,22 +167,29 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Trigger AFTER_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+			var controllersDone = stopwatch.elapsed(TimeUnit.MILLISECONDS);
 
 			/*
 			 * Trigger BEFORE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
 
 			/*
 			 * Trigger EXECUTE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
 
 			/*
 			 * Trigger AFTER_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+			var writeDone = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
+			// Measure duration of each phase
+			this.parent._setProcessImageDuration(processImageDone);
+			this.parent._setControllersDuration(controllersDone - processImageDone);
+			this.parent._setWriteDuration(writeDone - controllersDone);
 
 		} catch (Throwable t) {
 			this.parent.logWarn(this.log,
@@ -173,6 +201,18 @@ public class CycleWorker extends AbstractWorker {
 
 		// Measure actual Cycle-Time
 		this.parent._setMeasuredCycleTime(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+		this.parent.profile.addCycle(stopwatch.elapsed(TimeUnit.NANOSECONDS));
+	}
+
+	/**
+	 * Synchronously sends an Event and records the duration of its dispatch.
+	 *
+	 * @param topic the Event topic
+	 */
+	private void sendEvent(String topic) {
+		var start = System.nanoTime();
+		EventBuilder.send(this.parent.eventAdmin, topic);
+		this.parent.profile.addTopic(topic, System.nanoTime() - start);
 	}
 
 }
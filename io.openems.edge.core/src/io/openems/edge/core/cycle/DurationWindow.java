@@ -0,0 +1,122 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Arrays;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Keeps the durations of the last {@link #size} executions of one task in a
+ * ring buffer and calculates percentiles on this sliding window.
+ */
+public class DurationWindow {
+
+	private final long[] durations;
+
+	private int next = 0;
+	private int count = 0;
+	private long lastUpdateCycle = 0;
+
+	public DurationWindow(int size) {
+		this.durations = new long[size];
+	}
+
+	/**
+	 * Adds a duration.
+	 *
+	 * @param nanos the duration in [ns]
+	 * @param cycle the current Cycle number
+	 */
+	public synchronized void add(long nanos, long cycle) {
+		this.durations[this.next] = nanos;
+		this.next = (this.next + 1) % this.durations.length;
+		this.count = Math.min(this.count + 1, this.durations.length);
+		this.lastUpdateCycle = cycle;
+	}
+
+	/**
+	 * Gets the Cycle number of the last {@link #add(long, long)}.
+	 *
+	 * @return the Cycle number
+	 */
+	public synchronized long getLastUpdateCycle() {
+		return this.lastUpdateCycle;
+	}
+
+	/**
+	 * Gets a snapshot of the current statistics.
+	 *
+	 * @return the {@link Statistics}
+	 */
+	public Statistics getStatistics() {
+		final long[] sorted;
+		synchronized (this) {
+			sorted = Arrays.copyOf(this.durations, this.count);
+		}
+		Arrays.sort(sorted);
+		return new Statistics(sorted);
+	}
+
+	/**
+	 * Percentile statistics of a {@link DurationWindow}.
+	 */
+	public static class Statistics {
+
+		private final long[] sorted;
+
+		private Statistics(long[] sorted) {
+			this.sorted = sorted;
+		}
+
+		/**
+		 * Gets the number of durations in the window.
+		 *
+		 * @return the count
+		 */
+		public int getCount() {
+			return this.sorted.length;
+		}
+
+		/**
+		 * Gets the percentile in [ns]; 0 if there is no value.
+		 *
+		 * @param percentile the percentile, e.g. 0.99
+		 * @return the duration in [ns]
+		 */
+		public long getPercentile(double percentile) {
+			if (this.sorted.length == 0) {
+				return 0;
+			}
+			var index = (int) Math.ceil(percentile * this.sorted.length) - 1;
+			return this.sorted[Math.max(0, Math.min(index, this.sorted.length - 1))];
+		}
+
+		/**
+		 * Gets the maximum in [ns]; 0 if there is no value.
+		 *
+		 * @return the duration in [ns]
+		 */
+		public long getMax() {
+			if (this.sorted.length == 0) {
+				return 0;
+			}
+			return this.sorted[this.sorted.length - 1];
+		}
+
+		/**
+		 * Serializes the statistics with durations in [µs].
+		 *
+		 * @return the {@link JsonObject}
+		 */
+		public JsonObject toJson() {
+			return JsonUtils.buildJsonObject() //
+					.addProperty("count", this.getCount()) //
+					.addProperty("p50", this.getPercentile(0.5) / 1_000) //
+					.addProperty("p99", this.getPercentile(0.99) / 1_000) //
+					.addProperty("max", this.getMax() / 1_000) //
+					.build();
+		}
+	}
+
+}
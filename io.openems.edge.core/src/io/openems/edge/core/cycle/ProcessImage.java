@@ -0,0 +1,117 @@
+package io.openems.edge.core.cycle;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.Sum;
+
+/**
+ * Switches the process image of the Channels of all enabled Components.
+ *
+ * <p>
+ * Keeps a cached, flat array of Channels per Component. The cache is rebuilt
+ * only if the list of enabled Components or the number of Channels of a
+ * Component changed.
+ */
+public class ProcessImage {
+
+	/**
+	 * Number of Components that are handled by one task in parallel mode.
+	 */
+	private static final int COMPONENTS_PER_TASK = 4;
+
+	private OpenemsComponent[] components = new OpenemsComponent[0];
+	private Channel<?>[][] channels = new Channel<?>[0][];
+
+	/**
+	 * Updates the cached Channels if required.
+	 *
+	 * @param enabledComponents the currently enabled Components
+	 */
+	public void update(List<OpenemsComponent> enabledComponents) {
+		if (this.isUpToDate(enabledComponents)) {
+			return;
+		}
+		var components = enabledComponents.stream() //
+				.filter(c -> !(c instanceof Sum)) //
+				.toArray(OpenemsComponent[]::new);
+		var channels = new Channel<?>[components.length][];
+		for (var i = 0; i < components.length; i++) {
+			channels[i] = components[i].channels().toArray(new Channel<?>[0]);
+		}
+		this.components = components;
+		this.channels = channels;
+	}
+
+	private boolean isUpToDate(List<OpenemsComponent> enabledComponents) {
+		var i = 0;
+		for (var component : enabledComponents) {
+			if (component instanceof Sum) {
+				continue;
+			}
+			if (i >= this.components.length //
+					|| component != this.components[i] //
+					|| component.channels().size() != this.channels[i].length) {
+				return false;
+			}
+			i++;
+		}
+		return i == this.components.length;
+	}
+
+	/**
+	 * Switches the process image of all Channels sequentially.
+	 */
+	public void switchSequential() {
+		this.switchComponents(0, this.components.length);
+	}
+
+	/**
+	 * Switches the process image in parallel, partitioned per Component. Channels
+	 * of one Component - and their callbacks - are always handled by the same
+	 * thread in their natural order.
+	 *
+	 * @param pool the {@link ForkJoinPool}
+	 */
+	public void switchParallel(ForkJoinPool pool) {
+		pool.invoke(new SwitchTask(0, this.components.length));
+	}
+
+	private void switchComponents(int from, int to) {
+		for (var i = from; i < to; i++) {
+			if (!this.components[i].isEnabled()) {
+				continue;
+			}
+			for (var channel : this.channels[i]) {
+				channel.nextProcessImage();
+			}
+		}
+	}
+
+	private class SwitchTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		private SwitchTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= COMPONENTS_PER_TASK) {
+				ProcessImage.this.switchComponents(this.from, this.to);
+				return;
+			}
+			var middle = (this.from + this.to) >>> 1;
+			invokeAll(new SwitchTask(this.from, middle), new SwitchTask(middle, this.to));
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package io.openems.edge.core.cycle.jsonrpc;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+
+/**
+ * JSON-RPC Response to "getCycleProfile" Request. All durations are in [µs]
+ * over a sliding window of the last "windowSize" Cycles.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "windowSize": number,
+ *     "cycle": {
+ *       "count": number, "p50": number, "p99": number, "max": number
+ *     },
+ *     "topics": {
+ *       "BEFORE_PROCESS_IMAGE": { "count", "p50", "p99", "max" },
+ *       ...
+ *     },
+ *     "controllers": {
+ *       [controllerId]: { "count", "p50", "p99", "max" }
+ *     }
+ *   }
+ * }
+ * </pre>
+ */
+public class GetCycleProfileResponse extends JsonrpcResponseSuccess {
+
+	private final JsonObject profile;
+
+	public GetCycleProfileResponse(UUID id, JsonObject profile) {
+		super(id);
+		this.profile = profile;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		return this.profile;
+	}
+
+}
@@ -0,0 +1,181 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.api.SymmetricEss;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+public class ComponentRegistryTest {
+
+	/**
+	 * Minimal OSGi service registry for {@link OpenemsComponent}s.
+	 */
+	private static class DummyServiceRegistry {
+
+		private final Map<ServiceReference<?>, OpenemsComponent> services = new HashMap<>();
+		private final Map<ServiceReference<?>, Map<String, Object>> properties = new HashMap<>();
+		private final List<ServiceListener> listeners = new ArrayList<>();
+		private long nextServiceId = 1;
+		private int usageCount = 0;
+
+		/**
+		 * getService() must never be called while holding this monitor.
+		 */
+		private Object monitor = null;
+		private int getServiceWhileLocked = 0;
+
+		private final BundleContext bundleContext = (BundleContext) Proxy.newProxyInstance(
+				BundleContext.class.getClassLoader(), new Class<?>[] { BundleContext.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "addServiceListener":
+						this.listeners.add((ServiceListener) args[0]);
+						return null;
+					case "removeServiceListener":
+						this.listeners.remove(args[0]);
+						return null;
+					case "getServiceReferences":
+						return new ArrayList<>(this.services.keySet());
+					case "getService":
+						if (this.monitor != null && Thread.holdsLock(this.monitor)) {
+							this.getServiceWhileLocked++;
+						}
+						this.usageCount++;
+						return this.services.get(args[0]);
+					case "ungetService":
+						this.usageCount--;
+						return true;
+					default:
+						throw new UnsupportedOperationException(method.getName());
+					}
+				});
+
+		private ServiceReference<?> register(OpenemsComponent component, boolean isEnabled, Class<?>... classes) {
+			var objectClasses = new String[classes.length];
+			for (var i = 0; i < classes.length; i++) {
+				objectClasses[i] = classes[i].getName();
+			}
+			var properties = new HashMap<String, Object>();
+			properties.put(Constants.SERVICE_ID, this.nextServiceId++);
+			properties.put(Constants.OBJECTCLASS, objectClasses);
+			properties.put("id", component.id());
+			properties.put("enabled", isEnabled);
+			var reference = (ServiceReference<?>) Proxy.newProxyInstance(ServiceReference.class.getClassLoader(),
+					new Class<?>[] { ServiceReference.class }, (proxy, method, args) -> {
+						switch (method.getName()) {
+						case "getProperty":
+							return properties.get(args[0]);
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						default:
+							throw new UnsupportedOperationException(method.getName());
+						}
+					});
+			this.services.put(reference, component);
+			this.properties.put(reference, properties);
+			this.fire(ServiceEvent.REGISTERED, reference);
+			return reference;
+		}
+
+		private void modify(ServiceReference<?> reference, boolean isEnabled) {
+			this.properties.get(reference).put("enabled", isEnabled);
+			this.fire(ServiceEvent.MODIFIED, reference);
+		}
+
+		private void unregister(ServiceReference<?> reference) {
+			this.fire(ServiceEvent.UNREGISTERING, reference);
+			this.services.remove(reference);
+		}
+
+		private void fire(int type, ServiceReference<?> reference) {
+			for (var listener : new ArrayList<>(this.listeners)) {
+				listener.serviceChanged(new ServiceEvent(type, reference));
+			}
+		}
+	}
+
+	@Test
+	public void test() throws InvalidSyntaxException {
+		var osgi = new DummyServiceRegistry();
+		var ess0 = new DummyManagedSymmetricEss("ess0");
+		osgi.register(ess0, true, OpenemsComponent.class, SymmetricEss.class, ManagedSymmetricEss.class);
+
+		var sut = new ComponentRegistry();
+		sut.activate(osgi.bundleContext);
+		assertSame(ess0, sut.getComponent("ess0", true));
+		assertEquals(1, sut.getEnabledComponentsOfType(SymmetricEss.class).size());
+
+		// Registered after activation
+		var ess1 = new DummyManagedSymmetricEss("ess1");
+		var reference1 = osgi.register(ess1, false, OpenemsComponent.class, SymmetricEss.class);
+		assertNull(sut.getComponent("ess1", true));
+		assertSame(ess1, sut.getComponent("ess1", false));
+		assertEquals(1, sut.getEnabledComponents().size());
+		assertEquals(2, sut.getAllComponents().size());
+		assertEquals(1, sut.getEnabledComponentsOfType(SymmetricEss.class).size());
+
+		// Unregistered
+		osgi.unregister(reference1);
+		assertNull(sut.getComponent("ess1", false));
+		assertEquals(1, sut.getAllComponents().size());
+
+		sut.deactivate();
+		assertNull(sut.getComponent("ess0", false));
+	}
+
+	@Test
+	public void testModified() throws InvalidSyntaxException {
+		var osgi = new DummyServiceRegistry();
+		var ess0 = new DummyManagedSymmetricEss("ess0");
+		var reference0 = osgi.register(ess0, true, OpenemsComponent.class, SymmetricEss.class);
+
+		var sut = new ComponentRegistry();
+		osgi.monitor = sut;
+		sut.activate(osgi.bundleContext);
+		assertSame(ess0, sut.getComponent("ess0", true));
+		assertEquals(1, osgi.usageCount);
+
+		// Enabled -> disabled; the service object is kept
+		osgi.modify(reference0, false);
+		assertNull(sut.getComponent("ess0", true));
+		assertSame(ess0, sut.getComponent("ess0", false));
+		assertEquals(0, sut.getEnabledComponents().size());
+		assertEquals(0, sut.getEnabledComponentsOfType(SymmetricEss.class).size());
+		assertEquals(1, sut.getAllComponents().size());
+		assertEquals(1, osgi.usageCount);
+
+		// Disabled -> enabled
+		osgi.modify(reference0, true);
+		assertSame(ess0, sut.getComponent("ess0", true));
+		assertEquals(1, sut.getEnabledComponentsOfType(SymmetricEss.class).size());
+
+		// Service object is released exactly once
+		osgi.unregister(reference0);
+		assertNull(sut.getComponent("ess0", false));
+		assertEquals(0, osgi.usageCount);
+
+		sut.deactivate();
+		assertEquals(0, osgi.getServiceWhileLocked);
+	}
+
+}
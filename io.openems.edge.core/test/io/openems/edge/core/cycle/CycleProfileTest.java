@@ -0,0 +1,42 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import io.openems.edge.common.event.EdgeEventConstants;
+
+public class CycleProfileTest {
+
+	private static final long MS = 1_000_000;
+
+	@Test
+	public void testChannels() {
+		var cycle = new CycleImpl();
+		var sut = cycle.profile;
+
+		// Channels are not updated before the interval is reached
+		for (var i = 1; i < CycleProfile.CHANNEL_UPDATE_INTERVAL; i++) {
+			sut.addTopic(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, i * MS);
+			sut.addCycle(i * 10 * MS);
+		}
+		assertFalse(cycle.channel(CycleProfile.ChannelId.CYCLE_TIME_MAX).getNextValue().isDefined());
+
+		// Cycle-Times 10..100 ms; BEFORE_WRITE 1..10 ms
+		sut.addTopic(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, 10 * MS);
+		sut.addCycle(100 * MS);
+		assertEquals(50L, cycle.channel(CycleProfile.ChannelId.CYCLE_TIME_P50).getNextValue().get());
+		assertEquals(100L, cycle.channel(CycleProfile.ChannelId.CYCLE_TIME_P99).getNextValue().get());
+		assertEquals(100L, cycle.channel(CycleProfile.ChannelId.CYCLE_TIME_MAX).getNextValue().get());
+		assertEquals(10L, cycle.channel(CycleProfile.ChannelId.BEFORE_WRITE_P99).getNextValue().get());
+		assertEquals(0L, cycle.channel(CycleProfile.ChannelId.AFTER_WRITE_P99).getNextValue().get());
+
+		// Updated again after the next interval
+		for (var i = 0; i < CycleProfile.CHANNEL_UPDATE_INTERVAL; i++) {
+			sut.addCycle(200 * MS);
+		}
+		assertEquals(200L, cycle.channel(CycleProfile.ChannelId.CYCLE_TIME_MAX).getNextValue().get());
+	}
+
+}
@@ -0,0 +1,28 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class DurationWindowTest {
+
+	@Test
+	public void test() {
+		var window = new DurationWindow(100);
+		assertEquals(0, window.getStatistics().getCount());
+		assertEquals(0, window.getStatistics().getMax());
+
+		for (var i = 1; i <= 150; i++) {
+			window.add(i, i);
+		}
+
+		// Sliding window holds 51..150
+		var statistics = window.getStatistics();
+		assertEquals(100, statistics.getCount());
+		assertEquals(100, statistics.getPercentile(0.5));
+		assertEquals(149, statistics.getPercentile(0.99));
+		assertEquals(150, statistics.getMax());
+		assertEquals(150, window.getLastUpdateCycle());
+	}
+
+}
@@ -9,12 +9,16 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.math3.optim.linear.LinearConstraint;
 
 import com.google.common.collect.Streams;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.data.ConstraintUtil;
+import io.openems.edge.ess.core.power.data.LinearSolverUtil;
 import io.openems.edge.ess.core.power.data.WeightsUtil;
 import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Coefficients;
@@ -40,6 +44,24 @@ public class Data {
 	private final List<Constraint> constraints = new CopyOnWriteArrayList<>();
 	private final Coefficients coefficients = new Coefficients();
 
+	/**
+	 * The Constraints that do not change within a Cycle (generic, static, meta,
+	 * ...) converted to {@link LinearConstraint}s; null if not yet built.
+	 */
+	private List<LinearConstraint> cycleLinearConstraints = null;
+
+	/**
+	 * The {@link #constraints} converted to {@link LinearConstraint}s at the time
+	 * {@link #allLinearConstraints} was built.
+	 */
+	private List<LinearConstraint> dynamicLinearConstraints = null;
+
+	/**
+	 * All {@link LinearConstraint}s for all Inverters; a new instance is created
+	 * whenever any Constraint changed.
+	 */
+	private List<LinearConstraint> allLinearConstraints = null;
+
 	private boolean symmetricMode = PowerComponent.DEFAULT_SYMMETRIC_MODE;
 	private Consumer<Boolean> onStaticConstraintsFailed = null;
 
@@ -104,6 +126,9 @@ public class Data {
 		// Initially sort Inverters
 		WeightsUtil.updateWeightsFromSoc(this.inverters, this.esss);
 		WeightsUtil.sortByWeights(this.inverters);
+
+		// Coefficients changed
+		this.invalidateLinearConstraints();
 	}
 
 	protected synchronized void initializeCycle() {
@@ -112,6 +137,19 @@ public class Data {
 		// Update sorting of Inverters
 		WeightsUtil.updateWeightsFromSoc(this.inverters, this.esss);
 		WeightsUtil.adjustSortingByWeights(this.inverters);
+		// Static Constraints are recreated from the next Process Image
+		this.invalidateLinearConstraints();
+	}
+
+	/**
+	 * Invalidates the cached {@link LinearConstraint}s. Called whenever the
+	 * Constraints that are derived from Ess Channels might have changed, i.e. on a
+	 * new Process Image.
+	 */
+	protected synchronized void invalidateLinearConstraints() {
+		this.cycleLinearConstraints = null;
+		this.dynamicLinearConstraints = null;
+		this.allLinearConstraints = null;
 	}
 
 	protected List<ManagedSymmetricEss> getEsss() {
@@ -173,6 +211,74 @@ public class Data {
 		return this.coefficients.of(essId, phase, pwr);
 	}
 
+	/**
+	 * Gets all Constraints for all Inverters converted to
+	 * {@link LinearConstraint}s.
+	 *
+	 * <p>
+	 * The Constraints that do not change within a Cycle are converted only once
+	 * per Cycle. The returned list is unmodifiable and the same instance is
+	 * returned as long as no Constraint changed, so it can be used as a version
+	 * for caching results of the linear solver.
+	 *
+	 * @return an unmodifiable List of {@link LinearConstraint}s
+	 * @throws OpenemsException on error
+	 */
+	public synchronized List<LinearConstraint> getLinearConstraintsForAllInverters() throws OpenemsException {
+		var cycleLinearConstraints = this.getCycleLinearConstraints();
+		// Constraints are mutable -> always compare the converted values
+		var dynamicLinearConstraints = LinearSolverUtil.convertToLinearConstraints(this.coefficients,
+				this.constraints);
+		if (this.allLinearConstraints == null || !dynamicLinearConstraints.equals(this.dynamicLinearConstraints)) {
+			List<LinearConstraint> result = new ArrayList<>(
+					cycleLinearConstraints.size() + dynamicLinearConstraints.size());
+			result.addAll(cycleLinearConstraints);
+			result.addAll(dynamicLinearConstraints);
+			this.dynamicLinearConstraints = dynamicLinearConstraints;
+			this.allLinearConstraints = Collections.unmodifiableList(result);
+		}
+		return this.allLinearConstraints;
+	}
+
+	/**
+	 * Gets all Constraints without the 'disabledInverters' converted to
+	 * {@link LinearConstraint}s.
+	 *
+	 * @param disabledInverters Collection of disabled inverters
+	 * @return List of {@link LinearConstraint}s
+	 * @throws OpenemsException on error
+	 */
+	public synchronized List<LinearConstraint> getLinearConstraintsWithoutDisabledInverters(
+			Collection<Inverter> disabledInverters) throws OpenemsException {
+		var allLinearConstraints = this.getLinearConstraintsForAllInverters();
+		var disableLinearConstraints = LinearSolverUtil.convertToLinearConstraints(this.coefficients,
+				ConstraintUtil.createDisableConstraintsForInactiveInverters(this.coefficients, disabledInverters));
+		List<LinearConstraint> result = new ArrayList<>(
+				disableLinearConstraints.size() + allLinearConstraints.size());
+		result.addAll(disableLinearConstraints);
+		result.addAll(allLinearConstraints);
+		return result;
+	}
+
+	private List<LinearConstraint> getCycleLinearConstraints() throws OpenemsException {
+		if (this.cycleLinearConstraints == null) {
+			this.cycleLinearConstraints = LinearSolverUtil.convertToLinearConstraints(this.coefficients,
+					this.getCycleConstraints().collect(Collectors.toList()));
+		}
+		return this.cycleLinearConstraints;
+	}
+
+	private Stream<Constraint> getCycleConstraints() throws OpenemsException {
+		return Streams.concat(//
+				ConstraintUtil.createGenericEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
+				ConstraintUtil.createStaticEssConstraints(this.esss, this.onStaticConstraintsFailed).stream(), //
+				ConstraintUtil.createMetaEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
+				ConstraintUtil.createSumOfPhasesConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
+				ConstraintUtil.createSymmetricEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
+				ConstraintUtil.createSinglePhaseEssConstraints(this.coefficients, this.inverters, this.symmetricMode)
+						.stream());
+	}
+
 	/**
 	 * Gets Constraints for all Inverters.
 	 *
@@ -208,13 +314,7 @@ public class Data {
 		return Streams.concat(//
 				ConstraintUtil.createDisableConstraintsForInactiveInverters(this.coefficients, disabledInverters)
 						.stream(),
-				ConstraintUtil.createGenericEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
-				ConstraintUtil.createStaticEssConstraints(this.esss, this.onStaticConstraintsFailed).stream(), //
-				ConstraintUtil.createMetaEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
-				ConstraintUtil.createSumOfPhasesConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
-				ConstraintUtil.createSymmetricEssConstraints(this.coefficients, this.esss, this.symmetricMode).stream(), //
-				ConstraintUtil.createSinglePhaseEssConstraints(this.coefficients, this.inverters, this.symmetricMode)
-						.stream(), //
+				this.getCycleConstraints(), //
 				this.constraints.stream()).collect(Collectors.toList());
 	}
 
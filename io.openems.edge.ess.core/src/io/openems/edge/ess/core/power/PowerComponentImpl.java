@@ -2,6 +2,7 @@ package io.openems.edge.ess.core.power;
 
 import java.util.List;
 
+import org.apache.commons.math3.optim.linear.LinearConstraint;
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
@@ -31,7 +32,7 @@ import io.openems.edge.common.filter.PidFilter;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.data.ConstraintUtil;
 import io.openems.edge.ess.core.power.data.LogUtil;
-import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
+import io.openems.edge.ess.core.power.solver.PowerExtremaCache;
 import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Phase;
@@ -49,6 +50,7 @@ import io.openems.edge.ess.power.api.Relationship;
 				"enabled=true" //
 		})
 @EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, //
 		EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, //
 		EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE //
 })
@@ -62,6 +64,7 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 
 	private final Data data;
 	private final Solver solver;
+	private final PowerExtremaCache powerExtremaCache = new PowerExtremaCache();
 
 	private boolean debugMode = PowerComponentImpl.DEFAULT_DEBUG_MODE;
 
@@ -194,14 +197,15 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	}
 
 	private int getActivePowerExtrema(ManagedSymmetricEss ess, Phase phase, Pwr pwr, GoalType goal) {
-		final List<Constraint> allConstraints;
+		final List<LinearConstraint> allConstraints;
 		try {
-			allConstraints = this.data.getConstraintsForAllInverters();
+			allConstraints = this.data.getLinearConstraintsForAllInverters();
 		} catch (OpenemsException e) {
 			this.logError(this.log, "Unable to get Constraints " + e.getMessage());
 			return 0;
 		}
-		var power = CalculatePowerExtrema.from(this.data.getCoefficients(), allConstraints, ess.id(), phase, pwr, goal);
+		var power = this.powerExtremaCache.get(this.data.getCoefficients(), allConstraints, ess.id(), phase, pwr,
+				goal);
 		if (power <= Integer.MIN_VALUE || power >= Integer.MAX_VALUE) {
 			this.logError(this.log, goal.name() + " Power for [" + ess.toString() + "," + phase.toString() + ","
 					+ pwr.toString() + "=" + power + "] is out of bounds. Returning '0'");
@@ -216,7 +220,13 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	@Override
 	public void handleEvent(Event event) {
 		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			// Ess Channels changed
+			this.data.invalidateLinearConstraints();
+			break;
 		case EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE:
+			// Ess might have changed its static Constraints during the Controllers
+			this.data.invalidateLinearConstraints();
 			this.solver.solve(this.config.strategy());
 			break;
 		case EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE:
@@ -28,6 +28,7 @@ import io.openems.edge.ess.core.power.optimizers.KeepTargetDirectionAndMaximizeI
 import io.openems.edge.ess.core.power.optimizers.MoveTowardsTarget;
 import io.openems.edge.ess.core.power.optimizers.Optimizers;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
 import io.openems.edge.ess.core.power.solver.PowerTuple;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Inverter;
@@ -63,8 +64,8 @@ public class Solver {
 		 * @throws OpenemsException
 		 */
 		this.solveWithDisabledInverters = disabledInverters -> {
-			var constraints = this.data.getConstraintsWithoutDisabledInverters(disabledInverters);
-			return ConstraintSolver.solve(this.data.getCoefficients(), constraints);
+			var linearConstraints = this.data.getLinearConstraintsWithoutDisabledInverters(disabledInverters);
+			return LinearConstraintsSolver.solve(this.data.getCoefficients(), linearConstraints);
 		};
 	}
 
@@ -84,7 +85,8 @@ public class Solver {
 	 */
 	public void isSolvableOrError() throws OpenemsException {
 		try {
-			ConstraintSolver.solve(this.data.getCoefficients(), this.data.getConstraintsForAllInverters());
+			LinearConstraintsSolver.solve(this.data.getCoefficients(), //
+					this.data.getLinearConstraintsForAllInverters());
 		} catch (NoFeasibleSolutionException e) {
 			throw new PowerException(Type.NO_FEASIBLE_SOLUTION);
 		} catch (UnboundedSolutionException e) {
@@ -99,7 +101,8 @@ public class Solver {
 	 */
 	public boolean isSolvable() {
 		try {
-			ConstraintSolver.solve(this.data.getCoefficients(), this.data.getConstraintsForAllInverters());
+			LinearConstraintsSolver.solve(this.data.getCoefficients(), //
+					this.data.getLinearConstraintsForAllInverters());
 			return true;
 		} catch (NoFeasibleSolutionException | UnboundedSolutionException | OpenemsException e) {
 			return false;
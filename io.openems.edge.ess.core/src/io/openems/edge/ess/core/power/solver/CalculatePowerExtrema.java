@@ -2,6 +2,7 @@ package io.openems.edge.ess.core.power.solver;
 
 import java.util.List;
 
+import org.apache.commons.math3.optim.linear.LinearConstraint;
 import org.apache.commons.math3.optim.linear.LinearConstraintSet;
 import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
 import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
@@ -38,6 +39,25 @@ public class CalculatePowerExtrema {
 	 */
 	public static double from(Coefficients coefficients, List<Constraint> allConstraints, String essId, Phase phase,
 			Pwr pwr, GoalType goal) {
+		return fromLinearConstraints(coefficients,
+				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints), essId, phase, pwr, goal);
+	}
+
+	/**
+	 * Calculates the extrema under the given, already converted constraints for
+	 * the given parameters.
+	 *
+	 * @param coefficients      the {@link Coefficients}
+	 * @param linearConstraints all active {@link Constraint}s as
+	 *                          {@link LinearConstraint}s
+	 * @param essId             the ID of the {@link ManagedSymmetricEss}
+	 * @param phase             the {@link Phase}
+	 * @param pwr               the {@link Pwr}
+	 * @param goal              the {@link GoalType}
+	 * @return the extrema value; or 0 on error
+	 */
+	public static double fromLinearConstraints(Coefficients coefficients, List<LinearConstraint> linearConstraints,
+			String essId, Phase phase, Pwr pwr, GoalType goal) {
 		// prepare objective function
 		int index;
 		try {
@@ -50,8 +70,7 @@ public class CalculatePowerExtrema {
 		cos[index] = 1;
 		var objectiveFunction = new LinearObjectiveFunction(cos, 0);
 
-		var constraints = new LinearConstraintSet(
-				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints));
+		var constraints = new LinearConstraintSet(linearConstraints);
 
 		var solver = new SimplexSolver();
 		try {
@@ -0,0 +1,124 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+
+/**
+ * Caches the results of {@link CalculatePowerExtrema}.
+ *
+ * <p>
+ * Controllers typically ask for the Min- and Max-Power of every Ess in every
+ * Cycle, often several times, while the Constraints rarely change in between.
+ * The cache is bound to one instance of the list of {@link LinearConstraint}s;
+ * it is cleared as soon as a different list is passed in, i.e. when any
+ * Constraint changed.
+ */
+public class PowerExtremaCache {
+
+	private static class Key {
+		private final String essId;
+		private final Phase phase;
+		private final Pwr pwr;
+		private final GoalType goal;
+
+		private Key(String essId, Phase phase, Pwr pwr, GoalType goal) {
+			this.essId = essId;
+			this.phase = phase;
+			this.pwr = pwr;
+			this.goal = goal;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.essId, this.phase, this.pwr, this.goal);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || this.getClass() != obj.getClass()) {
+				return false;
+			}
+			var other = (Key) obj;
+			return this.essId.equals(other.essId) && this.phase == other.phase && this.pwr == other.pwr
+					&& this.goal == other.goal;
+		}
+	}
+
+	private final Map<Key, Double> values = new HashMap<>();
+
+	private List<LinearConstraint> linearConstraints = null;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Gets the extrema under the given constraints for the given parameters;
+	 * calculates it via {@link CalculatePowerExtrema} if it is not cached.
+	 *
+	 * @param coefficients      the {@link Coefficients}
+	 * @param linearConstraints all active Constraints as {@link LinearConstraint}s
+	 * @param essId             the ID of the {@link ManagedSymmetricEss}
+	 * @param phase             the {@link Phase}
+	 * @param pwr               the {@link Pwr}
+	 * @param goal              the {@link GoalType}
+	 * @return the extrema value; or 0 on error
+	 */
+	public synchronized double get(Coefficients coefficients, List<LinearConstraint> linearConstraints,
+			String essId, Phase phase, Pwr pwr, GoalType goal) {
+		if (this.linearConstraints != linearConstraints) {
+			// Constraints changed
+			this.values.clear();
+			this.linearConstraints = linearConstraints;
+		}
+		var key = new Key(essId, phase, pwr, goal);
+		var value = this.values.get(key);
+		if (value != null) {
+			this.hits++;
+			return value;
+		}
+		this.misses++;
+		value = CalculatePowerExtrema.fromLinearConstraints(coefficients, linearConstraints, essId, phase, pwr,
+				goal);
+		this.values.put(key, value);
+		return value;
+	}
+
+	/**
+	 * Clears the cache.
+	 */
+	public synchronized void clear() {
+		this.values.clear();
+		this.linearConstraints = null;
+	}
+
+	/**
+	 * Gets the number of cache hits since creation.
+	 *
+	 * @return the number of hits
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets the number of cache misses, i.e. actual calculations, since creation.
+	 *
+	 * @return the number of misses
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+}
@@ -1,15 +1,24 @@
 package io.openems.edge.ess.core.power;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.util.List;
 
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.collect.Lists;
 
+import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.core.power.data.ConstraintUtil;
+import io.openems.edge.ess.core.power.solver.PowerExtremaCache;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
 import io.openems.edge.ess.test.DummyManagedSymmetricEss;
 import io.openems.edge.ess.test.DummyMetaEss;
 
@@ -52,4 +61,47 @@ public class DataTest {
 		data.setSymmetricMode(false);
 		assertEquals(esss.size() * 4 /* phases + all */ * 2 /* pwr */, data.getCoefficients().getNoOfCoefficients());
 	}
+
+	@Test
+	public void testLinearConstraintsCache() throws OpenemsException {
+		var linearConstraints = data.getLinearConstraintsForAllInverters();
+		assertSame(linearConstraints, data.getLinearConstraintsForAllInverters());
+
+		// Adding a Constraint creates a new list
+		var constraint = ConstraintUtil.createSimpleConstraint(data.getCoefficients(), "", "ess1", Phase.ALL,
+				Pwr.ACTIVE, Relationship.EQUALS, 1000);
+		data.addConstraint(constraint);
+		var withConstraint = data.getLinearConstraintsForAllInverters();
+		assertNotSame(linearConstraints, withConstraint);
+		assertEquals(linearConstraints.size() + 1, withConstraint.size());
+		assertSame(withConstraint, data.getLinearConstraintsForAllInverters());
+
+		// Changing the value of a Constraint creates a new list
+		constraint.setValue(2000);
+		assertNotSame(withConstraint, data.getLinearConstraintsForAllInverters());
+
+		// Next Cycle removes the Constraint
+		data.initializeCycle();
+		assertEquals(linearConstraints.size(), data.getLinearConstraintsForAllInverters().size());
+	}
+
+	@Test
+	public void testPowerExtremaCache() throws OpenemsException {
+		var sut = new PowerExtremaCache();
+		var coefficients = data.getCoefficients();
+		data.addSimpleConstraint("", "ess1", Phase.ALL, Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, 8000);
+
+		assertEquals(8000, sut.get(coefficients, data.getLinearConstraintsForAllInverters(), "ess1", Phase.ALL,
+				Pwr.ACTIVE, GoalType.MAXIMIZE), 0.1);
+		assertEquals(8000, sut.get(coefficients, data.getLinearConstraintsForAllInverters(), "ess1", Phase.ALL,
+				Pwr.ACTIVE, GoalType.MAXIMIZE), 0.1);
+		assertEquals(1, sut.getMisses());
+		assertEquals(1, sut.getHits());
+
+		// Constraint changed -> recalculate
+		data.addSimpleConstraint("", "ess1", Phase.ALL, Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, 5000);
+		assertEquals(5000, sut.get(coefficients, data.getLinearConstraintsForAllInverters(), "ess1", Phase.ALL,
+				Pwr.ACTIVE, GoalType.MAXIMIZE), 0.1);
+		assertEquals(2, sut.getMisses());
+	}
 }
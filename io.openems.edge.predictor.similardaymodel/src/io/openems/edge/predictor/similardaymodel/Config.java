@@ -20,6 +20,9 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "How many weeks?", description = "No of weeks the data is needed?")
 	int numOfWeeks() default 4;
 
+	@AttributeDefinition(name = "Incremental?", description = "Keep the statistics of live Channel values in a local file instead of querying Timedata for every prediction. Timedata is queried only once on first start.")
+	boolean incremental() default false;
+
 	@AttributeDefinition(name = "Channel-Addresses", description = "List of Channel-Addresses this Predictor is used for, e.g. '*/ActivePower', '*/ActualPower'")
 	String[] channelAddresses() default { "_sum/ProductionActivePower", "_sum/ConsumptionActivePower" };
 
@@ -0,0 +1,264 @@
+package io.openems.edge.predictor.similardaymodel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import io.openems.edge.predictor.api.oneday.Prediction24Hours;
+
+/**
+ * Holds the 15-minute values of one Channel for every slot of the week, i.e.
+ * 96 slots per day times 7 days, for the last 'numOfWeeks' weeks in primitive
+ * arrays.
+ *
+ * <p>
+ * A prediction for the next 24 hours is the average of the values at the same
+ * slot of the week in the previous 'numOfWeeks' weeks, without querying
+ * Timedata. If values were recorded for all weeks, this is the same result as
+ * the Similarday-Model calculates from a Timedata query. Weeks without a value
+ * are left out of the average, whereas the Timedata query counts them as 0.
+ *
+ * <p>
+ * Live values are added via {@link #addSample(ZonedDateTime, Integer)}; they
+ * are averaged within each 15-minute slot.
+ */
+public class SimilarDayHistory {
+
+	private static final int FILE_MAGIC = 0x4f534448; // "OSDH"
+	private static final int FILE_VERSION = 1;
+
+	private static final int SLOTS_PER_DAY = Prediction24Hours.NUMBER_OF_VALUES;
+	private static final int SLOTS_PER_WEEK = SLOTS_PER_DAY * 7;
+	private static final int NO_WEEK = Integer.MIN_VALUE;
+
+	private final int numOfWeeks;
+
+	/**
+	 * Per slot of the week and week modulo 'numOfWeeks': the week the value was
+	 * recorded in, or {@link #NO_WEEK}.
+	 */
+	private final int[] weeks;
+	private final int[] values;
+
+	// Samples of the current slot
+	private long sampleSlot = Long.MIN_VALUE;
+	private ZonedDateTime sampleSlotStart = null;
+	private long sampleSum = 0;
+	private int sampleCount = 0;
+
+	public SimilarDayHistory(int numOfWeeks) {
+		if (numOfWeeks < 1) {
+			throw new IllegalArgumentException("Number of weeks must be at least 1");
+		}
+		this.numOfWeeks = numOfWeeks;
+		this.weeks = new int[SLOTS_PER_WEEK * numOfWeeks];
+		this.values = new int[SLOTS_PER_WEEK * numOfWeeks];
+		Arrays.fill(this.weeks, NO_WEEK);
+	}
+
+	public int getNumOfWeeks() {
+		return this.numOfWeeks;
+	}
+
+	/**
+	 * Adds a live value. Values are averaged within a 15-minute slot; the average
+	 * is recorded once the first value of a later slot is added.
+	 *
+	 * @param timestamp the timestamp of the value
+	 * @param value     the value; null values are ignored
+	 */
+	public synchronized void addSample(ZonedDateTime timestamp, Integer value) {
+		var slot = Math.floorDiv(timestamp.toEpochSecond(), 15 * 60);
+		if (slot != this.sampleSlot) {
+			this.commitSamples();
+			this.sampleSlot = slot;
+			this.sampleSlotStart = roundDownTo15Minutes(timestamp);
+		}
+		if (value != null) {
+			this.sampleSum += value;
+			this.sampleCount++;
+		}
+	}
+
+	/**
+	 * Records the average of the samples of the current slot.
+	 */
+	private void commitSamples() {
+		if (this.sampleSlotStart != null) {
+			this.put(this.sampleSlotStart,
+					this.sampleCount == 0 ? null : (int) Math.round((double) this.sampleSum / this.sampleCount));
+		}
+		this.sampleSlotStart = null;
+		this.sampleSum = 0;
+		this.sampleCount = 0;
+	}
+
+	/**
+	 * Records the value of a 15-minute slot.
+	 *
+	 * @param timestamp a timestamp within the slot
+	 * @param value     the value; null to clear the slot
+	 */
+	public synchronized void put(ZonedDateTime timestamp, Integer value) {
+		var index = this.index(timestamp);
+		if (value == null) {
+			this.weeks[index] = NO_WEEK;
+		} else {
+			this.weeks[index] = week(timestamp);
+			this.values[index] = value;
+		}
+	}
+
+	/**
+	 * Records the value of a 15-minute slot if no value was recorded for it or a
+	 * later week yet.
+	 *
+	 * @param timestamp a timestamp within the slot
+	 * @param value     the value; null is ignored
+	 */
+	public synchronized void putIfAbsent(ZonedDateTime timestamp, Integer value) {
+		if (value == null) {
+			return;
+		}
+		var index = this.index(timestamp);
+		var week = week(timestamp);
+		if (this.weeks[index] < week) {
+			this.weeks[index] = week;
+			this.values[index] = value;
+		}
+	}
+
+	/**
+	 * Gets the prediction for the 96 15-minute slots starting at the slot of the
+	 * given timestamp.
+	 *
+	 * <p>
+	 * Each value is the average over the previous weeks that have a recorded
+	 * value for this slot; null if no week has one.
+	 *
+	 * @param timestamp the timestamp
+	 * @return the {@link Prediction24Hours}
+	 */
+	public synchronized Prediction24Hours getPrediction(ZonedDateTime timestamp) {
+		var start = roundDownTo15Minutes(timestamp);
+		var result = new Integer[SLOTS_PER_DAY];
+		for (var i = 0; i < SLOTS_PER_DAY; i++) {
+			var slotStart = start.plusMinutes(i * 15L);
+			var week = week(slotStart);
+			var offset = slotOfWeek(slotStart) * this.numOfWeeks;
+			long sum = 0;
+			var count = 0;
+			for (var w = 0; w < this.numOfWeeks; w++) {
+				var recordedWeek = this.weeks[offset + w];
+				if (recordedWeek >= week - this.numOfWeeks && recordedWeek < week) {
+					sum += this.values[offset + w];
+					count++;
+				}
+			}
+			result[i] = count == 0 ? null : (int) (sum / count);
+		}
+		return new Prediction24Hours(result);
+	}
+
+	/**
+	 * Writes the recorded values to a file. The file is replaced atomically.
+	 *
+	 * <p>
+	 * Only copying the values holds the lock, so samples can be added while the
+	 * file is written.
+	 *
+	 * @param file the {@link Path} of the file
+	 * @throws IOException on error
+	 */
+	public void writeTo(Path file) throws IOException {
+		final int[] weeks;
+		final int[] values;
+		synchronized (this) {
+			weeks = this.weeks.clone();
+			values = this.values.clone();
+		}
+		Files.createDirectories(file.getParent());
+		var tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+		try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(FILE_VERSION);
+			out.writeInt(this.numOfWeeks);
+			for (var i = 0; i < weeks.length; i++) {
+				out.writeInt(weeks[i]);
+				out.writeInt(values[i]);
+			}
+		}
+		Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads recorded values from a file written by {@link #writeTo(Path)}.
+	 *
+	 * @param file       the {@link Path} of the file
+	 * @param numOfWeeks the expected number of weeks
+	 * @return the {@link SimilarDayHistory}; null if the file does not exist or was
+	 *         written for a different number of weeks
+	 * @throws IOException on error
+	 */
+	public static SimilarDayHistory readFrom(Path file, int numOfWeeks) throws IOException {
+		if (!Files.exists(file)) {
+			return null;
+		}
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+				throw new IOException("Unknown file format [" + file + "]");
+			}
+			if (in.readInt() != numOfWeeks) {
+				return null;
+			}
+			var result = new SimilarDayHistory(numOfWeeks);
+			for (var i = 0; i < result.weeks.length; i++) {
+				result.weeks[i] = in.readInt();
+				result.values[i] = in.readInt();
+			}
+			return result;
+		}
+	}
+
+	private int index(ZonedDateTime timestamp) {
+		return slotOfWeek(timestamp) * this.numOfWeeks + Math.floorMod(week(timestamp), this.numOfWeeks);
+	}
+
+	/**
+	 * Gets the slot of the week in local time, starting at Monday 00:00.
+	 *
+	 * @param timestamp the timestamp
+	 * @return the slot; 0 to 671
+	 */
+	private static int slotOfWeek(ZonedDateTime timestamp) {
+		return (timestamp.getDayOfWeek().getValue() - 1) * SLOTS_PER_DAY
+				+ timestamp.get(ChronoField.MINUTE_OF_DAY) / 15;
+	}
+
+	/**
+	 * Gets the week number in local time, counted from the Monday before
+	 * 1970-01-01.
+	 *
+	 * @param timestamp the timestamp
+	 * @return the week number
+	 */
+	private static int week(ZonedDateTime timestamp) {
+		// 1970-01-01 is a Thursday
+		return (int) Math.floorDiv(timestamp.toLocalDate().toEpochDay() + 3, 7);
+	}
+
+	private static ZonedDateTime roundDownTo15Minutes(ZonedDateTime d) {
+		var minuteOfDay = d.get(ChronoField.MINUTE_OF_DAY);
+		return d.truncatedTo(ChronoUnit.DAYS).plusMinutes(minuteOfDay / 15 * 15);
+	}
+
+}
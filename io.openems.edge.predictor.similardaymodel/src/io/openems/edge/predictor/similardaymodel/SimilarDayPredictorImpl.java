@@ -1,12 +1,21 @@
 package io.openems.edge.predictor.similardaymodel;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -14,19 +23,28 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 
+import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.predictor.api.oneday.AbstractPredictor24Hours;
 import io.openems.edge.predictor.api.oneday.Prediction24Hours;
@@ -39,8 +57,11 @@ import io.openems.edge.timedata.api.Timedata;
 		immediate = true, //
 		configurationPolicy = ConfigurationPolicy.REQUIRE //
 )
-
-public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements Predictor24Hours, OpenemsComponent {
+@EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+})
+public class SimilarDayPredictorImpl extends AbstractPredictor24Hours
+		implements Predictor24Hours, OpenemsComponent, EventHandler {
 
 	private final Logger log = LoggerFactory.getLogger(SimilarDayPredictorImpl.class);
 
@@ -53,6 +74,8 @@ public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements
 	public static final int PREDCTION_FOR_SIX_DAY = 5;
 	public static final int PREDCTION_FOR_SEVEN_DAY = 6;
 
+	private static final String HISTORY_PATH = "predictor";
+
 	@Reference
 	private Timedata timedata;
 
@@ -61,6 +84,27 @@ public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements
 	@Reference
 	private ComponentManager componentManager;
 
+	/**
+	 * Incremental mode: the {@link SimilarDayHistory} per concrete Channel.
+	 * Channels matching a configured wildcard address are added on their first
+	 * prediction.
+	 */
+	private final Map<ChannelAddress, SimilarDayHistory> histories = new ConcurrentHashMap<>();
+
+	/**
+	 * Incremental mode: Channels whose {@link SimilarDayHistory} was not read from
+	 * a file and still needs to be filled from Timedata.
+	 */
+	private final Set<ChannelAddress> backfillPending = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Incremental mode: writes the history files, so the Cycle is not blocked by
+	 * file I/O.
+	 */
+	private ExecutorService persistExecutor = null;
+
+	private int lastPersistHour = -1;
+
 	public SimilarDayPredictorImpl() throws OpenemsNamedException {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -74,14 +118,111 @@ public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements
 		this.config = config;
 		super.activate(context, this.config.id(), this.config.alias(), this.config.enabled(),
 				this.config.channelAddresses());
+
+		if (config.incremental()) {
+			this.persistExecutor = Executors.newSingleThreadExecutor(
+					new ThreadFactoryBuilder().setNameFormat("Predictor.SimilardayModel:" + this.id() + "-%d").build());
+			for (var channelAddress : this.getChannelAddresses()) {
+				if (!isWildcard(channelAddress)) {
+					this.addHistory(channelAddress);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Incremental mode: reads the {@link SimilarDayHistory} of a concrete Channel
+	 * from file or creates a new one that is filled from Timedata.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the {@link SimilarDayHistory}
+	 */
+	private SimilarDayHistory addHistory(ChannelAddress channelAddress) {
+		SimilarDayHistory history = null;
+		try {
+			history = SimilarDayHistory.readFrom(this.getHistoryFile(channelAddress), this.config.numOfWeeks());
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to read history of [" + channelAddress + "]: " + e.getMessage());
+		}
+		if (history == null) {
+			history = new SimilarDayHistory(this.config.numOfWeeks());
+			this.backfillPending.add(channelAddress);
+		}
+		this.histories.put(channelAddress, history);
+		return history;
+	}
+
+	private static boolean isWildcard(ChannelAddress channelAddress) {
+		return channelAddress.getComponentId().contains("*") || channelAddress.getChannelId().contains("*");
 	}
 
 	@Override
 	@Deactivate
 	protected void deactivate() {
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.persistExecutor, 5);
+		this.persistHistories();
 		super.deactivate();
 	}
 
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled() || this.histories.isEmpty()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.addSamples();
+			break;
+		}
+	}
+
+	/**
+	 * Incremental mode: adds the current Channel values to the histories and
+	 * persists them in the background once per hour.
+	 */
+	private void addSamples() {
+		var now = ZonedDateTime.now(this.componentManager.getClock());
+		for (var entry : this.histories.entrySet()) {
+			Integer value;
+			try {
+				value = TypeUtils.getAsType(OpenemsType.INTEGER,
+						this.componentManager.getChannel(entry.getKey()).value().get());
+			} catch (IllegalArgumentException | OpenemsNamedException e) {
+				value = null;
+			}
+			entry.getValue().addSample(now, value);
+		}
+		if (now.getHour() != this.lastPersistHour) {
+			if (this.lastPersistHour != -1) {
+				this.persistExecutor.execute(this::persistHistories);
+			}
+			this.lastPersistHour = now.getHour();
+		}
+	}
+
+	private void persistHistories() {
+		for (var entry : this.histories.entrySet()) {
+			this.persistHistory(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private void persistHistory(ChannelAddress channelAddress, SimilarDayHistory history) {
+		try {
+			history.writeTo(this.getHistoryFile(channelAddress));
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to write history of [" + channelAddress + "]: " + e.getMessage());
+		}
+	}
+
+	private Path getHistoryFile(ChannelAddress channelAddress) {
+		return Paths.get(//
+				OpenemsConstants.getOpenemsDataDir(), //
+				HISTORY_PATH, //
+				this.id(), //
+				channelAddress.getComponentId(), //
+				channelAddress.getChannelId());
+	}
+
 	@Override
 	protected ClockProvider getClockProvider() {
 		return this.componentManager;
@@ -94,6 +235,19 @@ public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements
 		// From now time to Last 4 weeks
 		var fromDate = now.minus(this.config.numOfWeeks(), ChronoUnit.WEEKS);
 
+		var history = this.histories.get(channelAddress);
+		if (history == null && this.config.incremental() && !isWildcard(channelAddress)
+				&& Stream.of(this.getChannelAddresses()).anyMatch(p -> ChannelAddress.match(channelAddress, p) > 0)) {
+			// Channel matches a configured wildcard address
+			history = this.addHistory(channelAddress);
+		}
+		if (history != null) {
+			if (this.backfillPending.contains(channelAddress)) {
+				this.backfill(channelAddress, history, fromDate, now);
+			}
+			return history.getPrediction(now);
+		}
+
 		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult;
 
 		// Query database
@@ -136,6 +290,34 @@ public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements
 		return new Prediction24Hours(nextOneDayPredictions.stream().toArray(Integer[]::new));
 	}
 
+	/**
+	 * Incremental mode: fills a {@link SimilarDayHistory} once from Timedata.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param history        the {@link SimilarDayHistory}
+	 * @param fromDate       the start of the period
+	 * @param toDate         the end of the period
+	 */
+	private void backfill(ChannelAddress channelAddress, SimilarDayHistory history, ZonedDateTime fromDate,
+			ZonedDateTime toDate) {
+		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult;
+		try {
+			queryResult = this.timedata.queryHistoricData(null, fromDate, toDate, Sets.newHashSet(channelAddress),
+					new Resolution(15, ChronoUnit.MINUTES));
+		} catch (OpenemsNamedException e) {
+			this.logError(this.log, "Unable to fill history of [" + channelAddress + "]: " + e.getMessage());
+			return;
+		}
+		for (var entry : queryResult.entrySet()) {
+			var value = entry.getValue().get(channelAddress);
+			if (value != null && !value.isJsonNull()) {
+				history.putIfAbsent(entry.getKey().withZoneSameInstant(toDate.getZone()), value.getAsInt());
+			}
+		}
+		this.backfillPending.remove(channelAddress);
+		this.persistExecutor.execute(() -> this.persistHistory(channelAddress, history));
+	}
+
 	/**
 	 * This methods takes a List of integers and returns a 2dimension List of
 	 * integers, specific to correct days.
@@ -9,6 +9,7 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		private String id;
 		public String[] channelAddresses;
 		public int numOfWeeks;
+		public boolean incremental;
 
 		private Builder() {
 		}
@@ -28,6 +29,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setIncremental(boolean incremental) {
+			this.incremental = incremental;
+			return this;
+		}
+
 		public MyConfig build() {
 			return new MyConfig(this);
 		}
@@ -54,6 +60,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.numOfWeeks;
 	}
 
+	@Override
+	public boolean incremental() {
+		return this.builder.incremental;
+	}
+
 	@Override
 	public String[] channelAddresses() {
 		return this.builder.channelAddresses;
@@ -0,0 +1,82 @@
+package io.openems.edge.predictor.similardaymodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SimilarDayHistoryTest {
+
+	private static final ZonedDateTime MONDAY = ZonedDateTime.of(2020, 1, 6, 0, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPrediction() {
+		var sut = new SimilarDayHistory(2);
+		sut.put(MONDAY, 100);
+		sut.put(MONDAY.plusWeeks(1), 200);
+		sut.put(MONDAY.plusWeeks(1).plusMinutes(15), 50);
+
+		// Average of the two previous weeks
+		var p = sut.getPrediction(MONDAY.plusWeeks(2)).getValues();
+		assertEquals(Integer.valueOf(150), p[0]);
+		assertEquals(Integer.valueOf(50), p[1]);
+		assertNull(p[2]);
+
+		// Values of the same week are not used
+		assertEquals(Integer.valueOf(100), sut.getPrediction(MONDAY.plusWeeks(1)).getValues()[0]);
+
+		// Values older than two weeks are not used
+		assertEquals(Integer.valueOf(200), sut.getPrediction(MONDAY.plusWeeks(3)).getValues()[0]);
+		assertNull(sut.getPrediction(MONDAY.plusWeeks(4)).getValues()[0]);
+
+		// A later week replaces the oldest week
+		sut.put(MONDAY.plusWeeks(2), 400);
+		assertEquals(Integer.valueOf(300), sut.getPrediction(MONDAY.plusWeeks(3)).getValues()[0]);
+
+		// Backfill does not replace later values
+		sut.putIfAbsent(MONDAY, 0);
+		assertEquals(Integer.valueOf(300), sut.getPrediction(MONDAY.plusWeeks(3)).getValues()[0]);
+	}
+
+	@Test
+	public void testAddSample() {
+		var sut = new SimilarDayHistory(1);
+		sut.addSample(MONDAY, 100);
+		sut.addSample(MONDAY.plusMinutes(5), 200);
+		sut.addSample(MONDAY.plusMinutes(10), null);
+		sut.addSample(MONDAY.plusMinutes(14), 300);
+
+		// Slot is recorded with the first sample of the next slot
+		assertNull(sut.getPrediction(MONDAY.plusWeeks(1)).getValues()[0]);
+		sut.addSample(MONDAY.plusMinutes(15), 400);
+		assertEquals(Integer.valueOf(200), sut.getPrediction(MONDAY.plusWeeks(1)).getValues()[0]);
+	}
+
+	@Test
+	public void testReadWrite() throws Exception {
+		var file = this.folder.getRoot().toPath().resolve("history");
+		assertNull(SimilarDayHistory.readFrom(file, 2));
+
+		var sut = new SimilarDayHistory(2);
+		sut.put(MONDAY.plusHours(12), 100);
+		sut.put(MONDAY.plusWeeks(1).plusHours(12), -200);
+		sut.writeTo(file);
+
+		var read = SimilarDayHistory.readFrom(file, 2);
+		assertEquals(sut.getPrediction(MONDAY.plusWeeks(2)).toString(),
+				read.getPrediction(MONDAY.plusWeeks(2)).toString());
+		assertEquals(Integer.valueOf(-50), read.getPrediction(MONDAY.plusWeeks(2)).getValues()[48]);
+
+		// Different number of weeks
+		assertNull(SimilarDayHistory.readFrom(file, 4));
+	}
+
+}
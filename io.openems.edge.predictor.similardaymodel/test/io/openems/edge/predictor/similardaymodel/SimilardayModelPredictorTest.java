@@ -1,14 +1,20 @@
 package io.openems.edge.predictor.similardaymodel;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.test.ComponentTest;
@@ -23,6 +29,9 @@ public class SimilardayModelPredictorTest {
 
 	private static final ChannelAddress METER1_ACTIVE_POWER = new ChannelAddress("meter1", "ActivePower");
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	@Test
 	public void test() throws Exception {
 
@@ -60,4 +69,89 @@ public class SimilardayModelPredictorTest {
 
 	}
 
+	@Test
+	public void testIncremental() throws Exception {
+		System.setProperty("openems.data.dir", this.folder.getRoot().getAbsolutePath());
+		try {
+			final var clock = new TimeLeapClock(Instant.ofEpochSecond(1577836800) /* 1. January 2020 00:00:00 */,
+					ZoneOffset.UTC);
+			var values = Data.data;
+			var timedata = new DummyTimedata(TIMEDATA_ID);
+			var start = ZonedDateTime.of(2019, 12, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+			for (var i = 0; i < values.length; i++) {
+				timedata.add(start.plusMinutes(i * 15), METER1_ACTIVE_POWER, values[i]);
+			}
+
+			// Backfill from Timedata gives the same prediction
+			var sut = new SimilarDayPredictorImpl();
+			new ComponentTest(sut) //
+					.addReference("timedata", timedata) //
+					.addReference("componentManager", new DummyComponentManager(clock)) //
+					.activate(MyConfig.create() //
+							.setId(PREDICTOR_ID) //
+							.setNumOfWeeks(4) //
+							.setIncremental(true) //
+							.setChannelAddresses(METER1_ACTIVE_POWER.toString()).build());
+			var p = sut.get24HoursPrediction(METER1_ACTIVE_POWER).getValues();
+			// DummyTimedata compares timestamps including the Zone-ID: the Timedata query
+			// of the non-incremental mode misses the first slot, so 'predictedData' is
+			// shifted by 15 minutes
+			assertEquals(Data.predictedData[0], p[1]);
+			assertEquals(Data.predictedData[48], p[49]);
+			assertEquals(Data.predictedData[94], p[95]);
+			sut.deactivate();
+
+			// After restart the history is read from file; Timedata is not queried
+			var sut2 = new SimilarDayPredictorImpl();
+			new ComponentTest(sut2) //
+					.addReference("timedata", new DummyTimedata(TIMEDATA_ID)) //
+					.addReference("componentManager", new DummyComponentManager(clock)) //
+					.activate(MyConfig.create() //
+							.setId(PREDICTOR_ID) //
+							.setNumOfWeeks(4) //
+							.setIncremental(true) //
+							.setChannelAddresses(METER1_ACTIVE_POWER.toString()).build());
+			assertArrayEquals(p, sut2.get24HoursPrediction(METER1_ACTIVE_POWER).getValues());
+
+		} finally {
+			System.clearProperty("openems.data.dir");
+		}
+	}
+
+	@Test
+	public void testIncrementalWildcard() throws Exception {
+		System.setProperty("openems.data.dir", this.folder.getRoot().getAbsolutePath());
+		try {
+			final var clock = new TimeLeapClock(Instant.ofEpochSecond(1577836800) /* 1. January 2020 00:00:00 */,
+					ZoneOffset.UTC);
+			var values = Data.data;
+			var timedata = new DummyTimedata(TIMEDATA_ID);
+			var start = ZonedDateTime.of(2019, 12, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+			for (var i = 0; i < values.length; i++) {
+				timedata.add(start.plusMinutes(i * 15), METER1_ACTIVE_POWER, values[i]);
+			}
+
+			var sut = new SimilarDayPredictorImpl();
+			new ComponentTest(sut) //
+					.addReference("timedata", timedata) //
+					.addReference("componentManager", new DummyComponentManager(clock)) //
+					.activate(MyConfig.create() //
+							.setId(PREDICTOR_ID) //
+							.setNumOfWeeks(4) //
+							.setIncremental(true) //
+							.setChannelAddresses("*/ActivePower").build());
+
+			// History of the concrete Channel is created on its first prediction
+			var p = sut.get24HoursPrediction(METER1_ACTIVE_POWER).getValues();
+			assertEquals(Data.predictedData[0], p[1]);
+			assertEquals(Data.predictedData[48], p[49]);
+			assertTrue(Files.exists(this.folder.getRoot().toPath()
+					.resolve(Paths.get("predictor", PREDICTOR_ID, "meter1", "ActivePower"))));
+			sut.deactivate();
+
+		} finally {
+			System.clearProperty("openems.data.dir");
+		}
+	}
+
 }
@@ -22,5 +22,11 @@ import io.openems.common.channel.PersistencePriority;
 	@AttributeDefinition(name = "Persistence Priority", description = "Store only Channels with a Persistence Priority above this. Be aware that too many writes can wear-out your flash storage.")
 	PersistencePriority persistencePriority() default PersistencePriority.MEDIUM;
 
+	@AttributeDefinition(name = "Storage Backend", description = "FILE uses random-access file operations; NIO maps the files into memory and syncs them periodically.")
+	RrdBackend backend() default RrdBackend.FILE;
+
+	@AttributeDefinition(name = "Sync Period [s]", description = "For NIO Storage Backend: interval for synchronizing memory-mapped files to disk.")
+	int syncPeriod() default 300;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata RRD4J [{id}]";
 }
\ No newline at end of file
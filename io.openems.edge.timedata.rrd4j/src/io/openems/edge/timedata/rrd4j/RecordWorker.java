@@ -1,17 +1,17 @@
 package io.openems.edge.timedata.rrd4j;
 
-import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.OptionalDouble;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
 import java.util.stream.DoubleStream;
 
-import org.rrd4j.core.RrdDb;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,15 +21,33 @@ import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.common.channel.Channel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 
 public class RecordWorker extends AbstractImmediateWorker {
 
 	protected static final int DEFAULT_NO_OF_CYCLES = 60;
 
+	/**
+	 * Maximum number of open RrdDb handles. Keep this well below the capacity of
+	 * the RRD4j RrdDbPool (default 200).
+	 */
+	protected static final int MAX_OPEN_DATABASES = 100;
+	/**
+	 * Open RrdDb handles are closed after this idle time in [ms].
+	 */
+	protected static final long MAX_IDLE_MILLIS = 15 /* minutes */ * 60_000;
+	/**
+	 * Maximum number of Records that are taken from the queue at once.
+	 */
+	private static final int MAX_BATCH_SIZE = 10_000;
+	/**
+	 * Interval in [ms] for idle eviction and hit rate reporting.
+	 */
+	private static final long EVICTION_INTERVAL_MILLIS = 60_000;
+
 	private final Logger log = LoggerFactory.getLogger(RecordWorker.class);
 	private final Rrd4jTimedataImpl parent;
+	private final RrdDbCache cache;
 
 	// Counts the number of Cycles till data is recorded
 	private int cycleCount = 0;
@@ -55,8 +73,19 @@ public class RecordWorker extends AbstractImmediateWorker {
 	private Instant lastTimestamp = Instant.MIN;
 	private LocalDateTime readChannelValuesSince = LocalDateTime.MIN;
 
+	// keeps the timestamp of the last idle eviction
+	private long lastEviction = System.currentTimeMillis();
+
 	public RecordWorker(Rrd4jTimedataImpl parent) {
 		this.parent = parent;
+		this.cache = new RrdDbCache(parent, MAX_OPEN_DATABASES, MAX_IDLE_MILLIS);
+	}
+
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		// Waits for a running write; see writeRecords()
+		this.cache.closeAll();
 	}
 
 	/**
@@ -96,21 +125,18 @@ public class RecordWorker extends AbstractImmediateWorker {
 				if (// Ignore Low-Priority Channels
 				doc.getPersistencePriority().isLowerThan(this.parent.persistencePriority)
 						// Ignore WRITE_ONLY Channels
-						|| channel.channelDoc().getAccessMode() == AccessMode.WRITE_ONLY) {
+						|| channel.channelDoc().getAccessMode() == AccessMode.WRITE_ONLY
+						// Strings are not supported by RRD4J
+						|| channel.getType() == OpenemsType.STRING) {
 					continue;
 				}
 
-				ToDoubleFunction<? super Object> channelMapFunction = this
-						.getChannelMapFunction(channel.channelDoc().getType());
 				var channelAggregateFunction = this.getChannelAggregateFunction(channel.channelDoc().getUnit());
 
 				var value = channelAggregateFunction.apply(//
 						channel.getPastValues() //
-								.tailMap(this.readChannelValuesSince, false) // new values since last recording
-								.values().stream() //
-								.map(Value::get) //
-								.filter(v -> v != null) // only not-null values
-								.mapToDouble(channelMapFunction) // convert to double
+								.since(this.readChannelValuesSince, false) // new values since last recording
+								.doubleStream() // only not-null values, converted to double
 				);
 				if (!value.isPresent()) {
 					// only available channels
@@ -130,73 +156,74 @@ public class RecordWorker extends AbstractImmediateWorker {
 		}
 
 		this.readChannelValuesSince = nextReadChannelValuesSince;
+		this.parent._setQueueSize(this.records.size());
 	}
 
 	@Override
 	protected void forever() throws InterruptedException {
-		var record = this.records.take();
-		RrdDb database = null;
-
-		try {
-			database = this.parent.getRrdDb(record.address, record.unit, record.timestamp - 1);
+		// Take all pending Records at once
+		var batch = new ArrayList<Record>();
+		batch.add(this.records.take());
+		this.records.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+		// Group Records per Channel-Address, so that every RrdDb is accessed once
+		var recordsPerChannel = new LinkedHashMap<ChannelAddress, List<Record>>();
+		for (var record : batch) {
+			recordsPerChannel.computeIfAbsent(record.address, a -> new ArrayList<>()).add(record);
+		}
+		for (var records : recordsPerChannel.values()) {
+			this.writeRecords(records);
+		}
 
-			if (database.getLastUpdateTime() < record.timestamp) {
-				// Avoid and silently ignore error "IllegalArgumentException: Bad sample time:
-				// YYY. Last update time was ZZZ, at least one second step is required".
+		// Close idle RrdDbs and report statistics
+		var now = System.currentTimeMillis();
+		if (now - this.lastEviction > EVICTION_INTERVAL_MILLIS) {
+			this.lastEviction = now;
+			this.cache.evictIdle();
+			this.parent._setRrdDbCacheHitRate(this.cache.getAndResetHitRate());
+		}
+	}
 
-				// Add Sample to RRD4J
-				var sample = database.createSample(record.timestamp);
-				sample.setValue(0, record.value);
-				sample.update();
+	/**
+	 * Writes all Records of one Channel-Address to its RrdDb.
+	 *
+	 * <p>
+	 * Holds the lock on the {@link RrdDbCache} while the handle is used, so
+	 * {@link #deactivate()} does not close it in the meantime.
+	 * 
+	 * @param records the Records, sorted by timestamp
+	 */
+	private void writeRecords(List<Record> records) {
+		final var first = records.get(0);
+		synchronized (this.cache) {
+			if (this.cache.isClosed()) {
+				// Deactivated; remaining Records are dropped
+				return;
 			}
-
-			this.parent._setUnableToInsertSample(false);
-
-		} catch (Throwable e) {
-			this.parent._setUnableToInsertSample(true);
-			this.parent.logWarn(this.log, "Unable to insert Sample [" + record.address + "] "
-					+ e.getClass().getSimpleName() + ": " + e.getMessage());
-		} finally {
-			if (database != null) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.parent.logWarn(this.log,
-							"Unable to close database [" + record.address + "]: " + e.getMessage());
+			try {
+				var database = this.cache.get(first.address, first.unit, first.timestamp - 1);
+
+				for (var record : records) {
+					if (database.getLastUpdateTime() < record.timestamp) {
+						// Avoid and silently ignore error "IllegalArgumentException: Bad sample time:
+						// YYY. Last update time was ZZZ, at least one second step is required".
+
+						// Add Sample to RRD4J
+						var sample = database.createSample(record.timestamp);
+						sample.setValue(0, record.value);
+						sample.update();
+					}
 				}
-			}
-		}
-	}
 
-	private static final ToDoubleFunction<? super Object> MAP_BOOLEAN_TO_DOUBLE = value -> ((Boolean) value ? 1d : 0d);
-
-	private static final ToDoubleFunction<? super Object> MAP_SHORT_TO_DOUBLE = value -> ((Short) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_INTEGER_TO_DOUBLE = value -> ((Integer) value)
-			.doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_LONG_TO_DOUBLE = value -> ((Long) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_FLOAT_TO_DOUBLE = value -> ((Float) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_DOUBLE_TO_DOUBLE = value -> ((Double) value);
-	private static final ToDoubleFunction<? super Object> MAP_TO_DOUBLE_NOT_SUPPORTED = value -> 0d;
-
-	private ToDoubleFunction<? super Object> getChannelMapFunction(OpenemsType openemsType) {
-		switch (openemsType) {
-		case BOOLEAN:
-			return MAP_BOOLEAN_TO_DOUBLE;
-		case SHORT:
-			return MAP_SHORT_TO_DOUBLE;
-		case INTEGER:
-			return MAP_INTEGER_TO_DOUBLE;
-		case LONG:
-			return MAP_LONG_TO_DOUBLE;
-		case FLOAT:
-			return MAP_FLOAT_TO_DOUBLE;
-		case DOUBLE:
-			return MAP_DOUBLE_TO_DOUBLE;
-		case STRING:
-			// Strings are not supported by RRD4J
-			return MAP_TO_DOUBLE_NOT_SUPPORTED;
+				this.parent._setUnableToInsertSample(false);
+
+			} catch (Throwable e) {
+				this.cache.invalidate(first.address);
+				this.parent._setUnableToInsertSample(true);
+				this.parent.logWarn(this.log, "Unable to insert Sample [" + first.address + "] "
+						+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
 		}
-		throw new IllegalArgumentException("Type [" + openemsType + "] is not supported.");
 	}
 
 	private Function<DoubleStream, OptionalDouble> getChannelAggregateFunction(Unit channelUnit) {
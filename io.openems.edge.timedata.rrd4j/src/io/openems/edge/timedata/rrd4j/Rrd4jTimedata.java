@@ -1,7 +1,10 @@
 package io.openems.edge.timedata.rrd4j;
 
 import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -11,7 +14,27 @@ public interface Rrd4jTimedata extends Timedata, OpenemsComponent {
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		QUEUE_IS_FULL(Doc.of(Level.WARNING)), //
-		UNABLE_TO_INSERT_SAMPLE(Doc.of(Level.WARNING));
+		UNABLE_TO_INSERT_SAMPLE(Doc.of(Level.WARNING)), //
+		/**
+		 * Number of Records waiting to be written.
+		 *
+		 * <ul>
+		 * <li>Interface: Rrd4jTimedata
+		 * <li>Type: Integer
+		 * </ul>
+		 */
+		QUEUE_SIZE(Doc.of(OpenemsType.INTEGER)), //
+		/**
+		 * Share of writes that could reuse an already open RrdDb handle.
+		 *
+		 * <ul>
+		 * <li>Interface: Rrd4jTimedata
+		 * <li>Type: Integer
+		 * <li>Unit: %
+		 * </ul>
+		 */
+		RRD_DB_CACHE_HIT_RATE(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.PERCENT));
 
 		private final Doc doc;
 
@@ -80,4 +103,62 @@ public interface Rrd4jTimedata extends Timedata, OpenemsComponent {
 	public default void _setUnableToInsertSample(Boolean value) {
 		this.getUnableToInsertSampleChannel().setNextValue(value);
 	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#QUEUE_SIZE}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getQueueSizeChannel() {
+		return this.channel(ChannelId.QUEUE_SIZE);
+	}
+
+	/**
+	 * Gets the number of Records waiting to be written. See
+	 * {@link ChannelId#QUEUE_SIZE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getQueueSize() {
+		return this.getQueueSizeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#QUEUE_SIZE}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setQueueSize(Integer value) {
+		this.getQueueSizeChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#RRD_DB_CACHE_HIT_RATE}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getRrdDbCacheHitRateChannel() {
+		return this.channel(ChannelId.RRD_DB_CACHE_HIT_RATE);
+	}
+
+	/**
+	 * Gets the RrdDb handle cache hit rate in [%]. See
+	 * {@link ChannelId#RRD_DB_CACHE_HIT_RATE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getRrdDbCacheHitRate() {
+		return this.getRrdDbCacheHitRateChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#RRD_DB_CACHE_HIT_RATE} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setRrdDbCacheHitRate(Integer value) {
+		this.getRrdDbCacheHitRateChannel().setNextValue(value);
+	}
 }
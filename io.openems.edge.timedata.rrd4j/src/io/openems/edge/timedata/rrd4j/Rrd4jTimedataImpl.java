@@ -30,7 +30,9 @@ import org.rrd4j.DsType;
 import org.rrd4j.core.DsDef;
 import org.rrd4j.core.FetchRequest;
 import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
 import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,7 +77,8 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	private final Logger log = LoggerFactory.getLogger(Rrd4jTimedataImpl.class);
 
 	private final RecordWorker worker;
-	private final RrdRandomAccessFileBackendFactory factory;
+
+	private RrdBackendFactory factory = new RrdRandomAccessFileBackendFactory();
 
 	public Rrd4jTimedataImpl() {
 		super(//
@@ -84,7 +87,6 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 				Rrd4jTimedata.ChannelId.values() //
 		);
 		this.worker = new RecordWorker(this);
-		this.factory = new RrdRandomAccessFileBackendFactory();
 	}
 
 	@Reference
@@ -95,6 +97,7 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	@Activate
 	void activate(ComponentContext context, Config config) throws Exception {
 		this.persistencePriority = config.persistencePriority();
+		this.factory = createBackendFactory(config.backend(), config.syncPeriod());
 		super.activate(context, config.id(), config.alias(), config.enabled());
 
 		if (config.enabled()) {
@@ -105,9 +108,36 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		this.worker.deactivate();
+		try {
+			// Stops the sync thread of the NIO backend
+			this.factory.close();
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to close RRD4j backend: " + e.getMessage());
+		}
 		super.deactivate();
 	}
 
+	/**
+	 * Creates the {@link RrdBackendFactory} for the configured {@link RrdBackend}.
+	 * 
+	 * <p>
+	 * Handles are shared via the RRD4j RrdDbPool, i.e. queries read from the same
+	 * (memory-mapped) handle that is kept open by the {@link RecordWorker}.
+	 * 
+	 * @param backend    the {@link RrdBackend}
+	 * @param syncPeriod the sync period in [s] for {@link RrdBackend#NIO}
+	 * @return the {@link RrdBackendFactory}
+	 */
+	protected static RrdBackendFactory createBackendFactory(RrdBackend backend, int syncPeriod) {
+		switch (backend) {
+		case FILE:
+			return new RrdRandomAccessFileBackendFactory();
+		case NIO:
+			return new RrdNioBackendFactory(Math.max(1, syncPeriod));
+		}
+		throw new IllegalArgumentException("Unhandled RRD4j backend [" + backend + "]");
+	}
+
 	@Override
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
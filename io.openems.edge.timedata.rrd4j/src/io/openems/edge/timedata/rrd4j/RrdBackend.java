@@ -0,0 +1,17 @@
+package io.openems.edge.timedata.rrd4j;
+
+/**
+ * The RRD4j storage backend used to access the RRD files.
+ */
+public enum RrdBackend {
+	/**
+	 * Access the files with random-access reads and writes. Every read and write
+	 * is a system call.
+	 */
+	FILE, //
+	/**
+	 * Map the files into memory. Reads and writes are served from the page cache;
+	 * changes are synchronized to disk periodically.
+	 */
+	NIO;
+}
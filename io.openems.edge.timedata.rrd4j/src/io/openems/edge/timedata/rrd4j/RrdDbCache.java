@@ -0,0 +1,192 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.LinkedHashMap;
+
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Keeps a bounded number of {@link RrdDb} handles open between two writes, so
+ * that the {@link RecordWorker} does not have to re-open the RRD4j file for
+ * every single sample.
+ *
+ * <p>
+ * Handles are closed in least-recently-used order once {@link #maxSize} is
+ * exceeded and once they have not been used for {@link #maxIdleMillis}.
+ * {@link #maxSize} must stay well below the capacity of the RRD4j
+ * {@link org.rrd4j.core.RrdDbPool}, as every handle kept open here also holds
+ * a reference in that pool.
+ *
+ * <p>
+ * After {@link #closeAll()} the cache refuses to open handles. Callers that
+ * use a handle while holding the lock on the cache are never affected by a
+ * concurrent {@link #closeAll()}.
+ */
+public class RrdDbCache {
+
+	private static class Entry {
+		private final RrdDb database;
+		private long lastAccess;
+
+		private Entry(RrdDb database, long lastAccess) {
+			this.database = database;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(RrdDbCache.class);
+
+	private final Rrd4jTimedataImpl parent;
+	private final int maxSize;
+	private final long maxIdleMillis;
+
+	/**
+	 * Open handles in access-order, i.e. the eldest entry is the least recently
+	 * used one.
+	 */
+	private final LinkedHashMap<ChannelAddress, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long hits = 0;
+	private long misses = 0;
+	private boolean closed = false;
+
+	public RrdDbCache(Rrd4jTimedataImpl parent, int maxSize, long maxIdleMillis) {
+		this.parent = parent;
+		this.maxSize = maxSize;
+		this.maxIdleMillis = maxIdleMillis;
+	}
+
+	/**
+	 * Gets an open {@link RrdDb} for the given Channel-Address; opens or creates
+	 * it via {@link Rrd4jTimedataImpl#getRrdDb(ChannelAddress, Unit, long)} if it
+	 * is not cached yet.
+	 *
+	 * <p>
+	 * The returned handle is owned by the cache and must not be closed by the
+	 * caller. Use {@link #invalidate(ChannelAddress)} after an error instead.
+	 *
+	 * @param channelAddress the Channel-Address
+	 * @param channelUnit    the {@link Unit}
+	 * @param startTime      the starttime for newly created RrdDbs
+	 * @return the RrdDb
+	 * @throws IOException        on error or if the cache was closed
+	 * @throws URISyntaxException on error
+	 */
+	public synchronized RrdDb get(ChannelAddress channelAddress, Unit channelUnit, long startTime)
+			throws IOException, URISyntaxException {
+		if (this.closed) {
+			throw new IOException("RrdDbCache is closed");
+		}
+		var now = System.currentTimeMillis();
+		var entry = this.entries.get(channelAddress);
+		if (entry != null && !entry.database.isClosed()) {
+			this.hits++;
+			entry.lastAccess = now;
+			return entry.database;
+		}
+
+		this.misses++;
+		var database = this.parent.getRrdDb(channelAddress, channelUnit, startTime);
+		this.entries.put(channelAddress, new Entry(database, now));
+
+		// Evict least recently used handles
+		var iterator = this.entries.entrySet().iterator();
+		while (this.entries.size() > this.maxSize && iterator.hasNext()) {
+			var eldest = iterator.next();
+			iterator.remove();
+			this.close(eldest.getKey(), eldest.getValue().database);
+		}
+		return database;
+	}
+
+	/**
+	 * Closes and removes the handle for the given Channel-Address, e.g. after a
+	 * failed write.
+	 *
+	 * @param channelAddress the Channel-Address
+	 */
+	public synchronized void invalidate(ChannelAddress channelAddress) {
+		var entry = this.entries.remove(channelAddress);
+		if (entry != null) {
+			this.close(channelAddress, entry.database);
+		}
+	}
+
+	/**
+	 * Closes all handles that have not been used for {@link #maxIdleMillis}.
+	 */
+	public synchronized void evictIdle() {
+		var threshold = System.currentTimeMillis() - this.maxIdleMillis;
+		var iterator = this.entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			var entry = iterator.next();
+			if (entry.getValue().lastAccess < threshold) {
+				iterator.remove();
+				this.close(entry.getKey(), entry.getValue().database);
+			}
+		}
+	}
+
+	/**
+	 * Closes all handles. Afterwards no handles are opened anymore.
+	 */
+	public synchronized void closeAll() {
+		this.closed = true;
+		for (var entry : this.entries.entrySet()) {
+			this.close(entry.getKey(), entry.getValue().database);
+		}
+		this.entries.clear();
+	}
+
+	/**
+	 * Gets whether {@link #closeAll()} was called.
+	 *
+	 * @return true if closed
+	 */
+	public synchronized boolean isClosed() {
+		return this.closed;
+	}
+
+	/**
+	 * Gets the number of currently open handles.
+	 *
+	 * @return the size
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Gets the hit rate in [%] since the last call and resets the counters.
+	 *
+	 * @return the hit rate; null if there was no access
+	 */
+	public synchronized Integer getAndResetHitRate() {
+		var total = this.hits + this.misses;
+		Integer result = null;
+		if (total > 0) {
+			result = Math.round(this.hits * 100f / total);
+		}
+		this.hits = 0;
+		this.misses = 0;
+		return result;
+	}
+
+	private void close(ChannelAddress channelAddress, RrdDb database) {
+		if (database.isClosed()) {
+			return;
+		}
+		try {
+			database.close();
+		} catch (IOException e) {
+			this.parent.logWarn(this.log, "Unable to close database [" + channelAddress + "]: " + e.getMessage());
+		}
+	}
+
+}
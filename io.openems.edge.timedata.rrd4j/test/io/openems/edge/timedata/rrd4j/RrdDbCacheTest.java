@@ -0,0 +1,32 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import org.junit.Test;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.ChannelAddress;
+
+public class RrdDbCacheTest {
+
+	@Test
+	public void testRefuseAfterCloseAll() throws URISyntaxException {
+		var sut = new RrdDbCache(null, 10, 60_000);
+		sut.closeAll();
+		assertTrue(sut.isClosed());
+
+		try {
+			sut.get(new ChannelAddress("meter0", "ActivePower"), Unit.WATT, 0);
+			fail("Closed cache must not open handles");
+		} catch (IOException e) {
+			// expected
+		}
+		assertEquals(0, sut.size());
+	}
+
+}
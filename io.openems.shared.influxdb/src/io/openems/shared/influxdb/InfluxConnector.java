@@ -13,6 +13,8 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -31,6 +33,7 @@ import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
 import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
@@ -40,7 +43,9 @@ import com.influxdb.query.dsl.functions.restriction.Restrictions;
 import io.openems.common.OpenemsOEM;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingConsumer;
 import io.openems.common.timedata.Resolution;
+import io.openems.common.timedata.TimeseriesColumns;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.ThreadPoolUtils;
@@ -60,7 +65,11 @@ public class InfluxConnector {
 	private static final int EXECUTOR_QUEUE_SIZE = 500;
 	private static final int POINTS_QUEUE_SIZE = 1_000_000;
 	private static final int MAX_POINTS_PER_WRITE = 1_000;
+	private static final int MAX_STREAMED_VALUES = 5_000_000; // approx. 80 MB per query
 	private static final int MAX_AGGREGATE_WAIT = 10; // [s]
+	private static final int QUERY_MAX_CONCURRENCY = 10;
+	private static final int QUERY_MAX_QUEUED = 500;
+	private static final long QUERY_MAX_WAIT = 30_000; // [ms]
 
 	private final Logger log = LoggerFactory.getLogger(InfluxConnector.class);
 
@@ -111,6 +120,7 @@ public class InfluxConnector {
 					.append((executorQueueSize == EXECUTOR_QUEUE_SIZE) ? "!!!EXECUTOR BACKPRESSURE!!!" : "") //
 					.append("QueuedPoints: ").append(this.pointsQueue.size()).append(", ") //
 					.append((pointsQueueSize == POINTS_QUEUE_SIZE) ? "!!!POINTS BACKPRESSURE!!!" : "") //
+					.append(this.queryAdmission.getAndResetMonitorMessage()) //
 					.toString());
 		}, 10, 10, TimeUnit.SECONDS);
 
@@ -230,47 +240,17 @@ public class InfluxConnector {
 		}
 	}
 
-	private static class RandomLimit {
-		private static final double MAX_LIMIT = 0.95;
-		private static final double MIN_LIMIT = 0;
-		private static final double STEP = 0.01;
-
-		private double limit = 0;
-
-		protected synchronized void increase() {
-			this.limit += STEP;
-			if (this.limit > MAX_LIMIT) {
-				this.limit = MAX_LIMIT;
-			}
-		}
-
-		protected synchronized void decrease() {
-			this.limit -= STEP;
-			if (this.limit <= MIN_LIMIT) {
-				this.limit = MIN_LIMIT;
-			}
-		}
-
-		protected double getLimit() {
-			return this.limit;
-		}
-
-		@Override
-		public String toString() {
-			return String.format("%.3f", this.limit);
-		}
-	}
-
-	private final RandomLimit queryLimit = new RandomLimit();
+	private final QueryAdmission queryAdmission = new QueryAdmission(QUERY_MAX_CONCURRENCY, QUERY_MAX_QUEUED,
+			QUERY_MAX_WAIT);
 
 	/**
 	 * Execute given {@link Flux} query.
 	 *
 	 * @param query {@link Flux} to execute
 	 * @return Result from database as {@link List} of {@link FluxTable}
-	 * @throws OpenemsException on error
+	 * @throws OpenemsNamedException on error
 	 */
-	public List<FluxTable> executeQuery(Flux query) throws OpenemsException {
+	public List<FluxTable> executeQuery(Flux query) throws OpenemsNamedException {
 		return this.executeQuery(query.toString());
 	}
 
@@ -279,25 +259,88 @@ public class InfluxConnector {
 	 *
 	 * @param query to execute
 	 * @return Result from database as {@link List} of {@link FluxTable}
-	 * @throws OpenemsException on error
+	 * @throws OpenemsNamedException on error
 	 */
-	public List<FluxTable> executeQuery(String query) throws OpenemsException {
-		if (Math.random() < this.queryLimit.getLimit()) {
-			throw new OpenemsException(
-					"InfluxDB read is temporarily blocked [" + this.queryLimit + "]. Query: " + query);
-		}
+	public List<FluxTable> executeQuery(String query) throws OpenemsNamedException {
+		return this.executeQuery(Optional.empty(), 1, query);
+	}
 
-		// Parse result
-		List<FluxTable> queryResult;
+	/**
+	 * Execute given query via the {@link QueryAdmission}. Identical queries that
+	 * are executed at the same time share the result.
+	 *
+	 * @param influxEdgeId the unique, numeric Edge-ID; or Empty if the query is not
+	 *                     specific for an Edge
+	 * @param cost         the estimated cost of the query
+	 * @param query        to execute
+	 * @return Result from database as {@link List} of {@link FluxTable}
+	 * @throws OpenemsNamedException on error
+	 */
+	private List<FluxTable> executeQuery(Optional<Integer> influxEdgeId, double cost, String query)
+			throws OpenemsNamedException {
+		return this.queryAdmission.execute(toFairnessKey(influxEdgeId), cost, query, () -> {
+			// Parse result
+			List<FluxTable> queryResult;
+			try {
+				queryResult = this.getInfluxConnection().client.getQueryApi().query(query);
+			} catch (RuntimeException e) {
+				this.queryAdmission.onError();
+				this.log.error("InfluxDB query runtime error. Query: " + query + ", Error: " + e.getMessage());
+				throw new OpenemsException(e.getMessage());
+			}
+			this.queryAdmission.onSuccess();
+			return queryResult;
+		});
+	}
+
+	/**
+	 * Execute given query and streams the result records to the consumer; blocks
+	 * until the query is completed. Has to be called via the
+	 * {@link QueryAdmission}.
+	 *
+	 * @param query    to execute
+	 * @param consumer consumes the {@link FluxRecord}s; cancels the query on error
+	 * @throws OpenemsNamedException on error
+	 */
+	private void streamQuery(String query, ThrowingConsumer<FluxRecord, OpenemsNamedException> consumer)
+			throws OpenemsNamedException {
+		var result = new CompletableFuture<Void>();
 		try {
-			queryResult = this.getInfluxConnection().client.getQueryApi().query(query);
-		} catch (RuntimeException e) {
-			this.queryLimit.increase();
+			this.getInfluxConnection().client.getQueryApi().query(query, (cancellable, record) -> {
+				try {
+					consumer.accept(record);
+				} catch (OpenemsNamedException | RuntimeException e) {
+					cancellable.cancel();
+					result.completeExceptionally(e);
+				}
+			}, result::completeExceptionally, () -> result.complete(null));
+			result.get();
+
+		} catch (ExecutionException e) {
+			var cause = e.getCause();
+			if (cause instanceof OpenemsNamedException) {
+				// error in consumer
+				throw (OpenemsNamedException) cause;
+			}
+			this.queryAdmission.onError();
+			this.log.error("InfluxDB query runtime error. Query: " + query + ", Error: " + cause.getMessage());
+			throw new OpenemsException(cause.getMessage());
+
+		} catch (InterruptedException | RuntimeException e) {
+			this.queryAdmission.onError();
 			this.log.error("InfluxDB query runtime error. Query: " + query + ", Error: " + e.getMessage());
 			throw new OpenemsException(e.getMessage());
 		}
-		this.queryLimit.decrease();
-		return queryResult;
+		this.queryAdmission.onSuccess();
+	}
+
+	private static String toFairnessKey(Optional<Integer> influxEdgeId) {
+		return influxEdgeId.map(String::valueOf).orElse("*");
+	}
+
+	private static double estimateCost(ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels) {
+		return QueryAdmission.estimateCost(channels.size(),
+				toDate.toInstant().toEpochMilli() - fromDate.toInstant().toEpochMilli());
 	}
 
 	/**
@@ -312,11 +355,6 @@ public class InfluxConnector {
 	 */
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(Optional<Integer> influxEdgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
-		if (Math.random() * 4 < this.queryLimit.getLimit()) {
-			throw new OpenemsException("InfluxDB read is temporarily blocked for Energy values [" + this.queryLimit
-					+ "]. Edge [" + influxEdgeId + "] FromDate [" + fromDate + "] ToDate [" + toDate + "]");
-		}
-
 		// handle empty call
 		if (channels.isEmpty()) {
 			return new TreeMap<>();
@@ -346,7 +384,7 @@ public class InfluxConnector {
 		var query = builder.toString();
 
 		// Execute query
-		var queryResult = this.executeQuery(query);
+		var queryResult = this.executeQuery(influxEdgeId, estimateCost(fromDate, toDate, channels), query);
 
 		return InfluxConnector.convertHistoricEnergyResult(query, queryResult);
 	}
@@ -365,11 +403,6 @@ public class InfluxConnector {
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(
 			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
 			Resolution resolution) throws OpenemsNamedException {
-		if (Math.random() * 4 < this.queryLimit.getLimit()) {
-			throw new OpenemsException("InfluxDB read is temporarily blocked for Energy values [" + this.queryLimit
-					+ "]. Edge [" + influxEdgeId + "] FromDate [" + fromDate + "] ToDate [" + toDate + "]");
-		}
-
 		if (resolution.getUnit().equals(ChronoUnit.MONTHS)) {
 			fromDate = fromDate.with(TemporalAdjusters.firstDayOfMonth());
 			if (!toDate.equals(toDate.with(TemporalAdjusters.firstDayOfMonth()))) {
@@ -395,7 +428,7 @@ public class InfluxConnector {
 				.aggregateWindow(resolution.getValue(), resolution.getUnit(), "last") //
 				.difference(true);
 
-		var queryResult = this.executeQuery(flux);
+		var queryResult = this.executeQuery(influxEdgeId, estimateCost(fromDate, toDate, channels), flux.toString());
 
 		return InfluxConnector.convertHistoricDataQueryResult(queryResult, fromDate, resolution);
 	}
@@ -436,11 +469,79 @@ public class InfluxConnector {
 				.aggregateWindow(resolution.getValue(), resolution.getUnit(), "mean");
 
 		// Execute query
-		var queryResult = this.executeQuery(flux);
+		var queryResult = this.executeQuery(influxEdgeId, estimateCost(fromDate, toDate, channels), flux.toString());
 
 		return InfluxConnector.convertHistoricDataQueryResult(queryResult, fromDate, resolution);
 	}
 
+	/**
+	 * Queries historic data and streams the result directly into
+	 * {@link TimeseriesColumns}.
+	 *
+	 * <p>
+	 * Same query as
+	 * {@link #queryHistoricData(Optional, ZonedDateTime, ZonedDateTime, Set, Resolution)},
+	 * but the result is never materialized as a list of {@link FluxTable}s or as
+	 * a nested map of {@link JsonElement}s.
+	 *
+	 * @param influxEdgeId the unique, numeric Edge-ID; or Empty to query all Edges
+	 * @param fromDate     the From-Date
+	 * @param toDate       the To-Date
+	 * @param channels     the Channels to query
+	 * @param resolution   the resolution in seconds
+	 * @return the historic data as {@link TimeseriesColumns}
+	 * @throws OpenemsNamedException on error
+	 */
+	public TimeseriesColumns queryHistoricDataColumns(Optional<Integer> influxEdgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
+		var builder = new TimeseriesColumns.Builder(MAX_STREAMED_VALUES);
+
+		// handle empty call
+		if (channels.isEmpty()) {
+			return builder.build();
+		}
+
+		// remove 5 minutes to prevent shifted timeline
+		var fromInstant = fromDate.toInstant().minus(5, ChronoUnit.MINUTES);
+
+		// prepare query
+		Flux flux = Flux.from(this.bucket) //
+				.range(fromInstant, toDate.toInstant()) //
+				.filter(Restrictions.measurement().equal(MEASUREMENT));
+
+		if (influxEdgeId.isPresent()) {
+			flux = flux.filter(Restrictions.tag(OpenemsOEM.INFLUXDB_TAG).equal(influxEdgeId.get().toString()));
+		}
+
+		flux = flux.filter(InfluxConnector.toChannelAddressFieldList(channels)) //
+				.aggregateWindow(resolution.getValue(), resolution.getUnit(), "mean");
+
+		final var fromTimestamp = fromDate.toInstant();
+		final var query = flux.toString();
+		return this.queryAdmission.execute(toFairnessKey(influxEdgeId), estimateCost(fromDate, toDate, channels),
+				query, () -> {
+					this.streamQuery(query, record -> {
+						var time = record.getTime();
+						// ignore first timestamp is before from date
+						if (time.isBefore(fromTimestamp)) {
+							return;
+						}
+						switch (resolution.getUnit()) {
+						case DAYS:
+						case MONTHS:
+							time = resolution
+									.revertInfluxDbOffset(ZonedDateTime.ofInstant(time, fromDate.getZone()))
+									.toInstant();
+							break;
+						default:
+							break;
+						}
+						builder.add(record.getField(), time.toEpochMilli(), record.getValue());
+					});
+					return builder.build();
+				});
+	}
+
 	/**
 	 * Converts the QueryResult of a Historic-Data query to a properly typed Table.
 	 *
@@ -571,4 +672,32 @@ public class InfluxConnector {
 		}
 		this.pointsQueue.offer(point);
 	}
+
+	/**
+	 * Synchronously writes records that are already serialized in InfluxDB line
+	 * protocol with precision milliseconds.
+	 *
+	 * <p>
+	 * Unlike {@link #write(Point)} this method does not queue or merge; it is
+	 * meant for callers that take care of batching themselves.
+	 *
+	 * @param records the records in line protocol
+	 * @return true on success or in Read-Only-Mode; false on error
+	 */
+	public boolean writeRecords(List<String> records) {
+		if (this.isReadOnly) {
+			this.log.info("Read-Only-Mode is activated. Not writing records: "
+					+ StringUtils.toShortString(records.toString(), 100));
+			return true;
+		}
+		try {
+			this.getInfluxConnection().writeApi.writeRecords(WritePrecision.MS, records);
+			return true;
+		} catch (Throwable t) {
+			this.log.warn("Unable to write records: " + StringUtils.toShortString(records.toString(), 100) + "; "
+					+ t.getMessage());
+			this.onWriteError.accept(t);
+			return false;
+		}
+	}
 }
@@ -0,0 +1,327 @@
+package io.openems.shared.influxdb;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingSupplier;
+
+/**
+ * Admission control for InfluxDB queries.
+ *
+ * <ul>
+ * <li>Limits the number of concurrently executed queries. The limit adapts to
+ * the health of the database: it is halved on every query error and increased
+ * by one on every successful query (AIMD), within 1 and the configured
+ * maximum.
+ * <li>Queries that can not be executed immediately are queued fairly per
+ * Edge, weighted by their estimated cost (start-time fair queuing): an Edge
+ * with many or expensive queries does not block cheap queries of other Edges.
+ * <li>Identical queries that are in flight at the same time - e.g. from many UI
+ * sessions watching the same Edge - are executed only once.
+ * <li>Queries are rejected if the queue is full or if they waited too long.
+ * </ul>
+ */
+public class QueryAdmission {
+
+	private static class Waiter {
+		private final double startTag;
+		private final double finishTag;
+		private final long sequence;
+		private boolean isAdmitted = false;
+
+		private Waiter(double startTag, double finishTag, long sequence) {
+			this.startTag = startTag;
+			this.finishTag = finishTag;
+			this.sequence = sequence;
+		}
+	}
+
+	private final int maxConcurrency;
+	private final int maxQueued;
+	private final long maxWaitMillis;
+
+	/*
+	 * The following fields are guarded by 'this'.
+	 */
+	private final PriorityQueue<Waiter> queue = new PriorityQueue<>(Comparator //
+			.<Waiter>comparingDouble(w -> w.finishTag) //
+			.thenComparingLong(w -> w.sequence));
+	private final Map<String, Double> lastFinishTags = new HashMap<>();
+	private int limit;
+	private int running = 0;
+	private double virtualTime = 0;
+	private long sequence = 0;
+
+	// Statistics
+	private long admitted = 0;
+	private long waitTimeSum = 0;
+	private long waitTimeMax = 0;
+	private long rejected = 0;
+	private long timedOut = 0;
+	private long coalesced = 0;
+
+	private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Builds a {@link QueryAdmission}.
+	 *
+	 * @param maxConcurrency the maximum number of concurrently executed queries
+	 * @param maxQueued      the maximum number of waiting queries
+	 * @param maxWaitMillis  the maximum time a query waits for execution in [ms]
+	 */
+	public QueryAdmission(int maxConcurrency, int maxQueued, long maxWaitMillis) {
+		this.maxConcurrency = maxConcurrency;
+		this.maxQueued = maxQueued;
+		this.maxWaitMillis = maxWaitMillis;
+		this.limit = maxConcurrency;
+	}
+
+	/**
+	 * Estimates the cost of a query: the number of Channels times the queried
+	 * time range in hours.
+	 *
+	 * @param noOfChannels the number of Channels
+	 * @param rangeMillis  the time range in [ms]
+	 * @return the estimated cost; at least 1
+	 */
+	public static double estimateCost(int noOfChannels, long rangeMillis) {
+		return Math.max(1, noOfChannels) * Math.max(1., rangeMillis / (double) TimeUnit.HOURS.toMillis(1));
+	}
+
+	/**
+	 * Executes a query as soon as it is admitted.
+	 *
+	 * @param <T>         the type of the result
+	 * @param fairnessKey the key for fair queuing, e.g. the Edge-ID
+	 * @param cost        the estimated cost, see {@link #estimateCost(int, long)}
+	 * @param coalesceKey identical in-flight queries with the same key are
+	 *                    executed only once, e.g. the query string; null to always
+	 *                    execute the query. The result is shared and must not be
+	 *                    modified.
+	 * @param query       the query
+	 * @return the result of the query
+	 * @throws OpenemsNamedException on error or if the query was rejected
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(String fairnessKey, double cost, String coalesceKey,
+			ThrowingSupplier<T, OpenemsNamedException> query) throws OpenemsNamedException {
+		if (coalesceKey == null) {
+			return this.admitAndExecute(fairnessKey, cost, query);
+		}
+
+		var future = new CompletableFuture<Object>();
+		var existing = this.inFlight.putIfAbsent(coalesceKey, future);
+		if (existing != null) {
+			synchronized (this) {
+				this.coalesced++;
+			}
+			return (T) this.await(existing);
+		}
+		try {
+			var result = this.admitAndExecute(fairnessKey, cost, query);
+			future.complete(result);
+			return result;
+
+		} catch (OpenemsNamedException | RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+
+		} finally {
+			this.inFlight.remove(coalesceKey, future);
+		}
+	}
+
+	private Object await(CompletableFuture<Object> future) throws OpenemsNamedException {
+		try {
+			return future.get(this.maxWaitMillis, TimeUnit.MILLISECONDS);
+
+		} catch (ExecutionException e) {
+			var cause = e.getCause();
+			if (cause instanceof OpenemsNamedException) {
+				throw (OpenemsNamedException) cause;
+			}
+			throw new OpenemsException(cause.getMessage());
+
+		} catch (InterruptedException | TimeoutException e) {
+			synchronized (this) {
+				this.timedOut++;
+			}
+			throw new OpenemsException("InfluxDB query timed out while waiting for identical query");
+		}
+	}
+
+	private <T> T admitAndExecute(String fairnessKey, double cost, ThrowingSupplier<T, OpenemsNamedException> query)
+			throws OpenemsNamedException {
+		this.acquire(fairnessKey, cost);
+		try {
+			return query.get();
+		} finally {
+			this.release();
+		}
+	}
+
+	private synchronized void acquire(String fairnessKey, double cost) throws OpenemsException {
+		var startTag = Math.max(this.virtualTime, this.lastFinishTags.getOrDefault(fairnessKey, 0.));
+		var finishTag = startTag + cost;
+
+		if (this.queue.isEmpty() && this.running < this.limit) {
+			// admit immediately
+			this.lastFinishTags.put(fairnessKey, finishTag);
+			this.virtualTime = startTag;
+			this.running++;
+			this.admitted++;
+			return;
+		}
+
+		if (this.queue.size() >= this.maxQueued) {
+			this.rejected++;
+			throw new OpenemsException("InfluxDB query queue is full [" + this.queue.size() + "]");
+		}
+		this.lastFinishTags.put(fairnessKey, finishTag);
+
+		var waiter = new Waiter(startTag, finishTag, this.sequence++);
+		this.queue.add(waiter);
+		var start = System.currentTimeMillis();
+		var deadline = start + this.maxWaitMillis;
+		try {
+			while (!waiter.isAdmitted) {
+				var remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					this.queue.remove(waiter);
+					this.timedOut++;
+					throw new OpenemsException("InfluxDB query was not admitted within " + this.maxWaitMillis + " ms");
+				}
+				this.wait(remaining);
+			}
+		} catch (InterruptedException e) {
+			if (waiter.isAdmitted) {
+				// already counted as running; give the slot back
+				this.running--;
+				this.dispatch();
+			} else {
+				this.queue.remove(waiter);
+			}
+			throw new OpenemsException("Interrupted while waiting for InfluxDB query admission");
+		}
+		var waitTime = System.currentTimeMillis() - start;
+		this.waitTimeSum += waitTime;
+		this.waitTimeMax = Math.max(this.waitTimeMax, waitTime);
+		this.admitted++;
+	}
+
+	private synchronized void release() {
+		this.running--;
+		this.dispatch();
+	}
+
+	/**
+	 * Admits waiting queries with the lowest finish tag while there is capacity.
+	 */
+	private void dispatch() {
+		var notify = false;
+		while (this.running < this.limit && !this.queue.isEmpty()) {
+			var waiter = this.queue.poll();
+			waiter.isAdmitted = true;
+			this.virtualTime = Math.max(this.virtualTime, waiter.startTag);
+			this.running++;
+			notify = true;
+		}
+		if (this.queue.isEmpty()) {
+			// forget finish tags that are in the past
+			this.lastFinishTags.values().removeIf(tag -> tag <= this.virtualTime);
+		}
+		if (notify) {
+			this.notifyAll();
+		}
+	}
+
+	/**
+	 * Signals a successful query; increases the concurrency limit.
+	 */
+	public synchronized void onSuccess() {
+		this.limit = Math.min(this.maxConcurrency, this.limit + 1);
+		this.dispatch();
+	}
+
+	/**
+	 * Signals a failed query, e.g. because the database is overloaded; halves the
+	 * concurrency limit.
+	 */
+	public synchronized void onError() {
+		this.limit = Math.max(1, this.limit / 2);
+	}
+
+	/**
+	 * Gets the current concurrency limit.
+	 *
+	 * @return the limit
+	 */
+	public synchronized int getLimit() {
+		return this.limit;
+	}
+
+	/**
+	 * Gets the number of waiting queries.
+	 *
+	 * @return the number of queued queries
+	 */
+	public synchronized int getQueued() {
+		return this.queue.size();
+	}
+
+	/**
+	 * Gets the number of queries that were rejected or timed out since the last
+	 * monitor message.
+	 *
+	 * @return the number of rejected queries
+	 */
+	public synchronized long getRejected() {
+		return this.rejected + this.timedOut;
+	}
+
+	/**
+	 * Gets the number of queries that were served by an identical in-flight query
+	 * since the last monitor message.
+	 *
+	 * @return the number of coalesced queries
+	 */
+	public synchronized long getCoalesced() {
+		return this.coalesced;
+	}
+
+	/**
+	 * Gets a monitor message and resets the statistics.
+	 *
+	 * @return the message
+	 */
+	public synchronized String getAndResetMonitorMessage() {
+		var message = new StringBuilder("Queries running: ").append(this.running).append("/")
+				.append(this.limit).append(", ") //
+				.append("Queued: ").append(this.queue.size()).append(", ") //
+				.append("Admitted: ").append(this.admitted).append(", ") //
+				.append("QueueWait avg: ").append(this.admitted == 0 ? 0 : this.waitTimeSum / this.admitted)
+				.append(" ms, ") //
+				.append("max: ").append(this.waitTimeMax).append(" ms, ") //
+				.append("Rejected: ").append(this.rejected).append(", ") //
+				.append("TimedOut: ").append(this.timedOut).append(", ") //
+				.append("Coalesced: ").append(this.coalesced) //
+				.toString();
+		this.admitted = 0;
+		this.waitTimeSum = 0;
+		this.waitTimeMax = 0;
+		this.rejected = 0;
+		this.timedOut = 0;
+		this.coalesced = 0;
+		return message;
+	}
+
+}
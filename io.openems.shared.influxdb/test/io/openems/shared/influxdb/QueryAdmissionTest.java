@@ -0,0 +1,184 @@
+package io.openems.shared.influxdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+
+public class QueryAdmissionTest {
+
+	private static final long TIMEOUT = 10_000; // [ms]
+
+	/**
+	 * Executes a query in a new Thread.
+	 */
+	private static Thread execute(QueryAdmission sut, String fairnessKey, double cost, String coalesceKey,
+			CountDownLatch release, List<String> log) {
+		var thread = new Thread(() -> {
+			try {
+				var result = sut.execute(fairnessKey, cost, coalesceKey, () -> {
+					log.add(fairnessKey);
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new OpenemsException(e.getMessage());
+					}
+					return fairnessKey;
+				});
+				log.add("result:" + result);
+			} catch (OpenemsNamedException e) {
+				log.add("error:" + e.getMessage());
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		var deadline = System.currentTimeMillis() + TIMEOUT;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Condition not met within " + TIMEOUT + " ms");
+			}
+			Thread.sleep(1);
+		}
+	}
+
+	@Test
+	public void testQueueFull() throws Exception {
+		var sut = new QueryAdmission(2, 1, TIMEOUT);
+		var release = new CountDownLatch(1);
+		var log = Collections.synchronizedList(new ArrayList<String>());
+
+		var t0 = execute(sut, "edge0", 1, null, release, log);
+		var t1 = execute(sut, "edge1", 1, null, release, log);
+		waitFor(() -> log.size() == 2);
+		var t2 = execute(sut, "edge2", 1, null, release, log);
+		waitFor(() -> sut.getQueued() == 1);
+
+		try {
+			sut.execute("edge3", 1, null, () -> "edge3");
+			fail("Expected rejection");
+		} catch (OpenemsException e) {
+			// expected
+		}
+		assertEquals(1, sut.getRejected());
+
+		release.countDown();
+		for (var thread : List.of(t0, t1, t2)) {
+			thread.join(TIMEOUT);
+		}
+		assertTrue(log.contains("result:edge2"));
+		assertEquals(0, sut.getQueued());
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		var sut = new QueryAdmission(1, 10, 50);
+		var release = new CountDownLatch(1);
+		var log = Collections.synchronizedList(new ArrayList<String>());
+
+		var t0 = execute(sut, "edge0", 1, null, release, log);
+		waitFor(() -> log.size() == 1);
+		try {
+			sut.execute("edge1", 1, null, () -> "edge1");
+			fail("Expected timeout");
+		} catch (OpenemsException e) {
+			// expected
+		}
+		assertEquals(1, sut.getRejected());
+		assertEquals(0, sut.getQueued());
+
+		release.countDown();
+		t0.join(TIMEOUT);
+		assertEquals("edge1", sut.execute("edge1", 1, null, () -> "edge1"));
+	}
+
+	@Test
+	public void testCoalesce() throws Exception {
+		var sut = new QueryAdmission(10, 10, TIMEOUT);
+		var release = new CountDownLatch(1);
+		var log = Collections.synchronizedList(new ArrayList<String>());
+
+		var t0 = execute(sut, "edge0", 1, "query", release, log);
+		waitFor(() -> log.size() == 1);
+		var t1 = execute(sut, "edge1", 1, "query", release, log);
+		waitFor(() -> sut.getCoalesced() == 1);
+
+		release.countDown();
+		t0.join(TIMEOUT);
+		t1.join(TIMEOUT);
+
+		// Query was executed once; both got the same result
+		assertEquals(List.of("edge0", "result:edge0", "result:edge0"), log);
+
+		// Not in flight anymore -> executed again
+		var counter = new AtomicInteger();
+		sut.execute("edge0", 1, "query", () -> counter.incrementAndGet());
+		assertEquals(1, counter.get());
+	}
+
+	@Test
+	public void testAdaptiveLimit() {
+		var sut = new QueryAdmission(8, 10, TIMEOUT);
+		assertEquals(8, sut.getLimit());
+		sut.onError();
+		assertEquals(4, sut.getLimit());
+		sut.onError();
+		sut.onError();
+		sut.onError();
+		assertEquals(1, sut.getLimit());
+		sut.onSuccess();
+		assertEquals(2, sut.getLimit());
+		for (var i = 0; i < 10; i++) {
+			sut.onSuccess();
+		}
+		assertEquals(8, sut.getLimit());
+	}
+
+	@Test
+	public void testFairness() throws Exception {
+		var sut = new QueryAdmission(1, 10, TIMEOUT);
+		var block = new CountDownLatch(1);
+		var release = new CountDownLatch(0);
+		var log = Collections.synchronizedList(new ArrayList<String>());
+
+		var threads = new ArrayList<Thread>();
+		threads.add(execute(sut, "blocker", 1, null, block, log));
+		waitFor(() -> log.size() == 1);
+
+		// edge0 queues three expensive queries before edge1 queues a cheap one
+		for (var i = 0; i < 3; i++) {
+			threads.add(execute(sut, "edge0", 10, null, release, log));
+			var queued = i + 1;
+			waitFor(() -> sut.getQueued() == queued);
+		}
+		threads.add(execute(sut, "edge1", 1, null, release, log));
+		waitFor(() -> sut.getQueued() == 4);
+
+		block.countDown();
+		for (var thread : threads) {
+			thread.join(TIMEOUT);
+		}
+
+		var order = new ArrayList<String>();
+		for (var entry : log) {
+			if (!entry.startsWith("result:")) {
+				order.add(entry);
+			}
+		}
+		assertEquals(List.of("blocker", "edge1", "edge0", "edge0", "edge0"), order);
+	}
+
+}